@@ -0,0 +1,54 @@
+package com.edulearn.benchmarks;
+
+import com.edulearn.core.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks configuration lookups, which every page object and API call performs
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigBenchmark {
+    
+    private ConfigManager configManager;
+    
+    @Setup
+    public void setUp() {
+        configManager = ConfigManager.getInstance();
+    }
+    
+    @Benchmark
+    public String getProperty() {
+        return configManager.getProperty("browser");
+    }
+    
+    @Benchmark
+    public int getIntProperty() {
+        return configManager.getIntProperty("default.timeout");
+    }
+    
+    @Benchmark
+    public int getDefaultTimeout() {
+        return configManager.getDefaultTimeout();
+    }
+    
+    @Benchmark
+    public String getBaseUrl() {
+        return configManager.getBaseUrl();
+    }
+}
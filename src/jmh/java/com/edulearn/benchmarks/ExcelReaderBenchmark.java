@@ -0,0 +1,103 @@
+package com.edulearn.benchmarks;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.utils.ExcelReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks reading a sheet at several sizes, with and without the binary data cache
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcelReaderBenchmark {
+    
+    private static final String SHEET_NAME = "Users";
+    private static final String[] HEADERS = {"username", "password", "email", "role", "country"};
+    private static final String[] ROLES = {"student", "instructor", "admin"};
+    private static final String[] COUNTRIES = {"US", "UK", "DE", "ES", "IN", "BR"};
+    
+    @Param({"100", "1000", "10000"})
+    private int rows;
+    
+    @Param({"true", "false"})
+    private String cached;
+    
+    private Path workDir;
+    private ExcelReader reader;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("edulearn-jmh");
+        Path workbook = workDir.resolve("users-" + rows + ".xlsx");
+        writeWorkbook(workbook, rows);
+        
+        System.setProperty("data.cache.enabled", cached);
+        System.setProperty("data.cache.dir", workDir.resolve("cache").toString());
+        ConfigManager.getInstance().reload();
+        
+        reader = new ExcelReader(workbook.toString());
+        // Populate the cache so the cached variant measures hits only
+        reader.getSheetData(SHEET_NAME);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+        try (Stream<Path> files = Files.walk(workDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    public List<Map<String, String>> getSheetData() {
+        return reader.getSheetData(SHEET_NAME);
+    }
+    
+    private static void writeWorkbook(Path file, int rowCount) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet(SHEET_NAME);
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+            for (int r = 1; r <= rowCount; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("user" + r);
+                row.createCell(1).setCellValue("Pass@" + (r % 97));
+                row.createCell(2).setCellValue("user" + r + "@example.com");
+                row.createCell(3).setCellValue(ROLES[r % ROLES.length]);
+                row.createCell(4).setCellValue(COUNTRIES[r % COUNTRIES.length]);
+            }
+            workbook.write(out);
+        }
+    }
+}
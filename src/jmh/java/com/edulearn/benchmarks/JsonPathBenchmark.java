@@ -0,0 +1,98 @@
+package com.edulearn.benchmarks;
+
+import com.edulearn.api.ApiJson;
+import com.edulearn.api.JsonArrayReader;
+import com.edulearn.api.model.Course;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JSON extraction through Response.jsonPath() on a course listing
+ * shaped like the /api/courses response, compared with typed and streaming reads through ApiJson and JsonArrayReader
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPathBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    private int courses;
+    
+    private static final JsonArrayReader<Course> COURSE_LIST = new JsonArrayReader<>("courses", Course.class);
+    
+    private Response response;
+    
+    @Setup
+    public void setUp() {
+        response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(createCoursesJson(courses))
+                .build();
+    }
+    
+    @Benchmark
+    public List<Object> getCourseList() {
+        return response.jsonPath().getList("courses");
+    }
+    
+    @Benchmark
+    public String getFirstCourseTitle() {
+        return response.jsonPath().getString("courses[0].title");
+    }
+    
+    @Benchmark
+    public List<String> getAllCourseIds() {
+        return response.jsonPath().getList("courses.id", String.class);
+    }
+    
+    @Benchmark
+    public List<Course> readCoursesTyped() {
+        return ApiJson.readList(response, "courses", Course.class);
+    }
+    
+    @Benchmark
+    public int countCoursesStreaming() {
+        return COURSE_LIST.forEach(response.getBody().asInputStream(), course -> true);
+    }
+    
+    @Benchmark
+    public boolean anyCourseMatchStreaming() {
+        return COURSE_LIST.forEach(response.getBody().asInputStream(), course -> !course.getId().equals("course-0")) > 0;
+    }
+    
+    private static String createCoursesJson(int count) {
+        StringBuilder json = new StringBuilder("{\"courses\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"course-").append(i)
+                    .append("\",\"title\":\"Java Programming ").append(i)
+                    .append("\",\"description\":\"Learn Java from scratch, part ").append(i)
+                    .append("\",\"instructor\":\"Instructor ").append(i % 7)
+                    .append("\",\"rating\":").append(3 + (i % 3))
+                    .append(",\"lessons\":").append(10 + (i % 20))
+                    .append('}');
+        }
+        return json.append("],\"total\":").append(count).append('}').toString();
+    }
+}
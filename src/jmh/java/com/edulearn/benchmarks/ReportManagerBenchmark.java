@@ -0,0 +1,48 @@
+package com.edulearn.benchmarks;
+
+import com.edulearn.utils.ReportManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks report logging when several test threads log at the same time.
+ * Each thread gets its own report test per iteration, as a parallel suite would.
+ * Iterations are kept short because the report keeps every logged entry in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class ReportManagerBenchmark {
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ReportManager.createTest("Benchmark " + Thread.currentThread().getName());
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public void logInfoSingleThread() {
+        ReportManager.logInfo("Clicked enroll button");
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public void logInfoContended() {
+        ReportManager.logInfo("Clicked enroll button");
+    }
+}
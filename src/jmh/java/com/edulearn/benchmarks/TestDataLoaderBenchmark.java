@@ -0,0 +1,47 @@
+package com.edulearn.benchmarks;
+
+import com.edulearn.data.TestDataLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks test data lookups from the properties files, single-threaded and
+ * from several test threads at once
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TestDataLoaderBenchmark {
+    
+    private static final String FILE_NAME = "testdata";
+    
+    @Benchmark
+    public String getProperty() {
+        return TestDataLoader.getProperty(FILE_NAME, "user.student.username");
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public String getPropertyContended() {
+        return TestDataLoader.getProperty(FILE_NAME, "user.student.username");
+    }
+    
+    @Benchmark
+    public Map<String, String> getPropertiesWithPrefix() {
+        return TestDataLoader.getPropertiesWithPrefix(FILE_NAME, "user.student.");
+    }
+}
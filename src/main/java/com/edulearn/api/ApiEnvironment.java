@@ -0,0 +1,236 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Target environment of API clients: base URL, HTTPS handling and transport.
+ * Each environment builds its request specification and transport once, and every
+ * request starts from a copy of that specification, so clients for different
+ * environments can run side by side in one JVM without touching RestAssured's
+ * global defaults.
+ * <p>
+ * The default environment uses api.base.url, api.transport and api.timeout. A named
+ * environment sets its own api.env.&lt;name&gt;.base.url and can override the others with
+ * api.env.&lt;name&gt;.transport and api.env.&lt;name&gt;.timeout. Configured environments
+ * are cached and rebuilt when a configuration reload changes their settings.
+ */
+public final class ApiEnvironment {
+    
+    /**
+     * Name of the environment configured by api.base.url
+     */
+    public static final String DEFAULT = "default";
+    
+    private static final Logger logger = LogManager.getLogger(ApiEnvironment.class);
+    private static final String ENV_PREFIX = "api.env.";
+    private static final String[] SETTINGS = {"base.url", "transport", "timeout"};
+    
+    private static final ConcurrentMap<String, ApiEnvironment> environments = new ConcurrentHashMap<>();
+    private static volatile ApiEnvironment defaultEnvironment;
+    
+    static {
+        // Rebuild configured environments when their settings change on a live reload
+        ConfigManager.getInstance().addChangeListener((previous, current) -> {
+            if (settingsChanged(previous, current)) {
+                synchronized (ApiEnvironment.class) {
+                    defaultEnvironment = null;
+                    environments.clear();
+                }
+                logger.info("API environment settings changed, environments will be rebuilt");
+            }
+        });
+    }
+    
+    private final String name;
+    private final String baseUrl;
+    private final String host;
+    private final Filter transport;
+    private final RequestSpecification specification;
+    
+    private ApiEnvironment(String name, String baseUrl, Filter transport) {
+        if (baseUrl == null || baseUrl.trim().isEmpty()) {
+            throw new FrameworkException("No base URL configured for API environment: " + name);
+        }
+        this.name = name;
+        this.baseUrl = baseUrl.trim();
+        String authority = URI.create(this.baseUrl).getAuthority();
+        this.host = authority != null ? authority : this.baseUrl;
+        this.transport = transport;
+        this.specification = new RequestSpecBuilder()
+                .setBaseUri(this.baseUrl)
+                .setRelaxedHTTPSValidation()
+                .setContentType(ContentType.JSON)
+                .build();
+    }
+    
+    /**
+     * Gets the default environment, configured by api.base.url
+     *
+     * @return cached default environment
+     */
+    public static ApiEnvironment current() {
+        ApiEnvironment environment = defaultEnvironment;
+        if (environment == null) {
+            synchronized (ApiEnvironment.class) {
+                environment = defaultEnvironment;
+                if (environment == null) {
+                    environment = fromConfig(ConfigManager.getInstance().getSnapshot(), DEFAULT);
+                    defaultEnvironment = environment;
+                }
+            }
+        }
+        return environment;
+    }
+    
+    /**
+     * Gets a configured environment by name
+     *
+     * @param name environment name, as used in api.env.&lt;name&gt;.base.url
+     * @return cached environment
+     * @throws FrameworkException if api.env.&lt;name&gt;.base.url is not configured
+     */
+    public static ApiEnvironment named(String name) {
+        if (DEFAULT.equals(name)) {
+            return current();
+        }
+        ApiEnvironment environment = environments.get(name);
+        if (environment != null) {
+            return environment;
+        }
+        synchronized (ApiEnvironment.class) {
+            return environments.computeIfAbsent(name,
+                    key -> fromConfig(ConfigManager.getInstance().getSnapshot(), key));
+        }
+    }
+    
+    /**
+     * Creates an environment for a base URL that is not in the configuration, such as a local stub server.
+     * The transport follows api.transport and api.timeout.
+     *
+     * @param name environment name used in logs
+     * @param baseUrl API base URL
+     * @return new environment, not cached
+     */
+    public static ApiEnvironment of(String name, String baseUrl) {
+        ConfigSnapshot config = ConfigManager.getInstance().getSnapshot();
+        return new ApiEnvironment(name, baseUrl,
+                createTransport(name, config.get("api.transport"), config.getInt("api.timeout", 30000)));
+    }
+    
+    /**
+     * Builds an environment from the configuration
+     *
+     * @param config configuration snapshot
+     * @param name environment name, DEFAULT for the api.* settings alone
+     * @return new environment
+     * @throws FrameworkException if the environment has no base URL
+     */
+    static ApiEnvironment fromConfig(ConfigSnapshot config, String name) {
+        // A named environment needs its own base URL, so a misspelled name cannot fall back to the default
+        String baseUrl = DEFAULT.equals(name) ? config.get("api.base.url") : config.get(ENV_PREFIX + name + ".base.url");
+        int defaultTimeout = config.getInt("api.timeout", 30000);
+        int timeout = DEFAULT.equals(name) ? defaultTimeout : config.getInt(ENV_PREFIX + name + ".timeout", defaultTimeout);
+        ApiEnvironment environment = new ApiEnvironment(name, baseUrl,
+                createTransport(name, setting(config, name, "transport"), timeout));
+        logger.info("API environment '{}': {} over {}", name, environment.baseUrl,
+                environment.transport != null ? "http2" : "http1");
+        return environment;
+    }
+    
+    private static String setting(ConfigSnapshot config, String name, String key) {
+        String value = DEFAULT.equals(name) ? null : config.get(ENV_PREFIX + name + "." + key);
+        return value != null ? value : config.get("api." + key);
+    }
+    
+    /**
+     * Creates the transport for api.transport: http1 for RestAssured's own client, http2 for {@link Http2Transport}
+     *
+     * @param name environment name
+     * @param mode configured transport
+     * @param timeoutMillis request timeout
+     * @return transport filter, or null for http1
+     */
+    private static Filter createTransport(String name, String mode, int timeoutMillis) {
+        String normalized = mode != null ? mode.trim().toLowerCase(Locale.ROOT) : "http1";
+        if ("http2".equals(normalized)) {
+            return new Http2Transport(timeoutMillis);
+        }
+        if (!"http1".equals(normalized)) {
+            logger.warn("Unknown transport '{}' for API environment '{}', using http1", mode, name);
+        }
+        return null;
+    }
+    
+    private static boolean settingsChanged(ConfigSnapshot previous, ConfigSnapshot current) {
+        for (String setting : SETTINGS) {
+            if (current.isChanged(previous, "api." + setting)) {
+                return true;
+            }
+        }
+        return current.isChangedUnder(previous, ENV_PREFIX);
+    }
+    
+    /**
+     * Starts a request from a copy of this environment's specification
+     *
+     * @return new request specification with base URI, HTTPS handling and JSON content type set
+     */
+    public RequestSpecification newRequest() {
+        return RestAssured.given(specification);
+    }
+    
+    /**
+     * Gets the environment name
+     *
+     * @return environment name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Gets the API base URL
+     *
+     * @return base URL
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    /**
+     * Gets the host and port of the base URL, which identifies the environment's circuit breaker
+     *
+     * @return host, with the port if the base URL has one
+     */
+    public String getHost() {
+        return host;
+    }
+    
+    /**
+     * Gets the transport shared by this environment's clients
+     *
+     * @return transport filter, or null to use RestAssured's HTTP/1.1 client
+     */
+    public Filter getTransport() {
+        return transport;
+    }
+    
+    @Override
+    public String toString() {
+        return "ApiEnvironment{" + name + ", " + baseUrl + "}";
+    }
+}
@@ -0,0 +1,37 @@
+package com.edulearn.api;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared thread pool for asynchronous API calls such as page prefetching.
+ * The pool grows on demand and uses daemon threads; callers bound their own
+ * concurrency, so one slow consumer cannot starve the others.
+ */
+public final class ApiExecutors {
+    
+    private static final ExecutorService shared = createShared();
+    
+    private ApiExecutors() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Gets the shared executor for API calls
+     *
+     * @return shared executor
+     */
+    public static ExecutorService shared() {
+        return shared;
+    }
+    
+    private static ExecutorService createShared() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "edulearn-api-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
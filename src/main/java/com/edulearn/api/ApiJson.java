@@ -0,0 +1,88 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.FrameworkException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared Jackson configuration for typed API responses.
+ * The mapper is configured once, with Blackbird generating accessors instead
+ * of reflective calls, and an {@link ObjectReader} is built once per model
+ * class, so reading a response costs only the parse and bind.
+ */
+public final class ApiJson {
+    
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new BlackbirdModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    
+    private static final ClassValue<ObjectReader> readers = new ClassValue<ObjectReader>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return mapper.readerFor(type);
+        }
+    };
+    
+    private ApiJson() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Gets the shared object mapper
+     *
+     * @return configured object mapper
+     */
+    public static ObjectMapper getMapper() {
+        return mapper;
+    }
+    
+    /**
+     * Gets the pre-built reader for a model class
+     *
+     * @param type model class
+     * @return cached object reader
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return readers.get(type);
+    }
+    
+    /**
+     * Reads a response body as a model object
+     *
+     * @param response Response object
+     * @param type model class
+     * @param <T> model type
+     * @return bound model
+     * @throws FrameworkException if the body cannot be parsed
+     */
+    public static <T> T read(Response response, Class<T> type) {
+        try {
+            return readers.get(type).readValue(response.getBody().asByteArray());
+        } catch (IOException e) {
+            throw new FrameworkException("Failed to read response as " + type.getSimpleName(), e);
+        }
+    }
+    
+    /**
+     * Reads the elements of a top-level array field of a response body
+     *
+     * @param response Response object
+     * @param fieldName name of the array field
+     * @param type element class
+     * @param <T> element type
+     * @return elements in order, empty if the field is missing
+     * @throws FrameworkException if the body cannot be parsed
+     */
+    public static <T> List<T> readList(Response response, String fieldName, Class<T> type) {
+        List<T> elements = new ArrayList<>();
+        new JsonArrayReader<>(fieldName, type).forEach(response.getBody().asInputStream(), elements::add);
+        return elements;
+    }
+}
@@ -0,0 +1,477 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Client-side rate limiter and concurrency governor shared by all API clients calling the same host.
+ * A host-wide rule, set by api.limit.rate, api.limit.burst and api.limit.concurrency, applies to
+ * every call. Named rules listed in api.limit.rules add limits for the endpoints they match; the
+ * first matching rule applies. Calls wait for a concurrency slot and then for a rate permit, so
+ * throughput settles at the configured rate instead of running into the server's limits.
+ * A 429 response with a Retry-After header pauses the rule that sent the call.
+ * <pre>
+ * api.limit.rules=search
+ * api.limit.search.endpoints=GET /api/courses/search, GET /api/courses/&#42;/lessons/&#42;&#42;
+ * api.limit.search.rate=5
+ * api.limit.search.concurrency=2
+ * </pre>
+ * In endpoint patterns the method is optional, {@code *} matches one path segment and
+ * {@code **} the rest of the path.
+ */
+public final class ApiThrottle {
+    
+    /**
+     * Name of the host-wide rule
+     */
+    public static final String HOST_RULE = "host";
+    
+    private static final Logger logger = LogManager.getLogger(ApiThrottle.class);
+    private static final String LIMIT_PREFIX = "api.limit.";
+    private static final Permit NO_PERMIT = () -> { };
+    private static final ConcurrentMap<String, ApiThrottle> throttles = new ConcurrentHashMap<>();
+    
+    static {
+        ConfigManager.getInstance().addChangeListener((previous, current) -> {
+            if (current.isChangedUnder(previous, LIMIT_PREFIX)) {
+                logger.info("Rate limit settings changed, resetting {} throttles", Unbox.box(throttles.size()));
+                throttles.clear();
+            }
+        });
+    }
+    
+    private final String host;
+    private final Rule hostRule;
+    private final List<Rule> endpointRules;
+    private final long maxWaitMillis;
+    
+    /**
+     * Creates a throttle
+     *
+     * @param host host the throttle guards, used in logs and metrics
+     * @param hostRule rule applied to every call, or null for none
+     * @param endpointRules rules for matching endpoints, in match order
+     * @param maxWaitMillis longest a call may wait for a slot or permit
+     */
+    public ApiThrottle(String host, Rule hostRule, List<Rule> endpointRules, long maxWaitMillis) {
+        this.host = host;
+        this.hostRule = hostRule;
+        this.endpointRules = Collections.unmodifiableList(new ArrayList<>(endpointRules));
+        this.maxWaitMillis = maxWaitMillis;
+    }
+    
+    /**
+     * Checks whether any limit is configured
+     *
+     * @param config configuration snapshot
+     * @return true if the api.limit.* settings limit any call
+     */
+    public static boolean isConfigured(ConfigSnapshot config) {
+        return config.getInt(LIMIT_PREFIX + "rate", 0) > 0 || config.getInt(LIMIT_PREFIX + "concurrency", 0) > 0
+                || !ruleNames(config).isEmpty();
+    }
+    
+    /**
+     * Creates a throttle from the api.limit.* settings
+     *
+     * @param config configuration snapshot
+     * @param host host the throttle guards
+     * @return throttle
+     * @throws FrameworkException if a listed rule has no endpoints
+     */
+    public static ApiThrottle fromConfig(ConfigSnapshot config, String host) {
+        int defaultBurst = config.getInt(LIMIT_PREFIX + "burst", 10);
+        Rule hostRule = Rule.create(HOST_RULE, Collections.emptyList(), config.getInt(LIMIT_PREFIX + "rate", 0),
+                defaultBurst, config.getInt(LIMIT_PREFIX + "concurrency", 0));
+        
+        List<Rule> endpointRules = new ArrayList<>();
+        for (String name : ruleNames(config)) {
+            String prefix = LIMIT_PREFIX + name + ".";
+            String endpoints = config.get(prefix + "endpoints");
+            if (endpoints == null || endpoints.trim().isEmpty()) {
+                throw new FrameworkException("Rate limit rule '" + name + "' needs " + prefix + "endpoints");
+            }
+            List<String> patterns = new ArrayList<>();
+            for (String pattern : endpoints.split(",")) {
+                if (!pattern.trim().isEmpty()) {
+                    patterns.add(pattern.trim());
+                }
+            }
+            Rule rule = Rule.create(name, patterns, config.getInt(prefix + "rate", 0),
+                    config.getInt(prefix + "burst", defaultBurst), config.getInt(prefix + "concurrency", 0));
+            if (rule != null) {
+                endpointRules.add(rule);
+            }
+        }
+        return new ApiThrottle(host, hostRule, endpointRules, config.getInt(LIMIT_PREFIX + "max.wait.ms", 30000));
+    }
+    
+    private static List<String> ruleNames(ConfigSnapshot config) {
+        List<String> names = new ArrayList<>();
+        String rules = config.get(LIMIT_PREFIX + "rules");
+        if (rules != null) {
+            for (String name : rules.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    names.add(name.trim());
+                }
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * Gets the shared throttle of a host
+     *
+     * @param host host and port, e.g. "api.example.com:443"
+     * @return shared throttle
+     */
+    public static ApiThrottle forHost(String host) {
+        ApiThrottle throttle = throttles.get(host);
+        if (throttle != null) {
+            return throttle;
+        }
+        return throttles.computeIfAbsent(host, key -> fromConfig(ConfigManager.getInstance().getSnapshot(), key));
+    }
+    
+    /**
+     * Gets all shared throttles
+     *
+     * @return throttles keyed by host, sorted by host
+     */
+    public static Map<String, ApiThrottle> getThrottles() {
+        return Collections.unmodifiableMap(new TreeMap<>(throttles));
+    }
+    
+    /**
+     * Discards all shared throttles
+     */
+    public static void resetAll() {
+        throttles.clear();
+    }
+    
+    /**
+     * Waits until a call may be sent: first for concurrency slots, then for rate permits
+     *
+     * @param method HTTP method
+     * @param endpoint API endpoint, optionally with a query string
+     * @return permit to close once the response has been received
+     * @throws FrameworkException if the wait would exceed api.limit.max.wait.ms
+     */
+    public Permit acquire(String method, String endpoint) {
+        Rule endpointRule = match(method, endpoint);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        
+        // Slots are always taken endpoint rule first, so callers cannot deadlock on each other's slots
+        Semaphore endpointSlot = endpointRule != null ? endpointRule.acquireSlot(deadline, method, endpoint) : null;
+        Semaphore hostSlot = null;
+        try {
+            hostSlot = hostRule != null ? hostRule.acquireSlot(deadline, method, endpoint) : null;
+            if (endpointRule != null) {
+                endpointRule.acquirePermit(deadline);
+            }
+            if (hostRule != null) {
+                hostRule.acquirePermit(deadline);
+            }
+        } catch (RuntimeException e) {
+            release(hostSlot);
+            release(endpointSlot);
+            throw e;
+        }
+        if (endpointSlot == null && hostSlot == null) {
+            return NO_PERMIT;
+        }
+        Semaphore acquiredHostSlot = hostSlot;
+        return () -> {
+            release(acquiredHostSlot);
+            release(endpointSlot);
+        };
+    }
+    
+    private static void release(Semaphore slot) {
+        if (slot != null) {
+            slot.release();
+        }
+    }
+    
+    /**
+     * Records a response: a 429 with a Retry-After header pauses the matching rule,
+     * or the host-wide rule if the matching rule has no rate
+     *
+     * @param method HTTP method
+     * @param endpoint API endpoint
+     * @param response received response
+     */
+    public void onResponse(String method, String endpoint, Response response) {
+        if (response.getStatusCode() != 429) {
+            return;
+        }
+        Rule endpointRule = match(method, endpoint);
+        Rule rule = endpointRule != null && endpointRule.limiter != null ? endpointRule : hostRule;
+        if (endpointRule != null) {
+            endpointRule.throttledResponses.increment();
+        }
+        if (hostRule != null && hostRule != endpointRule) {
+            hostRule.throttledResponses.increment();
+        }
+        
+        long retryAfter = RetryPolicy.retryAfterMillis(response);
+        if (retryAfter > 0 && rule != null && rule.limiter != null) {
+            logger.warn("Throttled by {} on {} {}, pausing rule '{}' for {} ms", host, method, endpoint, rule.name,
+                    Unbox.box(retryAfter));
+            rule.limiter.pause(retryAfter);
+        }
+    }
+    
+    /**
+     * Finds the first endpoint rule matching a call
+     *
+     * @param method HTTP method
+     * @param endpoint API endpoint, optionally with a query string
+     * @return matching rule, or null if only the host-wide rule applies
+     */
+    Rule match(String method, String endpoint) {
+        if (endpointRules.isEmpty()) {
+            return null;
+        }
+        int query = endpoint.indexOf('?');
+        String path = query >= 0 ? endpoint.substring(0, query) : endpoint;
+        for (Rule rule : endpointRules) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Gets the guarded host
+     *
+     * @return host and port
+     */
+    public String getHost() {
+        return host;
+    }
+    
+    /**
+     * Gets all rules, the host-wide rule first
+     *
+     * @return rules in match order
+     */
+    public List<Rule> getRules() {
+        List<Rule> rules = new ArrayList<>();
+        if (hostRule != null) {
+            rules.add(hostRule);
+        }
+        rules.addAll(endpointRules);
+        return rules;
+    }
+    
+    @Override
+    public String toString() {
+        return "ApiThrottle{" + host + ", " + getRules() + "}";
+    }
+    
+    /**
+     * Permit for one call, released once its response has been received
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        
+        /**
+         * Releases the concurrency slots held by the call
+         */
+        @Override
+        void close();
+    }
+    
+    /**
+     * Rate and concurrency limit for a set of endpoints
+     */
+    public static final class Rule {
+        
+        private final String name;
+        private final List<String> endpoints;
+        private final List<String> methods;
+        private final List<Pattern> paths;
+        private final RateLimiter limiter;
+        private final Semaphore slots;
+        private final int concurrency;
+        private final LongAdder throttledResponses = new LongAdder();
+        
+        private Rule(String name, List<String> endpoints, RateLimiter limiter, int concurrency) {
+            this.name = name;
+            this.endpoints = Collections.unmodifiableList(new ArrayList<>(endpoints));
+            this.methods = new ArrayList<>();
+            this.paths = new ArrayList<>();
+            for (String endpoint : endpoints) {
+                int space = endpoint.indexOf(' ');
+                methods.add(space > 0 ? endpoint.substring(0, space).trim().toUpperCase(Locale.ROOT) : null);
+                paths.add(compile(space > 0 ? endpoint.substring(space + 1).trim() : endpoint));
+            }
+            this.limiter = limiter;
+            this.concurrency = concurrency;
+            this.slots = concurrency > 0 ? new Semaphore(concurrency, true) : null;
+        }
+        
+        /**
+         * Creates a rule
+         *
+         * @param name rule name
+         * @param endpoints endpoint patterns such as "GET /api/courses/*", empty for all endpoints
+         * @param ratePerSecond calls per second, 0 for no rate limit
+         * @param burst calls that may start at once
+         * @param concurrency calls in flight at once, 0 for no concurrency limit
+         * @return rule, or null if it sets no limit
+         */
+        public static Rule create(String name, List<String> endpoints, double ratePerSecond, int burst,
+                                  int concurrency) {
+            if (ratePerSecond <= 0 && concurrency <= 0) {
+                return null;
+            }
+            return new Rule(name, endpoints, ratePerSecond > 0 ? new RateLimiter(ratePerSecond, burst) : null,
+                    Math.max(0, concurrency));
+        }
+        
+        private static Pattern compile(String glob) {
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (c == '*' && glob.startsWith("**", i)) {
+                    regex.append(".*");
+                    i++;
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return Pattern.compile(regex.toString());
+        }
+        
+        boolean matches(String method, String path) {
+            for (int i = 0; i < paths.size(); i++) {
+                String expected = methods.get(i);
+                if ((expected == null || expected.equals(method)) && paths.get(i).matcher(path).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        Semaphore acquireSlot(long deadline, String method, String endpoint) {
+            if (slots == null) {
+                return null;
+            }
+            try {
+                if (!slots.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw new FrameworkException("No free slot under the concurrency limit of " + concurrency
+                            + " of rule '" + name + "' for " + method + " " + endpoint);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FrameworkException("Interrupted while waiting for a concurrency slot", e);
+            }
+            return slots;
+        }
+        
+        void acquirePermit(long deadline) {
+            if (limiter != null) {
+                limiter.acquire(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        }
+        
+        /**
+         * Gets the rule name
+         *
+         * @return rule name, {@link #HOST_RULE} for the host-wide rule
+         */
+        public String getName() {
+            return name;
+        }
+        
+        /**
+         * Gets the endpoint patterns
+         *
+         * @return patterns, empty for the host-wide rule
+         */
+        public List<String> getEndpoints() {
+            return endpoints;
+        }
+        
+        /**
+         * Gets the token bucket of the rule
+         *
+         * @return rate limiter, or null if the rule has no rate limit
+         */
+        public RateLimiter getLimiter() {
+            return limiter;
+        }
+        
+        /**
+         * Gets the concurrency limit
+         *
+         * @return calls in flight at once, 0 if unlimited
+         */
+        public int getConcurrency() {
+            return concurrency;
+        }
+        
+        /**
+         * Gets the number of calls currently holding a slot
+         *
+         * @return calls in flight
+         */
+        public int getInFlight() {
+            return slots != null ? concurrency - slots.availablePermits() : 0;
+        }
+        
+        /**
+         * Gets the number of 429 responses to calls under this rule
+         *
+         * @return throttled responses
+         */
+        public long getThrottledResponses() {
+            return throttledResponses.sum();
+        }
+        
+        /**
+         * Gets the rule metrics
+         *
+         * @return limits, delayed calls, total delay and throttled responses
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("endpoints", endpoints);
+            map.put("ratePerSecond", limiter != null ? limiter.getPermitsPerSecond() : 0);
+            map.put("concurrency", concurrency);
+            map.put("delayedCalls", limiter != null ? limiter.getDelayedCalls() : 0);
+            map.put("totalDelayMillis", limiter != null ? limiter.getTotalDelayMillis() : 0);
+            map.put("throttledResponses", getThrottledResponses());
+            return map;
+        }
+        
+        @Override
+        public String toString() {
+            return "Rule{" + name + ", " + toMap() + "}";
+        }
+    }
+}
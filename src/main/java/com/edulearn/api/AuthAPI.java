@@ -4,9 +4,6 @@ import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * API client for user authentication
  */
@@ -15,6 +12,24 @@ public class AuthAPI extends BaseAPI {
     private static final Logger logger = LogManager.getLogger(AuthAPI.class);
     private static final String LOGIN_ENDPOINT = "/api/auth/login";
     private static final String LOGOUT_ENDPOINT = "/api/auth/logout";
+    private static final JsonBodyTemplate LOGIN_BODY =
+            JsonBodyTemplate.compile("{\"username\":${username},\"password\":${password}}");
+    
+    /**
+     * Creates an auth client for the default environment
+     */
+    public AuthAPI() {
+        super();
+    }
+    
+    /**
+     * Creates an auth client for an environment
+     *
+     * @param environment target environment
+     */
+    public AuthAPI(ApiEnvironment environment) {
+        super(environment, null);
+    }
     
     /**
      * Performs login and returns auth token
@@ -26,11 +41,7 @@ public class AuthAPI extends BaseAPI {
     public String login(String username, String password) {
         logger.info("Performing login for user: {}", username);
         
-        Map<String, String> requestBody = new HashMap<>();
-        requestBody.put("username", username);
-        requestBody.put("password", password);
-        
-        Response response = post(LOGIN_ENDPOINT, requestBody);
+        Response response = post(LOGIN_ENDPOINT, LOGIN_BODY.render(username, password));
         
         if (response.getStatusCode() == 200) {
             String token = response.jsonPath().getString("token");
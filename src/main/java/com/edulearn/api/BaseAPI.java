@@ -1,44 +1,99 @@
 package com.edulearn.api;
 
 import com.edulearn.core.ConfigManager;
-import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.CircuitOpenException;
+import com.edulearn.exceptions.FrameworkException;
+import com.edulearn.metrics.EndpointMetrics;
+import io.restassured.filter.Filter;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
- * Base API class with common methods for API testing
+ * Base API class with common methods for API testing.
+ * Each client sends its requests to an {@link ApiEnvironment}; clients created
+ * without one follow the default environment configured by api.base.url.
  */
 public class BaseAPI {
     
     private static final Logger logger = LogManager.getLogger(BaseAPI.class);
     private static final ConfigManager configManager = ConfigManager.getInstance();
     
+    private static volatile int bodyLogMaxBytes;
+    private static volatile int bodyLogSamplePercent;
+    private static volatile RetryPolicy retryPolicy;
+    private static volatile boolean circuitBreakerEnabled;
+    private static volatile boolean throttleEnabled;
+    
     static {
-        RestAssured.baseURI = configManager.getProperty("api.base.url");
-        RestAssured.useRelaxedHTTPSValidation();
+        applyBodyLogSettings(configManager.getSnapshot());
+        applyResilienceSettings(configManager.getSnapshot());
+        
+        // Follow body logging, retry, circuit breaker and rate limit changes from live config reloads
+        configManager.addChangeListener((previous, current) -> {
+            applyBodyLogSettings(current);
+            applyResilienceSettings(current);
+        });
+    }
+    
+    private static void applyBodyLogSettings(ConfigSnapshot config) {
+        bodyLogMaxBytes = Math.max(0, config.getInt("api.log.body.max.bytes", 2048));
+        bodyLogSamplePercent = Math.max(0, Math.min(100, config.getInt("api.log.body.sample.percent", 100)));
     }
     
+    private static void applyResilienceSettings(ConfigSnapshot config) {
+        retryPolicy = RetryPolicy.fromConfig(config);
+        circuitBreakerEnabled = config.getBoolean("api.circuit.enabled");
+        throttleEnabled = ApiThrottle.isConfigured(config);
+    }
+    
+    private final ApiEnvironment environment;
     private String authToken;
     
+    /**
+     * Constructor with target environment and auth token
+     *
+     * @param environment target environment, or null to follow the default environment
+     * @param authToken authentication token
+     */
+    public BaseAPI(ApiEnvironment environment, String authToken) {
+        this.environment = environment;
+        this.authToken = authToken;
+    }
+    
     /**
      * Constructor with auth token
      *
      * @param authToken authentication token
      */
     public BaseAPI(String authToken) {
-        this.authToken = authToken;
+        this(null, authToken);
     }
     
     /**
      * Default constructor
      */
     public BaseAPI() {
-        this.authToken = null;
+        this(null, null);
+    }
+    
+    /**
+     * Gets the environment this client sends requests to
+     *
+     * @return target environment
+     */
+    public ApiEnvironment getEnvironment() {
+        return environment != null ? environment : ApiEnvironment.current();
     }
     
     /**
@@ -51,18 +106,71 @@ public class BaseAPI {
     }
     
     /**
-     * Creates a request specification with authentication
+     * Gets the authentication token
+     *
+     * @return authentication token, or null if not authenticated
+     */
+    protected String getAuthToken() {
+        return authToken;
+    }
+    
+    /**
+     * Gets the transport that sends this client's requests, by default the environment's.
+     * A transport is a filter that answers the request itself instead of passing it on;
+     * subclasses can override this to plug in their own.
+     *
+     * @return transport filter, or null to use RestAssured's HTTP/1.1 client
+     */
+    protected Filter getTransport() {
+        return getEnvironment().getTransport();
+    }
+    
+    /**
+     * Gets the policy deciding which failed calls are retried, by default from the api.retry.* settings
+     *
+     * @return retry policy
+     */
+    protected RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+    
+    /**
+     * Gets the circuit breaker guarding this client's calls, by default the one shared by
+     * every client of the environment's host when api.circuit.enabled is set
+     *
+     * @return circuit breaker, or null to send calls unguarded
+     */
+    protected CircuitBreaker getCircuitBreaker() {
+        return circuitBreakerEnabled ? CircuitBreaker.forHost(getEnvironment().getHost()) : null;
+    }
+    
+    /**
+     * Gets the rate and concurrency limits applied to this client's calls, by default the throttle
+     * shared by every client of the environment's host when any api.limit.* limit is set
+     *
+     * @return throttle, or null to send calls without waiting
+     */
+    protected ApiThrottle getThrottle() {
+        return throttleEnabled ? ApiThrottle.forHost(getEnvironment().getHost()) : null;
+    }
+    
+    /**
+     * Creates a request specification with authentication from the environment's cached specification
      *
      * @return RequestSpecification with auth token if available
      */
     protected RequestSpecification createRequest() {
-        RequestSpecification request = RestAssured.given()
-                .contentType(ContentType.JSON);
+        RequestSpecification request = getEnvironment().newRequest();
         
         if (authToken != null && !authToken.isEmpty()) {
             request.header("Authorization", "Bearer " + authToken);
         }
         
+        Filter requestTransport = getTransport();
+        if (requestTransport != null) {
+            request.filter(requestTransport);
+        }
+        
         return request;
     }
     
@@ -75,8 +183,8 @@ public class BaseAPI {
     public Response get(String endpoint) {
         logger.info("Performing GET request to: {}", endpoint);
         
-        Response response = createRequest()
-                .get(endpoint);
+        Response response = execute("GET", endpoint, () -> createRequest()
+                .get(endpoint));
         
         logResponse(response);
         return response;
@@ -92,27 +200,51 @@ public class BaseAPI {
     public Response get(String endpoint, Map<String, String> queryParams) {
         logger.info("Performing GET request to: {} with query params: {}", endpoint, queryParams);
         
-        Response response = createRequest()
+        Response response = execute("GET", endpoint, () -> createRequest()
                 .queryParams(queryParams)
-                .get(endpoint);
+                .get(endpoint));
         
         logResponse(response);
         return response;
     }
     
+    /**
+     * Performs a GET request whose body the caller reads as a stream.
+     * Only the status is logged, so the body is not read for logging. The default transport hands
+     * over the body as it arrives. {@link Http2Transport} receives the whole body first, so with
+     * api.transport=http2 streaming only saves the memory of parsing the whole body at once.
+     *
+     * @param endpoint API endpoint
+     * @param queryParams query parameters, or null for none
+     * @return Response object with an unread body
+     */
+    protected Response getStreaming(String endpoint, Map<String, String> queryParams) {
+        logger.info("Performing streaming GET request to: {}", endpoint);
+        
+        Response response = execute("GET", endpoint, () -> {
+            RequestSpecification request = createRequest();
+            if (queryParams != null) {
+                request.queryParams(queryParams);
+            }
+            return request.get(endpoint);
+        });
+        
+        logger.info("Response Status Code: {}", Unbox.box(response.getStatusCode()));
+        return response;
+    }
+    
     /**
      * Performs a POST request with request body
      *
      * @param endpoint API endpoint
-     * @param requestBody request body object
+     * @param requestBody request body object, a pre-serialized byte[] such as a
+     *                    {@link JsonBodyTemplate} rendering, or null to send no body
      * @return Response object
      */
     public Response post(String endpoint, Object requestBody) {
         logger.info("Performing POST request to: {}", endpoint);
         
-        Response response = createRequest()
-                .body(requestBody)
-                .post(endpoint);
+        Response response = execute("POST", endpoint, () -> withBody(createRequest(), requestBody).post(endpoint));
         
         logResponse(response);
         return response;
@@ -122,20 +254,34 @@ public class BaseAPI {
      * Performs a PUT request with request body
      *
      * @param endpoint API endpoint
-     * @param requestBody request body object
+     * @param requestBody request body object, a pre-serialized byte[], or null to send no body
      * @return Response object
      */
     public Response put(String endpoint, Object requestBody) {
         logger.info("Performing PUT request to: {}", endpoint);
         
-        Response response = createRequest()
-                .body(requestBody)
-                .put(endpoint);
+        Response response = execute("PUT", endpoint, () -> withBody(createRequest(), requestBody).put(endpoint));
         
         logResponse(response);
         return response;
     }
     
+    /**
+     * Sets the request body. A byte[] is sent as is instead of being serialized as a JSON array.
+     *
+     * @param request request specification
+     * @param requestBody request body object, pre-serialized byte[] or null
+     * @return the request specification
+     */
+    private static RequestSpecification withBody(RequestSpecification request, Object requestBody) {
+        if (requestBody instanceof byte[]) {
+            request.body((byte[]) requestBody);
+        } else if (requestBody != null) {
+            request.body(requestBody);
+        }
+        return request;
+    }
+    
     /**
      * Performs a DELETE request
      *
@@ -145,20 +291,178 @@ public class BaseAPI {
     public Response delete(String endpoint) {
         logger.info("Performing DELETE request to: {}", endpoint);
         
-        Response response = createRequest()
-                .delete(endpoint);
+        Response response = execute("DELETE", endpoint, () -> createRequest()
+                .delete(endpoint));
         
         logResponse(response);
         return response;
     }
     
     /**
-     * Logs response details
+     * Reads a successful response as a model object
+     *
+     * @param response Response object
+     * @param type model class
+     * @param <T> model type
+     * @return bound model
+     * @throws FrameworkException if the status is not 2xx or the body cannot be parsed
+     */
+    protected static <T> T readAs(Response response, Class<T> type) {
+        requireSuccess(response, type.getSimpleName());
+        return ApiJson.read(response, type);
+    }
+    
+    /**
+     * Reads the elements of an array field of a successful response
+     *
+     * @param response Response object
+     * @param fieldName name of the array field
+     * @param type element class
+     * @param <T> element type
+     * @return elements in order
+     * @throws FrameworkException if the status is not 2xx or the body cannot be parsed
+     */
+    protected static <T> List<T> readListAs(Response response, String fieldName, Class<T> type) {
+        requireSuccess(response, fieldName);
+        return ApiJson.readList(response, fieldName, type);
+    }
+    
+    private static void requireSuccess(Response response, String expected) {
+        int statusCode = response.getStatusCode();
+        if (statusCode < 200 || statusCode >= 300) {
+            throw new FrameworkException("Expected " + expected + " but got status " + statusCode + ": "
+                    + describeBody(response, 256));
+        }
+    }
+    
+    /**
+     * Sends a request within the rate limits and through the circuit breaker, retries it as the
+     * retry policy allows and records the latency of every attempt under the endpoint template
+     *
+     * @param method HTTP method
+     * @param endpoint API endpoint
+     * @param call builds and sends the request, called once per attempt
+     * @return Response object of the last attempt
+     * @throws CircuitOpenException if the host's circuit is open
+     * @throws FrameworkException if the rate limits would delay the call beyond api.limit.max.wait.ms
+     */
+    private Response execute(String method, String endpoint, Supplier<Response> call) {
+        RetryPolicy policy = getRetryPolicy();
+        CircuitBreaker breaker = getCircuitBreaker();
+        ApiThrottle throttle = getThrottle();
+        
+        for (int attempt = 1; ; attempt++) {
+            int statusCode = RetryPolicy.NO_RESPONSE;
+            Response response = null;
+            RuntimeException failure = null;
+            CircuitBreaker.Ticket ticket = null;
+            ApiThrottle.Permit permit = throttle != null ? throttle.acquire(method, endpoint) : null;
+            try {
+                if (breaker != null) {
+                    ticket = breaker.tryAcquire();
+                    if (ticket == null) {
+                        throw new CircuitOpenException(breaker.getHost(), "Circuit for " + breaker.getHost()
+                                + " is open, rejected " + method + " " + endpoint);
+                    }
+                }
+                
+                // Timed after the permit, so waiting for rate limits is not recorded as latency
+                long start = System.nanoTime();
+                try {
+                    response = call.get();
+                    statusCode = response.getStatusCode();
+                } catch (Exception e) {
+                    // RestAssured can throw checked I/O exceptions such as ConnectException undeclared
+                    failure = e instanceof RuntimeException ? (RuntimeException) e
+                            : new FrameworkException(method + " " + endpoint + " failed: " + e, e);
+                } finally {
+                    EndpointMetrics.record(method, endpoint, System.nanoTime() - start, statusCode);
+                }
+            } finally {
+                // Releases the concurrency slots once the response has been received
+                if (permit != null) {
+                    permit.close();
+                }
+            }
+            if (breaker != null) {
+                breaker.onResult(ticket,
+                        statusCode == RetryPolicy.NO_RESPONSE || statusCode == 429 || statusCode >= 500);
+            }
+            if (throttle != null && response != null) {
+                throttle.onResponse(method, endpoint, response);
+            }
+            
+            if (attempt >= policy.getMaxAttempts() || !policy.isRetryable(method, statusCode)
+                    || (failure != null && !isConnectionFailure(failure))) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+            
+            long delay = policy.delayMillis(attempt, response);
+            logger.warn("Retrying {} {} in {} ms after attempt {} of {} failed with {}", method, endpoint,
+                    Unbox.box(delay), Unbox.box(attempt), Unbox.box(policy.getMaxAttempts()),
+                    failure != null ? failure.toString() : "status " + statusCode);
+            EndpointMetrics.recordRetry(method, endpoint);
+            sleep(delay);
+        }
+    }
+    
+    private static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while waiting to retry", e);
+        }
+    }
+    
+    /**
+     * Logs response details.
+     * The body is only read when debug logging is enabled and the response is sampled,
+     * and then only up to api.log.body.max.bytes, so INFO-level logging never touches it.
      *
      * @param response Response object
      */
     private void logResponse(Response response) {
-        logger.info("Response Status Code: {}", response.getStatusCode());
-        logger.debug("Response Body: {}", response.getBody().asString());
+        logger.info("Response Status Code: {}", Unbox.box(response.getStatusCode()));
+        if (logger.isDebugEnabled() && isBodySampled()) {
+            logger.debug("Response Body: {}", describeBody(response, bodyLogMaxBytes));
+        }
+    }
+    
+    private static boolean isBodySampled() {
+        int percent = bodyLogSamplePercent;
+        return percent >= 100 || (percent > 0 && ThreadLocalRandom.current().nextInt(100) < percent);
+    }
+    
+    /**
+     * Describes at most maxBytes of the response body for logging.
+     * The raw bytes are the buffer RestAssured keeps for later body reads, so only the
+     * logged prefix is decoded instead of materializing the whole body as a String.
+     *
+     * @param response Response object
+     * @param maxBytes maximum number of bytes to include
+     * @return body prefix, with the total size appended if it was truncated
+     */
+    static String describeBody(Response response, int maxBytes) {
+        byte[] body = response.getBody().asByteArray();
+        if (body == null) {
+            return "";
+        }
+        if (body.length <= maxBytes) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        return new String(body, 0, maxBytes, StandardCharsets.UTF_8) + "... (truncated, " + body.length + " bytes)";
     }
 }
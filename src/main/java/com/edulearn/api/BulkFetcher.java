@@ -0,0 +1,119 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Fetches many items concurrently with a bounded number of requests in flight.
+ * Each item gets its own timeout, failures are recorded per item instead of
+ * aborting the batch, and results come back in request order.
+ * <p>
+ * A timed-out request is reported as failed straight away, but it keeps its
+ * in-flight slot until the underlying call returns, so the server never sees
+ * more than maxInFlight concurrent requests.
+ */
+public final class BulkFetcher {
+    
+    private static final Logger logger = LogManager.getLogger(BulkFetcher.class);
+    
+    private final int maxInFlight;
+    private final long timeoutMillis;
+    private final Executor executor;
+    
+    /**
+     * Creates a bulk fetcher
+     *
+     * @param maxInFlight maximum concurrent requests
+     * @param timeoutMillis timeout per item in milliseconds, 0 for none
+     * @param executor executor that runs the requests
+     */
+    public BulkFetcher(int maxInFlight, long timeoutMillis, Executor executor) {
+        if (maxInFlight < 1 || timeoutMillis < 0) {
+            throw new IllegalArgumentException("Invalid bulk fetch settings: max in flight " + maxInFlight
+                    + ", timeout " + timeoutMillis + " ms");
+        }
+        this.maxInFlight = maxInFlight;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = executor;
+    }
+    
+    /**
+     * Creates a bulk fetcher from api.bulk.max.in.flight and api.bulk.timeout.ms on the shared API executor
+     *
+     * @param config configuration snapshot
+     * @return bulk fetcher
+     */
+    public static BulkFetcher fromConfig(ConfigSnapshot config) {
+        return new BulkFetcher(config.getInt("api.bulk.max.in.flight", 8), config.getInt("api.bulk.timeout.ms", 10000),
+                ApiExecutors.shared());
+    }
+    
+    /**
+     * Fetches a value for every key and waits for all of them to complete or time out
+     *
+     * @param keys keys to fetch
+     * @param fetch fetches the value for one key
+     * @param <K> key type
+     * @param <V> value type
+     * @return results in key order
+     * @throws FrameworkException if interrupted while submitting
+     */
+    public <K, V> BulkResult<K, V> fetchAll(List<K> keys, Function<? super K, ? extends V> fetch) {
+        Semaphore permits = new Semaphore(maxInFlight);
+        List<CompletableFuture<BulkResult.Item<K, V>>> futures = new ArrayList<>(keys.size());
+        
+        for (K key : keys) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FrameworkException("Interrupted while submitting bulk fetch", e);
+            }
+            long submitted = System.nanoTime();
+            CompletableFuture<V> call;
+            try {
+                call = CompletableFuture.supplyAsync(() -> fetch.apply(key), executor);
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            call.whenComplete((value, error) -> permits.release());
+            
+            CompletableFuture<V> limited = timeoutMillis > 0
+                    ? call.copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS) : call;
+            futures.add(limited.handle((value, error) -> new BulkResult.Item<>(key, value,
+                    unwrap(error, key), System.nanoTime() - submitted)));
+        }
+        
+        List<BulkResult.Item<K, V>> items = new ArrayList<>(futures.size());
+        for (CompletableFuture<BulkResult.Item<K, V>> future : futures) {
+            items.add(future.join());
+        }
+        BulkResult<K, V> result = new BulkResult<>(items);
+        logger.info("Bulk fetch finished: {}", result);
+        return result;
+    }
+    
+    private Throwable unwrap(Throwable error, Object key) {
+        if (error == null) {
+            return null;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return new FrameworkException("Timed out after " + timeoutMillis + " ms fetching " + key, cause);
+        }
+        return cause;
+    }
+}
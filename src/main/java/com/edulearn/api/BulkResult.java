@@ -0,0 +1,170 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.FrameworkException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk fetch: one result per requested key, in request order,
+ * each holding either a value or the error that prevented fetching it
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class BulkResult<K, V> {
+    
+    private final List<Item<K, V>> items;
+    
+    BulkResult(List<Item<K, V>> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+    }
+    
+    /**
+     * Gets the result for every key in request order
+     *
+     * @return item results
+     */
+    public List<Item<K, V>> getItems() {
+        return items;
+    }
+    
+    /**
+     * Gets the successfully fetched values in request order
+     *
+     * @return values
+     */
+    public List<V> getValues() {
+        List<V> values = new ArrayList<>(items.size());
+        for (Item<K, V> item : items) {
+            if (item.isSuccess()) {
+                values.add(item.getValue());
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Gets the errors of the failed keys in request order
+     *
+     * @return errors keyed by key
+     */
+    public Map<K, Throwable> getFailures() {
+        Map<K, Throwable> failures = new LinkedHashMap<>();
+        for (Item<K, V> item : items) {
+            if (!item.isSuccess()) {
+                failures.put(item.getKey(), item.getError());
+            }
+        }
+        return failures;
+    }
+    
+    /**
+     * Checks whether every key was fetched
+     *
+     * @return true if no key failed
+     */
+    public boolean isComplete() {
+        for (Item<K, V> item : items) {
+            if (!item.isSuccess()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Gets all values, failing if any key could not be fetched
+     *
+     * @return values in request order
+     * @throws FrameworkException listing the failed keys if the fetch was incomplete
+     */
+    public List<V> requireComplete() {
+        Map<K, Throwable> failures = getFailures();
+        if (!failures.isEmpty()) {
+            StringBuilder message = new StringBuilder()
+                    .append(failures.size()).append(" of ").append(items.size()).append(" fetches failed:");
+            for (Map.Entry<K, Throwable> failure : failures.entrySet()) {
+                message.append("\n  ").append(failure.getKey()).append(": ").append(failure.getValue());
+            }
+            throw new FrameworkException(message.toString());
+        }
+        return getValues();
+    }
+    
+    @Override
+    public String toString() {
+        int failed = getFailures().size();
+        return "BulkResult{items=" + items.size() + ", succeeded=" + (items.size() - failed)
+                + ", failed=" + failed + "}";
+    }
+    
+    /**
+     * Result for one key
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    public static final class Item<K, V> {
+        
+        private final K key;
+        private final V value;
+        private final Throwable error;
+        private final long elapsedNanos;
+        
+        Item(K key, V value, Throwable error, long elapsedNanos) {
+            this.key = key;
+            this.value = value;
+            this.error = error;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        /**
+         * Gets the requested key
+         *
+         * @return key
+         */
+        public K getKey() {
+            return key;
+        }
+        
+        /**
+         * Gets the fetched value
+         *
+         * @return value, or null if the fetch failed
+         */
+        public V getValue() {
+            return value;
+        }
+        
+        /**
+         * Gets the error that prevented fetching the value
+         *
+         * @return error, or null if the fetch succeeded
+         */
+        public Throwable getError() {
+            return error;
+        }
+        
+        /**
+         * Checks whether the value was fetched
+         *
+         * @return true if the fetch succeeded
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+        
+        /**
+         * Gets the time from submitting the fetch to its completion or timeout
+         *
+         * @return elapsed time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+}
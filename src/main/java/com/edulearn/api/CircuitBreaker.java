@@ -0,0 +1,300 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.core.ConfigSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker shared by all API clients calling the same host.
+ * Outcomes of the last calls are kept in a sliding window. Once the window holds
+ * enough calls and the share of failures reaches the threshold, the circuit opens
+ * and calls are rejected without being sent. After the open duration a single
+ * probe call is let through: if it succeeds the circuit closes, otherwise it
+ * opens again. Every allowed call gets a {@link Ticket} of the current state's
+ * generation, so outcomes of calls that started before the last state change,
+ * such as a slow call finishing while the circuit is half-open, are ignored.
+ * <p>
+ * Configured by api.circuit.window, api.circuit.min.calls,
+ * api.circuit.failure.rate.percent and api.circuit.open.ms. Breakers are rebuilt
+ * with the new settings when a configuration reload changes them.
+ */
+public final class CircuitBreaker {
+    
+    /**
+     * Circuit state
+     */
+    public enum State {
+        /** Calls are sent and their outcomes recorded */
+        CLOSED,
+        /** Calls are rejected until the open duration has passed */
+        OPEN,
+        /** One probe call is sent to decide whether to close the circuit */
+        HALF_OPEN
+    }
+    
+    /**
+     * Permission to send one call, handed back with the call's outcome to {@link #onResult(Ticket, boolean)}
+     */
+    public static final class Ticket {
+        
+        private final long generation;
+        private final boolean probe;
+        
+        private Ticket(long generation, boolean probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+        
+        /**
+         * Checks whether the call is the probe of a half-open circuit
+         *
+         * @return true for the probe call
+         */
+        public boolean isProbe() {
+            return probe;
+        }
+    }
+    
+    private static final Logger logger = LogManager.getLogger(CircuitBreaker.class);
+    private static final String CIRCUIT_PREFIX = "api.circuit.";
+    private static final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    
+    static {
+        ConfigManager.getInstance().addChangeListener((previous, current) -> {
+            if (current.isChangedUnder(previous, CIRCUIT_PREFIX)) {
+                logger.info("Circuit breaker settings changed, resetting {} breakers", breakers.size());
+                breakers.clear();
+            }
+        });
+    }
+    
+    private final String host;
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openNanos;
+    
+    private State state = State.CLOSED;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private long openedAt;
+    // Incremented on every state change; only tickets of the current generation are counted
+    private long generation;
+    private Ticket closedTicket = new Ticket(0, false);
+    private long rejectedCalls;
+    private long timesOpened;
+    
+    /**
+     * Creates a circuit breaker
+     *
+     * @param host host the breaker guards, used in logs and metrics
+     * @param windowSize number of recent calls whose outcome is kept
+     * @param minimumCalls calls needed in the window before the circuit can open
+     * @param failureRatePercent failure share, in percent of the window, that opens the circuit
+     * @param openMillis how long the circuit stays open before a probe call
+     */
+    public CircuitBreaker(String host, int windowSize, int minimumCalls, int failureRatePercent, long openMillis) {
+        this.host = host;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRatePercent = failureRatePercent;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+    
+    /**
+     * Creates a circuit breaker from the api.circuit.* settings
+     *
+     * @param config configuration snapshot
+     * @param host host the breaker guards
+     * @return circuit breaker
+     */
+    public static CircuitBreaker fromConfig(ConfigSnapshot config, String host) {
+        return new CircuitBreaker(host, config.getInt(CIRCUIT_PREFIX + "window", 20),
+                config.getInt(CIRCUIT_PREFIX + "min.calls", 10),
+                config.getInt(CIRCUIT_PREFIX + "failure.rate.percent", 50),
+                config.getInt(CIRCUIT_PREFIX + "open.ms", 5000));
+    }
+    
+    /**
+     * Gets the shared circuit breaker of a host
+     *
+     * @param host host and port, e.g. "api.example.com:443"
+     * @return shared breaker
+     */
+    public static CircuitBreaker forHost(String host) {
+        CircuitBreaker breaker = breakers.get(host);
+        if (breaker != null) {
+            return breaker;
+        }
+        return breakers.computeIfAbsent(host, key -> fromConfig(ConfigManager.getInstance().getSnapshot(), key));
+    }
+    
+    /**
+     * Gets all shared circuit breakers
+     *
+     * @return breakers keyed by host, sorted by host
+     */
+    public static Map<String, CircuitBreaker> getBreakers() {
+        return Collections.unmodifiableMap(new TreeMap<>(breakers));
+    }
+    
+    /**
+     * Discards all shared circuit breakers
+     */
+    public static void resetAll() {
+        breakers.clear();
+    }
+    
+    /**
+     * Asks permission to send a call
+     *
+     * @return ticket to pass to {@link #onResult(Ticket, boolean)}, or null if the call must be rejected
+     */
+    public synchronized Ticket tryAcquire() {
+        if (state == State.CLOSED) {
+            return closedTicket;
+        }
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            generation++;
+            logger.info("Circuit for {} is half-open, sending a probe call", host);
+            return new Ticket(generation, true);
+        }
+        // Open, or half-open with the probe still in flight
+        rejectedCalls++;
+        return null;
+    }
+    
+    /**
+     * Records the outcome of a call that was allowed by {@link #tryAcquire()}
+     *
+     * @param ticket ticket the call was allowed with
+     * @param failure true if the call failed, e.g. with a 5xx status or without a response
+     */
+    public synchronized void onResult(Ticket ticket, boolean failure) {
+        if (ticket == null || ticket.generation != generation) {
+            // Calls that started before the last state change
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            // Only the probe holds a ticket of the half-open generation
+            if (failure) {
+                logger.warn("Circuit for {} opened again, the probe call failed", host);
+                open();
+            } else {
+                logger.info("Circuit for {} closed after a successful probe", host);
+                state = State.CLOSED;
+                generation++;
+                closedTicket = new Ticket(generation, false);
+                clearWindow();
+            }
+            return;
+        }
+        
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        
+        if (windowCount >= minimumCalls && windowFailures * 100L >= (long) failureRatePercent * windowCount) {
+            logger.warn("Circuit for {} opened: {} of the last {} calls failed", host, windowFailures, windowCount);
+            open();
+        }
+    }
+    
+    private void open() {
+        state = State.OPEN;
+        generation++;
+        openedAt = System.nanoTime();
+        timesOpened++;
+        clearWindow();
+    }
+    
+    private void clearWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+    
+    /**
+     * Gets the guarded host
+     *
+     * @return host and port
+     */
+    public String getHost() {
+        return host;
+    }
+    
+    /**
+     * Gets the current state
+     *
+     * @return circuit state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+    
+    /**
+     * Gets the failure rate of the calls in the window
+     *
+     * @return failure rate in percent, 0 if the window is empty
+     */
+    public synchronized double getFailureRatePercent() {
+        return windowCount == 0 ? 0 : windowFailures * 100.0 / windowCount;
+    }
+    
+    /**
+     * Gets the number of calls rejected without being sent
+     *
+     * @return rejected calls
+     */
+    public synchronized long getRejectedCalls() {
+        return rejectedCalls;
+    }
+    
+    /**
+     * Gets how often the circuit opened
+     *
+     * @return number of times the circuit opened
+     */
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+    
+    /**
+     * Gets the breaker metrics
+     *
+     * @return state, failure rate, rejected calls and times opened
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("state", state.name());
+        map.put("failureRatePercent", Math.round(getFailureRatePercent() * 10) / 10.0);
+        map.put("rejectedCalls", rejectedCalls);
+        map.put("timesOpened", timesOpened);
+        return map;
+    }
+    
+    @Override
+    public String toString() {
+        return "CircuitBreaker{" + host + ", " + toMap() + "}";
+    }
+}
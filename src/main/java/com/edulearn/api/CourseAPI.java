@@ -1,12 +1,27 @@
 package com.edulearn.api;
 
+import com.edulearn.api.model.Course;
+import com.edulearn.api.model.CoursePage;
+import com.edulearn.api.model.CourseProgress;
+import com.edulearn.api.model.Enrollment;
+import com.edulearn.api.model.Lesson;
+import com.edulearn.api.model.ProgressUpdate;
+import com.edulearn.core.ConfigManager;
+import com.edulearn.exceptions.FrameworkException;
+import com.edulearn.metrics.EndpointMetrics;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * API client for courses
@@ -15,6 +30,22 @@ public class CourseAPI extends BaseAPI {
     
     private static final Logger logger = LogManager.getLogger(CourseAPI.class);
     private static final String COURSES_ENDPOINT = "/api/courses";
+    private static final ResponseCache RESPONSE_CACHE = ResponseCache.fromConfig(ConfigManager.getInstance().getSnapshot());
+    private static final JsonArrayReader<Course> COURSE_LIST = new JsonArrayReader<>("courses", Course.class);
+    private static final JsonBodyTemplate PROGRESS_BODY =
+            JsonBodyTemplate.compile("{\"lessonId\":${lessonId},\"completed\":${completed}}");
+    private static final JsonBodyTemplate PROGRESS_BATCH_BODY = JsonBodyTemplate.compile("{\"updates\":${updates}}");
+    
+    static {
+        EndpointMetrics.registerTemplate(COURSES_ENDPOINT + "/search");
+        EndpointMetrics.registerTemplate(COURSES_ENDPOINT + "/enrolled");
+        EndpointMetrics.registerTemplate(COURSES_ENDPOINT + "/{courseId}");
+        EndpointMetrics.registerTemplate(COURSES_ENDPOINT + "/{courseId}/enroll");
+        EndpointMetrics.registerTemplate(COURSES_ENDPOINT + "/{courseId}/progress");
+        EndpointMetrics.registerTemplate(COURSES_ENDPOINT + "/{courseId}/progress/batch");
+        EndpointMetrics.registerTemplate(COURSES_ENDPOINT + "/{courseId}/lessons");
+        EndpointMetrics.registerTemplate(COURSES_ENDPOINT + "/{courseId}/lessons/{lessonId}");
+    }
     
     /**
      * Constructor with auth token
@@ -25,6 +56,16 @@ public class CourseAPI extends BaseAPI {
         super(authToken);
     }
     
+    /**
+     * Constructor with target environment and auth token
+     *
+     * @param environment target environment
+     * @param authToken authentication token
+     */
+    public CourseAPI(ApiEnvironment environment, String authToken) {
+        super(environment, authToken);
+    }
+    
     /**
      * Gets all courses
      *
@@ -32,7 +73,7 @@ public class CourseAPI extends BaseAPI {
      */
     public Response getAllCourses() {
         logger.info("Getting all courses");
-        return get(COURSES_ENDPOINT);
+        return cachedGet(COURSES_ENDPOINT, null);
     }
     
     /**
@@ -43,7 +84,7 @@ public class CourseAPI extends BaseAPI {
      */
     public Response getCourseById(String courseId) {
         logger.info("Getting course by ID: {}", courseId);
-        return get(COURSES_ENDPOINT + "/" + courseId);
+        return cachedGet(COURSES_ENDPOINT + "/" + courseId, null);
     }
     
     /**
@@ -58,7 +99,7 @@ public class CourseAPI extends BaseAPI {
         Map<String, String> queryParams = new HashMap<>();
         queryParams.put("q", keyword);
         
-        return get(COURSES_ENDPOINT + "/search", queryParams);
+        return cachedGet(COURSES_ENDPOINT + "/search", queryParams);
     }
     
     /**
@@ -69,7 +110,9 @@ public class CourseAPI extends BaseAPI {
      */
     public Response enrollInCourse(String courseId) {
         logger.info("Enrolling in course: {}", courseId);
-        return post(COURSES_ENDPOINT + "/" + courseId + "/enroll", null);
+        Response response = post(COURSES_ENDPOINT + "/" + courseId + "/enroll", null);
+        invalidateCourse(courseId);
+        return response;
     }
     
     /**
@@ -79,7 +122,7 @@ public class CourseAPI extends BaseAPI {
      */
     public Response getEnrolledCourses() {
         logger.info("Getting enrolled courses");
-        return get(COURSES_ENDPOINT + "/enrolled");
+        return cachedGet(COURSES_ENDPOINT + "/enrolled", null);
     }
     
     /**
@@ -90,7 +133,7 @@ public class CourseAPI extends BaseAPI {
      */
     public Response getCourseProgress(String courseId) {
         logger.info("Getting progress for course: {}", courseId);
-        return get(COURSES_ENDPOINT + "/" + courseId + "/progress");
+        return cachedGet(COURSES_ENDPOINT + "/" + courseId + "/progress", null);
     }
     
     /**
@@ -105,11 +148,37 @@ public class CourseAPI extends BaseAPI {
         logger.info("Updating progress for course: {}, lesson: {}, completed: {}", 
                 courseId, lessonId, completed);
         
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("lessonId", lessonId);
-        requestBody.put("completed", completed);
+        Response response = post(COURSES_ENDPOINT + "/" + courseId + "/progress",
+                PROGRESS_BODY.render(lessonId, completed));
+        invalidateCourse(courseId);
+        return response;
+    }
+    
+    /**
+     * Updates the progress of several lessons of a course in one request.
+     * Servers without the batch endpoint answer 404 or 405.
+     *
+     * @param courseId course ID
+     * @param updates lesson updates, applied in order
+     * @return Response with the updated progress and any rejected updates
+     */
+    public Response updateLessonProgressBatch(String courseId, List<ProgressUpdate> updates) {
+        logger.info("Updating progress for course: {}, {} lessons", courseId, updates.size());
         
-        return post(COURSES_ENDPOINT + "/" + courseId + "/progress", requestBody);
+        Response response = post(COURSES_ENDPOINT + "/" + courseId + "/progress/batch",
+                PROGRESS_BATCH_BODY.render(updates));
+        invalidateCourse(courseId);
+        return response;
+    }
+    
+    /**
+     * Creates a batching progress writer from api.progress.batch.size, api.progress.linger.ms
+     * and api.bulk.max.in.flight. Close it to flush outstanding updates.
+     *
+     * @return progress batcher
+     */
+    public ProgressBatcher progressBatcher() {
+        return ProgressBatcher.fromConfig(this, ConfigManager.getInstance().getSnapshot());
     }
     
     /**
@@ -120,7 +189,7 @@ public class CourseAPI extends BaseAPI {
      */
     public Response getCourseLessons(String courseId) {
         logger.info("Getting lessons for course: {}", courseId);
-        return get(COURSES_ENDPOINT + "/" + courseId + "/lessons");
+        return cachedGet(COURSES_ENDPOINT + "/" + courseId + "/lessons", null);
     }
     
     /**
@@ -132,6 +201,335 @@ public class CourseAPI extends BaseAPI {
      */
     public Response getLessonDetails(String courseId, String lessonId) {
         logger.info("Getting details for course: {}, lesson: {}", courseId, lessonId);
-        return get(COURSES_ENDPOINT + "/" + courseId + "/lessons/" + lessonId);
+        return cachedGet(COURSES_ENDPOINT + "/" + courseId + "/lessons/" + lessonId, null);
+    }
+    
+    /**
+     * Fetches the details of every lesson in a course concurrently.
+     * Uses api.bulk.max.in.flight and api.bulk.timeout.ms.
+     *
+     * @param courseId course ID
+     * @return lesson details in course order, with per-lesson failures
+     * @throws FrameworkException if the lesson list cannot be fetched
+     */
+    public BulkResult<String, Lesson> fetchAllLessonDetails(String courseId) {
+        return fetchAllLessonDetails(courseId, BulkFetcher.fromConfig(ConfigManager.getInstance().getSnapshot()));
+    }
+    
+    /**
+     * Fetches the details of every lesson in a course concurrently
+     *
+     * @param courseId course ID
+     * @param fetcher concurrency limit, timeout and executor to use
+     * @return lesson details in course order, with per-lesson failures
+     * @throws FrameworkException if the lesson list cannot be fetched
+     */
+    public BulkResult<String, Lesson> fetchAllLessonDetails(String courseId, BulkFetcher fetcher) {
+        List<String> lessonIds = new ArrayList<>();
+        for (Lesson lesson : fetchLessons(courseId)) {
+            lessonIds.add(lesson.getId());
+        }
+        logger.info("Fetching details of {} lessons for course: {}", lessonIds.size(), courseId);
+        return fetcher.fetchAll(lessonIds, lessonId -> fetchLesson(courseId, lessonId));
+    }
+    
+    /**
+     * Gets one page of the course list
+     *
+     * @param page 1-based page number
+     * @param size page size
+     * @return Response with the courses on the page
+     */
+    public Response getCoursePage(int page, int size) {
+        logger.info("Getting course page {} of size {}", page, size);
+        return cachedGet(COURSES_ENDPOINT, pageParams(page, size));
+    }
+    
+    /**
+     * Gets one page of the search results for a keyword
+     *
+     * @param keyword search keyword
+     * @param page 1-based page number
+     * @param size page size
+     * @return Response with the matching courses on the page
+     */
+    public Response searchCoursesPage(String keyword, int page, int size) {
+        logger.info("Searching courses with keyword: {}, page {} of size {}", keyword, page, size);
+        Map<String, String> queryParams = pageParams(page, size);
+        queryParams.put("q", keyword);
+        return cachedGet(COURSES_ENDPOINT + "/search", queryParams);
+    }
+    
+    /**
+     * Iterates over all courses page by page, fetching the following pages in the background.
+     * Uses api.page.size, api.page.prefetch and api.page.max.concurrency. The stream must be
+     * closed, preferably with try-with-resources, to stop outstanding prefetches.
+     *
+     * @return lazy stream of courses across all pages
+     */
+    public Stream<Course> pagedCourses() {
+        return iterateCourses(Paging.fromConfig(ConfigManager.getInstance().getSnapshot())).stream();
+    }
+    
+    /**
+     * Iterates over all courses page by page, fetching the following pages in the background
+     *
+     * @param paging page size, prefetch depth and concurrency limit
+     * @return iterator over courses across all pages; close it to stop outstanding prefetches
+     */
+    public PagedIterator<Course> iterateCourses(Paging paging) {
+        return new PagedIterator<>((page, size) -> toPage(getCoursePage(page, size)), Course::getId, paging,
+                ApiExecutors.shared());
+    }
+    
+    /**
+     * Iterates over the search results for a keyword page by page, fetching the following
+     * pages in the background. Uses the api.page.* settings. The stream must be closed.
+     *
+     * @param keyword search keyword
+     * @return lazy stream of matching courses across all pages
+     */
+    public Stream<Course> pagedSearchResults(String keyword) {
+        return iterateSearchResults(keyword, Paging.fromConfig(ConfigManager.getInstance().getSnapshot())).stream();
+    }
+    
+    /**
+     * Iterates over the search results for a keyword page by page, fetching the following
+     * pages in the background
+     *
+     * @param keyword search keyword
+     * @param paging page size, prefetch depth and concurrency limit
+     * @return iterator over matching courses across all pages; close it to stop outstanding prefetches
+     */
+    public PagedIterator<Course> iterateSearchResults(String keyword, Paging paging) {
+        return new PagedIterator<>((page, size) -> toPage(searchCoursesPage(keyword, page, size)), Course::getId,
+                paging, ApiExecutors.shared());
+    }
+    
+    /**
+     * Gets the response cache shared by all CourseAPI instances, used when api.cache.enabled is set
+     *
+     * @return response cache
+     */
+    public static ResponseCache getResponseCache() {
+        return RESPONSE_CACHE;
+    }
+    
+    /**
+     * Performs a GET request, through the response cache if api.cache.enabled is set
+     *
+     * @param endpoint API endpoint
+     * @param queryParams query parameters, or null for none
+     * @return Response object
+     */
+    private Response cachedGet(String endpoint, Map<String, String> queryParams) {
+        Supplier<Response> request = queryParams == null ? () -> get(endpoint) : () -> get(endpoint, queryParams);
+        if (!ConfigManager.getInstance().getSnapshot().getBoolean("api.cache.enabled")) {
+            return request.get();
+        }
+        // Responses are cached per environment and token
+        String token = getAuthToken();
+        String principal = getEnvironment().getBaseUrl() + (token != null ? " " + token : "");
+        return RESPONSE_CACHE.get(principal, endpoint, queryParams, request);
+    }
+    
+    /**
+     * Drops cached responses a write to a course may have changed: the course and
+     * everything below it, such as progress and lessons, and the enrolled list
+     *
+     * @param courseId course ID
+     */
+    private static void invalidateCourse(String courseId) {
+        RESPONSE_CACHE.invalidate(COURSES_ENDPOINT + "/" + courseId);
+        RESPONSE_CACHE.invalidate(COURSES_ENDPOINT + "/enrolled");
+    }
+    
+    private static Map<String, String> pageParams(int page, int size) {
+        Map<String, String> queryParams = new HashMap<>();
+        queryParams.put("page", String.valueOf(page));
+        queryParams.put("size", String.valueOf(size));
+        return queryParams;
+    }
+    
+    private static PagedIterator.Page<Course> toPage(Response response) {
+        CoursePage page = readAs(response, CoursePage.class);
+        return new PagedIterator.Page<>(page.getCourses(), page.getTotalPages());
+    }
+    
+    /**
+     * Gets a course with its modules as a typed model
+     *
+     * @param courseId course ID
+     * @return course details
+     * @throws FrameworkException if the request fails
+     */
+    public Course fetchCourse(String courseId) {
+        return readAs(getCourseById(courseId), Course.class);
+    }
+    
+    /**
+     * Searches for courses with keyword and reads the results as typed models
+     *
+     * @param keyword search keyword
+     * @return matching courses
+     * @throws FrameworkException if the request fails
+     */
+    public List<Course> fetchSearchResults(String keyword) {
+        return readListAs(searchCourses(keyword), "courses", Course.class);
+    }
+    
+    /**
+     * Gets the enrolled courses for the current user as typed models
+     *
+     * @return enrolled courses
+     * @throws FrameworkException if the request fails
+     */
+    public List<Course> fetchEnrolledCourses() {
+        return readListAs(getEnrolledCourses(), "courses", Course.class);
+    }
+    
+    /**
+     * Enrolls in a course and reads the result as a typed model
+     *
+     * @param courseId course ID
+     * @return enrollment result
+     * @throws FrameworkException if the request fails
+     */
+    public Enrollment enroll(String courseId) {
+        return readAs(enrollInCourse(courseId), Enrollment.class);
+    }
+    
+    /**
+     * Gets course progress as a typed model
+     *
+     * @param courseId course ID
+     * @return course progress
+     * @throws FrameworkException if the request fails
+     */
+    public CourseProgress fetchProgress(String courseId) {
+        return readAs(getCourseProgress(courseId), CourseProgress.class);
+    }
+    
+    /**
+     * Updates course progress and reads the updated progress as a typed model
+     *
+     * @param courseId course ID
+     * @param lessonId lesson ID
+     * @param completed whether the lesson is completed
+     * @return updated course progress
+     * @throws FrameworkException if the request fails
+     */
+    public CourseProgress recordLessonProgress(String courseId, String lessonId, boolean completed) {
+        return readAs(updateLessonProgress(courseId, lessonId, completed), CourseProgress.class);
+    }
+    
+    /**
+     * Gets the lessons of a course as typed models
+     *
+     * @param courseId course ID
+     * @return lessons in course order
+     * @throws FrameworkException if the request fails
+     */
+    public List<Lesson> fetchLessons(String courseId) {
+        return readListAs(getCourseLessons(courseId), "lessons", Lesson.class);
+    }
+    
+    /**
+     * Gets lesson details as a typed model
+     *
+     * @param courseId course ID
+     * @param lessonId lesson ID
+     * @return lesson details
+     * @throws FrameworkException if the request fails
+     */
+    public Lesson fetchLesson(String courseId, String lessonId) {
+        return readAs(getLessonDetails(courseId, lessonId), Lesson.class);
+    }
+    
+    /**
+     * Streams all courses without materializing the course list.
+     * The stream must be closed, preferably with try-with-resources.
+     *
+     * @return lazy stream of courses
+     * @throws FrameworkException if the request does not return 200
+     */
+    public Stream<Course> streamCourses() {
+        logger.info("Streaming all courses");
+        return COURSE_LIST.stream(openCourseList(null));
+    }
+    
+    /**
+     * Streams the courses matching a keyword without materializing the result list.
+     * The stream must be closed, preferably with try-with-resources.
+     *
+     * @param keyword search keyword
+     * @return lazy stream of matching courses
+     * @throws FrameworkException if the request does not return 200
+     */
+    public Stream<Course> streamSearchResults(String keyword) {
+        logger.info("Streaming courses matching keyword: {}", keyword);
+        return COURSE_LIST.stream(openCourseList(keyword));
+    }
+    
+    /**
+     * Passes each course to the action, one at a time
+     *
+     * @param action receives each course
+     * @return number of courses
+     * @throws FrameworkException if the request does not return 200
+     */
+    public int forEachCourse(Consumer<? super Course> action) {
+        return COURSE_LIST.forEach(openCourseList(null), course -> {
+            action.accept(course);
+            return true;
+        });
+    }
+    
+    /**
+     * Counts all courses without materializing the course list
+     *
+     * @return number of courses
+     * @throws FrameworkException if the request does not return 200
+     */
+    public int countCourses() {
+        return COURSE_LIST.forEach(openCourseList(null), course -> true);
+    }
+    
+    /**
+     * Checks whether any course matches, stopping at the first match
+     *
+     * @param predicate condition to test
+     * @return true if a course matches
+     * @throws FrameworkException if the request does not return 200
+     */
+    public boolean anyCourseMatch(Predicate<? super Course> predicate) {
+        boolean[] matched = new boolean[1];
+        COURSE_LIST.forEach(openCourseList(null), course -> {
+            matched[0] = predicate.test(course);
+            return !matched[0];
+        });
+        return matched[0];
+    }
+    
+    /**
+     * Requests the course list, or search results if a keyword is given, and opens its body
+     *
+     * @param keyword search keyword, or null for all courses
+     * @return unread response body
+     */
+    private InputStream openCourseList(String keyword) {
+        Response response;
+        if (keyword == null) {
+            response = getStreaming(COURSES_ENDPOINT, null);
+        } else {
+            Map<String, String> queryParams = new HashMap<>();
+            queryParams.put("q", keyword);
+            response = getStreaming(COURSES_ENDPOINT + "/search", queryParams);
+        }
+        
+        if (response.getStatusCode() != 200) {
+            throw new FrameworkException("Course list request failed with status " + response.getStatusCode());
+        }
+        return response.getBody().asInputStream();
     }
 }
@@ -0,0 +1,209 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RestAssured transport that sends requests with the JDK {@link HttpClient} over HTTP/2.
+ * Concurrent requests to the same host are multiplexed as streams over a shared
+ * connection instead of each holding its own HTTP/1.1 connection. Cleartext URLs
+ * are upgraded to h2c, and servers that only speak HTTP/1.1 still work.
+ * <p>
+ * The transport is a filter that runs after every other filter and answers the
+ * request itself, so headers, auth and logging set up on the RequestSpecification
+ * apply unchanged. Multipart and form requests are passed on to RestAssured's own
+ * HTTP/1.1 client. Like {@code RestAssured.useRelaxedHTTPSValidation()}, server
+ * certificates are not validated.
+ */
+public final class Http2Transport implements OrderedFilter {
+    
+    private static final Logger logger = LogManager.getLogger(Http2Transport.class);
+    
+    // Set by the client itself or not allowed on HTTP/2
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "te", "transfer-encoding"));
+    
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    
+    /**
+     * Creates an HTTP/2 transport with its own connection pool
+     *
+     * @param requestTimeoutMillis time allowed for each request, 0 for no limit
+     */
+    public Http2Transport(long requestTimeoutMillis) {
+        this.requestTimeout = requestTimeoutMillis > 0 ? Duration.ofMillis(requestTimeoutMillis) : null;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .sslContext(createRelaxedSslContext())
+                .build();
+    }
+    
+    /**
+     * Creates an HTTP/2 transport using api.timeout as the request timeout
+     *
+     * @param config configuration snapshot
+     * @return HTTP/2 transport
+     */
+    public static Http2Transport fromConfig(ConfigSnapshot config) {
+        return new Http2Transport(config.getInt("api.timeout", 30000));
+    }
+    
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+    
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!requestSpec.getMultiPartParams().isEmpty() || !requestSpec.getFormParams().isEmpty()) {
+            logger.debug("Sending {} {} over HTTP/1.1, multipart and form bodies are not supported",
+                    requestSpec.getMethod(), requestSpec.getURI());
+            return ctx.next(requestSpec, responseSpec);
+        }
+        
+        HttpRequest request = toHttpRequest(requestSpec);
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            logger.debug("{} {} answered over {}", request.method(), request.uri(), response.version());
+            return toResponse(response);
+        } catch (IOException e) {
+            throw new FrameworkException("HTTP/2 request failed: " + request.method() + " " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted during HTTP/2 request: " + request.method() + " "
+                    + request.uri(), e);
+        }
+    }
+    
+    private HttpRequest toHttpRequest(FilterableRequestSpecification requestSpec) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(requestSpec.getURI()))
+                .method(requestSpec.getMethod(), toBodyPublisher(requestSpec.getBody()));
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+        
+        for (Header header : requestSpec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        
+        if (requestSpec.getCookies().exist()) {
+            List<String> cookies = new ArrayList<>();
+            for (Cookie cookie : requestSpec.getCookies()) {
+                cookies.add(cookie.getName() + "=" + cookie.getValue());
+            }
+            builder.header("Cookie", String.join("; ", cookies));
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Converts a request body, which RestAssured has already serialized when filters run
+     *
+     * @param body request body, or null for none
+     * @return body publisher
+     */
+    private static HttpRequest.BodyPublisher toBodyPublisher(Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        if (body instanceof File) {
+            try {
+                return HttpRequest.BodyPublishers.ofFile(((File) body).toPath());
+            } catch (FileNotFoundException e) {
+                throw new FrameworkException("Request body file not found: " + body, e);
+            }
+        }
+        if (body instanceof InputStream) {
+            InputStream stream = (InputStream) body;
+            return HttpRequest.BodyPublishers.ofInputStream(() -> stream);
+        }
+        return HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8);
+    }
+    
+    private static Response toResponse(HttpResponse<byte[]> response) {
+        List<Header> headers = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : response.headers().map().entrySet()) {
+            for (String value : entry.getValue()) {
+                headers.add(new Header(entry.getKey(), value));
+            }
+        }
+        
+        String protocol = response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine(protocol + " " + response.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(response.body());
+        response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+    
+    private static SSLContext createRelaxedSslContext() {
+        TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+                // Relaxed validation, every client is trusted
+            }
+            
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+                // Relaxed validation, every server is trusted
+            }
+            
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[] {trustAll}, new SecureRandom());
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new FrameworkException("Failed to create SSL context for HTTP/2 transport", e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.FrameworkException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the elements of a top-level JSON array field one at a time with a
+ * Jackson streaming parser, e.g. the "courses" array of a course list response.
+ * Only the current element is bound, so memory use does not grow with the
+ * size of the array. Elements are bound with the cached {@link ApiJson} readers.
+ * Readers are thread-safe and meant to be shared.
+ *
+ * @param <T> element type
+ */
+public final class JsonArrayReader<T> {
+    
+    private final String fieldName;
+    private final ObjectReader reader;
+    
+    /**
+     * Creates a reader for an array field
+     *
+     * @param fieldName name of the top-level array field
+     * @param type element type
+     */
+    public JsonArrayReader(String fieldName, Class<T> type) {
+        this.fieldName = fieldName;
+        this.reader = ApiJson.readerFor(type);
+    }
+    
+    /**
+     * Passes each element to the visitor until it returns false or the array ends.
+     * The input stream is closed before returning.
+     *
+     * @param input JSON document
+     * @param visitor receives each element, returns false to stop early
+     * @return number of elements visited
+     * @throws FrameworkException if the document cannot be parsed
+     */
+    public int forEach(InputStream input, Predicate<? super T> visitor) {
+        int visited = 0;
+        try (JsonParser parser = open(input)) {
+            if (seekArray(parser)) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    visited++;
+                    if (!visitor.test(reader.readValue(parser))) {
+                        break;
+                    }
+                }
+            }
+            return visited;
+        } catch (IOException e) {
+            throw new FrameworkException("Failed to read '" + fieldName + "' array", e);
+        }
+    }
+    
+    /**
+     * Gets a lazy stream over the elements. The stream must be closed, preferably
+     * with try-with-resources, to release the input if it is not fully consumed.
+     *
+     * @param input JSON document
+     * @return stream of elements
+     * @throws FrameworkException if the document cannot be parsed
+     */
+    public Stream<T> stream(InputStream input) {
+        JsonParser parser;
+        try {
+            parser = open(input);
+            if (!seekArray(parser)) {
+                parser.close();
+                return Stream.empty();
+            }
+        } catch (IOException e) {
+            throw new FrameworkException("Failed to read '" + fieldName + "' array", e);
+        }
+        
+        Spliterator<T> elements = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        return false;
+                    }
+                    action.accept(reader.readValue(parser));
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(elements, false).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    private JsonParser open(InputStream input) throws IOException {
+        JsonParser parser = ApiJson.getMapper().getFactory().createParser(input);
+        parser.enable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        return parser;
+    }
+    
+    /**
+     * Advances the parser to the start of the array field, skipping other top-level values
+     *
+     * @param parser parser positioned before the document
+     * @return true if the parser is positioned on the array start
+     */
+    private boolean seekArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (fieldName.equals(name) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
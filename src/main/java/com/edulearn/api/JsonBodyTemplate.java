@@ -0,0 +1,312 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.FrameworkException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pre-compiled JSON request body with placeholder slots, for POST endpoints called in hot loops.
+ * The skeleton is split once into UTF-8 encoded literal segments around {@code ${name}} slots,
+ * so rendering copies the segments and writes each value straight into a per-thread reusable
+ * buffer. Strings, numbers, booleans and null are written without building a map or
+ * serializing through reflection; other values are serialized with the {@link ApiJson} mapper.
+ * <pre>
+ * JsonBodyTemplate login = JsonBodyTemplate.compile("{\"username\":${username},\"password\":${password}}");
+ * post("/api/auth/login", login.render(username, password));
+ * </pre>
+ */
+public final class JsonBodyTemplate {
+    
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    
+    // Larger buffers are not kept, so one oversized body does not pin memory per thread
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+    
+    private final String skeleton;
+    private final byte[][] literals;
+    private final List<String> slotNames;
+    
+    private JsonBodyTemplate(String skeleton, byte[][] literals, List<String> slotNames) {
+        this.skeleton = skeleton;
+        this.literals = literals;
+        this.slotNames = Collections.unmodifiableList(slotNames);
+    }
+    
+    /**
+     * Compiles a JSON skeleton whose values may be {@code ${name}} slots.
+     * Slots stand for whole JSON values, so they must not be quoted.
+     *
+     * @param skeleton JSON skeleton
+     * @return compiled template
+     * @throws FrameworkException if a slot is inside a string or the skeleton is not valid JSON
+     */
+    public static JsonBodyTemplate compile(String skeleton) {
+        List<byte[]> literals = new ArrayList<>();
+        List<String> slotNames = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        StringBuilder validation = new StringBuilder();
+        boolean inString = false;
+        
+        for (int i = 0; i < skeleton.length(); i++) {
+            char c = skeleton.charAt(i);
+            if (inString) {
+                if (c == '\\' && i + 1 < skeleton.length()) {
+                    literal.append(c).append(skeleton.charAt(i + 1));
+                    validation.append(c).append(skeleton.charAt(i + 1));
+                    i++;
+                    continue;
+                }
+                if (c == '"') {
+                    inString = false;
+                } else if (c == '$' && skeleton.startsWith("{", i + 1)) {
+                    throw new FrameworkException("Placeholder at index " + i
+                            + " is inside a string, slots must not be quoted: " + skeleton);
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '$' && skeleton.startsWith("{", i + 1)) {
+                int end = skeleton.indexOf('}', i + 2);
+                if (end < 0) {
+                    throw new FrameworkException("Unterminated placeholder at index " + i + ": " + skeleton);
+                }
+                literals.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+                literal.setLength(0);
+                slotNames.add(skeleton.substring(i + 2, end).trim());
+                validation.append("null");
+                i = end;
+                continue;
+            }
+            literal.append(c);
+            validation.append(c);
+        }
+        literals.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+        
+        try {
+            ApiJson.getMapper().readTree(validation.toString());
+        } catch (JsonProcessingException e) {
+            throw new FrameworkException("Invalid JSON body template: " + skeleton, e);
+        }
+        return new JsonBodyTemplate(skeleton, literals.toArray(new byte[0][]), slotNames);
+    }
+    
+    /**
+     * Gets the slot names in the order their values are passed to {@link #render(Object...)}
+     *
+     * @return slot names
+     */
+    public List<String> getSlotNames() {
+        return slotNames;
+    }
+    
+    /**
+     * Renders the body with values for the slots
+     *
+     * @param values one value per slot, in slot order
+     * @return UTF-8 encoded JSON body, owned by the caller
+     * @throws IllegalArgumentException if the number of values does not match the slots
+     *                                  or a number is not finite
+     */
+    public byte[] render(Object... values) {
+        if (values.length != slotNames.size()) {
+            throw new IllegalArgumentException("Template " + skeleton + " has " + slotNames.size()
+                    + " slots " + slotNames + " but got " + values.length + " values");
+        }
+        Buffer buffer = buffers.get();
+        buffer.reset();
+        for (int i = 0; i < values.length; i++) {
+            buffer.write(literals[i]);
+            writeValue(buffer, values[i]);
+        }
+        buffer.write(literals[values.length]);
+        
+        byte[] body = buffer.toByteArray();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+        return body;
+    }
+    
+    private static void writeValue(Buffer buffer, Object value) {
+        if (value == null) {
+            buffer.write(NULL);
+        } else if (value instanceof CharSequence) {
+            writeString(buffer, (CharSequence) value);
+        } else if (value instanceof Boolean) {
+            buffer.write((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            writeLong(buffer, ((Number) value).longValue());
+        } else if (value instanceof Number) {
+            writeNumber(buffer, (Number) value);
+        } else {
+            try {
+                buffer.write(ApiJson.getMapper().writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new FrameworkException("Failed to serialize template value of type "
+                        + value.getClass().getName(), e);
+            }
+        }
+    }
+    
+    private static void writeLong(Buffer buffer, long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(buffer, Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            buffer.write('-');
+            value = -value;
+        }
+        int start = buffer.size();
+        do {
+            buffer.write((int) ('0' + value % 10));
+            value /= 10;
+        } while (value > 0);
+        buffer.reverse(start, buffer.size() - 1);
+    }
+    
+    private static void writeNumber(Buffer buffer, Number value) {
+        if ((value instanceof Double && !Double.isFinite((Double) value))
+                || (value instanceof Float && !Float.isFinite((Float) value))) {
+            throw new IllegalArgumentException("JSON numbers must be finite: " + value);
+        }
+        writeAscii(buffer, value.toString());
+    }
+    
+    private static void writeAscii(Buffer buffer, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            buffer.write(text.charAt(i));
+        }
+    }
+    
+    /**
+     * Writes a quoted, escaped JSON string encoded as UTF-8
+     *
+     * @param buffer target buffer
+     * @param text string value
+     */
+    private static void writeString(Buffer buffer, CharSequence text) {
+        buffer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.write('\\');
+                buffer.write(c);
+            } else if (c < 0x20) {
+                writeControl(buffer, c);
+            } else if (c < 0x80) {
+                buffer.write(c);
+            } else if (c < 0x800) {
+                buffer.write(0xc0 | (c >> 6));
+                buffer.write(0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer.write(0xf0 | (codePoint >> 18));
+                buffer.write(0x80 | ((codePoint >> 12) & 0x3f));
+                buffer.write(0x80 | ((codePoint >> 6) & 0x3f));
+                buffer.write(0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, encoded the way String.getBytes does
+                buffer.write('?');
+            } else {
+                buffer.write(0xe0 | (c >> 12));
+                buffer.write(0x80 | ((c >> 6) & 0x3f));
+                buffer.write(0x80 | (c & 0x3f));
+            }
+        }
+        buffer.write('"');
+    }
+    
+    private static void writeControl(Buffer buffer, char c) {
+        buffer.write('\\');
+        switch (c) {
+            case '\n':
+                buffer.write('n');
+                break;
+            case '\r':
+                buffer.write('r');
+                break;
+            case '\t':
+                buffer.write('t');
+                break;
+            case '\b':
+                buffer.write('b');
+                break;
+            case '\f':
+                buffer.write('f');
+                break;
+            default:
+                buffer.write('u');
+                buffer.write('0');
+                buffer.write('0');
+                buffer.write(HEX[c >> 4]);
+                buffer.write(HEX[c & 0xf]);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "JsonBodyTemplate{" + skeleton + "}";
+    }
+    
+    /**
+     * Growable byte buffer without the synchronization of ByteArrayOutputStream
+     */
+    private static final class Buffer {
+        
+        private byte[] bytes = new byte[256];
+        private int size;
+        
+        void reset() {
+            size = 0;
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        int capacity() {
+            return bytes.length;
+        }
+        
+        void write(int b) {
+            ensureCapacity(size + 1);
+            bytes[size++] = (byte) b;
+        }
+        
+        void write(byte[] data) {
+            ensureCapacity(size + data.length);
+            System.arraycopy(data, 0, bytes, size, data.length);
+            size += data.length;
+        }
+        
+        void reverse(int from, int to) {
+            while (from < to) {
+                byte b = bytes[from];
+                bytes[from++] = bytes[to];
+                bytes[to--] = b;
+            }
+        }
+        
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+        
+        private void ensureCapacity(int required) {
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.FrameworkException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the items of a paged listing, fetching the following pages in the
+ * background while the current one is consumed. Up to {@link Paging#getPrefetch()}
+ * pages are requested ahead, with at most {@link Paging#getMaxConcurrency()} requests
+ * in flight. Pages are numbered from 1. Iteration ends after the last page reported
+ * by the server, after the first page whose item count differs from the page size, or when
+ * a page repeats the items of the page before it, as a server that ignores the paging
+ * parameters does.
+ * <p>
+ * Not thread-safe: one consumer iterates, the executor only fetches. Close the
+ * iterator, or the stream from {@link #stream()}, to stop outstanding prefetches.
+ *
+ * @param <T> item type
+ */
+public final class PagedIterator<T> implements Iterator<T>, AutoCloseable {
+    
+    /**
+     * Fetches one page of a listing
+     *
+     * @param <T> item type
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        
+        /**
+         * Fetches a page
+         *
+         * @param page 1-based page number
+         * @param size page size
+         * @return the page
+         */
+        Page<T> fetch(int page, int size);
+    }
+    
+    private final PageFetcher<T> fetcher;
+    private final Function<? super T, ?> itemKey;
+    private final Paging paging;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final Deque<PendingPage<T>> pending = new ArrayDeque<>();
+    
+    private Iterator<T> current = Collections.emptyIterator();
+    private List<Object> previousKeys = Collections.emptyList();
+    private int nextPage = 1;
+    private int lastPage = Integer.MAX_VALUE;
+    private volatile boolean closed;
+    
+    /**
+     * Creates an iterator; no page is requested until the first call to hasNext
+     *
+     * @param fetcher fetches one page
+     * @param paging page size, prefetch depth and concurrency limit
+     * @param executor executor that runs the page requests
+     */
+    public PagedIterator(PageFetcher<T> fetcher, Paging paging, Executor executor) {
+        this(fetcher, Function.identity(), paging, executor);
+    }
+    
+    /**
+     * Creates an iterator for items without a meaningful equals method
+     *
+     * @param fetcher fetches one page
+     * @param itemKey identifies an item, used to detect a page that repeats the previous one
+     * @param paging page size, prefetch depth and concurrency limit
+     * @param executor executor that runs the page requests
+     */
+    public PagedIterator(PageFetcher<T> fetcher, Function<? super T, ?> itemKey, Paging paging,
+                         Executor executor) {
+        this.fetcher = fetcher;
+        this.itemKey = itemKey;
+        this.paging = paging;
+        this.executor = executor;
+        this.permits = new Semaphore(paging.getMaxConcurrency());
+    }
+    
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            if (pending.isEmpty()) {
+                if (nextPage > lastPage) {
+                    return false;
+                }
+                schedule();
+            }
+            
+            PendingPage<T> head = pending.poll();
+            Page<T> page = await(head.future);
+            List<Object> keys = new ArrayList<>(page.getItems().size());
+            for (T item : page.getItems()) {
+                keys.add(itemKey.apply(item));
+            }
+            // A server that ignores paging returns the same full page for every page number
+            boolean repeated = !keys.isEmpty() && keys.equals(previousKeys);
+            previousKeys = keys;
+            if (repeated) {
+                lastPage = Math.min(lastPage, head.number - 1);
+            } else if (page.getTotalPages() >= 0) {
+                lastPage = Math.min(lastPage, page.getTotalPages());
+            }
+            // A short page is the last one; a long one means the server ignored paging
+            if (page.getItems().size() != paging.getPageSize()) {
+                lastPage = Math.min(lastPage, head.number);
+            }
+            // Drop speculative requests past the end
+            while (!pending.isEmpty() && pending.peekLast().number > lastPage) {
+                pending.pollLast().future.cancel(false);
+            }
+            
+            current = repeated ? Collections.emptyIterator() : page.getItems().iterator();
+            while (pending.size() < paging.getPrefetch() && nextPage <= lastPage) {
+                schedule();
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+    
+    /**
+     * Gets a sequential stream over the remaining items; closing it closes this iterator
+     *
+     * @return stream of items
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+    
+    /**
+     * Stops iteration and cancels pages that have not been requested yet
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (PendingPage<T> page : pending) {
+            page.future.cancel(false);
+        }
+        pending.clear();
+        current = Collections.emptyIterator();
+    }
+    
+    private void schedule() {
+        int number = nextPage++;
+        CompletableFuture<Page<T>> future = CompletableFuture.supplyAsync(() -> fetch(number), executor);
+        pending.add(new PendingPage<>(number, future));
+    }
+    
+    private Page<T> fetch(int number) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while waiting to fetch page " + number, e);
+        }
+        try {
+            return closed ? new Page<>(Collections.emptyList(), 0) : fetcher.fetch(number, paging.getPageSize());
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private static <T> Page<T> await(CompletableFuture<Page<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new FrameworkException("Failed to fetch page", cause);
+        }
+    }
+    
+    /**
+     * One page of items
+     *
+     * @param <T> item type
+     */
+    public static final class Page<T> {
+        
+        private final List<T> items;
+        private final int totalPages;
+        
+        /**
+         * Creates a page
+         *
+         * @param items items on the page, null for none
+         * @param totalPages total number of pages, or -1 if the server does not say
+         */
+        public Page(List<T> items, int totalPages) {
+            this.items = items != null ? items : Collections.emptyList();
+            this.totalPages = totalPages;
+        }
+        
+        /**
+         * Gets the items on the page
+         *
+         * @return items
+         */
+        public List<T> getItems() {
+            return items;
+        }
+        
+        /**
+         * Gets the total number of pages
+         *
+         * @return total pages, or -1 if unknown
+         */
+        public int getTotalPages() {
+            return totalPages;
+        }
+    }
+    
+    /**
+     * Requested page and its number
+     */
+    private static final class PendingPage<T> {
+        
+        private final int number;
+        private final CompletableFuture<Page<T>> future;
+        
+        PendingPage(int number, CompletableFuture<Page<T>> future) {
+            this.number = number;
+            this.future = future;
+        }
+    }
+}
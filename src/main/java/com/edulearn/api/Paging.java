@@ -0,0 +1,79 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigSnapshot;
+
+/**
+ * Settings for paged iteration: page size, how many pages are fetched ahead
+ * of the consumer and how many page requests may be in flight at once
+ */
+public final class Paging {
+    
+    private final int pageSize;
+    private final int prefetch;
+    private final int maxConcurrency;
+    
+    private Paging(int pageSize, int prefetch, int maxConcurrency) {
+        if (pageSize < 1 || prefetch < 0 || maxConcurrency < 1) {
+            throw new IllegalArgumentException("Invalid paging: size " + pageSize + ", prefetch " + prefetch
+                    + ", max concurrency " + maxConcurrency);
+        }
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    /**
+     * Creates paging settings
+     *
+     * @param pageSize items per page
+     * @param prefetch pages fetched ahead of the page being consumed, 0 to fetch on demand
+     * @param maxConcurrency maximum concurrent page requests
+     * @return paging settings
+     */
+    public static Paging of(int pageSize, int prefetch, int maxConcurrency) {
+        return new Paging(pageSize, prefetch, maxConcurrency);
+    }
+    
+    /**
+     * Creates paging settings from api.page.size, api.page.prefetch and api.page.max.concurrency
+     *
+     * @param config configuration snapshot
+     * @return paging settings
+     */
+    public static Paging fromConfig(ConfigSnapshot config) {
+        return new Paging(config.getInt("api.page.size", 50), config.getInt("api.page.prefetch", 2),
+                config.getInt("api.page.max.concurrency", 2));
+    }
+    
+    /**
+     * Gets the number of items per page
+     *
+     * @return page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    /**
+     * Gets the number of pages fetched ahead of the page being consumed
+     *
+     * @return prefetch depth
+     */
+    public int getPrefetch() {
+        return prefetch;
+    }
+    
+    /**
+     * Gets the maximum number of concurrent page requests
+     *
+     * @return concurrency limit
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    @Override
+    public String toString() {
+        return "Paging{size=" + pageSize + ", prefetch=" + prefetch + ", maxConcurrency=" + maxConcurrency + "}";
+    }
+}
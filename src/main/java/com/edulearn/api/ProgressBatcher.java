@@ -0,0 +1,300 @@
+package com.edulearn.api;
+
+import com.edulearn.api.model.CourseProgress;
+import com.edulearn.api.model.ProgressBatchResult;
+import com.edulearn.api.model.ProgressUpdate;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batching writer for lesson progress updates.
+ * Updates are collected per course and sent when a course has batchSize updates
+ * waiting, or lingerMillis after its first waiting update. A batch goes to the
+ * bulk progress endpoint when the server has one, otherwise its updates are sent
+ * as individual requests pipelined over at most maxInFlight connections. Batches
+ * of the same course are sent one after another, so updates are applied in
+ * submission order; repeated updates of one lesson within a batch collapse into
+ * the last one.
+ * <p>
+ * Every submitted update gets a future that completes with the course progress
+ * returned by the request that applied it, or fails with that update's error.
+ * If a bulk request answers 405 or 501 the endpoint is missing and all later
+ * batches are pipelined. A 404 may also mean an unknown course, so that batch is
+ * pipelined and the endpoint only counts as missing once one of its single
+ * updates succeeds.
+ */
+public final class ProgressBatcher implements AutoCloseable {
+    
+    private static final Logger logger = LogManager.getLogger(ProgressBatcher.class);
+    
+    private final CourseAPI courseAPI;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final BulkFetcher pipeline;
+    private final Executor executor;
+    private final ScheduledExecutorService lingerTimer;
+    
+    private final Map<String, List<PendingUpdate>> pending = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> courseTails = new HashMap<>();
+    private final Map<String, ScheduledFuture<?>> lingerTasks = new HashMap<>();
+    private volatile Boolean bulkEndpointAvailable;
+    private boolean closed;
+    
+    /**
+     * Creates a progress batcher
+     *
+     * @param courseAPI client used to send the updates
+     * @param batchSize updates per course that trigger an immediate send
+     * @param lingerMillis maximum time an update waits for its batch to fill
+     * @param maxInFlight maximum concurrent requests when updates are pipelined
+     * @param executor executor that sends the batches
+     */
+    public ProgressBatcher(CourseAPI courseAPI, int batchSize, long lingerMillis, int maxInFlight, Executor executor) {
+        if (batchSize < 1 || lingerMillis < 0) {
+            throw new IllegalArgumentException("Invalid progress batching: batch size " + batchSize
+                    + ", linger " + lingerMillis + " ms");
+        }
+        this.courseAPI = courseAPI;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.pipeline = new BulkFetcher(maxInFlight, 0, executor);
+        this.executor = executor;
+        this.lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "edulearn-progress-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Creates a progress batcher from api.progress.batch.size, api.progress.linger.ms
+     * and api.bulk.max.in.flight on the shared API executor
+     *
+     * @param courseAPI client used to send the updates
+     * @param config configuration snapshot
+     * @return progress batcher
+     */
+    public static ProgressBatcher fromConfig(CourseAPI courseAPI, ConfigSnapshot config) {
+        return new ProgressBatcher(courseAPI, config.getInt("api.progress.batch.size", 20),
+                config.getInt("api.progress.linger.ms", 50), config.getInt("api.bulk.max.in.flight", 8),
+                ApiExecutors.shared());
+    }
+    
+    /**
+     * Queues a lesson progress update
+     *
+     * @param courseId course ID
+     * @param lessonId lesson ID
+     * @param completed whether the lesson is completed
+     * @return future completed with the course progress after the update was applied
+     * @throws IllegalStateException if the batcher is closed
+     */
+    public CompletableFuture<CourseProgress> submit(String courseId, String lessonId, boolean completed) {
+        PendingUpdate update = new PendingUpdate(new ProgressUpdate(lessonId, completed));
+        List<PendingUpdate> fullBatch = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Progress batcher is closed");
+            }
+            List<PendingUpdate> batch = pending.computeIfAbsent(courseId, key -> new ArrayList<>());
+            batch.add(update);
+            if (batch.size() >= batchSize) {
+                fullBatch = pending.remove(courseId);
+                ScheduledFuture<?> lingerTask = lingerTasks.remove(courseId);
+                if (lingerTask != null) {
+                    lingerTask.cancel(false);
+                }
+            } else if (batch.size() == 1) {
+                lingerTasks.put(courseId,
+                        lingerTimer.schedule(() -> flush(courseId, batch), lingerMillis, TimeUnit.MILLISECONDS));
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(courseId, fullBatch);
+        }
+        return update.future;
+    }
+    
+    /**
+     * Sends all waiting updates without waiting for their batches to fill
+     *
+     * @return future completed when every batch sent so far has been applied
+     */
+    public CompletableFuture<Void> flush() {
+        Map<String, List<PendingUpdate>> batches;
+        synchronized (this) {
+            batches = new LinkedHashMap<>(pending);
+            pending.clear();
+            for (ScheduledFuture<?> lingerTask : lingerTasks.values()) {
+                lingerTask.cancel(false);
+            }
+            lingerTasks.clear();
+        }
+        for (Map.Entry<String, List<PendingUpdate>> batch : batches.entrySet()) {
+            dispatch(batch.getKey(), batch.getValue());
+        }
+        synchronized (this) {
+            return CompletableFuture.allOf(courseTails.values().toArray(new CompletableFuture<?>[0]));
+        }
+    }
+    
+    /**
+     * Flushes waiting updates, waits until they are applied and stops accepting new ones
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            flush().join();
+        } finally {
+            lingerTimer.shutdownNow();
+        }
+    }
+    
+    /**
+     * Sends a batch when its linger time is over, unless it was already sent
+     */
+    private void flush(String courseId, List<PendingUpdate> batch) {
+        synchronized (this) {
+            // A cancelled task may already be running, so check it still owns the waiting batch
+            if (pending.get(courseId) != batch) {
+                return;
+            }
+            pending.remove(courseId);
+            lingerTasks.remove(courseId);
+        }
+        dispatch(courseId, batch);
+    }
+    
+    /**
+     * Sends a batch after the previous batch of the same course
+     */
+    private void dispatch(String courseId, List<PendingUpdate> batch) {
+        synchronized (this) {
+            CompletableFuture<Void> previous = courseTails.getOrDefault(courseId, CompletableFuture.completedFuture(null));
+            CompletableFuture<Void> next = previous.thenRunAsync(() -> send(courseId, batch), executor);
+            courseTails.put(courseId, next);
+            next.whenComplete((result, error) -> {
+                synchronized (this) {
+                    courseTails.remove(courseId, next);
+                }
+            });
+        }
+    }
+    
+    private void send(String courseId, List<PendingUpdate> batch) {
+        // The last update of each lesson wins; earlier ones share its outcome
+        Map<String, List<PendingUpdate>> byLesson = new LinkedHashMap<>();
+        for (PendingUpdate update : batch) {
+            byLesson.computeIfAbsent(update.update.getLessonId(), key -> new ArrayList<>()).add(update);
+        }
+        List<ProgressUpdate> updates = new ArrayList<>(byLesson.size());
+        for (List<PendingUpdate> lessonUpdates : byLesson.values()) {
+            updates.add(lessonUpdates.get(lessonUpdates.size() - 1).update);
+        }
+        
+        try {
+            if (updates.size() > 1 && !Boolean.FALSE.equals(bulkEndpointAvailable)) {
+                sendBulk(courseId, updates, byLesson);
+            } else {
+                sendPipelined(courseId, updates, byLesson);
+            }
+        } catch (RuntimeException | Error e) {
+            for (PendingUpdate update : batch) {
+                update.future.completeExceptionally(e);
+            }
+        }
+    }
+    
+    /**
+     * Sends the updates to the bulk endpoint, or pipelines them if the endpoint turns out to be missing
+     */
+    private void sendBulk(String courseId, List<ProgressUpdate> updates, Map<String, List<PendingUpdate>> byLesson) {
+        Response response = courseAPI.updateLessonProgressBatch(courseId, updates);
+        int statusCode = response.getStatusCode();
+        if (statusCode == 405 || statusCode == 501) {
+            logger.info("Bulk progress endpoint not available (status {}), pipelining updates", statusCode);
+            bulkEndpointAvailable = Boolean.FALSE;
+            sendPipelined(courseId, updates, byLesson);
+            return;
+        }
+        if (statusCode == 404 && bulkEndpointAvailable == null) {
+            // Either the endpoint or the course is missing; single updates of a known course tell them apart
+            if (sendPipelined(courseId, updates, byLesson)) {
+                logger.info("Bulk progress endpoint not available (status 404), pipelining updates");
+                bulkEndpointAvailable = Boolean.FALSE;
+            }
+            return;
+        }
+        
+        ProgressBatchResult result = BaseAPI.readAs(response, ProgressBatchResult.class);
+        bulkEndpointAvailable = Boolean.TRUE;
+        logger.debug("Applied {} progress updates for course {} in one request", updates.size(), courseId);
+        for (Map.Entry<String, List<PendingUpdate>> lesson : byLesson.entrySet()) {
+            String rejection = result.getRejected().get(lesson.getKey());
+            for (PendingUpdate update : lesson.getValue()) {
+                if (rejection != null) {
+                    update.future.completeExceptionally(new FrameworkException(rejection));
+                } else {
+                    update.future.complete(result);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Sends the updates as single requests over the pipeline
+     *
+     * @return true if at least one update was applied
+     */
+    private boolean sendPipelined(String courseId, List<ProgressUpdate> updates,
+                                  Map<String, List<PendingUpdate>> byLesson) {
+        BulkResult<ProgressUpdate, CourseProgress> results = pipeline.fetchAll(updates,
+                update -> courseAPI.recordLessonProgress(courseId, update.getLessonId(), update.isCompleted()));
+        boolean applied = false;
+        for (BulkResult.Item<ProgressUpdate, CourseProgress> item : results.getItems()) {
+            applied |= item.isSuccess();
+            for (PendingUpdate update : byLesson.get(item.getKey().getLessonId())) {
+                if (item.isSuccess()) {
+                    update.future.complete(item.getValue());
+                } else {
+                    update.future.completeExceptionally(item.getError());
+                }
+            }
+        }
+        return applied;
+    }
+    
+    /**
+     * Submitted update and its result future
+     */
+    private static final class PendingUpdate {
+        
+        private final ProgressUpdate update;
+        private final CompletableFuture<CourseProgress> future = new CompletableFuture<>();
+        
+        PendingUpdate(ProgressUpdate update) {
+            this.update = update;
+        }
+    }
+}
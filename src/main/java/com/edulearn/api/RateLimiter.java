@@ -0,0 +1,167 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.FrameworkException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket that spaces calls to a steady rate while allowing short bursts.
+ * The bucket is kept as the time at which it will be full again, so acquiring a
+ * permit only reserves a start time under a short lock and the caller sleeps
+ * outside it. Callers are served in the order they reserved.
+ * <p>
+ * A server's Retry-After can pause the bucket: no call starts before the pause
+ * ends, and the bucket refills from a single permit instead of releasing a burst
+ * into a server that just asked for less traffic.
+ */
+public final class RateLimiter {
+    
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long burstNanos;
+    
+    private long fullAt;
+    private long pausedUntil;
+    private long delayedCalls;
+    private long totalDelayNanos;
+    
+    /**
+     * Creates a token bucket
+     *
+     * @param permitsPerSecond sustained rate in calls per second
+     * @param burst calls that may start at once when the bucket is full, at least 1
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive: " + permitsPerSecond);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * this.burst;
+        this.fullAt = System.nanoTime();
+        this.pausedUntil = fullAt;
+    }
+    
+    /**
+     * Waits for a permit
+     *
+     * @param maxWaitMillis longest acceptable wait
+     * @return time waited in milliseconds
+     * @throws FrameworkException if the wait would exceed maxWaitMillis or the thread is interrupted
+     */
+    public long acquire(long maxWaitMillis) {
+        long begin = System.nanoTime();
+        long deadline = begin + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        while (true) {
+            long now = System.nanoTime();
+            long wait = reserve(now, deadline - now);
+            if (wait < 0) {
+                throw new FrameworkException("Rate limit of " + permitsPerSecond
+                        + " calls/s would delay the call by more than " + maxWaitMillis + " ms");
+            }
+            sleepUntil(now + wait);
+            // A pause that started while this call slept supersedes its reservation
+            if (!isPaused(System.nanoTime())) {
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+            }
+        }
+    }
+    
+    /**
+     * Reserves the next start time without waiting
+     *
+     * @param now current System.nanoTime()
+     * @param maxWaitNanos longest acceptable wait
+     * @return nanoseconds until the call may start, or -1 if that is longer than maxWaitNanos
+     */
+    synchronized long reserve(long now, long maxWaitNanos) {
+        // A permit is free once the bucket is less than burst permits away from full
+        long start = Math.max(now, Math.max(pausedUntil, fullAt - burstNanos + intervalNanos));
+        long wait = start - now;
+        if (wait > maxWaitNanos) {
+            return -1;
+        }
+        fullAt = Math.max(fullAt, start) + intervalNanos;
+        if (wait > 0) {
+            delayedCalls++;
+            totalDelayNanos += wait;
+        }
+        return wait;
+    }
+    
+    /**
+     * Stops all calls from starting until the pause has passed, e.g. for a Retry-After header
+     *
+     * @param millis pause length from now
+     */
+    public void pause(long millis) {
+        pause(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+    
+    synchronized void pause(long now, long nanos) {
+        long until = now + nanos;
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+            // Refill from a single permit after the pause
+            fullAt = Math.max(fullAt, until + burstNanos - intervalNanos);
+        }
+    }
+    
+    private synchronized boolean isPaused(long now) {
+        return pausedUntil - now > 0;
+    }
+    
+    private static void sleepUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new FrameworkException("Interrupted while waiting for a rate limit permit");
+            }
+        }
+    }
+    
+    /**
+     * Gets the sustained rate
+     *
+     * @return calls per second
+     */
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+    
+    /**
+     * Gets the burst size
+     *
+     * @return calls that may start at once
+     */
+    public int getBurst() {
+        return burst;
+    }
+    
+    /**
+     * Gets the number of calls that had to wait for a permit
+     *
+     * @return delayed calls
+     */
+    public synchronized long getDelayedCalls() {
+        return delayedCalls;
+    }
+    
+    /**
+     * Gets the total time calls waited for a permit
+     *
+     * @return total delay in milliseconds
+     */
+    public synchronized long getTotalDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalDelayNanos);
+    }
+    
+    @Override
+    public String toString() {
+        return "RateLimiter{" + permitsPerSecond + "/s, burst=" + burst + "}";
+    }
+}
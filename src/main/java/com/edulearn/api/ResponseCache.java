@@ -0,0 +1,292 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived read-through cache for idempotent GET responses.
+ * Entries are keyed by auth principal, endpoint and query, expire after a fixed
+ * TTL and are evicted least recently used beyond a size bound. Concurrent
+ * identical requests are coalesced into one call whose response all callers share.
+ * <p>
+ * Each caller gets its own copy of a cached response, built from the buffered
+ * status, headers and body, so responses can be read concurrently. Only 2xx
+ * responses are stored. An invalidation also stops in-flight calls that started
+ * before it from storing their now possibly stale response.
+ */
+public final class ResponseCache {
+    
+    private static final Logger logger = LogManager.getLogger(ResponseCache.class);
+    private static final char KEY_SEPARATOR = '\n';
+    
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, CacheEntry> entries;
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    
+    /**
+     * Creates a response cache
+     *
+     * @param ttlMillis time to live of an entry in milliseconds
+     * @param maxEntries maximum number of entries before the least recently used is evicted
+     */
+    public ResponseCache(long ttlMillis, int maxEntries) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+    
+    /**
+     * Creates a response cache from api.cache.ttl.ms and api.cache.max.entries
+     *
+     * @param config configuration snapshot
+     * @return response cache
+     */
+    public static ResponseCache fromConfig(ConfigSnapshot config) {
+        return new ResponseCache(config.getInt("api.cache.ttl.ms", 2000), config.getInt("api.cache.max.entries", 500));
+    }
+    
+    /**
+     * Gets a cached response, joins an identical in-flight call, or loads and caches the response
+     *
+     * @param principal auth principal the response belongs to, null for anonymous calls
+     * @param endpoint API endpoint without query
+     * @param queryParams query parameters, or null for none
+     * @param loader sends the request
+     * @return response owned by the caller
+     */
+    public Response get(String principal, String endpoint, Map<String, String> queryParams, Supplier<Response> loader) {
+        String key = key(principal, endpoint, queryParams);
+        CachedResponse cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            logger.debug("Response cache hit for GET {}", endpoint);
+            return cached.toResponse();
+        }
+        
+        CompletableFuture<CachedResponse> call = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            logger.debug("Joining in-flight GET {}", endpoint);
+            return await(existing).toResponse();
+        }
+        
+        misses.increment();
+        long invalidationsAtStart = invalidations.get();
+        try {
+            Response response = loader.get();
+            CachedResponse loaded = new CachedResponse(endpoint, response);
+            if (loaded.isSuccess() && invalidations.get() == invalidationsAtStart) {
+                synchronized (entries) {
+                    entries.put(key, new CacheEntry(loaded, System.nanoTime() + ttlNanos));
+                }
+            }
+            call.complete(loaded);
+            return response;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+    
+    /**
+     * Drops cached and in-flight responses for an endpoint and everything below it, for all principals
+     *
+     * @param endpointPrefix endpoint, e.g. /api/courses/101 also drops /api/courses/101/progress
+     */
+    public void invalidate(String endpointPrefix) {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.values().removeIf(entry -> isBelow(entry.response.endpoint, endpointPrefix));
+        }
+        inFlight.keySet().removeIf(key -> isBelow(endpointOf(key), endpointPrefix));
+        logger.debug("Invalidated cached responses under {}", endpointPrefix);
+    }
+    
+    /**
+     * Drops all cached responses
+     */
+    public void clear() {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+        inFlight.clear();
+    }
+    
+    /**
+     * Gets the number of requests answered from the cache
+     *
+     * @return hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    /**
+     * Gets the number of requests that went to the server
+     *
+     * @return miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    /**
+     * Gets the number of requests that joined an identical in-flight call
+     *
+     * @return coalesced count
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+    
+    /**
+     * Gets the number of cached entries, including expired ones not yet removed
+     *
+     * @return entry count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    private CachedResponse lookup(String key) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAtNanos >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.response;
+        }
+    }
+    
+    private static CachedResponse await(CompletableFuture<CachedResponse> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new FrameworkException("Coalesced request failed", cause);
+        }
+    }
+    
+    private static String key(String principal, String endpoint, Map<String, String> queryParams) {
+        StringBuilder key = new StringBuilder();
+        if (principal != null) {
+            key.append(principal);
+        }
+        key.append(KEY_SEPARATOR).append(endpoint);
+        if (queryParams != null && !queryParams.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, String> param : new TreeMap<>(queryParams).entrySet()) {
+                key.append(separator).append(param.getKey()).append('=').append(param.getValue());
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+    
+    private static String endpointOf(String key) {
+        String endpoint = key.substring(key.indexOf(KEY_SEPARATOR) + 1);
+        int query = endpoint.indexOf('?');
+        return query >= 0 ? endpoint.substring(0, query) : endpoint;
+    }
+    
+    private static boolean isBelow(String endpoint, String prefix) {
+        return endpoint.startsWith(prefix)
+                && (endpoint.length() == prefix.length() || endpoint.charAt(prefix.length()) == '/');
+    }
+    
+    /**
+     * Cached response with its expiry time
+     */
+    private static final class CacheEntry {
+        
+        private final CachedResponse response;
+        private final long expiresAtNanos;
+        
+        CacheEntry(CachedResponse response, long expiresAtNanos) {
+            this.response = response;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+    
+    /**
+     * Buffered copy of a response that can be turned into independent Response objects
+     */
+    private static final class CachedResponse {
+        
+        private final String endpoint;
+        private final int statusCode;
+        private final String statusLine;
+        private final Headers headers;
+        private final String contentType;
+        private final byte[] body;
+        
+        CachedResponse(String endpoint, Response response) {
+            this.endpoint = endpoint;
+            this.statusCode = response.getStatusCode();
+            this.statusLine = response.getStatusLine();
+            this.headers = response.getHeaders();
+            this.contentType = response.getContentType();
+            this.body = response.getBody().asByteArray();
+        }
+        
+        boolean isSuccess() {
+            return statusCode >= 200 && statusCode < 300;
+        }
+        
+        Response toResponse() {
+            ResponseBuilder builder = new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setHeaders(headers)
+                    .setBody(body);
+            if (statusLine != null) {
+                builder.setStatusLine(statusLine);
+            }
+            if (contentType != null) {
+                builder.setContentType(contentType);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigSnapshot;
+import io.restassured.response.Response;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which failed API calls are retried and how long to wait before each retry.
+ * Retries are configured per HTTP method: a method is retried for its own set of
+ * status codes. Idempotent methods are also retried when the call fails without a
+ * response, such as on a connection reset. Delays grow exponentially from a base
+ * delay up to a cap, with full jitter so that clients failing together do not
+ * retry together. A Retry-After header in seconds raises the delay up to the cap.
+ * <p>
+ * Configured by api.retry.max.attempts, api.retry.methods, api.retry.statuses,
+ * api.retry.backoff.base.ms and api.retry.backoff.max.ms. Statuses can be set per
+ * method with api.retry.&lt;method&gt;.statuses, for example to retry POST on 429 only.
+ */
+public final class RetryPolicy {
+    
+    /**
+     * Status code used for calls that failed without a response
+     */
+    public static final int NO_RESPONSE = -1;
+    
+    private static final String RETRY_PREFIX = "api.retry.";
+    private static final String STATUSES_SUFFIX = ".statuses";
+    
+    private final int maxAttempts;
+    private final Set<String> idempotentMethods;
+    private final Map<String, Set<Integer>> statusesByMethod;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    
+    /**
+     * Creates a retry policy
+     *
+     * @param maxAttempts total attempts including the first call, 1 to disable retries
+     * @param idempotentMethods methods that are also retried when no response was received
+     * @param statusesByMethod retryable status codes per upper-case method
+     * @param baseDelayMillis delay cap of the first retry
+     * @param maxDelayMillis maximum delay of any retry
+     */
+    public RetryPolicy(int maxAttempts, Set<String> idempotentMethods, Map<String, Set<Integer>> statusesByMethod,
+                       long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.idempotentMethods = Collections.unmodifiableSet(new HashSet<>(idempotentMethods));
+        this.statusesByMethod = Collections.unmodifiableMap(new HashMap<>(statusesByMethod));
+        this.baseDelayMillis = Math.max(0, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+    }
+    
+    /**
+     * Creates a policy that never retries
+     *
+     * @return policy with a single attempt
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Collections.emptySet(), Collections.emptyMap(), 0, 0);
+    }
+    
+    /**
+     * Creates a retry policy from the api.retry.* settings
+     *
+     * @param config configuration snapshot
+     * @return retry policy
+     */
+    public static RetryPolicy fromConfig(ConfigSnapshot config) {
+        Set<Integer> defaultStatuses = parseStatuses(config.get(RETRY_PREFIX + "statuses"));
+        Set<String> methods = new HashSet<>();
+        Map<String, Set<Integer>> statusesByMethod = new HashMap<>();
+        
+        String configuredMethods = config.get(RETRY_PREFIX + "methods");
+        if (configuredMethods != null) {
+            for (String method : configuredMethods.split(",")) {
+                if (!method.trim().isEmpty()) {
+                    methods.add(method.trim().toUpperCase(Locale.ROOT));
+                }
+            }
+        }
+        for (String method : methods) {
+            statusesByMethod.put(method, defaultStatuses);
+        }
+        
+        // Per-method overrides, e.g. api.retry.post.statuses=429
+        for (Map.Entry<String, String> entry : config.asMap().entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith(RETRY_PREFIX) && key.endsWith(STATUSES_SUFFIX)
+                    && key.length() > RETRY_PREFIX.length() + STATUSES_SUFFIX.length()) {
+                String method = key.substring(RETRY_PREFIX.length(), key.length() - STATUSES_SUFFIX.length());
+                if (method.indexOf('.') < 0) {
+                    statusesByMethod.put(method.toUpperCase(Locale.ROOT), parseStatuses(entry.getValue()));
+                }
+            }
+        }
+        
+        return new RetryPolicy(config.getInt(RETRY_PREFIX + "max.attempts", 1), methods, statusesByMethod,
+                config.getInt(RETRY_PREFIX + "backoff.base.ms", 100), config.getInt(RETRY_PREFIX + "backoff.max.ms", 2000));
+    }
+    
+    private static Set<Integer> parseStatuses(String value) {
+        Set<Integer> statuses = new HashSet<>();
+        if (value != null) {
+            for (String status : value.split(",")) {
+                if (!status.trim().isEmpty()) {
+                    statuses.add(Integer.valueOf(status.trim()));
+                }
+            }
+        }
+        return statuses;
+    }
+    
+    /**
+     * Gets the maximum number of attempts
+     *
+     * @return total attempts including the first call
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    /**
+     * Checks whether a failed call may be retried
+     *
+     * @param method HTTP method
+     * @param statusCode response status code, or {@link #NO_RESPONSE}
+     * @return true if the call is retryable
+     */
+    public boolean isRetryable(String method, int statusCode) {
+        if (statusCode == NO_RESPONSE) {
+            return idempotentMethods.contains(method);
+        }
+        Set<Integer> statuses = statusesByMethod.get(method);
+        return statuses != null && statuses.contains(statusCode);
+    }
+    
+    /**
+     * Gets the delay before a retry: a random delay up to base * 2^(attempt - 1), capped at the
+     * maximum, and at least the response's Retry-After seconds within the same cap
+     *
+     * @param attempt number of the attempt that failed, starting at 1
+     * @param response failed response, or null if none was received
+     * @return delay in milliseconds
+     */
+    public long delayMillis(int attempt, Response response) {
+        long ceiling = baseDelayMillis << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxDelayMillis) {
+            ceiling = maxDelayMillis;
+        }
+        long delay = ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+        
+        long requested = retryAfterMillis(response);
+        if (requested > 0) {
+            delay = Math.max(delay, Math.min(requested, maxDelayMillis));
+        }
+        return delay;
+    }
+    
+    /**
+     * Reads the Retry-After header of a response
+     *
+     * @param response response, or null if none was received
+     * @return requested delay in milliseconds, or -1 if there is no header in seconds
+     */
+    static long retryAfterMillis(Response response) {
+        String retryAfter = response != null ? response.getHeader("Retry-After") : null;
+        if (retryAfter != null) {
+            try {
+                return Long.parseLong(retryAfter.trim()) * 1000;
+            } catch (NumberFormatException e) {
+                // HTTP dates are not used by the EduLearn API
+            }
+        }
+        return -1;
+    }
+    
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts + ", statuses=" + statusesByMethod
+                + ", backoff=" + baseDelayMillis + ".." + maxDelayMillis + "ms}";
+    }
+}
@@ -0,0 +1,162 @@
+package com.edulearn.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Course as returned by the course list and search endpoints, or course details including modules
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Course {
+    
+    private String id;
+    private String title;
+    private String description;
+    private String instructor;
+    private double rating;
+    private int lessonCount;
+    private List<CourseModule> modules;
+    
+    /**
+     * Gets the course ID
+     *
+     * @return course ID
+     */
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the course ID
+     *
+     * @param id course ID
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    /**
+     * Gets the course title
+     *
+     * @return course title
+     */
+    public String getTitle() {
+        return title;
+    }
+    
+    /**
+     * Sets the course title
+     *
+     * @param title course title
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    /**
+     * Gets the course description
+     *
+     * @return course description
+     */
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * Sets the course description
+     *
+     * @param description course description
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    /**
+     * Gets the instructor name
+     *
+     * @return instructor name
+     */
+    public String getInstructor() {
+        return instructor;
+    }
+    
+    /**
+     * Sets the instructor name
+     *
+     * @param instructor instructor name
+     */
+    public void setInstructor(String instructor) {
+        this.instructor = instructor;
+    }
+    
+    /**
+     * Gets the average rating
+     *
+     * @return rating
+     */
+    public double getRating() {
+        return rating;
+    }
+    
+    /**
+     * Sets the average rating
+     *
+     * @param rating rating
+     */
+    public void setRating(double rating) {
+        this.rating = rating;
+    }
+    
+    /**
+     * Gets the number of lessons in the course
+     *
+     * @return lesson count
+     */
+    public int getLessonCount() {
+        return lessonCount;
+    }
+    
+    /**
+     * Sets the number of lessons in the course
+     *
+     * @param lessonCount lesson count
+     */
+    public void setLessonCount(int lessonCount) {
+        this.lessonCount = lessonCount;
+    }
+    
+    /**
+     * Gets the course modules
+     *
+     * @return modules, only set on course details
+     */
+    public List<CourseModule> getModules() {
+        return modules;
+    }
+    
+    /**
+     * Sets the course modules
+     *
+     * @param modules modules
+     */
+    public void setModules(List<CourseModule> modules) {
+        this.modules = modules;
+    }
+    
+    /**
+     * Checks whether the title or description contains a keyword
+     *
+     * @param keyword keyword to look for
+     * @return true if the title or description contains the keyword
+     */
+    public boolean mentions(String keyword) {
+        return (title != null && title.contains(keyword))
+                || (description != null && description.contains(keyword));
+    }
+    
+    @Override
+    public String toString() {
+        return "Course{id='" + id + "', title='" + title + "'}";
+    }
+}
@@ -0,0 +1,70 @@
+package com.edulearn.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Module of a course, as listed in the course details
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CourseModule {
+    
+    private String id;
+    private String title;
+    private List<String> lessons;
+    
+    /**
+     * Gets the module ID
+     *
+     * @return module ID
+     */
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the module ID
+     *
+     * @param id module ID
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    /**
+     * Gets the module title
+     *
+     * @return module title
+     */
+    public String getTitle() {
+        return title;
+    }
+    
+    /**
+     * Sets the module title
+     *
+     * @param title module title
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    /**
+     * Gets the lesson IDs in order
+     *
+     * @return lesson IDs in order
+     */
+    public List<String> getLessons() {
+        return lessons;
+    }
+    
+    /**
+     * Sets the lesson IDs in order
+     *
+     * @param lessons lesson IDs in order
+     */
+    public void setLessons(List<String> lessons) {
+        this.lessons = lessons;
+    }
+}
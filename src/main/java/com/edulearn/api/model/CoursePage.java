@@ -0,0 +1,108 @@
+package com.edulearn.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * One page of a paged course list or search response
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CoursePage {
+    
+    private List<Course> courses;
+    private int total;
+    private int page;
+    private int size;
+    private int totalPages = -1;
+    
+    /**
+     * Gets the courses on this page
+     *
+     * @return courses
+     */
+    public List<Course> getCourses() {
+        return courses;
+    }
+    
+    /**
+     * Sets the courses on this page
+     *
+     * @param courses courses
+     */
+    public void setCourses(List<Course> courses) {
+        this.courses = courses;
+    }
+    
+    /**
+     * Gets the total number of courses across all pages
+     *
+     * @return total number of courses
+     */
+    public int getTotal() {
+        return total;
+    }
+    
+    /**
+     * Sets the total number of courses across all pages
+     *
+     * @param total total number of courses
+     */
+    public void setTotal(int total) {
+        this.total = total;
+    }
+    
+    /**
+     * Gets the 1-based page number
+     *
+     * @return page number
+     */
+    public int getPage() {
+        return page;
+    }
+    
+    /**
+     * Sets the 1-based page number
+     *
+     * @param page page number
+     */
+    public void setPage(int page) {
+        this.page = page;
+    }
+    
+    /**
+     * Gets the page size
+     *
+     * @return page size
+     */
+    public int getSize() {
+        return size;
+    }
+    
+    /**
+     * Sets the page size
+     *
+     * @param size page size
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    /**
+     * Gets the total number of pages
+     *
+     * @return total pages, or -1 if the response does not say
+     */
+    public int getTotalPages() {
+        return totalPages;
+    }
+    
+    /**
+     * Sets the total number of pages
+     *
+     * @param totalPages total pages
+     */
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
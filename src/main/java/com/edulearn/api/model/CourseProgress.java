@@ -0,0 +1,108 @@
+package com.edulearn.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Progress of the current user in a course
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CourseProgress {
+    
+    private String courseId;
+    private List<String> completedLessons;
+    private int completedCount;
+    private int totalLessons;
+    private int percentage;
+    
+    /**
+     * Gets the course ID
+     *
+     * @return course ID
+     */
+    public String getCourseId() {
+        return courseId;
+    }
+    
+    /**
+     * Sets the course ID
+     *
+     * @param courseId course ID
+     */
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+    
+    /**
+     * Gets the IDs of the completed lessons
+     *
+     * @return IDs of the completed lessons
+     */
+    public List<String> getCompletedLessons() {
+        return completedLessons;
+    }
+    
+    /**
+     * Sets the IDs of the completed lessons
+     *
+     * @param completedLessons IDs of the completed lessons
+     */
+    public void setCompletedLessons(List<String> completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+    
+    /**
+     * Gets the number of completed lessons
+     *
+     * @return number of completed lessons
+     */
+    public int getCompletedCount() {
+        return completedCount;
+    }
+    
+    /**
+     * Sets the number of completed lessons
+     *
+     * @param completedCount number of completed lessons
+     */
+    public void setCompletedCount(int completedCount) {
+        this.completedCount = completedCount;
+    }
+    
+    /**
+     * Gets the number of lessons in the course
+     *
+     * @return number of lessons in the course
+     */
+    public int getTotalLessons() {
+        return totalLessons;
+    }
+    
+    /**
+     * Sets the number of lessons in the course
+     *
+     * @param totalLessons number of lessons in the course
+     */
+    public void setTotalLessons(int totalLessons) {
+        this.totalLessons = totalLessons;
+    }
+    
+    /**
+     * Gets the completion percentage
+     *
+     * @return completion percentage
+     */
+    public int getPercentage() {
+        return percentage;
+    }
+    
+    /**
+     * Sets the completion percentage
+     *
+     * @param percentage completion percentage
+     */
+    public void setPercentage(int percentage) {
+        this.percentage = percentage;
+    }
+}
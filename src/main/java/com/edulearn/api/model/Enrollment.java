@@ -0,0 +1,49 @@
+package com.edulearn.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Result of enrolling in a course
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Enrollment {
+    
+    private String courseId;
+    private boolean enrolled;
+    
+    /**
+     * Gets the course ID
+     *
+     * @return course ID
+     */
+    public String getCourseId() {
+        return courseId;
+    }
+    
+    /**
+     * Sets the course ID
+     *
+     * @param courseId course ID
+     */
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+    
+    /**
+     * Checks whether the user is enrolled
+     *
+     * @return true if the user is enrolled
+     */
+    public boolean isEnrolled() {
+        return enrolled;
+    }
+    
+    /**
+     * Sets whether the user is enrolled
+     *
+     * @param enrolled true if the user is enrolled
+     */
+    public void setEnrolled(boolean enrolled) {
+        this.enrolled = enrolled;
+    }
+}
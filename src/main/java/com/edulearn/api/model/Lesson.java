@@ -0,0 +1,144 @@
+package com.edulearn.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Lesson summary from the lesson list, or lesson details including content
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Lesson {
+    
+    private String id;
+    private String courseId;
+    private String title;
+    private int order;
+    private int durationMinutes;
+    private String content;
+    private String videoUrl;
+    
+    /**
+     * Gets the lesson ID
+     *
+     * @return lesson ID
+     */
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the lesson ID
+     *
+     * @param id lesson ID
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    /**
+     * Gets the course ID
+     *
+     * @return course ID, only set on lesson details
+     */
+    public String getCourseId() {
+        return courseId;
+    }
+    
+    /**
+     * Sets the course ID
+     *
+     * @param courseId course ID
+     */
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+    
+    /**
+     * Gets the lesson title
+     *
+     * @return lesson title
+     */
+    public String getTitle() {
+        return title;
+    }
+    
+    /**
+     * Sets the lesson title
+     *
+     * @param title lesson title
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    /**
+     * Gets the position of the lesson in the course
+     *
+     * @return position of the lesson in the course, starting at 1
+     */
+    public int getOrder() {
+        return order;
+    }
+    
+    /**
+     * Sets the position of the lesson in the course
+     *
+     * @param order position of the lesson in the course
+     */
+    public void setOrder(int order) {
+        this.order = order;
+    }
+    
+    /**
+     * Gets the lesson duration in minutes
+     *
+     * @return lesson duration in minutes
+     */
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+    
+    /**
+     * Sets the lesson duration in minutes
+     *
+     * @param durationMinutes lesson duration in minutes
+     */
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+    
+    /**
+     * Gets the lesson content
+     *
+     * @return lesson content, only set on lesson details
+     */
+    public String getContent() {
+        return content;
+    }
+    
+    /**
+     * Sets the lesson content
+     *
+     * @param content lesson content
+     */
+    public void setContent(String content) {
+        this.content = content;
+    }
+    
+    /**
+     * Gets the video URL
+     *
+     * @return video URL, only set on lesson details
+     */
+    public String getVideoUrl() {
+        return videoUrl;
+    }
+    
+    /**
+     * Sets the video URL
+     *
+     * @param videoUrl video URL
+     */
+    public void setVideoUrl(String videoUrl) {
+        this.videoUrl = videoUrl;
+    }
+}
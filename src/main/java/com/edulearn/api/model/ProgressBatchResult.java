@@ -0,0 +1,33 @@
+package com.edulearn.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Course progress after a batch of lesson updates, with the updates the server rejected
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProgressBatchResult extends CourseProgress {
+    
+    private Map<String, String> rejected = Collections.emptyMap();
+    
+    /**
+     * Gets the rejected updates
+     *
+     * @return rejection reasons keyed by lesson ID
+     */
+    public Map<String, String> getRejected() {
+        return rejected;
+    }
+    
+    /**
+     * Sets the rejected updates
+     *
+     * @param rejected rejection reasons keyed by lesson ID
+     */
+    public void setRejected(Map<String, String> rejected) {
+        this.rejected = rejected != null ? rejected : Collections.<String, String>emptyMap();
+    }
+}
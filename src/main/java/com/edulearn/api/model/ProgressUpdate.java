@@ -0,0 +1,47 @@
+package com.edulearn.api.model;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Request body for a lesson progress update
+ */
+@JsonPropertyOrder({"lessonId", "completed"})
+public final class ProgressUpdate {
+    
+    private final String lessonId;
+    private final boolean completed;
+    
+    /**
+     * Creates a progress update
+     *
+     * @param lessonId lesson ID
+     * @param completed whether the lesson is completed
+     */
+    public ProgressUpdate(String lessonId, boolean completed) {
+        this.lessonId = lessonId;
+        this.completed = completed;
+    }
+    
+    /**
+     * Gets the lesson ID
+     *
+     * @return lesson ID
+     */
+    public String getLessonId() {
+        return lessonId;
+    }
+    
+    /**
+     * Checks whether the lesson is completed
+     *
+     * @return true if the lesson is completed
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    @Override
+    public String toString() {
+        return "ProgressUpdate{lessonId='" + lessonId + "', completed=" + completed + "}";
+    }
+}
@@ -0,0 +1,16 @@
+package com.edulearn.core;
+
+/**
+ * Listener notified when the configuration snapshot is replaced
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+    
+    /**
+     * Called after a new configuration snapshot has been published
+     *
+     * @param previous snapshot that was replaced
+     * @param current snapshot now in effect
+     */
+    void onConfigChange(ConfigSnapshot previous, ConfigSnapshot current);
+}
@@ -5,70 +5,344 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Configuration manager to handle properties and settings
+ * Configuration manager to handle properties and settings.
+ * Configuration is resolved once into an immutable {@link ConfigSnapshot} that is
+ * published through a volatile field, so every lookup is a plain field read.
+ * <p>
+ * The config file is built from layered profiles, each overriding the previous one:
+ * the base file ({@code config.file} or config.properties), the environment profile
+ * {@code config-<env>.properties} selected by {@code config.env}, and an optional
+ * {@code config-local.properties} for uncommitted local overrides. With
+ * {@code config.watch.enabled} the layer files are watched and edits are applied
+ * by swapping the snapshot and notifying {@link ConfigChangeListener}s.
  */
 public class ConfigManager {
     
     private static final Logger logger = LogManager.getLogger(ConfigManager.class);
-    private static final Properties properties = new Properties();
-    private static ConfigManager instance;
+    private static final String DEFAULT_CONFIG_FILE = "src/test/resources/config.properties";
+    private static final Map<String, String> DEFAULTS = createDefaults();
+    
+    private static final String LOCAL_PROFILE = "local";
+    
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, String> overrides = new ConcurrentHashMap<>();
+    private volatile ConfigSnapshot snapshot;
+    private volatile List<Path> layerFiles = Collections.emptyList();
+    private ConfigWatcher watcher;
     
     private ConfigManager() {
-        loadProperties();
+        reload();
+        if (snapshot.getBoolean("config.watch.enabled")) {
+            startWatching();
+        }
+    }
+    
+    /**
+     * Lazily initialized holder, so getInstance needs no locking
+     */
+    private static final class Holder {
+        private static final ConfigManager INSTANCE = new ConfigManager();
     }
     
     /**
      * Gets the single instance of ConfigManager
-     * 
+     *
      * @return ConfigManager instance
      */
-    public static synchronized ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
-        }
-        return instance;
+    public static ConfigManager getInstance() {
+        return Holder.INSTANCE;
     }
     
     /**
-     * Loads properties from config.properties file
+     * Built-in defaults used when a property is not configured anywhere else
+     *
+     * @return default values
      */
-    private void loadProperties() {
-        try {
-            String configFilePath = System.getProperty("config.file");
-            
-            if (configFilePath == null) {
-                configFilePath = "src/test/resources/config.properties";
+    private static Map<String, String> createDefaults() {
+        Map<String, String> defaults = new HashMap<>();
+        defaults.put("browser", Constants.CHROME);
+        defaults.put("headless", "false");
+        defaults.put("default.timeout", String.valueOf(Constants.DEFAULT_TIMEOUT));
+        defaults.put("testdata.dir", Constants.TESTDATA_DIR);
+        defaults.put("api.base.url", Constants.BASE_API_URL);
+        defaults.put("data.cache.enabled", "true");
+        defaults.put("data.cache.dir", "target/data-cache");
+        defaults.put("data.loader.parallelism", "0");
+        defaults.put("testdata.hot.reload", "false");
+        defaults.put("testdata.hot.reload.interval.ms", "1000");
+        defaults.put("config.watch.enabled", "false");
+        defaults.put("config.watch.debounce.ms", "250");
+        defaults.put("driver.implicit.wait", "10");
+        defaults.put("driver.page.load.timeout", String.valueOf(Constants.PAGE_LOAD_TIMEOUT));
+        defaults.put("stub.enabled", "false");
+        defaults.put("stub.port", "0");
+        defaults.put("stub.latency.ms", "0");
+        defaults.put("stub.latency.jitter.ms", "0");
+        defaults.put("stub.error.rate", "0");
+        defaults.put("stub.error.status", "503");
+        defaults.put("stub.seed", "42");
+        defaults.put("stub.catalog.size", "0");
+        defaults.put("api.timeout", "30000");
+        defaults.put("api.transport", "http1");
+        defaults.put("api.log.body.max.bytes", "2048");
+        defaults.put("api.log.body.sample.percent", "100");
+        defaults.put("api.page.size", "50");
+        defaults.put("api.page.prefetch", "2");
+        defaults.put("api.page.max.concurrency", "2");
+        defaults.put("api.bulk.max.in.flight", "8");
+        defaults.put("api.bulk.timeout.ms", "10000");
+        defaults.put("api.progress.batch.size", "20");
+        defaults.put("api.progress.linger.ms", "50");
+        defaults.put("api.retry.max.attempts", "1");
+        defaults.put("api.retry.methods", "GET,HEAD,OPTIONS,PUT,DELETE");
+        defaults.put("api.retry.statuses", "429,502,503,504");
+        defaults.put("api.retry.backoff.base.ms", "100");
+        defaults.put("api.retry.backoff.max.ms", "2000");
+        defaults.put("api.circuit.enabled", "false");
+        defaults.put("api.circuit.window", "20");
+        defaults.put("api.circuit.min.calls", "10");
+        defaults.put("api.circuit.failure.rate.percent", "50");
+        defaults.put("api.circuit.open.ms", "5000");
+        defaults.put("api.limit.rate", "0");
+        defaults.put("api.limit.burst", "10");
+        defaults.put("api.limit.concurrency", "0");
+        defaults.put("api.limit.max.wait.ms", "30000");
+        defaults.put("api.limit.rules", "");
+        defaults.put("api.cache.enabled", "false");
+        defaults.put("api.cache.ttl.ms", "2000");
+        defaults.put("api.cache.max.entries", "500");
+        defaults.put("metrics.endpoint.file", "target/endpoint-latency.json");
+        defaults.put("test.history.file", ".test-history/durations.json");
+        defaults.put("test.schedule.longest.first", "true");
+        defaults.put("shard.index", "0");
+        defaults.put("shard.count", "1");
+        defaults.put("shard.reports.dir", "target/shards");
+        defaults.put("shard.suite.file", "src/test/resources/testng.xml");
+        defaults.put("shard.args", "");
+        defaults.put("load.model", "closed");
+        defaults.put("load.vus", "10");
+        defaults.put("load.rate", "10");
+        defaults.put("load.max.vus", "100");
+        defaults.put("load.duration.seconds", "60");
+        defaults.put("load.ramp", "");
+        defaults.put("load.think.ms", "0");
+        defaults.put("load.scenarios", "enrollment-journey:3,browse-catalog:7");
+        defaults.put("load.search.keywords", "Java,Programming,Python");
+        defaults.put("load.username", "student");
+        defaults.put("load.password", "Learn@123");
+        defaults.put("load.progress.interval.seconds", "10");
+        defaults.put("load.report.file", "target/load-report.json");
+        return Collections.unmodifiableMap(defaults);
+    }
+    
+    /**
+     * Re-resolves the configuration from system properties, environment variables,
+     * the config file layers and defaults, atomically publishes the new snapshot
+     * and notifies listeners if any value changed
+     *
+     * @return the new snapshot
+     */
+    public ConfigSnapshot reload() {
+        ConfigSnapshot resolved;
+        ConfigSnapshot previous;
+        synchronized (this) {
+            resolved = ConfigSnapshot.resolve(DEFAULTS, loadProperties(),
+                    System.getenv(), System.getProperties(), new HashMap<>(overrides));
+            previous = snapshot;
+            snapshot = resolved;
+        }
+        
+        if (previous != null && !previous.asMap().equals(resolved.asMap())) {
+            logger.info("Configuration changed, notifying {} listeners", listeners.size());
+            for (ConfigChangeListener listener : listeners) {
+                try {
+                    listener.onConfigChange(previous, resolved);
+                } catch (RuntimeException e) {
+                    logger.error("Configuration listener failed: {}", listener, e);
+                }
             }
-            
-            FileInputStream inputStream = new FileInputStream(configFilePath);
+        }
+        return resolved;
+    }
+    
+    /**
+     * Overrides configuration values in this JVM, above system properties, and reloads.
+     * Used for values only known at runtime, such as the URL of the embedded stub server.
+     *
+     * @param values values by property key
+     * @return the new snapshot
+     */
+    public ConfigSnapshot setOverrides(Map<String, String> values) {
+        overrides.putAll(values);
+        return reload();
+    }
+    
+    /**
+     * Removes runtime overrides and reloads
+     *
+     * @param keys property keys
+     * @return the new snapshot
+     */
+    public ConfigSnapshot clearOverrides(Collection<String> keys) {
+        overrides.keySet().removeAll(keys);
+        return reload();
+    }
+    
+    /**
+     * Loads and merges the config file layers: base, environment profile and local overrides
+     *
+     * @return merged properties, empty if no file could be read
+     */
+    private Properties loadProperties() {
+        Properties properties = new Properties();
+        String configFilePath = System.getProperty("config.file");
+        
+        if (configFilePath == null) {
+            configFilePath = DEFAULT_CONFIG_FILE;
+        }
+        
+        Path baseFile = Paths.get(configFilePath);
+        List<Path> layers = new ArrayList<>();
+        layers.add(baseFile);
+        
+        try (FileInputStream inputStream = new FileInputStream(baseFile.toFile())) {
             properties.load(inputStream);
-            inputStream.close();
             logger.info("Loaded configuration from: {}", configFilePath);
         } catch (IOException e) {
             logger.error("Failed to load configuration properties", e);
         }
+        
+        String profile = firstNonBlank(System.getProperty("config.env"), System.getenv("CONFIG_ENV"),
+                properties.getProperty("config.env"));
+        if (profile != null && !LOCAL_PROFILE.equals(profile)) {
+            Path profileFile = siblingProfile(baseFile, profile);
+            layers.add(profileFile);
+            if (!loadLayer(properties, profileFile)) {
+                logger.warn("Configuration profile '{}' not found: {}", profile, profileFile);
+            }
+        }
+        
+        Path localFile = siblingProfile(baseFile, LOCAL_PROFILE);
+        layers.add(localFile);
+        loadLayer(properties, localFile);
+        
+        layerFiles = Collections.unmodifiableList(layers);
+        return properties;
+    }
+    
+    /**
+     * Loads an optional layer file on top of the given properties
+     *
+     * @param properties properties to override
+     * @param layerFile layer file
+     * @return true if the layer exists and was loaded
+     */
+    private boolean loadLayer(Properties properties, Path layerFile) {
+        if (!Files.isRegularFile(layerFile)) {
+            return false;
+        }
+        try (FileInputStream inputStream = new FileInputStream(layerFile.toFile())) {
+            Properties layer = new Properties();
+            layer.load(inputStream);
+            properties.putAll(layer);
+            logger.info("Loaded configuration layer from: {}", layerFile);
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to load configuration layer: {}", layerFile, e);
+            return false;
+        }
+    }
+    
+    private static Path siblingProfile(Path baseFile, String profile) {
+        Path fileName = Paths.get("config-" + profile + ".properties");
+        Path parent = baseFile.getParent();
+        return parent != null ? parent.resolve(fileName) : fileName;
+    }
+    
+    private static String firstNonBlank(String... values) {
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Starts watching the config file layers and reloads on change
+     */
+    private synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        try {
+            watcher = new ConfigWatcher(layerFiles, snapshot.getInt("config.watch.debounce.ms", 250), this::reload);
+            watcher.start();
+        } catch (IOException e) {
+            logger.error("Failed to watch configuration files", e);
+        }
+    }
+    
+    /**
+     * Stops watching the config file layers
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
+        }
+    }
+    
+    /**
+     * Registers a listener notified whenever a reload changes the configuration
+     *
+     * @param listener listener to add
+     */
+    public void addChangeListener(ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Removes a configuration change listener
+     *
+     * @param listener listener to remove
+     */
+    public void removeChangeListener(ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Gets the current configuration snapshot
+     *
+     * @return immutable configuration snapshot
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
     
     /**
      * Gets a property value as a String
-     * Priority: System Property > Config File Property
-     * 
+     * Priority: System Property > Environment Variable > Config File Property > Default
+     *
      * @param key property key
      * @return property value
      */
     public String getProperty(String key) {
-        // First check system properties (for CI/CD overrides)
-        String systemValue = System.getProperty(key);
-        if (systemValue != null && !systemValue.trim().isEmpty()) {
-            logger.debug("Using system property for {}: {}", key, systemValue);
-            return systemValue;
-        }
-        
-        // Fall back to config file property
-        String value = properties.getProperty(key);
+        String value = snapshot.get(key);
         if (value == null) {
             logger.warn("Property not found: {}", key);
         }
@@ -77,79 +351,71 @@ public class ConfigManager {
     
     /**
      * Gets a property value as a boolean
-     * 
+     *
      * @param key property key
      * @return property value as boolean
      */
     public boolean getBooleanProperty(String key) {
-        String value = getProperty(key);
-        return Boolean.parseBoolean(value);
+        return snapshot.getBoolean(key);
     }
     
     /**
      * Gets a property value as an integer
-     * 
+     *
      * @param key property key
      * @return property value as int
      */
     public int getIntProperty(String key) {
-        String value = getProperty(key);
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            logger.error("Failed to parse property {} as integer: {}", key, value);
-            return 0;
+        ConfigSnapshot current = snapshot;
+        if (current.isInt(key)) {
+            return current.getInt(key, 0);
         }
+        logger.error("Failed to parse property {} as integer: {}", key, current.get(key));
+        return 0;
     }
     
     /**
      * Gets the base URL for the application
-     * 
+     *
      * @return base URL
      */
     public String getBaseUrl() {
-        return getProperty("base.url");
+        return snapshot.getBaseUrl();
     }
     
     /**
      * Gets the browser to use for tests
-     * 
+     *
      * @return browser name
      */
     public String getBrowser() {
-        String browser = getProperty("browser");
-        return browser != null ? browser : "chrome"; // Default to chrome
+        return snapshot.getBrowser();
     }
     
     /**
      * Checks if tests should run in headless mode
-     * 
+     *
      * @return true if headless mode is enabled
      */
     public boolean isHeadless() {
-        // Check for system property first (for CI/CD)
-        String systemHeadless = System.getProperty("headless");
-        if (systemHeadless != null) {
-            return Boolean.parseBoolean(systemHeadless);
-        }
-        return getBooleanProperty("headless");
+        return snapshot.isHeadless();
     }
     
     /**
      * Gets the default timeout in seconds
-     * 
+     *
      * @return timeout in seconds
      */
     public int getDefaultTimeout() {
-        return getIntProperty("default.timeout");
+        return snapshot.getDefaultTimeout();
     }
     
     /**
      * Gets the test data directory path
-     * 
+     *
      * @return test data directory path
      */
     public String getTestDataDir() {
-        return getProperty("testdata.dir");
+        return snapshot.getTestDataDir();
     }
 }
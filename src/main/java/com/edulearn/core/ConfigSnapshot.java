@@ -0,0 +1,307 @@
+package com.edulearn.core;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Immutable, fully resolved view of the framework configuration.
+ * Precedence is resolved once when the snapshot is built:
+ * system property, then environment variable, then profile file, then defaults.
+ * Only framework settings are picked up from the environment and the JVM: environment
+ * variables must carry the {@value #ENV_PREFIX} prefix, and system properties must be
+ * known keys or fall under one of the framework key namespaces.
+ * Integer and boolean values are parsed up front and the most frequently used
+ * settings are kept in plain fields, so lookups never parse or allocate.
+ */
+public final class ConfigSnapshot {
+    
+    /**
+     * Prefix of the environment variables that override configuration, e.g. EDULEARN_API_BASE_URL
+     */
+    public static final String ENV_PREFIX = "EDULEARN_";
+    
+    // Key namespaces of the framework; other system properties belong to the JVM or build tools
+    private static final String[] FRAMEWORK_PREFIXES = {"api.", "config.", "data.", "driver.", "load.",
+            "metrics.", "shard.", "stub.", "test.", "testdata."};
+    
+    private final Map<String, String> values;
+    private final Map<String, Integer> intValues;
+    private final Map<String, String> sources;
+    
+    private final String baseUrl;
+    private final String apiBaseUrl;
+    private final String browser;
+    private final boolean headless;
+    private final int defaultTimeout;
+    private final String testDataDir;
+    
+    private ConfigSnapshot(Map<String, String> values, Map<String, String> sources) {
+        this.values = Collections.unmodifiableMap(values);
+        this.sources = Collections.unmodifiableMap(sources);
+        
+        Map<String, Integer> parsed = new HashMap<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            try {
+                parsed.put(entry.getKey(), Integer.valueOf(entry.getValue().trim()));
+            } catch (NumberFormatException e) {
+                // Not an integer property
+            }
+        }
+        this.intValues = Collections.unmodifiableMap(parsed);
+        
+        this.baseUrl = values.get("base.url");
+        this.apiBaseUrl = values.get("api.base.url");
+        String configuredBrowser = values.get("browser");
+        this.browser = configuredBrowser != null ? configuredBrowser : Constants.CHROME;
+        this.headless = Boolean.parseBoolean(values.get("headless"));
+        this.defaultTimeout = getInt("default.timeout", 0);
+        this.testDataDir = values.get("testdata.dir");
+    }
+    
+    /**
+     * Resolves a snapshot from its sources
+     *
+     * @param defaults built-in default values, lowest precedence
+     * @param fileProperties values from the profile file
+     * @param environment environment variables, matched as upper-case keys with underscores
+     *                    and the {@value #ENV_PREFIX} prefix
+     * @param systemProperties JVM system properties, highest precedence; only framework keys are used
+     * @return resolved snapshot
+     */
+    public static ConfigSnapshot resolve(Map<String, String> defaults, Properties fileProperties,
+                                         Map<String, String> environment, Properties systemProperties) {
+        return resolve(defaults, fileProperties, environment, systemProperties, Collections.emptyMap());
+    }
+    
+    /**
+     * Resolves a snapshot from its sources and runtime overrides
+     *
+     * @param defaults built-in default values, lowest precedence
+     * @param fileProperties values from the profile file
+     * @param environment environment variables, matched as upper-case keys with underscores
+     *                    and the {@value #ENV_PREFIX} prefix
+     * @param systemProperties JVM system properties; only framework keys are used
+     * @param overrides values set at runtime through {@link ConfigManager#setOverrides(Map)}, highest precedence
+     * @return resolved snapshot
+     */
+    public static ConfigSnapshot resolve(Map<String, String> defaults, Properties fileProperties,
+                                         Map<String, String> environment, Properties systemProperties,
+                                         Map<String, String> overrides) {
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> sources = new HashMap<>();
+        
+        for (Map.Entry<String, String> entry : defaults.entrySet()) {
+            values.put(entry.getKey(), entry.getValue());
+            sources.put(entry.getKey(), "default");
+        }
+        
+        for (String key : fileProperties.stringPropertyNames()) {
+            values.put(key, fileProperties.getProperty(key));
+            sources.put(key, "file");
+        }
+        
+        // Environment variables can only override keys the framework knows about
+        for (String key : values.keySet().toArray(new String[0])) {
+            String envValue = environment.get(toEnvironmentName(key));
+            if (envValue != null && !envValue.trim().isEmpty()) {
+                values.put(key, envValue);
+                sources.put(key, "environment");
+            }
+        }
+        
+        for (String key : systemProperties.stringPropertyNames()) {
+            if (!values.containsKey(key) && !isFrameworkKey(key)) {
+                continue;
+            }
+            String systemValue = systemProperties.getProperty(key);
+            if (systemValue != null && !systemValue.trim().isEmpty()) {
+                values.put(key, systemValue);
+                sources.put(key, "system");
+            }
+        }
+        
+        for (Map.Entry<String, String> entry : overrides.entrySet()) {
+            values.put(entry.getKey(), entry.getValue());
+            sources.put(entry.getKey(), "override");
+        }
+        
+        return new ConfigSnapshot(values, sources);
+    }
+    
+    /**
+     * Checks whether a key falls under one of the framework key namespaces
+     *
+     * @param key property key
+     * @return true for framework keys such as api.env.staging.base.url, false for e.g. java.home
+     */
+    static boolean isFrameworkKey(String key) {
+        for (String prefix : FRAMEWORK_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Converts a property key to its environment variable name, e.g. api.base.url to EDULEARN_API_BASE_URL
+     *
+     * @param key property key
+     * @return environment variable name
+     */
+    static String toEnvironmentName(String key) {
+        return ENV_PREFIX + key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+    
+    /**
+     * Gets a property value
+     *
+     * @param key property key
+     * @return property value or null if not configured
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+    
+    /**
+     * Gets a pre-parsed integer property value
+     *
+     * @param key property key
+     * @param defaultValue value to use if the property is missing or not an integer
+     * @return property value as int
+     */
+    public int getInt(String key, int defaultValue) {
+        Integer value = intValues.get(key);
+        return value != null ? value : defaultValue;
+    }
+    
+    /**
+     * Checks whether a property holds a valid integer
+     *
+     * @param key property key
+     * @return true if the property is an integer
+     */
+    public boolean isInt(String key) {
+        return intValues.containsKey(key);
+    }
+    
+    /**
+     * Gets a property value as a boolean
+     *
+     * @param key property key
+     * @return true if the property is set to true
+     */
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(values.get(key));
+    }
+    
+    /**
+     * Gets where a property value came from
+     *
+     * @param key property key
+     * @return one of override, system, environment, file or default, or null if not configured
+     */
+    public String getSource(String key) {
+        return sources.get(key);
+    }
+    
+    /**
+     * Checks whether a property differs from another snapshot
+     *
+     * @param other snapshot to compare with, usually the previous one
+     * @param key property key
+     * @return true if the value differs
+     */
+    public boolean isChanged(ConfigSnapshot other, String key) {
+        return !Objects.equals(values.get(key), other.values.get(key));
+    }
+    
+    /**
+     * Checks whether any property under a prefix differs from another snapshot,
+     * including properties set in only one of them
+     *
+     * @param other snapshot to compare with, usually the previous one
+     * @param prefix key prefix, e.g. "api.limit."
+     * @return true if a value under the prefix was added, removed or changed
+     */
+    public boolean isChangedUnder(ConfigSnapshot other, String prefix) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && !entry.getValue().equals(other.values.get(entry.getKey()))) {
+                return true;
+            }
+        }
+        for (String key : other.values.keySet()) {
+            if (key.startsWith(prefix) && !values.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Gets all resolved values
+     *
+     * @return unmodifiable map of all values
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+    
+    /**
+     * Gets the base URL for the application
+     *
+     * @return base URL
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    /**
+     * Gets the base URL for the API
+     *
+     * @return API base URL
+     */
+    public String getApiBaseUrl() {
+        return apiBaseUrl;
+    }
+    
+    /**
+     * Gets the browser to use for tests
+     *
+     * @return browser name, chrome if not configured
+     */
+    public String getBrowser() {
+        return browser;
+    }
+    
+    /**
+     * Checks if tests should run in headless mode
+     *
+     * @return true if headless mode is enabled
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+    
+    /**
+     * Gets the default timeout in seconds
+     *
+     * @return timeout in seconds, 0 if not configured
+     */
+    public int getDefaultTimeout() {
+        return defaultTimeout;
+    }
+    
+    /**
+     * Gets the test data directory path
+     *
+     * @return test data directory path
+     */
+    public String getTestDataDir() {
+        return testDataDir;
+    }
+}
@@ -0,0 +1,121 @@
+package com.edulearn.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches configuration layer files and triggers a reload when one changes.
+ * Bursts of file events, such as an editor writing a file in several steps,
+ * are collapsed into a single reload after a short debounce delay.
+ */
+class ConfigWatcher implements Runnable {
+    
+    private static final Logger logger = LogManager.getLogger(ConfigWatcher.class);
+    
+    private final WatchService watchService;
+    private final Set<Path> watchedFiles = new HashSet<>();
+    private final long debounceMillis;
+    private final Runnable onChange;
+    private final Thread thread;
+    
+    /**
+     * Creates a watcher for the given files
+     *
+     * @param files configuration files to watch; missing files are picked up when created
+     * @param debounceMillis delay used to collapse bursts of events
+     * @param onChange callback run on the watcher thread after a change
+     * @throws IOException if the watch service cannot be created
+     */
+    ConfigWatcher(Collection<Path> files, long debounceMillis, Runnable onChange) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.debounceMillis = debounceMillis;
+        this.onChange = onChange;
+        
+        Set<Path> directories = new HashSet<>();
+        for (Path file : files) {
+            Path absolute = file.toAbsolutePath().normalize();
+            watchedFiles.add(absolute);
+            directories.add(absolute.getParent());
+        }
+        for (Path directory : directories) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        
+        this.thread = new Thread(this, "config-watcher");
+        this.thread.setDaemon(true);
+    }
+    
+    /**
+     * Starts watching on a daemon thread
+     */
+    void start() {
+        thread.start();
+        logger.info("Watching configuration files for changes: {}", watchedFiles);
+    }
+    
+    /**
+     * Stops watching
+     */
+    void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close configuration watcher", e);
+        }
+    }
+    
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = drain(key);
+                
+                // Keep collecting events until the files have been quiet for the debounce delay
+                WatchKey next;
+                while ((next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    relevant |= drain(next);
+                }
+                
+                if (relevant) {
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Configuration reload failed", e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Configuration watcher stopped");
+        }
+    }
+    
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path
+                    && watchedFiles.contains(directory.resolve((Path) event.context()).normalize())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
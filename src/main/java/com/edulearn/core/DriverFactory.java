@@ -1,6 +1,8 @@
 package com.edulearn.core;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -16,11 +18,28 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Factory class to create and configure WebDriver instances
+ * Factory class to create and configure WebDriver instances.
+ * Driver timeouts come from driver.implicit.wait and driver.page.load.timeout;
+ * when a config reload changes them, each thread's driver picks up the new
+ * values on its next {@link #getDriver()} call.
  */
 public class DriverFactory {
     
+    private static final Logger logger = LogManager.getLogger(DriverFactory.class);
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<ConfigSnapshot> appliedConfigThreadLocal = new ThreadLocal<>();
+    private static final ConfigManager configManager = ConfigManager.getInstance();
+    private static volatile ConfigSnapshot timeoutConfig = configManager.getSnapshot();
+    
+    static {
+        configManager.addChangeListener((previous, current) -> {
+            if (current.isChanged(previous, "driver.implicit.wait")
+                    || current.isChanged(previous, "driver.page.load.timeout")) {
+                logger.info("Driver timeouts changed, applying to active drivers");
+                timeoutConfig = current;
+            }
+        });
+    }
     
     private DriverFactory() {
         // Private constructor to prevent instantiation
@@ -92,21 +111,39 @@ public class DriverFactory {
                 throw new IllegalArgumentException("Browser " + browser + " is not supported");
         }
         
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        applyTimeouts(driver, timeoutConfig);
         driver.manage().window().maximize();
         
         driverThreadLocal.set(driver);
         return driver;
     }
     
+    /**
+     * Applies the configured timeouts to a driver
+     *
+     * @param driver WebDriver instance
+     * @param config configuration holding the timeouts
+     */
+    private static void applyTimeouts(WebDriver driver, ConfigSnapshot config) {
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getInt("driver.implicit.wait", 10)));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(
+                config.getInt("driver.page.load.timeout", Constants.PAGE_LOAD_TIMEOUT)));
+        appliedConfigThreadLocal.set(config);
+    }
+    
     /**
      * Gets the WebDriver instance from the current thread
      * 
      * @return WebDriver instance
      */
     public static WebDriver getDriver() {
-        return driverThreadLocal.get();
+        WebDriver driver = driverThreadLocal.get();
+        ConfigSnapshot config = timeoutConfig;
+        if (driver != null && appliedConfigThreadLocal.get() != config) {
+            // Timeouts changed since this thread's driver was configured
+            applyTimeouts(driver, config);
+        }
+        return driver;
     }
     
     /**
@@ -116,6 +153,7 @@ public class DriverFactory {
         if (driverThreadLocal.get() != null) {
             driverThreadLocal.get().quit();
             driverThreadLocal.remove();
+            appliedConfigThreadLocal.remove();
         }
     }
 }
@@ -0,0 +1,200 @@
+package com.edulearn.core;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-method test durations kept across runs in a local JSON file.
+ * Durations of the current run are summed per method, so all invocations of a
+ * data-driven method count as one unit of work, and merged into the history on
+ * {@link #save()}. Merging averages the new duration with the stored one, so a
+ * single slow run shifts the estimate without replacing it.
+ */
+public final class DurationHistory {
+    
+    /**
+     * File name used for the durations of a single run, see {@link #saveRun(Path)}
+     */
+    public static final String RUN_FILE = "durations.json";
+    
+    private static final Logger logger = LogManager.getLogger(DurationHistory.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    
+    // Weight of the latest run when merging into the stored duration
+    private static final double LATEST_RUN_WEIGHT = 0.5;
+    
+    private static volatile DurationHistory instance;
+    
+    private final Path file;
+    private final Map<String, Long> history;
+    private final ConcurrentMap<String, LongAdder> currentRun = new ConcurrentHashMap<>();
+    
+    private DurationHistory(Path file, Map<String, Long> history) {
+        this.file = file;
+        this.history = new ConcurrentHashMap<>(history);
+    }
+    
+    /**
+     * Gets the history of the file configured by test.history.file, loaded on first use
+     *
+     * @return shared duration history
+     */
+    public static DurationHistory getInstance() {
+        DurationHistory history = instance;
+        if (history == null) {
+            synchronized (DurationHistory.class) {
+                history = instance;
+                if (history == null) {
+                    history = load(Paths.get(ConfigManager.getInstance().getProperty("test.history.file")));
+                    instance = history;
+                }
+            }
+        }
+        return history;
+    }
+    
+    /**
+     * Loads a history file
+     *
+     * @param file history file; a missing or unreadable file gives an empty history
+     * @return duration history bound to the file
+     */
+    public static DurationHistory load(Path file) {
+        return new DurationHistory(file, read(file));
+    }
+    
+    private static Map<String, Long> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        try {
+            return mapper.readValue(file.toFile(), new TypeReference<Map<String, Long>>() { });
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable test duration history {}: {}", file, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+    
+    /**
+     * Records the duration of one invocation of a test method in the current run
+     *
+     * @param method qualified method name
+     * @param millis invocation duration in milliseconds
+     */
+    public void record(String method, long millis) {
+        currentRun.computeIfAbsent(method, key -> new LongAdder()).add(Math.max(0, millis));
+    }
+    
+    /**
+     * Gets the expected duration of a test method from earlier runs
+     *
+     * @param method qualified method name
+     * @return expected duration in milliseconds, or -1 if the method has no history
+     */
+    public long getExpectedMillis(String method) {
+        Long millis = history.get(method);
+        return millis != null ? millis : -1;
+    }
+    
+    /**
+     * Gets the stored durations
+     *
+     * @return durations in milliseconds keyed by qualified method name, sorted by name
+     */
+    public Map<String, Long> getHistory() {
+        return Collections.unmodifiableMap(new TreeMap<>(history));
+    }
+    
+    /**
+     * Gets the file the history is saved to
+     *
+     * @return history file
+     */
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * Writes the durations of the current run alone, without merging them into the history,
+     * e.g. for a shard whose output is merged later
+     *
+     * @param runFile file to write
+     */
+    public void saveRun(Path runFile) {
+        Map<String, Long> run = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : currentRun.entrySet()) {
+            run.put(entry.getKey(), entry.getValue().sum());
+        }
+        try {
+            if (runFile.getParent() != null) {
+                Files.createDirectories(runFile.getParent());
+            }
+            mapper.writerWithDefaultPrettyPrinter().writeValue(runFile.toFile(), run);
+            logger.info("Test durations of this run written to: {}", runFile);
+        } catch (IOException e) {
+            logger.error("Failed to write test durations: {}", runFile, e);
+        }
+    }
+    
+    /**
+     * Reads durations written by {@link #saveRun(Path)} and adds them to the current run
+     *
+     * @param runFile file to read
+     */
+    public void recordRun(Path runFile) {
+        for (Map.Entry<String, Long> entry : read(runFile).entrySet()) {
+            record(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    /**
+     * Merges the current run into the history and writes the file.
+     * The file is re-read first, so runs saving one after another keep each other's methods.
+     */
+    public synchronized void save() {
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        Map<String, Long> merged = new TreeMap<>(read(file));
+        for (Map.Entry<String, LongAdder> entry : currentRun.entrySet()) {
+            long latest = entry.getValue().sum();
+            Long previous = merged.get(entry.getKey());
+            merged.put(entry.getKey(), previous == null ? latest
+                    : Math.round(LATEST_RUN_WEIGHT * latest + (1 - LATEST_RUN_WEIGHT) * previous));
+        }
+        
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // Written next to the target and moved, so a parallel reader never sees a partial file
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "durations", ".tmp");
+            try {
+                mapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), merged);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            history.putAll(merged);
+            currentRun.clear();
+            logger.info("Test durations of {} methods written to: {}", Unbox.box(merged.size()), file);
+        } catch (IOException e) {
+            logger.error("Failed to write test duration history: {}", file, e);
+        }
+    }
+}
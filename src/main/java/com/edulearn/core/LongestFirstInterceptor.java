@@ -0,0 +1,126 @@
+package com.edulearn.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.xml.XmlSuite;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * TestNG method interceptor that runs the longest test methods first.
+ * Expected durations come from the {@link DurationHistory} that {@link TestListener}
+ * writes after each run. Starting the longest methods first and letting the short
+ * ones fill the gaps keeps a slow method from finishing alone on one thread while
+ * the others sit idle (longest processing time first scheduling). Methods without
+ * history are expected to take the average known duration, and explicit priorities
+ * still take precedence.
+ * <p>
+ * Enabled by test.schedule.longest.first; a run without history keeps the order of testng.xml.
+ */
+public class LongestFirstInterceptor implements IMethodInterceptor {
+    
+    private static final Logger logger = LogManager.getLogger(LongestFirstInterceptor.class);
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (methods.size() < 2
+                || !ConfigManager.getInstance().getSnapshot().getBoolean("test.schedule.longest.first")) {
+            return methods;
+        }
+        DurationHistory history = DurationHistory.getInstance();
+        long[] expected = expectedDurations(methods, method -> history.getExpectedMillis(
+                method.getMethod().getQualifiedName()));
+        if (expected == null) {
+            return methods;
+        }
+        
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < methods.size(); i++) {
+            order.add(i);
+        }
+        // Stable sort, so methods with equal estimates keep their testng.xml order
+        order.sort(Comparator.<Integer>comparingInt(i -> methods.get(i).getMethod().getPriority())
+                .thenComparing(i -> expected[i], Comparator.reverseOrder()));
+        
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        long[] orderedDurations = new long[methods.size()];
+        for (int i = 0; i < order.size(); i++) {
+            ordered.add(methods.get(order.get(i)));
+            orderedDurations[i] = expected[order.get(i)];
+        }
+        
+        int threads = threadCount(context);
+        logger.info("Running {} methods of '{}' longest first with thread count {}: "
+                + "expected makespan {} ms instead of {} ms", Unbox.box(methods.size()), context.getName(), Unbox.box(threads),
+                Unbox.box(makespan(orderedDurations, threads)), Unbox.box(makespan(expected, threads)));
+        return ordered;
+    }
+    
+    /**
+     * Gets the expected duration of each method, filling in unknown ones with the average known duration
+     *
+     * @param methods methods in their current order
+     * @param history expected duration of a method, or a negative value if unknown
+     * @param <T> method type
+     * @return expected durations in method order, or null if no method has history
+     */
+    static <T> long[] expectedDurations(List<T> methods, ToLongFunction<T> history) {
+        long[] expected = new long[methods.size()];
+        long knownTotal = 0;
+        int known = 0;
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = history.applyAsLong(methods.get(i));
+            if (expected[i] >= 0) {
+                knownTotal += expected[i];
+                known++;
+            }
+        }
+        if (known == 0) {
+            return null;
+        }
+        long average = knownTotal / known;
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] < 0) {
+                expected[i] = average;
+            }
+        }
+        return expected;
+    }
+    
+    /**
+     * Simulates a run where each method starts on the first free thread
+     *
+     * @param durations method durations in start order
+     * @param threads number of threads
+     * @return time until the last method finishes
+     */
+    static long makespan(long[] durations, int threads) {
+        PriorityQueue<Long> freeAt = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            freeAt.add(0L);
+        }
+        long end = 0;
+        for (long duration : durations) {
+            long finish = freeAt.poll() + duration;
+            freeAt.add(finish);
+            end = Math.max(end, finish);
+        }
+        return end;
+    }
+    
+    private static int threadCount(ITestContext context) {
+        if (context.getCurrentXmlTest() == null
+                || context.getCurrentXmlTest().getParallel() == XmlSuite.ParallelMode.NONE) {
+            return 1;
+        }
+        return Math.max(1, context.getCurrentXmlTest().getThreadCount());
+    }
+}
@@ -1,20 +1,117 @@
 package com.edulearn.core;
 
+import com.edulearn.api.ApiThrottle;
+import com.edulearn.api.CircuitBreaker;
+import com.edulearn.api.RateLimiter;
+import com.edulearn.metrics.EndpointMetrics;
+import com.edulearn.metrics.LatencySummary;
+import com.edulearn.shard.TestShard;
+import com.edulearn.stub.StubServerManager;
 import com.edulearn.utils.ReportManager;
 import com.edulearn.utils.ScreenshotUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 /**
  * TestNG Listener to handle test events
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
     
     private static final Logger logger = LogManager.getLogger(TestListener.class);
     
+    @Override
+    public void onStart(ISuite suite) {
+        // Start the stub server before any test reads base.url or api.base.url
+        StubServerManager.startIfEnabled();
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        TestShard shard = TestShard.current();
+        if (shard.isSharded()) {
+            // Shards leave the shared history alone, so all shards plan from the same durations
+            DurationHistory.getInstance().saveRun(shard.getOutputDir().resolve(DurationHistory.RUN_FILE));
+        } else {
+            DurationHistory.getInstance().save();
+        }
+        
+        Map<String, LatencySummary> endpoints = EndpointMetrics.snapshot();
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        
+        String[][] rows = new String[endpoints.size() + 1][];
+        rows[0] = new String[] {"Endpoint", "Calls", "Errors", "Retries", "p50 (ms)", "p95 (ms)", "p99 (ms)",
+                "Max (ms)"};
+        int row = 1;
+        for (Map.Entry<String, LatencySummary> entry : endpoints.entrySet()) {
+            LatencySummary summary = entry.getValue();
+            logger.info("Endpoint latency {}: {}", entry.getKey(), summary);
+            rows[row++] = new String[] {entry.getKey(), String.valueOf(summary.getCount()),
+                    String.valueOf(summary.getErrors()), String.valueOf(EndpointMetrics.getRetryCount(entry.getKey())),
+                    format(summary.getP50Millis()),
+                    format(summary.getP95Millis()), format(summary.getP99Millis()), format(summary.getMaxMillis())};
+        }
+        
+        String endpointFile = ConfigManager.getInstance().getProperty("metrics.endpoint.file");
+        EndpointMetrics.writeJson(shard.resolveOutput(endpointFile));
+        ReportManager.logTable("API Endpoint Latency", rows);
+        logCircuitBreakers();
+        logThrottles();
+        ReportManager.flushReports();
+    }
+    
+    private static void logCircuitBreakers() {
+        Map<String, CircuitBreaker> breakers = CircuitBreaker.getBreakers();
+        if (breakers.isEmpty()) {
+            return;
+        }
+        String[][] rows = new String[breakers.size() + 1][];
+        rows[0] = new String[] {"Host", "State", "Failure rate (%)", "Rejected calls", "Times opened"};
+        int row = 1;
+        for (CircuitBreaker breaker : breakers.values()) {
+            logger.info("Circuit breaker {}: {}", breaker.getHost(), breaker.toMap());
+            rows[row++] = new String[] {breaker.getHost(), breaker.getState().name(),
+                    format(breaker.getFailureRatePercent()), String.valueOf(breaker.getRejectedCalls()),
+                    String.valueOf(breaker.getTimesOpened())};
+        }
+        ReportManager.logTable("API Circuit Breakers", rows);
+    }
+    
+    private static void logThrottles() {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Host", "Rule", "Rate (/s)", "Concurrency", "Delayed calls", "Total delay (ms)",
+                "429 responses"});
+        for (ApiThrottle throttle : ApiThrottle.getThrottles().values()) {
+            for (ApiThrottle.Rule rule : throttle.getRules()) {
+                logger.info("Rate limit {} '{}': {}", throttle.getHost(), rule.getName(), rule.toMap());
+                RateLimiter limiter = rule.getLimiter();
+                rows.add(new String[] {throttle.getHost(), rule.getName(),
+                        limiter != null ? format(limiter.getPermitsPerSecond()) : "-",
+                        rule.getConcurrency() > 0 ? String.valueOf(rule.getConcurrency()) : "-",
+                        limiter != null ? String.valueOf(limiter.getDelayedCalls()) : "0",
+                        limiter != null ? String.valueOf(limiter.getTotalDelayMillis()) : "0",
+                        String.valueOf(rule.getThrottledResponses())});
+            }
+        }
+        if (rows.size() > 1) {
+            ReportManager.logTable("API Rate Limits", rows.toArray(new String[0][]));
+        }
+    }
+    
+    private static String format(double millis) {
+        return String.format("%.2f", millis);
+    }
+    
     @Override
     public void onStart(ITestContext context) {
         logger.info("Starting test suite: {}", context.getName());
@@ -38,6 +135,7 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSuccess(ITestResult result) {
         logger.info("Test passed: {}", result.getName());
+        recordDuration(result);
         ReportManager.logPass("Test passed successfully");
     }
     
@@ -45,6 +143,7 @@ public class TestListener implements ITestListener {
     public void onTestFailure(ITestResult result) {
         logger.error("Test failed: {}", result.getName());
         logger.error("Error: {}", result.getThrowable().getMessage());
+        recordDuration(result);
         
         try {
             // Take screenshot on failure
@@ -62,6 +161,16 @@ public class TestListener implements ITestListener {
         }
     }
     
+    /**
+     * Records how long a test method ran, for {@link LongestFirstInterceptor} to order later runs
+     *
+     * @param result test result
+     */
+    private static void recordDuration(ITestResult result) {
+        DurationHistory.getInstance().record(result.getMethod().getQualifiedName(),
+                result.getEndMillis() - result.getStartMillis());
+    }
+    
     @Override
     public void onTestSkipped(ITestResult result) {
         logger.info("Test skipped: {}", result.getName());
@@ -0,0 +1,361 @@
+package com.edulearn.data;
+
+import com.edulearn.core.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+/**
+ * Binary cache of parsed test data files.
+ * Workbook sheets and properties files are written to a compact binary format
+ * under the cache directory, keyed by the SHA-256 hash of the source file.
+ * Later runs and forks memory-map the cached file instead of parsing the source
+ * again, as long as the source content is unchanged. Table files also record the
+ * sheet name, so a file is never served for a different sheet.
+ */
+public final class DataCache {
+    
+    private static final Logger logger = LogManager.getLogger(DataCache.class);
+    
+    private static final int TABLE_MAGIC = 0x45444C54; // "EDLT"
+    private static final int PROPERTIES_MAGIC = 0x45444C50; // "EDLP"
+    private static final int FORMAT_VERSION = 2;
+    
+    private static final byte PLAIN_COLUMN = 0;
+    private static final byte BYTE_DICTIONARY_COLUMN = 1;
+    private static final byte CHAR_DICTIONARY_COLUMN = 2;
+    
+    private static final String DEFAULT_CACHE_DIR = "target/data-cache";
+    
+    private DataCache() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Checks whether the binary data cache is enabled
+     *
+     * @return true unless data.cache.enabled is set to false
+     */
+    public static boolean isEnabled() {
+        String enabled = ConfigManager.getInstance().getProperty("data.cache.enabled");
+        return enabled == null || Boolean.parseBoolean(enabled);
+    }
+    
+    /**
+     * Gets the directory holding cached data files
+     *
+     * @return cache directory path
+     */
+    public static Path getCacheDir() {
+        String dir = ConfigManager.getInstance().getProperty("data.cache.dir");
+        return Paths.get(dir != null && !dir.trim().isEmpty() ? dir : DEFAULT_CACHE_DIR);
+    }
+    
+    /**
+     * Computes the cache key for a source file
+     *
+     * @param source source file
+     * @return hex encoded SHA-256 hash of the file content
+     * @throws IOException if the file cannot be read
+     */
+    public static String hash(Path source) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            while (in.read(buffer) != -1) {
+                // Reading updates the digest
+            }
+        }
+        return toHex(digest.digest());
+    }
+    
+    /**
+     * Reads a cached sheet table
+     *
+     * @param source workbook file
+     * @param hash hash of the workbook file
+     * @param sheetName name of the sheet
+     * @return cached table or null if there is no valid cache entry
+     */
+    public static DataTable readTable(Path source, String hash, String sheetName) {
+        Path cacheFile = tableFile(source, hash, sheetName);
+        MappedByteBuffer buffer = map(cacheFile);
+        if (buffer == null) {
+            return null;
+        }
+        
+        try {
+            if (buffer.getInt() != TABLE_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                logger.warn("Ignoring incompatible data cache file: {}", cacheFile);
+                return null;
+            }
+            String cachedSheet = readString(buffer);
+            if (!cachedSheet.equals(sheetName)) {
+                logger.warn("Ignoring data cache file {} of sheet {} when reading sheet {}", cacheFile,
+                        cachedSheet, sheetName);
+                return null;
+            }
+            
+            String[] headers = readStrings(buffer, buffer.getInt());
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = headers[i].intern();
+            }
+            int rowCount = buffer.getInt();
+            DataTable.Column[] columns = new DataTable.Column[headers.length];
+            
+            for (int i = 0; i < columns.length; i++) {
+                byte type = buffer.get();
+                if (type == PLAIN_COLUMN) {
+                    columns[i] = new DataTable.PlainColumn(readStrings(buffer, rowCount));
+                } else if (type == BYTE_DICTIONARY_COLUMN) {
+                    String[] dictionary = readStrings(buffer, buffer.getInt());
+                    byte[] codes = new byte[rowCount];
+                    buffer.get(codes);
+                    columns[i] = new DataTable.ByteDictionaryColumn(dictionary, codes);
+                } else if (type == CHAR_DICTIONARY_COLUMN) {
+                    String[] dictionary = readStrings(buffer, buffer.getInt());
+                    char[] codes = new char[rowCount];
+                    buffer.asCharBuffer().get(codes);
+                    buffer.position(buffer.position() + rowCount * Character.BYTES);
+                    columns[i] = new DataTable.CharDictionaryColumn(dictionary, codes);
+                } else {
+                    logger.warn("Ignoring corrupt data cache file: {}", cacheFile);
+                    return null;
+                }
+            }
+            
+            logger.debug("Loaded sheet {} from data cache: {}", sheetName, cacheFile);
+            return new DataTable(headers, columns, rowCount);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            logger.warn("Ignoring corrupt data cache file: {}", cacheFile);
+            return null;
+        }
+    }
+    
+    /**
+     * Writes a sheet table to the cache
+     *
+     * @param source workbook file
+     * @param hash hash of the workbook file
+     * @param sheetName name of the sheet
+     * @param table parsed sheet table
+     */
+    public static void writeTable(Path source, String hash, String sheetName, DataTable table) {
+        Path cacheFile = tableFile(source, hash, sheetName);
+        write(cacheFile, out -> {
+            out.writeInt(TABLE_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, sheetName);
+            writeStrings(out, table.getHeaders());
+            out.writeInt(table.getRowCount());
+            
+            for (int i = 0; i < table.getColumnCount(); i++) {
+                DataTable.Column column = table.getColumn(i);
+                if (column instanceof DataTable.ByteDictionaryColumn) {
+                    DataTable.ByteDictionaryColumn dictionaryColumn = (DataTable.ByteDictionaryColumn) column;
+                    out.writeByte(BYTE_DICTIONARY_COLUMN);
+                    writeStrings(out, dictionaryColumn.dictionary);
+                    out.write(dictionaryColumn.codes);
+                } else if (column instanceof DataTable.CharDictionaryColumn) {
+                    DataTable.CharDictionaryColumn dictionaryColumn = (DataTable.CharDictionaryColumn) column;
+                    out.writeByte(CHAR_DICTIONARY_COLUMN);
+                    writeStrings(out, dictionaryColumn.dictionary);
+                    for (char code : dictionaryColumn.codes) {
+                        out.writeChar(code);
+                    }
+                } else {
+                    out.writeByte(PLAIN_COLUMN);
+                    for (String value : ((DataTable.PlainColumn) column).values) {
+                        writeString(out, value);
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Reads cached properties
+     *
+     * @param source properties file
+     * @param hash hash of the properties file
+     * @return cached properties or null if there is no valid cache entry
+     */
+    public static Properties readProperties(Path source, String hash) {
+        Path cacheFile = propertiesFile(source, hash);
+        MappedByteBuffer buffer = map(cacheFile);
+        if (buffer == null) {
+            return null;
+        }
+        
+        try {
+            if (buffer.getInt() != PROPERTIES_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                logger.warn("Ignoring incompatible data cache file: {}", cacheFile);
+                return null;
+            }
+            
+            int count = buffer.getInt();
+            Properties props = new Properties();
+            for (int i = 0; i < count; i++) {
+                props.setProperty(readString(buffer), readString(buffer));
+            }
+            
+            logger.debug("Loaded properties from data cache: {}", cacheFile);
+            return props;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            logger.warn("Ignoring corrupt data cache file: {}", cacheFile);
+            return null;
+        }
+    }
+    
+    /**
+     * Writes properties to the cache
+     *
+     * @param source properties file
+     * @param hash hash of the properties file
+     * @param props parsed properties
+     */
+    public static void writeProperties(Path source, String hash, Properties props) {
+        Path cacheFile = propertiesFile(source, hash);
+        write(cacheFile, out -> {
+            out.writeInt(PROPERTIES_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(props.size());
+            for (String key : props.stringPropertyNames()) {
+                writeString(out, key);
+                writeString(out, props.getProperty(key));
+            }
+        });
+    }
+    
+    private static Path tableFile(Path source, String hash, String sheetName) {
+        // Sanitizing alone maps e.g. "Login Data" and "Login_Data" to the same name, the name hash keeps them apart
+        String nameHash = toHex(newDigest().digest(sheetName.getBytes(StandardCharsets.UTF_8))).substring(0, 16);
+        return getCacheDir().resolve(sanitize(source.getFileName().toString()) + "."
+                + sanitize(sheetName) + "-" + nameHash + "." + hash + ".tbl");
+    }
+    
+    private static Path propertiesFile(Path source, String hash) {
+        return getCacheDir().resolve(sanitize(source.getFileName().toString()) + "." + hash + ".props");
+    }
+    
+    private static String sanitize(String name) {
+        return name.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+    
+    private static MappedByteBuffer map(Path cacheFile) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            logger.warn("Failed to map data cache file: {}", cacheFile, e);
+            return null;
+        }
+    }
+    
+    private static void write(Path cacheFile, CacheWriter writer) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            
+            // Write to a temporary file first so concurrent forks never map a partial file
+            tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (OutputStream fileOut = Files.newOutputStream(tempFile);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                writer.write(out);
+            }
+            
+            try {
+                Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            logger.debug("Wrote data cache file: {}", cacheFile);
+        } catch (IOException e) {
+            logger.warn("Failed to write data cache file: {}", cacheFile, e);
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Nothing more to clean up
+                }
+            }
+        }
+    }
+    
+    private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String[] readStrings(MappedByteBuffer buffer, int count) {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = readString(buffer);
+        }
+        return values;
+    }
+    
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == 0) {
+            return "";
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Writes the body of a cache file
+     */
+    private interface CacheWriter {
+        
+        void write(DataOutputStream out) throws IOException;
+    }
+}
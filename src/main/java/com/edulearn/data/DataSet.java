@@ -0,0 +1,57 @@
+package com.edulearn.data;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable collection of loaded sheet tables, in manifest order
+ */
+public final class DataSet {
+    
+    private final Map<SheetRef, DataTable> tables;
+    
+    DataSet(Map<SheetRef, DataTable> tables) {
+        this.tables = Collections.unmodifiableMap(new LinkedHashMap<>(tables));
+    }
+    
+    /**
+     * Gets the table for a sheet
+     *
+     * @param sheet sheet reference
+     * @return sheet table or null if the sheet was not part of the manifest
+     */
+    public DataTable getTable(SheetRef sheet) {
+        return tables.get(sheet);
+    }
+    
+    /**
+     * Gets the table for a sheet
+     *
+     * @param workbookPath path to the Excel workbook
+     * @param sheetName name of the sheet
+     * @return sheet table or null if the sheet was not part of the manifest
+     */
+    public DataTable getTable(String workbookPath, String sheetName) {
+        return tables.get(SheetRef.of(workbookPath, sheetName));
+    }
+    
+    /**
+     * Gets the loaded sheet references
+     *
+     * @return sheet references in manifest order
+     */
+    public Set<SheetRef> getSheets() {
+        return tables.keySet();
+    }
+    
+    /**
+     * Gets the number of loaded sheets
+     *
+     * @return sheet count
+     */
+    public int size() {
+        return tables.size();
+    }
+}
@@ -0,0 +1,401 @@
+package com.edulearn.data;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact, column-oriented table for tabular test data.
+ * The header array is stored once per table and every column is kept as a
+ * single array. Columns with few distinct values are dictionary encoded so
+ * repeated cells share one String instance and cost one or two bytes per row.
+ * Rows are exposed as lightweight read-only {@link Map} views.
+ */
+public final class DataTable {
+    
+    /** Columns with at most this many distinct values are stored as byte codes */
+    static final int BYTE_DICTIONARY_LIMIT = 256;
+    
+    /** Columns with at most this many distinct values are stored as char codes */
+    static final int CHAR_DICTIONARY_LIMIT = 65536;
+    
+    private final String[] headers;
+    private final String[] keys;
+    private final int[] keyColumns;
+    private final Map<String, Integer> keyIndex;
+    private final Column[] columns;
+    private final int rowCount;
+    private final List<Map<String, String>> rows;
+    
+    DataTable(String[] headers, Column[] columns, int rowCount) {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        
+        // Later columns win on duplicate headers, matching HashMap.put semantics
+        Map<String, Integer> lastIndex = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            lastIndex.put(headers[i], i);
+        }
+        
+        List<String> uniqueKeys = new ArrayList<>(lastIndex.size());
+        int[] uniqueColumns = new int[lastIndex.size()];
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            if (lastIndex.get(headers[i]) == i) {
+                index.put(headers[i], uniqueKeys.size());
+                uniqueColumns[uniqueKeys.size()] = i;
+                uniqueKeys.add(headers[i]);
+            }
+        }
+        
+        this.keys = uniqueKeys.toArray(new String[0]);
+        this.keyColumns = uniqueColumns;
+        this.keyIndex = index;
+        this.rows = new RowList();
+    }
+    
+    /**
+     * Creates a builder for a table with the given headers
+     *
+     * @param headers column headers
+     * @return table builder
+     */
+    public static Builder builder(String... headers) {
+        return new Builder(headers);
+    }
+    
+    /**
+     * Gets the column headers
+     *
+     * @return copy of the header array
+     */
+    public String[] getHeaders() {
+        return headers.clone();
+    }
+    
+    /**
+     * Gets the number of columns
+     *
+     * @return column count
+     */
+    public int getColumnCount() {
+        return headers.length;
+    }
+    
+    /**
+     * Gets the number of data rows
+     *
+     * @return row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * Gets a single cell value
+     *
+     * @param row row index
+     * @param column column index
+     * @return cell value, never null
+     */
+    public String getValue(int row, int column) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for " + rowCount + " rows");
+        }
+        return columns[column].get(row);
+    }
+    
+    /**
+     * Gets a single cell value by header name
+     *
+     * @param row row index
+     * @param header column header
+     * @return cell value or null if the header does not exist
+     */
+    public String getValue(int row, String header) {
+        Integer key = keyIndex.get(header);
+        return key != null ? getValue(row, keyColumns[key]) : null;
+    }
+    
+    /**
+     * Gets a row as a read-only map view keyed by header
+     *
+     * @param row row index
+     * @return map view of the row
+     */
+    public Map<String, String> getRow(int row) {
+        return rows.get(row);
+    }
+    
+    /**
+     * Gets all rows as read-only map views
+     *
+     * @return list of row views
+     */
+    public List<Map<String, String>> getRows() {
+        return rows;
+    }
+    
+    /**
+     * Gets the rows in 2D array format for TestNG DataProvider
+     *
+     * @return 2D Object array with one row view per entry
+     */
+    public Object[][] toDataProviderArray() {
+        Object[][] data = new Object[rowCount][1];
+        for (int i = 0; i < rowCount; i++) {
+            data[i][0] = rows.get(i);
+        }
+        return data;
+    }
+    
+    Column getColumn(int column) {
+        return columns[column];
+    }
+    
+    /**
+     * Storage for a single column
+     */
+    abstract static class Column {
+        
+        abstract String get(int row);
+    }
+    
+    /**
+     * Column stored as one String reference per row
+     */
+    static final class PlainColumn extends Column {
+        
+        final String[] values;
+        
+        PlainColumn(String[] values) {
+            this.values = values;
+        }
+        
+        @Override
+        String get(int row) {
+            return values[row];
+        }
+    }
+    
+    /**
+     * Dictionary-encoded column with one byte code per row
+     */
+    static final class ByteDictionaryColumn extends Column {
+        
+        final String[] dictionary;
+        final byte[] codes;
+        
+        ByteDictionaryColumn(String[] dictionary, byte[] codes) {
+            this.dictionary = dictionary;
+            this.codes = codes;
+        }
+        
+        @Override
+        String get(int row) {
+            return dictionary[codes[row] & 0xFF];
+        }
+    }
+    
+    /**
+     * Dictionary-encoded column with one char code per row
+     */
+    static final class CharDictionaryColumn extends Column {
+        
+        final String[] dictionary;
+        final char[] codes;
+        
+        CharDictionaryColumn(String[] dictionary, char[] codes) {
+            this.dictionary = dictionary;
+            this.codes = codes;
+        }
+        
+        @Override
+        String get(int row) {
+            return dictionary[codes[row]];
+        }
+    }
+    
+    /**
+     * Builder that accumulates rows and picks the cheapest encoding per column
+     */
+    public static final class Builder {
+        
+        private final String[] headers;
+        private final List<Map<String, Integer>> dictionaries;
+        private final List<List<String>> distinctValues;
+        private int[][] codes;
+        private int capacity;
+        private int rowCount;
+        
+        private Builder(String[] headers) {
+            this.headers = new String[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                this.headers[i] = headers[i] != null ? headers[i].intern() : "";
+            }
+            this.dictionaries = new ArrayList<>(headers.length);
+            this.distinctValues = new ArrayList<>(headers.length);
+            for (int i = 0; i < headers.length; i++) {
+                dictionaries.add(new HashMap<>());
+                distinctValues.add(new ArrayList<>());
+            }
+            this.capacity = 16;
+            this.codes = new int[headers.length][capacity];
+        }
+        
+        /**
+         * Adds a data row. Missing trailing values are stored as empty strings.
+         *
+         * @param values cell values in header order
+         * @return this builder
+         */
+        public Builder addRow(String... values) {
+            if (rowCount == capacity) {
+                grow();
+            }
+            for (int i = 0; i < headers.length; i++) {
+                String value = i < values.length && values[i] != null ? values[i] : "";
+                Map<String, Integer> dictionary = dictionaries.get(i);
+                Integer code = dictionary.get(value);
+                if (code == null) {
+                    code = dictionary.size();
+                    dictionary.put(value, code);
+                    distinctValues.get(i).add(value);
+                }
+                codes[i][rowCount] = code;
+            }
+            rowCount++;
+            return this;
+        }
+        
+        private void grow() {
+            capacity *= 2;
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = Arrays.copyOf(codes[i], capacity);
+            }
+        }
+        
+        /**
+         * Builds the immutable table
+         *
+         * @return data table
+         */
+        public DataTable build() {
+            Column[] columns = new Column[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                String[] dictionary = distinctValues.get(i).toArray(new String[0]);
+                int[] columnCodes = codes[i];
+                
+                if (dictionary.length <= BYTE_DICTIONARY_LIMIT) {
+                    byte[] packed = new byte[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        packed[row] = (byte) columnCodes[row];
+                    }
+                    columns[i] = new ByteDictionaryColumn(dictionary, packed);
+                } else if (dictionary.length <= CHAR_DICTIONARY_LIMIT && dictionary.length * 2 <= rowCount) {
+                    char[] packed = new char[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        packed[row] = (char) columnCodes[row];
+                    }
+                    columns[i] = new CharDictionaryColumn(dictionary, packed);
+                } else {
+                    String[] values = new String[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        values[row] = dictionary[columnCodes[row]];
+                    }
+                    columns[i] = new PlainColumn(values);
+                }
+            }
+            return new DataTable(headers, columns, rowCount);
+        }
+    }
+    
+    /**
+     * Random-access list of row views
+     */
+    private final class RowList extends AbstractList<Map<String, String>> {
+        
+        @Override
+        public Map<String, String> get(int index) {
+            if (index < 0 || index >= rowCount) {
+                throw new IndexOutOfBoundsException("Row " + index + " out of range for " + rowCount + " rows");
+            }
+            return new RowView(index);
+        }
+        
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+    
+    /**
+     * Read-only map view over a single row
+     */
+    private final class RowView extends AbstractMap<String, String> {
+        
+        private final int row;
+        
+        RowView(int row) {
+            this.row = row;
+        }
+        
+        @Override
+        public String get(Object key) {
+            Integer index = keyIndex.get(key);
+            return index != null ? columns[keyColumns[index]].get(row) : null;
+        }
+        
+        @Override
+        public boolean containsKey(Object key) {
+            return keyIndex.containsKey(key);
+        }
+        
+        @Override
+        public int size() {
+            return keys.length;
+        }
+        
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        
+                        private int next;
+                        
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+                        
+                        @Override
+                        public Entry<String, String> next() {
+                            if (next >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int key = next++;
+                            return new SimpleImmutableEntry<>(keys[key], columns[keyColumns[key]].get(row));
+                        }
+                    };
+                }
+                
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.edulearn.data;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.exceptions.FrameworkException;
+import com.edulearn.utils.ExcelReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Loads several sheets across several workbooks in parallel.
+ * Each workbook is opened and read in one task on a fork-join pool, so suite
+ * startup is bounded by the slowest workbook instead of the sum of all of them.
+ */
+public class ParallelDataLoader {
+    
+    private static final Logger logger = LogManager.getLogger(ParallelDataLoader.class);
+    private static volatile ForkJoinPool pool;
+    
+    private ParallelDataLoader() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Starts loading all sheets in the manifest
+     *
+     * @param manifest workbook/sheet pairs to load
+     * @return futures per sheet, in manifest order
+     */
+    public static Map<SheetRef, CompletableFuture<DataTable>> loadAsync(Collection<SheetRef> manifest) {
+        ForkJoinPool executor = getPool();
+        Map<String, List<SheetRef>> sheetsByWorkbook = new LinkedHashMap<>();
+        for (SheetRef sheet : manifest) {
+            sheetsByWorkbook.computeIfAbsent(sheet.getWorkbookPath(), path -> new ArrayList<>()).add(sheet);
+        }
+        
+        Map<SheetRef, CompletableFuture<DataTable>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, List<SheetRef>> entry : sheetsByWorkbook.entrySet()) {
+            String workbookPath = entry.getKey();
+            List<String> sheetNames = new ArrayList<>();
+            for (SheetRef sheet : entry.getValue()) {
+                if (!sheetNames.contains(sheet.getSheetName())) {
+                    sheetNames.add(sheet.getSheetName());
+                }
+            }
+            CompletableFuture<Map<String, DataTable>> workbook =
+                    CompletableFuture.supplyAsync(() -> readWorkbook(workbookPath, sheetNames), executor);
+            
+            for (SheetRef sheet : entry.getValue()) {
+                futures.computeIfAbsent(sheet, key -> workbook.thenApply(tables -> tables.get(key.getSheetName())));
+            }
+        }
+        
+        logger.info("Loading {} sheets from {} workbooks in parallel", futures.size(), sheetsByWorkbook.size());
+        return Collections.unmodifiableMap(futures);
+    }
+    
+    /**
+     * Loads all sheets in the manifest and waits for them to complete
+     *
+     * @param manifest workbook/sheet pairs to load
+     * @return immutable data set with one table per sheet
+     * @throws FrameworkException if any workbook cannot be read, or a sheet is missing or has no header row
+     */
+    public static DataSet loadAll(Collection<SheetRef> manifest) {
+        Map<SheetRef, CompletableFuture<DataTable>> futures = loadAsync(manifest);
+        Map<SheetRef, DataTable> tables = new LinkedHashMap<>();
+        
+        for (Map.Entry<SheetRef, CompletableFuture<DataTable>> entry : futures.entrySet()) {
+            try {
+                tables.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.error("Failed to load sheet: {}", entry.getKey(), cause);
+                throw new FrameworkException("Failed to load test data sheet: " + entry.getKey(), cause);
+            }
+        }
+        
+        return new DataSet(tables);
+    }
+    
+    /**
+     * Reads the sheets of one workbook in a single task. POI workbooks are not thread-safe,
+     * so sheets of one workbook are parsed one after another anyway.
+     *
+     * @param workbookPath workbook to open
+     * @param sheetNames sheets to read
+     * @return tables by sheet name
+     * @throws FrameworkException if a sheet is missing or has no header row
+     */
+    private static Map<String, DataTable> readWorkbook(String workbookPath, List<String> sheetNames) {
+        ExcelReader reader = new ExcelReader(workbookPath);
+        try {
+            Map<String, DataTable> tables = new LinkedHashMap<>();
+            for (String sheetName : sheetNames) {
+                DataTable table = reader.getSheetTable(sheetName);
+                // ExcelReader returns an empty table for a missing sheet, which would hide a typo in the manifest
+                if (table.getColumnCount() == 0) {
+                    throw new FrameworkException("Sheet " + sheetName + " not found or without header row in "
+                            + workbookPath);
+                }
+                tables.put(sheetName, table);
+            }
+            return tables;
+        } finally {
+            reader.close();
+        }
+    }
+    
+    /**
+     * Gets the shared fork-join pool, sized by data.loader.parallelism
+     *
+     * @return loader pool
+     */
+    private static ForkJoinPool getPool() {
+        ForkJoinPool current = pool;
+        if (current == null) {
+            synchronized (ParallelDataLoader.class) {
+                current = pool;
+                if (current == null) {
+                    int parallelism = ConfigManager.getInstance().getIntProperty("data.loader.parallelism");
+                    if (parallelism <= 0) {
+                        parallelism = Runtime.getRuntime().availableProcessors();
+                    }
+                    current = new ForkJoinPool(parallelism);
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+}
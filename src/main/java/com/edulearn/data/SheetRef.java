@@ -0,0 +1,68 @@
+package com.edulearn.data;
+
+import java.util.Objects;
+
+/**
+ * Reference to a single sheet in an Excel workbook
+ */
+public final class SheetRef {
+    
+    private final String workbookPath;
+    private final String sheetName;
+    
+    private SheetRef(String workbookPath, String sheetName) {
+        this.workbookPath = Objects.requireNonNull(workbookPath, "workbookPath");
+        this.sheetName = Objects.requireNonNull(sheetName, "sheetName");
+    }
+    
+    /**
+     * Creates a sheet reference
+     *
+     * @param workbookPath path to the Excel workbook
+     * @param sheetName name of the sheet
+     * @return sheet reference
+     */
+    public static SheetRef of(String workbookPath, String sheetName) {
+        return new SheetRef(workbookPath, sheetName);
+    }
+    
+    /**
+     * Gets the workbook path
+     *
+     * @return workbook path
+     */
+    public String getWorkbookPath() {
+        return workbookPath;
+    }
+    
+    /**
+     * Gets the sheet name
+     *
+     * @return sheet name
+     */
+    public String getSheetName() {
+        return sheetName;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SheetRef)) {
+            return false;
+        }
+        SheetRef other = (SheetRef) o;
+        return workbookPath.equals(other.workbookPath) && sheetName.equals(other.sheetName);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * workbookPath.hashCode() + sheetName.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return workbookPath + "#" + sheetName;
+    }
+}
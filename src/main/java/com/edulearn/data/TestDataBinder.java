@@ -0,0 +1,221 @@
+package com.edulearn.data;
+
+import com.edulearn.exceptions.FrameworkException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Binds flat property maps onto test data objects.
+ * Setters and fields are resolved once per class into {@link MethodHandle}s
+ * with erased signatures, so binding an object costs a map lookup, a type
+ * conversion and a direct handle invocation per property. Keys are matched
+ * ignoring case, dots, dashes and underscores, so "first_name" binds to
+ * setFirstName.
+ */
+public final class TestDataBinder {
+    
+    private static final Logger logger = LogManager.getLogger(TestDataBinder.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    
+    private static final ClassValue<Binder> binders = new ClassValue<Binder>() {
+        @Override
+        protected Binder computeValue(Class<?> type) {
+            return new Binder(type);
+        }
+    };
+    
+    private TestDataBinder() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Creates an object of the given class and binds the values onto it
+     *
+     * @param values property values keyed by property name
+     * @param clazz class of the test data object
+     * @param <T> type of the test data object
+     * @return bound instance
+     * @throws FrameworkException if the class cannot be instantiated or a value cannot be converted
+     */
+    public static <T> T bind(Map<String, String> values, Class<T> clazz) {
+        Binder binder = binders.get(clazz);
+        return clazz.cast(binder.bind(binder.newInstance(), values));
+    }
+    
+    /**
+     * Binds the values onto an existing object
+     *
+     * @param values property values keyed by property name
+     * @param target object to populate
+     * @param <T> type of the test data object
+     * @return the populated target
+     * @throws FrameworkException if a value cannot be converted
+     */
+    public static <T> T bindTo(Map<String, String> values, T target) {
+        binders.get(target.getClass()).bind(target, values);
+        return target;
+    }
+    
+    /**
+     * Normalizes a property name for matching
+     *
+     * @param name property or member name
+     * @return lower-case name without separators
+     */
+    static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '.' && c != '-' && c != '_') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Precomputed binding plan for one class
+     */
+    private static final class Binder {
+        
+        private final Class<?> type;
+        private final MethodHandle constructor;
+        private final Map<String, Property> properties = new HashMap<>();
+        
+        Binder(Class<?> type) {
+            this.type = type;
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            this.constructor = findConstructor(lookup, type);
+            
+            // Fields first so setters, which may validate or convert, take precedence
+            for (Class<?> current = type; current != null && current != Object.class;
+                    current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    ValueCoercer coercer = ValueCoercer.forType(field.getType());
+                    String key = normalize(field.getName());
+                    if (coercer == null || properties.containsKey(key)) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                        properties.put(key, new Property(field.getName(), setter, coercer));
+                    } catch (IllegalAccessException | RuntimeException e) {
+                        logger.debug("Skipping inaccessible field {}.{}", current.getName(), field.getName());
+                    }
+                }
+            }
+            
+            for (Method method : type.getMethods()) {
+                String name = method.getName();
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1
+                        || name.length() <= 3 || !name.startsWith("set")) {
+                    continue;
+                }
+                ValueCoercer coercer = ValueCoercer.forType(method.getParameterTypes()[0]);
+                if (coercer == null) {
+                    continue;
+                }
+                try {
+                    method.setAccessible(true);
+                    // asType drops the return value of fluent setters
+                    MethodHandle setter = lookup.unreflect(method).asType(SETTER_TYPE);
+                    properties.put(normalize(name.substring(3)), new Property(name, setter, coercer));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    logger.debug("Skipping inaccessible setter {}.{}", type.getName(), name);
+                }
+            }
+            
+            logger.debug("Created binder for {} with {} properties", type.getName(), properties.size());
+        }
+        
+        private static MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return lookup.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+        
+        Object newInstance() {
+            if (constructor == null) {
+                throw new FrameworkException("Test data class has no accessible no-arg constructor: "
+                        + type.getName());
+            }
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new FrameworkException("Failed to instantiate test data class: " + type.getName(), t);
+            }
+        }
+        
+        Object bind(Object target, Map<String, String> values) {
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (entry.getValue() == null) {
+                    continue;
+                }
+                Property property = properties.get(normalize(entry.getKey()));
+                if (property == null) {
+                    logger.debug("No property '{}' on {}", entry.getKey(), type.getName());
+                    continue;
+                }
+                property.set(target, entry.getKey(), entry.getValue());
+            }
+            return target;
+        }
+    }
+    
+    /**
+     * Single bindable property
+     */
+    private static final class Property {
+        
+        private final String memberName;
+        private final MethodHandle setter;
+        private final ValueCoercer coercer;
+        
+        Property(String memberName, MethodHandle setter, ValueCoercer coercer) {
+            this.memberName = memberName;
+            this.setter = setter;
+            this.coercer = coercer;
+        }
+        
+        void set(Object target, String key, String rawValue) {
+            Object value;
+            try {
+                value = coercer.coerce(rawValue);
+            } catch (RuntimeException e) {
+                throw new FrameworkException("Cannot convert value '" + rawValue + "' of property '" + key
+                        + "' for " + memberName + " on " + target.getClass().getName(), e);
+            }
+            try {
+                setter.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new FrameworkException("Failed to set property '" + key + "' on "
+                        + target.getClass().getName(), t);
+            }
+        }
+    }
+}
@@ -7,18 +7,33 @@ import org.apache.logging.log4j.Logger;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Test data loader to handle different data sources
+ * Test data loader to handle different data sources.
+ * Each properties file is parsed at most once per JVM, even when several test
+ * threads request it at the same time; later lookups are lock-free. With
+ * testdata.hot.reload enabled, a file is re-read when its modification time
+ * changes, which suits long-running soak suites.
  */
 public class TestDataLoader {
     
     private static final Logger logger = LogManager.getLogger(TestDataLoader.class);
-    private static final Map<String, Properties> propertiesCache = new HashMap<>();
+    private static final ConcurrentMap<String, CachedProperties> propertiesCache = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, AtomicInteger> loadCounts = new ConcurrentHashMap<>();
     private static final ConfigManager configManager = ConfigManager.getInstance();
+    private static final boolean hotReload = configManager.getBooleanProperty("testdata.hot.reload");
+    private static final long hotReloadIntervalNanos =
+            TimeUnit.MILLISECONDS.toNanos(Math.max(0, configManager.getIntProperty("testdata.hot.reload.interval.ms")));
     
     private TestDataLoader() {
         // Private constructor to prevent instantiation
@@ -49,23 +64,91 @@ public class TestDataLoader {
      * @return Properties object
      */
     private static Properties loadPropertiesFile(String fileName) {
-        if (propertiesCache.containsKey(fileName)) {
-            return propertiesCache.get(fileName);
+        CachedProperties cached = propertiesCache.get(fileName);
+        if (cached == null) {
+            // computeIfAbsent blocks concurrent callers for the same file, so it is parsed only once
+            cached = propertiesCache.computeIfAbsent(fileName, TestDataLoader::loadCachedProperties);
+            if (cached == null) {
+                return new Properties();
+            }
+        } else if (hotReload) {
+            cached.reloadIfModified();
         }
         
-        Properties props = new Properties();
+        return cached.properties;
+    }
+    
+    /**
+     * Loads a properties file into a new cache entry
+     *
+     * @param fileName name of the properties file without extension
+     * @return cache entry or null if the file could not be read
+     */
+    private static CachedProperties loadCachedProperties(String fileName) {
+        loadCounts.computeIfAbsent(fileName, key -> new AtomicInteger()).incrementAndGet();
         String testDataDir = configManager.getTestDataDir();
-        String filePath = testDataDir + File.separator + fileName + ".properties";
-        
-        try (FileInputStream fis = new FileInputStream(filePath)) {
-            props.load(fis);
-            propertiesCache.put(fileName, props);
-            logger.debug("Loaded test data file: {}", filePath);
+        Path path = Paths.get(testDataDir + File.separator + fileName + ".properties");
+        long lastModified = lastModified(path);
+        Properties props = readPropertiesFile(path);
+        return props != null ? new CachedProperties(path, props, lastModified) : null;
+    }
+    
+    /**
+     * Gets how often a file was loaded into the cache, not counting hot reloads
+     *
+     * @param fileName name of the properties file without extension
+     * @return number of loads
+     */
+    static int getLoadCount(String fileName) {
+        AtomicInteger count = loadCounts.get(fileName);
+        return count != null ? count.get() : 0;
+    }
+    
+    /**
+     * Gets the modification time of a file
+     *
+     * @param path file path
+     * @return modification time in milliseconds or -1 if it cannot be read
+     */
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
         } catch (IOException e) {
-            logger.error("Failed to load test data file: {}", filePath, e);
+            return -1L;
+        }
+    }
+    
+    /**
+     * Reads a properties file, using the binary data cache when it is enabled
+     *
+     * @param path properties file path
+     * @return Properties object or null if the file could not be read
+     */
+    private static Properties readPropertiesFile(Path path) {
+        String hash = null;
+        try {
+            if (DataCache.isEnabled()) {
+                hash = DataCache.hash(path);
+                Properties cached = DataCache.readProperties(path, hash);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            
+            Properties props = new Properties();
+            try (FileInputStream fis = new FileInputStream(path.toFile())) {
+                props.load(fis);
+            }
+            logger.debug("Loaded test data file: {}", path);
+            
+            if (hash != null) {
+                DataCache.writeProperties(path, hash, props);
+            }
+            return props;
+        } catch (IOException e) {
+            logger.error("Failed to load test data file: {}", path, e);
+            return null;
         }
-        
-        return props;
     }
     
     /**
@@ -89,27 +172,71 @@ public class TestDataLoader {
     }
     
     /**
-     * Creates a test data object from properties
+     * Creates a test data object from properties. Property names after the prefix
+     * are bound onto setters or fields of the class with type conversion for
+     * numbers, booleans, enums and ISO dates.
      *
      * @param fileName name of the properties file
      * @param prefix property prefix
      * @param clazz class of the test data object
      * @param <T> type of the test data object
-     * @return instance of test data object
+     * @return instance of test data object or null if it could not be created
      */
     public static <T> T createTestDataObject(String fileName, String prefix, Class<T> clazz) {
         Map<String, String> properties = getPropertiesWithPrefix(fileName, prefix);
         
         try {
-            T instance = clazz.getDeclaredConstructor().newInstance();
-            
-            // This is a simplified implementation - in a real project, you would
-            // use reflection to set properties on the object based on the map values
-            
-            return instance;
+            return TestDataBinder.bind(properties, clazz);
         } catch (Exception e) {
             logger.error("Failed to create test data object", e);
             return null;
         }
     }
+    
+    /**
+     * Cached properties of one file, swapped atomically on hot reload
+     */
+    private static final class CachedProperties {
+        
+        private final Path path;
+        private volatile Properties properties;
+        private volatile long lastModified;
+        private volatile long nextCheckNanos;
+        
+        CachedProperties(Path path, Properties properties, long lastModified) {
+            this.path = path;
+            this.properties = properties;
+            this.lastModified = lastModified;
+            this.nextCheckNanos = System.nanoTime() + hotReloadIntervalNanos;
+        }
+        
+        /**
+         * Re-reads the file if its modification time changed since the last load
+         */
+        void reloadIfModified() {
+            if (System.nanoTime() - nextCheckNanos < 0) {
+                return;
+            }
+            
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (now - nextCheckNanos < 0) {
+                    return;
+                }
+                nextCheckNanos = now + hotReloadIntervalNanos;
+                
+                long modified = lastModified(path);
+                if (modified == lastModified) {
+                    return;
+                }
+                
+                Properties reloaded = readPropertiesFile(path);
+                if (reloaded != null) {
+                    properties = reloaded;
+                    lastModified = modified;
+                    logger.info("Reloaded modified test data file: {}", path);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package com.edulearn.data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Converts test data strings into typed values.
+ * A coercer is resolved once per target type and reused for every value.
+ */
+@FunctionalInterface
+public interface ValueCoercer {
+    
+    /**
+     * Converts a raw string value
+     *
+     * @param value raw value, never null
+     * @return converted value
+     */
+    Object coerce(String value);
+    
+    /**
+     * Gets the coercer for a target type
+     *
+     * @param type target type
+     * @return coercer or null if the type is not supported
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static ValueCoercer forType(Class<?> type) {
+        if (type == String.class || type == Object.class || type == CharSequence.class) {
+            return value -> value;
+        }
+        if (type == int.class || type == Integer.class) {
+            return value -> Integer.valueOf(value.trim());
+        }
+        if (type == long.class || type == Long.class) {
+            return value -> Long.valueOf(value.trim());
+        }
+        if (type == double.class || type == Double.class) {
+            return value -> Double.valueOf(value.trim());
+        }
+        if (type == float.class || type == Float.class) {
+            return value -> Float.valueOf(value.trim());
+        }
+        if (type == short.class || type == Short.class) {
+            return value -> Short.valueOf(value.trim());
+        }
+        if (type == byte.class || type == Byte.class) {
+            return value -> Byte.valueOf(value.trim());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return ValueCoercer::parseBoolean;
+        }
+        if (type == char.class || type == Character.class) {
+            return value -> {
+                if (value.length() != 1) {
+                    throw new IllegalArgumentException("Expected a single character but got '" + value + "'");
+                }
+                return value.charAt(0);
+            };
+        }
+        if (type == BigDecimal.class) {
+            return value -> new BigDecimal(value.trim());
+        }
+        if (type == LocalDate.class) {
+            return value -> LocalDate.parse(value.trim());
+        }
+        if (type == LocalDateTime.class) {
+            return value -> LocalDateTime.parse(value.trim());
+        }
+        if (type == LocalTime.class) {
+            return value -> LocalTime.parse(value.trim());
+        }
+        if (type == Instant.class) {
+            return value -> Instant.parse(value.trim());
+        }
+        if (type == Date.class) {
+            return ValueCoercer::parseDate;
+        }
+        if (type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return value -> {
+                String name = value.trim();
+                for (Enum constant : enumType.getEnumConstants()) {
+                    if (constant.name().equalsIgnoreCase(name)) {
+                        return constant;
+                    }
+                }
+                throw new IllegalArgumentException("No " + enumType.getSimpleName() + " constant '" + name + "'");
+            };
+        }
+        return null;
+    }
+    
+    /**
+     * Parses true/false, yes/no, y/n and 1/0
+     *
+     * @param value raw value
+     * @return parsed boolean
+     */
+    static Boolean parseBoolean(String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "yes":
+            case "y":
+            case "1":
+                return Boolean.TRUE;
+            case "false":
+            case "no":
+            case "n":
+            case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("Not a boolean: '" + value + "'");
+        }
+    }
+    
+    /**
+     * Parses an ISO date, date-time or instant into a java.util.Date
+     *
+     * @param value raw value
+     * @return parsed date in the system time zone
+     */
+    static Date parseDate(String value) {
+        String text = value.trim();
+        if (text.endsWith("Z")) {
+            return Date.from(Instant.parse(text));
+        }
+        if (text.indexOf('T') > 0) {
+            return Date.from(LocalDateTime.parse(text).atZone(ZoneId.systemDefault()).toInstant());
+        }
+        return Date.from(LocalDate.parse(text).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
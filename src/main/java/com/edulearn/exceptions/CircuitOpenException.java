@@ -0,0 +1,30 @@
+package com.edulearn.exceptions;
+
+/**
+ * Thrown when an API call is rejected without being sent because the circuit breaker
+ * of its host is open
+ */
+public class CircuitOpenException extends FrameworkException {
+    
+    private final String host;
+    
+    /**
+     * Constructor with host and error message
+     *
+     * @param host host whose circuit is open
+     * @param message error message
+     */
+    public CircuitOpenException(String host, String message) {
+        super(message);
+        this.host = host;
+    }
+    
+    /**
+     * Gets the host whose circuit is open
+     *
+     * @return host and port
+     */
+    public String getHost() {
+        return host;
+    }
+}
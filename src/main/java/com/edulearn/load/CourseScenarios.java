@@ -0,0 +1,142 @@
+package com.edulearn.load;
+
+import com.edulearn.api.ApiJson;
+import com.edulearn.api.model.Course;
+import com.edulearn.api.model.Lesson;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load scenarios built from the {@code AuthAPI} and {@code CourseAPI} client methods
+ */
+public class CourseScenarios {
+    
+    /**
+     * Scenario name for login, search, view, enroll and lesson progress
+     */
+    public static final String ENROLLMENT_JOURNEY = "enrollment-journey";
+    
+    /**
+     * Scenario name for anonymous catalog browsing
+     */
+    public static final String BROWSE_CATALOG = "browse-catalog";
+    
+    private CourseScenarios() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Creates the enrollment journey: login, search, getCourseById, enroll, getCourseLessons
+     * and updateLessonProgress on a random search result
+     *
+     * @param username username to log in with
+     * @param password password
+     * @param keywords search keywords, one picked at random per iteration
+     * @return scenario
+     */
+    public static LoadScenario enrollmentJourney(String username, String password, List<String> keywords) {
+        return LoadScenario.builder(ENROLLMENT_JOURNEY)
+                .step("login", session -> {
+                    session.login(username, password);
+                    return null;
+                })
+                .step("searchCourses", session -> {
+                    Response response = session.courses().searchCourses(pickRandom(keywords));
+                    session.put("courseId", pickRandom(courseIds(response)));
+                    return response;
+                })
+                .step("getCourseById", session -> session.courses().getCourseById(session.get("courseId")))
+                .step("enrollInCourse", session -> session.courses().enrollInCourse(session.get("courseId")))
+                .step("getCourseLessons", session -> {
+                    Response response = session.courses().getCourseLessons(session.get("courseId"));
+                    session.put("lessonId", pickRandom(lessonIds(response)));
+                    return response;
+                })
+                .step("updateLessonProgress", session -> session.courses()
+                        .updateLessonProgress(session.get("courseId"), session.get("lessonId"), true))
+                .build();
+    }
+    
+    /**
+     * Creates the catalog browsing scenario: getAllCourses, getCourseById and getCourseLessons
+     *
+     * @return scenario
+     */
+    public static LoadScenario browseCatalog() {
+        return LoadScenario.builder(BROWSE_CATALOG)
+                .step("getAllCourses", session -> {
+                    Response response = session.courses().getAllCourses();
+                    session.put("courseId", pickRandom(courseIds(response)));
+                    return response;
+                })
+                .step("getCourseById", session -> session.courses().getCourseById(session.get("courseId")))
+                .step("getCourseLessons", session -> session.courses().getCourseLessons(session.get("courseId")))
+                .build();
+    }
+    
+    /**
+     * Creates the scenarios listed in load.scenarios, e.g. "enrollment-journey:3,browse-catalog:7"
+     *
+     * @param config configuration snapshot
+     * @return weighted scenarios
+     * @throws FrameworkException if a scenario name is unknown
+     */
+    public static List<LoadScenario> fromConfig(ConfigSnapshot config) {
+        List<String> keywords = new ArrayList<>();
+        for (String keyword : config.get("load.search.keywords").split(",")) {
+            if (!keyword.trim().isEmpty()) {
+                keywords.add(keyword.trim());
+            }
+        }
+        
+        List<LoadScenario> scenarios = new ArrayList<>();
+        for (String entry : config.get("load.scenarios").split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf(':');
+            String name = separator >= 0 ? trimmed.substring(0, separator).trim() : trimmed;
+            int weight = separator >= 0 ? Integer.parseInt(trimmed.substring(separator + 1).trim()) : 1;
+            
+            LoadScenario scenario;
+            if (ENROLLMENT_JOURNEY.equals(name)) {
+                scenario = enrollmentJourney(config.get("load.username"), config.get("load.password"), keywords);
+            } else if (BROWSE_CATALOG.equals(name)) {
+                scenario = browseCatalog();
+            } else {
+                throw new FrameworkException("Unknown load scenario: " + name);
+            }
+            scenarios.add(scenario.withWeight(weight));
+        }
+        return scenarios;
+    }
+    
+    private static List<String> courseIds(Response response) {
+        List<String> ids = new ArrayList<>();
+        for (Course course : ApiJson.readList(response, "courses", Course.class)) {
+            ids.add(course.getId());
+        }
+        return ids;
+    }
+    
+    private static List<String> lessonIds(Response response) {
+        List<String> ids = new ArrayList<>();
+        for (Lesson lesson : ApiJson.readList(response, "lessons", Lesson.class)) {
+            ids.add(lesson.getId());
+        }
+        return ids;
+    }
+    
+    private static String pickRandom(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            throw new FrameworkException("Nothing to pick from in the previous response");
+        }
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.edulearn.load;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.stub.StubServerManager;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point for load runs, configured through the load.* properties
+ */
+public class LoadMain {
+    
+    private LoadMain() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Runs the configured load profile and writes the report
+     *
+     * @param args not used, configure with system properties instead
+     */
+    public static void main(String[] args) {
+        StubServerManager.startIfEnabled();
+        try {
+            ConfigSnapshot config = ConfigManager.getInstance().getSnapshot();
+            LoadRunner runner = new LoadRunner(CourseScenarios.fromConfig(config), LoadProfile.fromConfig(config),
+                    TimeUnit.SECONDS.toMillis(config.getInt("load.progress.interval.seconds", 10)));
+            LoadReport report = runner.run();
+            report.logSummary();
+            report.writeJson(Paths.get(config.get("load.report.file")));
+        } finally {
+            StubServerManager.stop();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.edulearn.load;
+
+import com.edulearn.core.ConfigSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shape of a load run.
+ * In the closed model the target is the number of concurrent virtual users, each
+ * running iterations back to back. In the open model the target is the arrival
+ * rate in iterations per second, independent of how fast the system responds.
+ * The target follows a list of stages, each ramping linearly from the previous
+ * target to its own over its duration; a zero-length stage jumps immediately.
+ */
+public final class LoadProfile {
+    
+    /**
+     * Workload model
+     */
+    public enum Model {
+        OPEN,
+        CLOSED
+    }
+    
+    private final Model model;
+    private final List<Stage> stages;
+    private final int maxVirtualUsers;
+    private final long thinkTimeMillis;
+    private final long durationNanos;
+    
+    private LoadProfile(Model model, List<Stage> stages, int maxVirtualUsers, long thinkTimeMillis) {
+        this.model = model;
+        this.stages = Collections.unmodifiableList(new ArrayList<>(stages));
+        this.thinkTimeMillis = thinkTimeMillis;
+        
+        long total = 0;
+        double maxTarget = 0;
+        for (Stage stage : stages) {
+            total += stage.getDurationNanos();
+            maxTarget = Math.max(maxTarget, stage.getTarget());
+        }
+        this.durationNanos = total;
+        this.maxVirtualUsers = model == Model.CLOSED ? (int) Math.ceil(maxTarget) : maxVirtualUsers;
+    }
+    
+    /**
+     * Creates a closed-model profile with a fixed number of virtual users
+     *
+     * @param virtualUsers concurrent virtual users
+     * @param durationMillis run duration in milliseconds
+     * @return load profile
+     */
+    public static LoadProfile closed(int virtualUsers, long durationMillis) {
+        return builder(Model.CLOSED).stage(0, virtualUsers).stage(durationMillis, virtualUsers).build();
+    }
+    
+    /**
+     * Creates an open-model profile with a fixed arrival rate
+     *
+     * @param ratePerSecond iterations started per second
+     * @param durationMillis run duration in milliseconds
+     * @param maxVirtualUsers maximum concurrent iterations; arrivals beyond it are dropped
+     * @return load profile
+     */
+    public static LoadProfile open(double ratePerSecond, long durationMillis, int maxVirtualUsers) {
+        return builder(Model.OPEN).stage(0, ratePerSecond).stage(durationMillis, ratePerSecond)
+                .maxVirtualUsers(maxVirtualUsers).build();
+    }
+    
+    /**
+     * Creates a builder for a profile
+     *
+     * @param model workload model
+     * @return profile builder
+     */
+    public static Builder builder(Model model) {
+        return new Builder(model);
+    }
+    
+    /**
+     * Creates a profile from the load.* configuration properties
+     *
+     * @param config configuration snapshot
+     * @return load profile
+     */
+    public static LoadProfile fromConfig(ConfigSnapshot config) {
+        Model model = Model.valueOf(config.get("load.model").trim().toUpperCase(Locale.ROOT));
+        Builder builder = builder(model)
+                .maxVirtualUsers(config.getInt("load.max.vus", 100))
+                .thinkTime(config.getInt("load.think.ms", 0));
+        
+        String ramp = config.get("load.ramp");
+        if (ramp != null && !ramp.trim().isEmpty()) {
+            for (Stage stage : parseStages(ramp)) {
+                builder.stage(TimeUnit.NANOSECONDS.toMillis(stage.getDurationNanos()), stage.getTarget());
+            }
+        } else {
+            double target = model == Model.OPEN
+                    ? Double.parseDouble(config.get("load.rate").trim())
+                    : config.getInt("load.vus", 1);
+            long durationMillis = TimeUnit.SECONDS.toMillis(config.getInt("load.duration.seconds", 60));
+            builder.stage(0, target).stage(durationMillis, target);
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Parses ramp stages such as "30s:10,2m:50,30s:0", each a duration and a target.
+     * Durations take an ms, s or m suffix and default to seconds.
+     *
+     * @param ramp comma-separated stages
+     * @return parsed stages
+     */
+    static List<Stage> parseStages(String ramp) {
+        List<Stage> stages = new ArrayList<>();
+        for (String part : ramp.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Ramp stage must be <duration>:<target>, got '" + trimmed + "'");
+            }
+            long durationMillis = parseDurationMillis(trimmed.substring(0, separator).trim());
+            double target = Double.parseDouble(trimmed.substring(separator + 1).trim());
+            stages.add(new Stage(TimeUnit.MILLISECONDS.toNanos(durationMillis), target));
+        }
+        return stages;
+    }
+    
+    private static long parseDurationMillis(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.endsWith("ms")) {
+            return Long.parseLong(lower.substring(0, lower.length() - 2));
+        }
+        if (lower.endsWith("m")) {
+            return TimeUnit.MINUTES.toMillis(Long.parseLong(lower.substring(0, lower.length() - 1)));
+        }
+        if (lower.endsWith("s")) {
+            lower = lower.substring(0, lower.length() - 1);
+        }
+        return TimeUnit.SECONDS.toMillis(Long.parseLong(lower));
+    }
+    
+    /**
+     * Gets the target at a point in the run
+     *
+     * @param elapsedNanos time since the run started
+     * @return virtual users (closed model) or arrivals per second (open model)
+     */
+    public double targetAt(long elapsedNanos) {
+        double previous = 0;
+        long stageStart = 0;
+        for (Stage stage : stages) {
+            long stageEnd = stageStart + stage.getDurationNanos();
+            if (elapsedNanos < stageEnd) {
+                double progress = (double) (elapsedNanos - stageStart) / stage.getDurationNanos();
+                return previous + (stage.getTarget() - previous) * progress;
+            }
+            previous = stage.getTarget();
+            stageStart = stageEnd;
+        }
+        return previous;
+    }
+    
+    /**
+     * Gets the workload model
+     *
+     * @return model
+     */
+    public Model getModel() {
+        return model;
+    }
+    
+    /**
+     * Gets the ramp stages
+     *
+     * @return unmodifiable list of stages
+     */
+    public List<Stage> getStages() {
+        return stages;
+    }
+    
+    /**
+     * Gets the maximum number of concurrent virtual users
+     *
+     * @return peak target in the closed model, the configured cap in the open model
+     */
+    public int getMaxVirtualUsers() {
+        return maxVirtualUsers;
+    }
+    
+    /**
+     * Gets the pause between iterations of a closed-model virtual user
+     *
+     * @return think time in milliseconds
+     */
+    public long getThinkTimeMillis() {
+        return thinkTimeMillis;
+    }
+    
+    /**
+     * Gets the total run duration
+     *
+     * @return duration in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+    
+    /**
+     * Ramp stage: reach the target by the end of the duration
+     */
+    public static final class Stage {
+        
+        private final long durationNanos;
+        private final double target;
+        
+        Stage(long durationNanos, double target) {
+            if (durationNanos < 0 || target < 0) {
+                throw new IllegalArgumentException("Stage duration and target must not be negative");
+            }
+            this.durationNanos = durationNanos;
+            this.target = target;
+        }
+        
+        /**
+         * Gets the stage duration
+         *
+         * @return duration in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+        
+        /**
+         * Gets the target reached at the end of the stage
+         *
+         * @return virtual users or arrivals per second
+         */
+        public double getTarget() {
+            return target;
+        }
+    }
+    
+    /**
+     * Builder for load profiles
+     */
+    public static final class Builder {
+        
+        private final Model model;
+        private final List<Stage> stages = new ArrayList<>();
+        private int maxVirtualUsers = 100;
+        private long thinkTimeMillis;
+        
+        private Builder(Model model) {
+            this.model = model;
+        }
+        
+        /**
+         * Appends a ramp stage
+         *
+         * @param durationMillis stage duration in milliseconds, 0 to jump to the target
+         * @param target virtual users or arrivals per second at the end of the stage
+         * @return this builder
+         */
+        public Builder stage(long durationMillis, double target) {
+            stages.add(new Stage(TimeUnit.MILLISECONDS.toNanos(durationMillis), target));
+            return this;
+        }
+        
+        /**
+         * Sets the maximum number of concurrent iterations in the open model
+         *
+         * @param virtualUsers maximum concurrent iterations
+         * @return this builder
+         */
+        public Builder maxVirtualUsers(int virtualUsers) {
+            this.maxVirtualUsers = Math.max(1, virtualUsers);
+            return this;
+        }
+        
+        /**
+         * Sets the pause between iterations in the closed model
+         *
+         * @param millis think time in milliseconds
+         * @return this builder
+         */
+        public Builder thinkTime(long millis) {
+            this.thinkTimeMillis = Math.max(0, millis);
+            return this;
+        }
+        
+        /**
+         * Builds the profile
+         *
+         * @return immutable profile
+         */
+        public LoadProfile build() {
+            if (stages.isEmpty()) {
+                throw new IllegalStateException("Load profile needs at least one stage");
+            }
+            return new LoadProfile(model, stages, maxVirtualUsers, thinkTimeMillis);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.edulearn.load;
+
+import com.edulearn.metrics.LatencySummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of a load run: throughput and latency percentiles per scenario and per step
+ */
+public final class LoadReport {
+    
+    private static final Logger logger = LogManager.getLogger(LoadReport.class);
+    
+    private final LoadProfile.Model model;
+    private final long elapsedNanos;
+    private final long iterations;
+    private final long failedIterations;
+    private final long droppedArrivals;
+    private final Map<String, LatencySummary> scenarios;
+    private final Map<String, LatencySummary> steps;
+    
+    LoadReport(LoadProfile.Model model, long elapsedNanos, long iterations, long failedIterations,
+               long droppedArrivals, Map<String, LatencySummary> scenarios, Map<String, LatencySummary> steps) {
+        this.model = model;
+        this.elapsedNanos = elapsedNanos;
+        this.iterations = iterations;
+        this.failedIterations = failedIterations;
+        this.droppedArrivals = droppedArrivals;
+        this.scenarios = scenarios;
+        this.steps = steps;
+    }
+    
+    /**
+     * Gets the number of completed iterations
+     *
+     * @return iteration count
+     */
+    public long getIterations() {
+        return iterations;
+    }
+    
+    /**
+     * Gets the number of iterations with a failing step
+     *
+     * @return failed iteration count
+     */
+    public long getFailedIterations() {
+        return failedIterations;
+    }
+    
+    /**
+     * Gets the number of open-model arrivals dropped because all virtual users were busy
+     *
+     * @return dropped arrival count
+     */
+    public long getDroppedArrivals() {
+        return droppedArrivals;
+    }
+    
+    /**
+     * Gets the overall throughput
+     *
+     * @return iterations per second
+     */
+    public double getThroughputPerSecond() {
+        return iterations / getElapsedSeconds();
+    }
+    
+    /**
+     * Gets the latency summaries per scenario, measured from the scheduled start of each iteration
+     *
+     * @return summaries keyed by scenario name
+     */
+    public Map<String, LatencySummary> getScenarios() {
+        return scenarios;
+    }
+    
+    /**
+     * Gets the latency summaries per step
+     *
+     * @return summaries keyed by step name
+     */
+    public Map<String, LatencySummary> getSteps() {
+        return steps;
+    }
+    
+    private double getElapsedSeconds() {
+        return Math.max(1, elapsedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+    
+    /**
+     * Converts the report to a map for JSON output
+     *
+     * @return ordered map of the report values
+     */
+    public Map<String, Object> toMap() {
+        double seconds = getElapsedSeconds();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("model", model.name());
+        map.put("durationSeconds", Math.round(seconds * 1000.0) / 1000.0);
+        map.put("iterations", iterations);
+        map.put("failedIterations", failedIterations);
+        map.put("droppedArrivals", droppedArrivals);
+        map.put("throughputPerSecond", Math.round(getThroughputPerSecond() * 1000.0) / 1000.0);
+        map.put("scenarios", toMaps(scenarios, seconds));
+        map.put("steps", toMaps(steps, seconds));
+        return map;
+    }
+    
+    private static Map<String, Object> toMaps(Map<String, LatencySummary> summaries, double seconds) {
+        Map<String, Object> maps = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencySummary> entry : summaries.entrySet()) {
+            maps.put(entry.getKey(), entry.getValue().toMap(seconds));
+        }
+        return maps;
+    }
+    
+    /**
+     * Writes the report as JSON
+     *
+     * @param file target file, parent directories are created
+     */
+    public void writeJson(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), toMap());
+            logger.info("Load report written to: {}", file);
+        } catch (IOException e) {
+            logger.error("Failed to write load report: {}", file, e);
+        }
+    }
+    
+    /**
+     * Logs one line per step and scenario
+     */
+    public void logSummary() {
+        double seconds = getElapsedSeconds();
+        for (Map.Entry<String, LatencySummary> entry : steps.entrySet()) {
+            logger.info("Step {}: {}/s {}", entry.getKey(),
+                    String.format("%.1f", entry.getValue().getCount() / seconds), entry.getValue());
+        }
+        for (Map.Entry<String, LatencySummary> entry : scenarios.entrySet()) {
+            logger.info("Scenario {}: {}/s {}", entry.getKey(),
+                    String.format("%.1f", entry.getValue().getCount() / seconds), entry.getValue());
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s model, %d iterations (%d failed, %d dropped) in %.1f s, %.1f/s",
+                model, iterations, failedIterations, droppedArrivals, getElapsedSeconds(), getThroughputPerSecond());
+    }
+}
@@ -0,0 +1,265 @@
+package com.edulearn.load;
+
+import com.edulearn.metrics.LatencyHistograms;
+import com.edulearn.metrics.LatencySummary;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives weighted scenarios against the API according to a {@link LoadProfile}.
+ * Step latencies are recorded per step name; scenario latencies are measured from
+ * the scheduled start of the iteration, so in the open model queueing delay caused
+ * by a slow system shows up in the results instead of being hidden.
+ */
+public class LoadRunner {
+    
+    private static final Logger logger = LogManager.getLogger(LoadRunner.class);
+    private static final long IDLE_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    
+    private final List<LoadScenario> scenarios;
+    private final int[] cumulativeWeights;
+    private final LoadProfile profile;
+    private final long progressIntervalMillis;
+    
+    private final LatencyHistograms stepLatencies = new LatencyHistograms();
+    private final LatencyHistograms scenarioLatencies = new LatencyHistograms();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder failedIterations = new LongAdder();
+    private final LongAdder droppedArrivals = new LongAdder();
+    
+    /**
+     * Creates a load runner
+     *
+     * @param scenarios scenarios to pick from by weight
+     * @param profile load profile
+     * @param progressIntervalMillis interval for progress logging, 0 to disable
+     */
+    public LoadRunner(List<LoadScenario> scenarios, LoadProfile profile, long progressIntervalMillis) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one load scenario is required");
+        }
+        this.scenarios = new ArrayList<>(scenarios);
+        this.cumulativeWeights = new int[scenarios.size()];
+        int total = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            total += scenarios.get(i).getWeight();
+            cumulativeWeights[i] = total;
+        }
+        this.profile = profile;
+        this.progressIntervalMillis = progressIntervalMillis;
+    }
+    
+    /**
+     * Runs the load profile to completion
+     *
+     * @return load report
+     */
+    public LoadReport run() {
+        logger.info("Starting {} load run for {} s with scenarios {}", profile.getModel(),
+                TimeUnit.NANOSECONDS.toSeconds(profile.getDurationNanos()), scenarioNames());
+        
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(daemonThreads("load-progress"));
+        if (progressIntervalMillis > 0) {
+            progress.scheduleAtFixedRate(this::logProgress, progressIntervalMillis, progressIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        
+        long start = System.nanoTime();
+        try {
+            if (profile.getModel() == LoadProfile.Model.OPEN) {
+                runOpen(start);
+            } else {
+                runClosed(start);
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        
+        LoadReport report = new LoadReport(profile.getModel(), elapsedNanos, iterations.sum(),
+                failedIterations.sum(), droppedArrivals.sum(), scenarioLatencies.snapshot(), stepLatencies.snapshot());
+        logger.info("Load run finished: {}", report);
+        return report;
+    }
+    
+    /**
+     * Closed model: a fixed pool of virtual users, of which the first target(t) run iterations back to back
+     */
+    private void runClosed(long start) {
+        int virtualUsers = profile.getMaxVirtualUsers();
+        long end = start + profile.getDurationNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, virtualUsers), daemonThreads("load-vu"));
+        
+        for (int i = 0; i < virtualUsers; i++) {
+            int userIndex = i;
+            workers.execute(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end && !Thread.currentThread().isInterrupted()) {
+                    if (userIndex < profile.targetAt(now - start)) {
+                        runIteration(now);
+                        if (profile.getThinkTimeMillis() > 0) {
+                            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(profile.getThinkTimeMillis()));
+                        }
+                    } else {
+                        LockSupport.parkNanos(IDLE_PAUSE_NANOS);
+                    }
+                }
+            });
+        }
+        
+        awaitEnd(end);
+        shutdown(workers);
+    }
+    
+    /**
+     * Open model: iterations are started on a schedule following the arrival rate,
+     * whether or not earlier iterations have finished
+     */
+    private void runOpen(long start) {
+        long end = start + profile.getDurationNanos();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(0, profile.getMaxVirtualUsers(), 30, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), daemonThreads("load-vu"));
+        
+        long nextArrival = start;
+        while (!Thread.currentThread().isInterrupted()) {
+            double rate = profile.targetAt(nextArrival - start);
+            nextArrival += rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : IDLE_PAUSE_NANOS;
+            if (nextArrival >= end) {
+                break;
+            }
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (rate <= 0) {
+                continue;
+            }
+            
+            long scheduledStart = nextArrival;
+            try {
+                workers.execute(() -> runIteration(scheduledStart));
+            } catch (RejectedExecutionException e) {
+                // All virtual users are busy; the system cannot keep up with the arrival rate
+                droppedArrivals.increment();
+            }
+        }
+        
+        awaitEnd(end);
+        shutdown(workers);
+    }
+    
+    /**
+     * Runs one iteration of a weighted random scenario
+     *
+     * @param scheduledStart time the iteration was due to start
+     */
+    private void runIteration(long scheduledStart) {
+        LoadScenario scenario = pickScenario();
+        LoadSession session = new LoadSession();
+        boolean success = true;
+        
+        for (LoadScenario.Step step : scenario.getSteps()) {
+            long stepStart = System.nanoTime();
+            boolean stepSuccess;
+            try {
+                Response response = step.getAction().execute(session);
+                stepSuccess = response == null || response.getStatusCode() < 400;
+            } catch (RuntimeException e) {
+                logger.debug("Load step {} failed: {}", step.getName(), e.getMessage());
+                stepSuccess = false;
+            }
+            stepLatencies.record(step.getName(), System.nanoTime() - stepStart, stepSuccess);
+            if (!stepSuccess) {
+                success = false;
+                break;
+            }
+        }
+        
+        scenarioLatencies.record(scenario.getName(), System.nanoTime() - scheduledStart, success);
+        iterations.increment();
+        if (!success) {
+            failedIterations.increment();
+        }
+    }
+    
+    private LoadScenario pickScenario() {
+        if (scenarios.size() == 1) {
+            return scenarios.get(0);
+        }
+        int ticket = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+    
+    private void logProgress() {
+        double intervalSeconds = progressIntervalMillis / 1000.0;
+        for (Map.Entry<String, LatencySummary> entry : stepLatencies.drainInterval().entrySet()) {
+            LatencySummary interval = entry.getValue();
+            logger.info("{}: {}/s {}", entry.getKey(), String.format("%.1f", interval.getCount() / intervalSeconds),
+                    interval);
+        }
+        long dropped = droppedArrivals.sum();
+        if (dropped > 0) {
+            logger.warn("Dropped arrivals so far: {}", dropped);
+        }
+    }
+    
+    private List<String> scenarioNames() {
+        List<String> names = new ArrayList<>();
+        for (LoadScenario scenario : scenarios) {
+            names.add(scenario.getName() + ":" + scenario.getWeight());
+        }
+        return names;
+    }
+    
+    private static void awaitEnd(long end) {
+        long remaining;
+        while ((remaining = end - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+    
+    private static void shutdown(ExecutorService workers) {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Load workers did not finish within {} s, interrupting", SHUTDOWN_TIMEOUT_SECONDS);
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package com.edulearn.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Named, weighted sequence of steps executed by a virtual user.
+ * A scenario is picked for each iteration with a probability proportional to its weight,
+ * and an iteration stops at the first failing step.
+ */
+public final class LoadScenario {
+    
+    private final String name;
+    private final int weight;
+    private final List<Step> steps;
+    
+    private LoadScenario(String name, int weight, List<Step> steps) {
+        this.name = name;
+        this.weight = weight;
+        this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+    }
+    
+    /**
+     * Creates a builder for a scenario
+     *
+     * @param name scenario name used in the report
+     * @return scenario builder
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+    
+    /**
+     * Gets the scenario name
+     *
+     * @return scenario name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Gets the relative weight of the scenario
+     *
+     * @return weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+    
+    /**
+     * Gets the steps in execution order
+     *
+     * @return unmodifiable list of steps
+     */
+    public List<Step> getSteps() {
+        return steps;
+    }
+    
+    /**
+     * Creates a copy of this scenario with another weight
+     *
+     * @param newWeight relative weight
+     * @return scenario with the given weight
+     */
+    public LoadScenario withWeight(int newWeight) {
+        if (newWeight <= 0) {
+            throw new IllegalArgumentException("Scenario weight must be positive: " + newWeight);
+        }
+        return new LoadScenario(name, newWeight, steps);
+    }
+    
+    /**
+     * Named step, reported under its name
+     */
+    public static final class Step {
+        
+        private final String name;
+        private final LoadStep action;
+        
+        Step(String name, LoadStep action) {
+            this.name = name;
+            this.action = action;
+        }
+        
+        /**
+         * Gets the step name
+         *
+         * @return step name
+         */
+        public String getName() {
+            return name;
+        }
+        
+        /**
+         * Gets the step action
+         *
+         * @return step action
+         */
+        public LoadStep getAction() {
+            return action;
+        }
+    }
+    
+    /**
+     * Builder for load scenarios
+     */
+    public static final class Builder {
+        
+        private final String name;
+        private final List<Step> steps = new ArrayList<>();
+        private int weight = 1;
+        
+        private Builder(String name) {
+            this.name = name;
+        }
+        
+        /**
+         * Sets the relative weight of the scenario
+         *
+         * @param scenarioWeight weight, 1 by default
+         * @return this builder
+         */
+        public Builder weight(int scenarioWeight) {
+            if (scenarioWeight <= 0) {
+                throw new IllegalArgumentException("Scenario weight must be positive: " + scenarioWeight);
+            }
+            this.weight = scenarioWeight;
+            return this;
+        }
+        
+        /**
+         * Appends a step
+         *
+         * @param stepName step name used in the report
+         * @param action step action
+         * @return this builder
+         */
+        public Builder step(String stepName, LoadStep action) {
+            steps.add(new Step(stepName, action));
+            return this;
+        }
+        
+        /**
+         * Builds the scenario
+         *
+         * @return immutable scenario
+         */
+        public LoadScenario build() {
+            if (steps.isEmpty()) {
+                throw new IllegalStateException("Scenario '" + name + "' has no steps");
+            }
+            return new LoadScenario(name, weight, steps);
+        }
+    }
+}
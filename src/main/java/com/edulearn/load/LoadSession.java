@@ -0,0 +1,80 @@
+package com.edulearn.load;
+
+import com.edulearn.api.AuthAPI;
+import com.edulearn.api.CourseAPI;
+import com.edulearn.exceptions.FrameworkException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * State of one scenario iteration: the API clients of a virtual user and
+ * values passed from one step to the next, such as the selected course ID
+ */
+public class LoadSession {
+    
+    private final AuthAPI authAPI = new AuthAPI();
+    private final Map<String, String> values = new HashMap<>();
+    private CourseAPI courseAPI;
+    
+    /**
+     * Logs in and creates the course client for the authenticated user
+     *
+     * @param username username
+     * @param password password
+     * @throws FrameworkException if login fails
+     */
+    public void login(String username, String password) {
+        String token = authAPI.login(username, password);
+        if (token == null) {
+            throw new FrameworkException("Login failed for user: " + username);
+        }
+        courseAPI = new CourseAPI(authAPI.getEnvironment(), token);
+    }
+    
+    /**
+     * Gets the auth client
+     *
+     * @return AuthAPI instance
+     */
+    public AuthAPI auth() {
+        return authAPI;
+    }
+    
+    /**
+     * Gets the course client, unauthenticated if no login step ran
+     *
+     * @return CourseAPI instance
+     */
+    public CourseAPI courses() {
+        if (courseAPI == null) {
+            courseAPI = new CourseAPI(authAPI.getEnvironment(), null);
+        }
+        return courseAPI;
+    }
+    
+    /**
+     * Stores a value for later steps
+     *
+     * @param key value name
+     * @param value value
+     */
+    public void put(String key, String value) {
+        values.put(key, value);
+    }
+    
+    /**
+     * Gets a value stored by an earlier step
+     *
+     * @param key value name
+     * @return value
+     * @throws FrameworkException if no earlier step stored the value
+     */
+    public String get(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new FrameworkException("No value '" + key + "' in load session");
+        }
+        return value;
+    }
+}
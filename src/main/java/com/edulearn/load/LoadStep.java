@@ -0,0 +1,19 @@
+package com.edulearn.load;
+
+import io.restassured.response.Response;
+
+/**
+ * Single step of a load scenario, usually one call to an API client method
+ */
+@FunctionalInterface
+public interface LoadStep {
+    
+    /**
+     * Executes the step
+     *
+     * @param session state of the current scenario iteration
+     * @return response of the call, or null if the step does not return one;
+     *         a status code of 400 or above counts as a failure
+     */
+    Response execute(LoadSession session);
+}
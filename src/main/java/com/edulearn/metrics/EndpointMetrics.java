@@ -0,0 +1,278 @@
+package com.edulearn.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per API endpoint, recorded by {@code BaseAPI} for every call.
+ * Request paths are reduced to templates, so "/api/courses/42" and "/api/courses/43"
+ * are both recorded as "GET /api/courses/{courseId}". Templates registered by the
+ * API clients are matched first; other path segments that contain a digit are
+ * replaced by "{id}". Retries are counted per endpoint as well.
+ */
+public class EndpointMetrics {
+    
+    private static final Logger logger = LogManager.getLogger(EndpointMetrics.class);
+    private static final LatencyHistograms histograms = new LatencyHistograms();
+    private static final List<String[]> templates = new CopyOnWriteArrayList<>();
+    private static final ConcurrentMap<String, LongAdder> retries = new ConcurrentHashMap<>();
+    
+    private EndpointMetrics() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Registers a path template such as "/api/courses/{courseId}/lessons/{lessonId}".
+     * Literal segments take precedence, so "/api/courses/search" can be registered next to
+     * "/api/courses/{courseId}".
+     *
+     * @param template path template with {name} placeholders
+     */
+    public static void registerTemplate(String template) {
+        String[] segments = split(template);
+        for (String[] existing : templates) {
+            if (String.join("/", existing).equals(String.join("/", segments))) {
+                return;
+            }
+        }
+        templates.add(segments);
+    }
+    
+    /**
+     * Records the latency of an API call
+     *
+     * @param method HTTP method
+     * @param path request path, without query string
+     * @param nanos latency in nanoseconds
+     * @param statusCode response status code, or -1 if the call failed without a response
+     */
+    public static void record(String method, String path, long nanos, int statusCode) {
+        histograms.record(endpointKey(method, path), nanos, statusCode >= 0 && statusCode < 400);
+    }
+    
+    /**
+     * Counts a retry of an API call
+     *
+     * @param method HTTP method
+     * @param path request path, without query string
+     */
+    public static void recordRetry(String method, String path) {
+        retries.computeIfAbsent(endpointKey(method, path), key -> new LongAdder()).increment();
+    }
+    
+    /**
+     * Gets the number of retries of one endpoint
+     *
+     * @param endpoint endpoint key, e.g. "GET /api/courses/{courseId}"
+     * @return retries, 0 if the endpoint was never retried
+     */
+    public static long getRetryCount(String endpoint) {
+        LongAdder count = retries.get(endpoint);
+        return count != null ? count.sum() : 0;
+    }
+    
+    /**
+     * Gets the retry counts of all retried endpoints
+     *
+     * @return retries keyed by endpoint, sorted by endpoint
+     */
+    public static Map<String, Long> getRetryCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : retries.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+    
+    /**
+     * Gets the key a call is recorded under
+     *
+     * @param method HTTP method
+     * @param path request path
+     * @return key such as "GET /api/courses/{courseId}"
+     */
+    public static String endpointKey(String method, String path) {
+        return method + " " + template(path);
+    }
+    
+    /**
+     * Reduces a request path to its template
+     *
+     * @param path request path, optionally with a query string
+     * @return path template
+     */
+    public static String template(String path) {
+        int query = path.indexOf('?');
+        String[] segments = split(query >= 0 ? path.substring(0, query) : path);
+        
+        String[] best = null;
+        int bestLiterals = -1;
+        for (String[] candidate : templates) {
+            int literals = matchLiterals(candidate, segments);
+            if (literals > bestLiterals) {
+                best = candidate;
+                bestLiterals = literals;
+            }
+        }
+        
+        StringBuilder template = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            template.append('/');
+            if (best != null) {
+                template.append(best[i]);
+            } else if (containsDigit(segments[i])) {
+                template.append("{id}");
+            } else {
+                template.append(segments[i]);
+            }
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+    
+    /**
+     * Matches a template against path segments
+     *
+     * @return number of matching literal segments, or -1 if the template does not match
+     */
+    private static int matchLiterals(String[] template, String[] segments) {
+        if (template.length != segments.length) {
+            return -1;
+        }
+        int literals = 0;
+        for (int i = 0; i < template.length; i++) {
+            if (isPlaceholder(template[i])) {
+                continue;
+            }
+            if (!template[i].equals(segments[i])) {
+                return -1;
+            }
+            literals++;
+        }
+        return literals;
+    }
+    
+    private static boolean isPlaceholder(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+    
+    private static boolean containsDigit(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (Character.isDigit(segment.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String[] split(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return start == end ? new String[0] : path.substring(start, end).split("/+");
+    }
+    
+    /**
+     * Gets cumulative summaries per endpoint
+     *
+     * @return summaries keyed by endpoint, e.g. "GET /api/courses/{courseId}"
+     */
+    public static Map<String, LatencySummary> snapshot() {
+        return histograms.snapshot();
+    }
+    
+    /**
+     * Gets the summary for one endpoint
+     *
+     * @param endpoint endpoint key, e.g. "GET /api/courses/{courseId}"
+     * @return summary, or null if the endpoint was not called
+     */
+    public static LatencySummary getSummary(String endpoint) {
+        return histograms.snapshot().get(endpoint);
+    }
+    
+    /**
+     * Gets a latency percentile for one endpoint
+     *
+     * @param endpoint endpoint key
+     * @param percentile percentile from 0 to 100
+     * @return latency in milliseconds, or 0 if the endpoint was not called
+     */
+    public static double getPercentileMillis(String endpoint, double percentile) {
+        Histogram histogram = histograms.getHistogram(endpoint);
+        if (histogram == null || histogram.getTotalCount() == 0) {
+            return 0;
+        }
+        return histogram.getValueAtPercentile(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+    
+    /**
+     * Asserts a latency service level objective for one endpoint
+     *
+     * @param endpoint endpoint key, e.g. "GET /api/courses/{courseId}"
+     * @param percentile percentile from 0 to 100, e.g. 99
+     * @param maxMillis maximum allowed latency at that percentile
+     * @throws AssertionError if the endpoint was not called or is slower than the objective
+     */
+    public static void assertLatency(String endpoint, double percentile, double maxMillis) {
+        Histogram histogram = histograms.getHistogram(endpoint);
+        if (histogram == null || histogram.getTotalCount() == 0) {
+            throw new AssertionError("No latency recorded for endpoint: " + endpoint);
+        }
+        double actual = getPercentileMillis(endpoint, percentile);
+        if (actual > maxMillis) {
+            throw new AssertionError(String.format("p%s latency of %s is %.2f ms, expected at most %.2f ms",
+                    percentile, endpoint, actual, maxMillis));
+        }
+    }
+    
+    /**
+     * Writes the endpoint summaries as JSON
+     *
+     * @param file target file, parent directories are created
+     */
+    public static void writeJson(Path file) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencySummary> entry : snapshot().entrySet()) {
+            Map<String, Object> endpoint = entry.getValue().toMap(0);
+            endpoint.put("retries", getRetryCount(entry.getKey()));
+            endpoints.put(entry.getKey(), endpoint);
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), endpoints);
+            logger.info("Endpoint latency written to: {}", file);
+        } catch (IOException e) {
+            logger.error("Failed to write endpoint latency: {}", file, e);
+        }
+    }
+    
+    /**
+     * Discards all recorded latencies and retry counts
+     */
+    public static void reset() {
+        histograms.reset();
+        retries.clear();
+    }
+}
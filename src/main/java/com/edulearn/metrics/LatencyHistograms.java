@@ -0,0 +1,130 @@
+package com.edulearn.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named set of latency histograms.
+ * Recording goes into an HdrHistogram {@link Recorder} per name, which is
+ * wait-free for writers, so many threads can record without contention.
+ * Readers swap out the recorded interval and fold it into cumulative totals.
+ * Values are recorded in nanoseconds.
+ */
+public class LatencyHistograms {
+    
+    private static final int SIGNIFICANT_DIGITS = 3;
+    
+    private final ConcurrentMap<String, Series> series = new ConcurrentHashMap<>();
+    
+    /**
+     * Records a latency
+     *
+     * @param name series name, e.g. an endpoint or step name
+     * @param nanos latency in nanoseconds
+     * @param success false if the call failed
+     */
+    public void record(String name, long nanos, boolean success) {
+        Series target = series.get(name);
+        if (target == null) {
+            target = series.computeIfAbsent(name, key -> new Series());
+        }
+        target.recorder.recordValue(Math.max(0, nanos));
+        if (!success) {
+            target.errors.increment();
+        }
+    }
+    
+    /**
+     * Gets the latencies recorded since the previous interval and adds them to the totals
+     *
+     * @return interval summaries keyed by name, in name order
+     */
+    public synchronized Map<String, LatencySummary> drainInterval() {
+        Map<String, LatencySummary> intervals = new TreeMap<>();
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Series current = entry.getValue();
+            Histogram interval = current.drain();
+            long errors = current.errors.sum();
+            intervals.put(entry.getKey(), new LatencySummary(interval, errors - current.reportedErrors));
+            current.reportedErrors = errors;
+        }
+        return intervals;
+    }
+    
+    /**
+     * Gets cumulative summaries of everything recorded so far
+     *
+     * @return summaries keyed by name, in name order
+     */
+    public synchronized Map<String, LatencySummary> snapshot() {
+        Map<String, LatencySummary> summaries = new TreeMap<>();
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Series current = entry.getValue();
+            current.drain();
+            summaries.put(entry.getKey(), new LatencySummary(current.total.copy(), current.errors.sum()));
+        }
+        return Collections.unmodifiableMap(summaries);
+    }
+    
+    /**
+     * Gets a copy of the cumulative histogram for one name
+     *
+     * @param name series name
+     * @return histogram in nanoseconds, or null if nothing was recorded under the name
+     */
+    public synchronized Histogram getHistogram(String name) {
+        Series current = series.get(name);
+        if (current == null) {
+            return null;
+        }
+        current.drain();
+        return current.total.copy();
+    }
+    
+    /**
+     * Checks whether anything was recorded
+     *
+     * @return true if no value was recorded
+     */
+    public boolean isEmpty() {
+        return series.isEmpty();
+    }
+    
+    /**
+     * Discards all recorded values
+     */
+    public synchronized void reset() {
+        series.clear();
+    }
+    
+    /**
+     * Recorder and running total for one name
+     */
+    private static final class Series {
+        
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private Histogram spare;
+        private long reportedErrors;
+        
+        /**
+         * Swaps out the current interval and adds it to the total, reusing the previous interval histogram
+         *
+         * @return the drained interval
+         */
+        Histogram drain() {
+            Histogram interval = recorder.getIntervalHistogram(spare);
+            total.add(interval);
+            spare = interval;
+            return interval;
+        }
+    }
+}
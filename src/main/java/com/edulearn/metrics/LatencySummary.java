@@ -0,0 +1,161 @@
+package com.edulearn.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable percentile summary of a latency histogram recorded in nanoseconds
+ */
+public final class LatencySummary {
+    
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private final long count;
+    private final long errors;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p90Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double p999Millis;
+    private final double maxMillis;
+    
+    /**
+     * Creates a summary of a histogram
+     *
+     * @param histogram latencies in nanoseconds
+     * @param errors number of failed calls
+     */
+    public LatencySummary(Histogram histogram, long errors) {
+        this.count = histogram.getTotalCount();
+        this.errors = errors;
+        this.meanMillis = count == 0 ? 0 : histogram.getMean() / NANOS_PER_MILLI;
+        this.p50Millis = toMillis(histogram, 50.0);
+        this.p90Millis = toMillis(histogram, 90.0);
+        this.p95Millis = toMillis(histogram, 95.0);
+        this.p99Millis = toMillis(histogram, 99.0);
+        this.p999Millis = toMillis(histogram, 99.9);
+        this.maxMillis = count == 0 ? 0 : histogram.getMaxValue() / NANOS_PER_MILLI;
+    }
+    
+    private static double toMillis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+    
+    /**
+     * Gets the number of recorded calls
+     *
+     * @return call count
+     */
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Gets the number of failed calls
+     *
+     * @return error count
+     */
+    public long getErrors() {
+        return errors;
+    }
+    
+    /**
+     * Gets the mean latency
+     *
+     * @return mean in milliseconds
+     */
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+    
+    /**
+     * Gets the median latency
+     *
+     * @return 50th percentile in milliseconds
+     */
+    public double getP50Millis() {
+        return p50Millis;
+    }
+    
+    /**
+     * Gets the 90th percentile latency
+     *
+     * @return 90th percentile in milliseconds
+     */
+    public double getP90Millis() {
+        return p90Millis;
+    }
+    
+    /**
+     * Gets the 95th percentile latency
+     *
+     * @return 95th percentile in milliseconds
+     */
+    public double getP95Millis() {
+        return p95Millis;
+    }
+    
+    /**
+     * Gets the 99th percentile latency
+     *
+     * @return 99th percentile in milliseconds
+     */
+    public double getP99Millis() {
+        return p99Millis;
+    }
+    
+    /**
+     * Gets the 99.9th percentile latency
+     *
+     * @return 99.9th percentile in milliseconds
+     */
+    public double getP999Millis() {
+        return p999Millis;
+    }
+    
+    /**
+     * Gets the maximum latency
+     *
+     * @return maximum in milliseconds
+     */
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+    
+    /**
+     * Converts the summary to a map for JSON output
+     *
+     * @param elapsedSeconds measurement duration used to compute throughput, or 0 to omit it
+     * @return ordered map of the summary values
+     */
+    public Map<String, Object> toMap(double elapsedSeconds) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("errors", errors);
+        if (elapsedSeconds > 0) {
+            map.put("throughputPerSecond", round(count / elapsedSeconds));
+        }
+        map.put("meanMs", round(meanMillis));
+        map.put("p50Ms", round(p50Millis));
+        map.put("p90Ms", round(p90Millis));
+        map.put("p95Ms", round(p95Millis));
+        map.put("p99Ms", round(p99Millis));
+        map.put("p999Ms", round(p999Millis));
+        map.put("maxMs", round(maxMillis));
+        return map;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("count=%d errors=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                count, errors, meanMillis, p50Millis, p95Millis, p99Millis, maxMillis);
+    }
+}
@@ -0,0 +1,183 @@
+package com.edulearn.shard;
+
+import com.edulearn.exceptions.FrameworkException;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inputs and result of one shard's plan: the hash of the duration history it planned from,
+ * the shard count, all methods of the suite and the methods assigned to the shard.
+ * Each shard writes its fingerprint to its directory, so {@link ShardReportMerger} can check
+ * that all shards computed the same plan and together ran every method exactly once.
+ */
+@JsonPropertyOrder({"index", "count", "historyHash", "suiteMethods", "assignedMethods"})
+public final class ShardFingerprint {
+    
+    /**
+     * File name of the fingerprint in the shard directory
+     */
+    public static final String FILE = "plan.json";
+    
+    private static final ObjectMapper mapper = new ObjectMapper();
+    
+    private final int index;
+    private final int count;
+    private final String historyHash;
+    private final List<String> suiteMethods;
+    private final List<String> assignedMethods;
+    
+    /**
+     * Creates a fingerprint
+     *
+     * @param index shard index
+     * @param count number of shards
+     * @param historyHash hash of the durations the plan was computed from, see {@link #hash(Map)}
+     * @param suiteMethods qualified names of all methods of the suite
+     * @param assignedMethods qualified names of the methods assigned to the shard
+     */
+    @JsonCreator
+    public ShardFingerprint(@JsonProperty("index") int index, @JsonProperty("count") int count,
+                            @JsonProperty("historyHash") String historyHash,
+                            @JsonProperty("suiteMethods") List<String> suiteMethods,
+                            @JsonProperty("assignedMethods") List<String> assignedMethods) {
+        this.index = index;
+        this.count = count;
+        this.historyHash = historyHash != null ? historyHash : "";
+        this.suiteMethods = sorted(suiteMethods);
+        this.assignedMethods = sorted(assignedMethods);
+    }
+    
+    private static List<String> sorted(List<String> methods) {
+        List<String> copy = new ArrayList<>(methods != null ? methods : Collections.emptyList());
+        Collections.sort(copy);
+        return Collections.unmodifiableList(copy);
+    }
+    
+    /**
+     * Hashes planning durations, independent of their order
+     *
+     * @param durations expected durations by qualified method name
+     * @return hex SHA-256 hash
+     */
+    public static String hash(Map<String, Long> durations) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (Map.Entry<String, Long> entry : new TreeMap<>(durations).entrySet()) {
+            digest.update((entry.getKey() + "=" + entry.getValue() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+    
+    /**
+     * Reads a fingerprint
+     *
+     * @param file fingerprint file
+     * @return fingerprint
+     * @throws FrameworkException if the file cannot be read
+     */
+    public static ShardFingerprint read(Path file) {
+        try {
+            return mapper.readValue(file.toFile(), ShardFingerprint.class);
+        } catch (IOException e) {
+            throw new FrameworkException("Failed to read shard plan fingerprint: " + file, e);
+        }
+    }
+    
+    /**
+     * Writes the fingerprint
+     *
+     * @param file fingerprint file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+    
+    /**
+     * Checks whether another shard planned from the same inputs
+     *
+     * @param other fingerprint of another shard
+     * @return true if history, shard count and suite methods are the same
+     */
+    public boolean hasSameInputs(ShardFingerprint other) {
+        return count == other.count && historyHash.equals(other.historyHash) && suiteMethods.equals(other.suiteMethods);
+    }
+    
+    /**
+     * Gets the shard index
+     *
+     * @return shard index
+     */
+    public int getIndex() {
+        return index;
+    }
+    
+    /**
+     * Gets the number of shards
+     *
+     * @return shard count
+     */
+    public int getCount() {
+        return count;
+    }
+    
+    /**
+     * Gets the hash of the durations the plan was computed from
+     *
+     * @return hex SHA-256 hash
+     */
+    public String getHistoryHash() {
+        return historyHash;
+    }
+    
+    /**
+     * Gets all methods of the suite
+     *
+     * @return qualified method names, sorted
+     */
+    public List<String> getSuiteMethods() {
+        return suiteMethods;
+    }
+    
+    /**
+     * Gets the methods assigned to the shard
+     *
+     * @return qualified method names, sorted
+     */
+    public List<String> getAssignedMethods() {
+        return assignedMethods;
+    }
+    
+    @Override
+    public String toString() {
+        return "shard " + index + " of " + count + " (history "
+                + historyHash.substring(0, Math.min(12, historyHash.length())) + ", " + suiteMethods.size()
+                + " suite methods, " + assignedMethods.size() + " assigned)";
+    }
+}
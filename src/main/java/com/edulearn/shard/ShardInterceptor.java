@@ -0,0 +1,157 @@
+package com.edulearn.shard;
+
+import com.edulearn.core.DurationHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * TestNG method interceptor that keeps only the test methods of the current {@link TestShard}.
+ * The plan is computed once per suite from all of its methods, balanced by the durations in
+ * the {@link DurationHistory}, so shards end at about the same time. Every shard must
+ * see the same suite and history file to agree on the plan. Methods of a class that uses
+ * dependsOnMethods or dependsOnGroups stay together on one shard. Each shard writes a
+ * {@link ShardFingerprint} of its plan, so the merge step can detect shards that planned differently.
+ * <p>
+ * Register it before {@code LongestFirstInterceptor}, which then orders the kept methods.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+    
+    private static final Logger logger = LogManager.getLogger(ShardInterceptor.class);
+    
+    private final Map<ISuite, ShardPlan> plans = new WeakHashMap<>();
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        TestShard shard = TestShard.current();
+        if (!shard.isSharded()) {
+            return methods;
+        }
+        ShardPlan plan = getPlan(context.getSuite(), shard);
+        Set<String> dependentClasses = dependentClasses(context.getSuite());
+        
+        List<IMethodInstance> kept = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (plan.getShard(unitOf(method.getMethod(), dependentClasses)) == shard.getIndex()) {
+                kept.add(method);
+            }
+        }
+        logger.info("{} runs {} of {} methods of '{}'", shard, Unbox.box(kept.size()), Unbox.box(methods.size()),
+                context.getName());
+        return kept;
+    }
+    
+    private synchronized ShardPlan getPlan(ISuite suite, TestShard shard) {
+        ShardPlan plan = plans.get(suite);
+        if (plan == null) {
+            DurationHistory history = DurationHistory.getInstance();
+            Set<String> dependentClasses = dependentClasses(suite);
+            Map<String, Long> units = unitDurations(suite.getAllMethods(),
+                    method -> unitOf(method, dependentClasses),
+                    method -> history.getExpectedMillis(method.getQualifiedName()));
+            plan = ShardPlan.balance(units, shard.getCount());
+            plans.put(suite, plan);
+            
+            StringBuilder loads = new StringBuilder();
+            for (int i = 0; i < plan.getShardCount(); i++) {
+                loads.append(i == 0 ? "" : ", ").append(i).append(": ").append(plan.getUnitCount(i))
+                        .append(" units/").append(plan.getLoad(i)).append(" ms");
+            }
+            logger.info("Planned {} units of suite '{}' across {} shards from {}: {}", Unbox.box(units.size()),
+                    suite.getName(), Unbox.box(shard.getCount()), history.getFile(), loads);
+            writeFingerprint(suite, shard, plan, dependentClasses, ShardFingerprint.hash(history.getHistory()));
+        }
+        return plan;
+    }
+    
+    private static void writeFingerprint(ISuite suite, TestShard shard, ShardPlan plan, Set<String> dependentClasses,
+                                         String historyHash) {
+        List<String> suiteMethods = new ArrayList<>();
+        List<String> assignedMethods = new ArrayList<>();
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            suiteMethods.add(method.getQualifiedName());
+            if (plan.getShard(unitOf(method, dependentClasses)) == shard.getIndex()) {
+                assignedMethods.add(method.getQualifiedName());
+            }
+        }
+        Path file = shard.getOutputDir().resolve(ShardFingerprint.FILE);
+        try {
+            new ShardFingerprint(shard.getIndex(), shard.getCount(), historyHash, suiteMethods, assignedMethods)
+                    .write(file);
+        } catch (IOException e) {
+            // The merge step fails without it, so the run is not mistaken for a complete one
+            logger.error("Failed to write the shard plan fingerprint: {}", file, e);
+        }
+    }
+    
+    /**
+     * Groups methods into scheduling units and sums their expected durations.
+     * Methods without history are expected to take the average known duration, and every
+     * method counts at least 1 ms, so methods without measurable duration spread evenly by count.
+     *
+     * @param methods all methods of the suite
+     * @param unitOf unit a method belongs to
+     * @param history expected duration of a method, or a negative value if unknown
+     * @param <T> method type
+     * @return expected duration per unit, in suite order
+     */
+    static <T> Map<String, Long> unitDurations(List<T> methods, Function<T, String> unitOf,
+                                               ToLongFunction<T> history) {
+        long knownTotal = 0;
+        int known = 0;
+        long[] expected = new long[methods.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = history.applyAsLong(methods.get(i));
+            if (expected[i] >= 0) {
+                knownTotal += expected[i];
+                known++;
+            }
+        }
+        long fallback = known > 0 ? Math.max(1, knownTotal / known) : 1;
+        
+        Map<String, Long> units = new LinkedHashMap<>();
+        for (int i = 0; i < expected.length; i++) {
+            units.merge(unitOf.apply(methods.get(i)), expected[i] >= 0 ? Math.max(1, expected[i]) : fallback,
+                    Long::sum);
+        }
+        return units;
+    }
+    
+    /**
+     * Finds the classes with methods that depend on other methods or groups
+     *
+     * @param suite test suite
+     * @return class names
+     */
+    private static Set<String> dependentClasses(ISuite suite) {
+        Set<String> classes = new HashSet<>();
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            if (method.getMethodsDependedUpon().length > 0 || method.getGroupsDependedUpon().length > 0) {
+                classes.add(method.getRealClass().getName());
+            }
+        }
+        return classes;
+    }
+    
+    private static String unitOf(ITestNGMethod method, Set<String> dependentClasses) {
+        String className = method.getRealClass().getName();
+        return dependentClasses.contains(className) ? className : method.getQualifiedName();
+    }
+}
@@ -0,0 +1,157 @@
+package com.edulearn.shard;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Runs all shards of the suite side by side on one machine and merges their reports.
+ * Surefire forks share one TestNG run when the suite comes from testng.xml, so each shard
+ * runs in its own JVM started with the classpath of this one, shard.index and shard.count,
+ * the framework settings this JVM got as system properties and the JVM options in shard.args.
+ * JVM properties such as java.home are never forwarded. The console output of a shard is
+ * written to its directory as console.log.
+ */
+public final class ShardLauncher {
+    
+    private static final Logger logger = LogManager.getLogger(ShardLauncher.class);
+    
+    // Written by TestNG when a run completes, whatever the test results
+    private static final String RESULTS_FILE = "testng-results.xml";
+    
+    private ShardLauncher() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Runs shard.count shards of shard.suite.file and merges their output
+     *
+     * @param args not used, configure with system properties instead
+     */
+    public static void main(String[] args) {
+        ConfigSnapshot config = ConfigManager.getInstance().getSnapshot();
+        int count = config.getInt("shard.count", 1);
+        if (count < 2) {
+            throw new FrameworkException("Set shard.count to 2 or more to run shards, found " + count);
+        }
+        Path reportsRoot = TestShard.fromConfig(config).getReportsRoot();
+        clean(reportsRoot);
+        
+        long start = System.nanoTime();
+        List<Process> processes = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            TestShard shard = new TestShard(index, count, reportsRoot);
+            processes.add(start(shard, config));
+        }
+        List<String> crashed = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            TestShard shard = new TestShard(index, count, reportsRoot);
+            int exitCode = waitFor(processes.get(index));
+            logger.info("{} finished with exit code {} after {} s", shard, Unbox.box(exitCode),
+                    Unbox.box((System.nanoTime() - start) / 1_000_000_000L));
+            if (!Files.isRegularFile(shard.getOutputDir().resolve("testng-output").resolve(RESULTS_FILE))) {
+                crashed.add(shard + " (see " + shard.getOutputDir().resolve("console.log") + ")");
+            }
+        }
+        
+        ShardReportMerger.merge(reportsRoot, Paths.get(config.get("test.history.file")));
+        // Test failures are reported, not fatal, as with the surefire testFailureIgnore setting
+        if (!crashed.isEmpty()) {
+            throw new FrameworkException("Shards did not complete: " + String.join(", ", crashed));
+        }
+    }
+    
+    /**
+     * Builds the command line of a shard JVM
+     *
+     * @param shard shard to run
+     * @param config configuration of this JVM
+     * @param classpath classpath of the shard JVM
+     * @return command line
+     */
+    static List<String> command(TestShard shard, ConfigSnapshot config, String classpath) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(classpath);
+        // The snapshot only holds framework keys, so JVM properties such as java.home are left out
+        for (Map.Entry<String, String> property : new TreeMap<>(config.asMap()).entrySet()) {
+            if ("system".equals(config.getSource(property.getKey())) && !property.getKey().startsWith("shard.")) {
+                command.add("-D" + property.getKey() + "=" + property.getValue());
+            }
+        }
+        String jvmArgs = config.get("shard.args");
+        if (jvmArgs != null && !jvmArgs.trim().isEmpty()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        command.add("-Dshard.index=" + shard.getIndex());
+        command.add("-Dshard.count=" + shard.getCount());
+        command.add("-Dshard.reports.dir=" + shard.getReportsRoot());
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add(shard.getOutputDir().resolve("testng-output").toString());
+        command.add(config.get("shard.suite.file"));
+        return command;
+    }
+    
+    private static Process start(TestShard shard, ConfigSnapshot config) {
+        Path outputDir = shard.getOutputDir();
+        try {
+            Files.createDirectories(outputDir);
+            List<String> command = command(shard, config, System.getProperty("java.class.path"));
+            logger.info("Starting {}, output in {}", shard, outputDir);
+            return new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(outputDir.resolve("console.log").toFile())
+                    .start();
+        } catch (IOException e) {
+            throw new FrameworkException("Failed to start " + shard, e);
+        }
+    }
+    
+    private static int waitFor(Process process) {
+        try {
+            return process.waitFor();
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while waiting for shards", e);
+        }
+    }
+    
+    /**
+     * Removes the output of earlier runs, so a run with fewer shards does not merge stale shards
+     *
+     * @param reportsRoot directory holding the shard directories
+     */
+    private static void clean(Path reportsRoot) {
+        List<Path> stale = new ArrayList<>(ShardReportMerger.shardDirs(reportsRoot));
+        stale.add(reportsRoot.resolve(ShardReportMerger.MERGED_DIR));
+        for (Path dir : stale) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            } catch (IOException e) {
+                throw new FrameworkException("Failed to remove earlier shard output in " + dir, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.edulearn.shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic, duration-balanced partition of test units across shards.
+ * Units are placed longest first, each on the shard with the least expected work so far
+ * (longest processing time first), with ties broken by unit name and shard index. Every
+ * shard computing the plan from the same units and durations therefore gets the same
+ * answer, without coordinating with the others.
+ */
+public final class ShardPlan {
+    
+    private final Map<String, Integer> shardByUnit;
+    private final long[] loads;
+    private final int[] unitCounts;
+    
+    private ShardPlan(Map<String, Integer> shardByUnit, long[] loads, int[] unitCounts) {
+        this.shardByUnit = shardByUnit;
+        this.loads = loads;
+        this.unitCounts = unitCounts;
+    }
+    
+    /**
+     * Balances units across shards
+     *
+     * @param durations expected duration of each unit in milliseconds
+     * @param shardCount number of shards
+     * @return shard plan
+     */
+    public static ShardPlan balance(Map<String, Long> durations, int shardCount) {
+        List<Map.Entry<String, Long>> units = new ArrayList<>(durations.entrySet());
+        units.sort(Map.Entry.<String, Long>comparingByValue(Collections.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        
+        Map<String, Integer> shardByUnit = new HashMap<>();
+        long[] loads = new long[Math.max(1, shardCount)];
+        int[] unitCounts = new int[loads.length];
+        for (Map.Entry<String, Long> unit : units) {
+            int lightest = 0;
+            for (int shard = 1; shard < loads.length; shard++) {
+                if (loads[shard] < loads[lightest]
+                        || (loads[shard] == loads[lightest] && unitCounts[shard] < unitCounts[lightest])) {
+                    lightest = shard;
+                }
+            }
+            shardByUnit.put(unit.getKey(), lightest);
+            loads[lightest] += unit.getValue();
+            unitCounts[lightest]++;
+        }
+        return new ShardPlan(shardByUnit, loads, unitCounts);
+    }
+    
+    /**
+     * Gets the shard a unit runs on
+     *
+     * @param unit unit name
+     * @return shard index, or -1 if the unit was not planned
+     */
+    public int getShard(String unit) {
+        Integer shard = shardByUnit.get(unit);
+        return shard != null ? shard : -1;
+    }
+    
+    /**
+     * Gets the expected work of a shard
+     *
+     * @param shard shard index
+     * @return sum of the expected durations of its units in milliseconds
+     */
+    public long getLoad(int shard) {
+        return loads[shard];
+    }
+    
+    /**
+     * Gets the number of units on a shard
+     *
+     * @param shard shard index
+     * @return unit count
+     */
+    public int getUnitCount(int shard) {
+        return unitCounts[shard];
+    }
+    
+    /**
+     * Gets the number of shards
+     *
+     * @return shard count
+     */
+    public int getShardCount() {
+        return loads.length;
+    }
+}
@@ -0,0 +1,302 @@
+package com.edulearn.shard;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.core.DurationHistory;
+import com.edulearn.exceptions.FrameworkException;
+import com.edulearn.utils.ReportManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the output of all shards under shard.reports.dir into shard.reports.dir/merged.
+ * The shards' plan fingerprints are checked first: the merge fails if shards planned from
+ * different histories, shard counts or suites, or if they did not run every method exactly once.
+ * <ul>
+ *     <li>JUnit XML reports (TEST-*.xml) with the same path in several shards are merged into one</li>
+ *     <li>the Extent JSON archives are rebuilt into one HTML report</li>
+ *     <li>the per-shard durations are merged into the duration history, once for the whole run</li>
+ * </ul>
+ * Runs after the last shard, on the machine that collected the shard directories.
+ */
+public final class ShardReportMerger {
+    
+    /**
+     * Name of the directory the merged output is written to
+     */
+    public static final String MERGED_DIR = "merged";
+    
+    private static final Logger logger = LogManager.getLogger(ShardReportMerger.class);
+    
+    // Counters summed when merging JUnit XML reports
+    private static final String[] COUNTERS = {"tests", "failures", "errors", "skipped"};
+    
+    private ShardReportMerger() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Merges the shard output configured by shard.reports.dir and test.history.file
+     *
+     * @param args not used, configure with system properties instead
+     */
+    public static void main(String[] args) {
+        ConfigSnapshot config = ConfigManager.getInstance().getSnapshot();
+        merge(TestShard.fromConfig(config).getReportsRoot(), Paths.get(config.get("test.history.file")));
+    }
+    
+    /**
+     * Merges the output of all shard directories below a reports root
+     *
+     * @param reportsRoot directory holding the shard-&lt;index&gt; directories
+     * @param historyFile duration history to merge the shard durations into
+     * @return directory with the merged output
+     * @throws FrameworkException if there is no shard output, the shards planned differently
+     *                            or the output cannot be merged
+     */
+    public static Path merge(Path reportsRoot, Path historyFile) {
+        List<Path> shards = shardDirs(reportsRoot);
+        if (shards.isEmpty()) {
+            throw new FrameworkException("No shard output found in " + reportsRoot);
+        }
+        verifyPlans(shards);
+        Path mergedDir = reportsRoot.resolve(MERGED_DIR);
+        
+        Map<Path, List<Path>> junitReports = new TreeMap<>();
+        List<Path> archives = new ArrayList<>();
+        DurationHistory history = DurationHistory.load(historyFile);
+        for (Path shard : shards) {
+            for (Path report : find(shard, "TEST-", ".xml")) {
+                junitReports.computeIfAbsent(shard.relativize(report), key -> new ArrayList<>()).add(report);
+            }
+            archives.addAll(find(shard, ReportManager.JSON_ARCHIVE, ""));
+            
+            Path runFile = shard.resolve(DurationHistory.RUN_FILE);
+            history.recordRun(runFile);
+            logShard(shard, runFile);
+        }
+        
+        for (Map.Entry<Path, List<Path>> report : junitReports.entrySet()) {
+            mergeJUnitReports(report.getValue(), mergedDir.resolve(report.getKey()));
+        }
+        if (!archives.isEmpty()) {
+            try {
+                logger.info("Merged Extent report written to: {}",
+                        ReportManager.mergeArchives(archives, mergedDir.resolve("extent-reports")));
+            } catch (IOException e) {
+                throw new FrameworkException("Failed to merge Extent reports of " + reportsRoot, e);
+            }
+        }
+        history.save();
+        
+        logger.info("Merged {} JUnit reports and {} Extent archives of {} shards into {}",
+                Unbox.box(junitReports.size()), Unbox.box(archives.size()), Unbox.box(shards.size()), mergedDir);
+        return mergedDir;
+    }
+    
+    /**
+     * Finds the shard directories below a reports root
+     *
+     * @param reportsRoot directory holding the shard-&lt;index&gt; directories
+     * @return shard directories ordered by index
+     */
+    static List<Path> shardDirs(Path reportsRoot) {
+        if (!Files.isDirectory(reportsRoot)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> children = Files.list(reportsRoot)) {
+            return children.filter(Files::isDirectory)
+                    .filter(dir -> dir.getFileName().toString().matches("shard-\\d+"))
+                    .sorted((a, b) -> Integer.compare(shardIndex(a), shardIndex(b)))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new FrameworkException("Failed to list shard directories in " + reportsRoot, e);
+        }
+    }
+    
+    /**
+     * Checks that all shards computed the same plan and together cover every suite method exactly once
+     *
+     * @param shards shard directories ordered by index
+     * @throws FrameworkException if a fingerprint is missing, the shards planned from different inputs,
+     *                            a shard is missing or methods were skipped or run twice
+     */
+    static void verifyPlans(List<Path> shards) {
+        List<ShardFingerprint> plans = new ArrayList<>();
+        for (Path shard : shards) {
+            Path file = shard.resolve(ShardFingerprint.FILE);
+            if (!Files.isRegularFile(file)) {
+                throw new FrameworkException(shard.getFileName() + " has no plan fingerprint " + file
+                        + "; it did not run or is not a sharded run");
+            }
+            ShardFingerprint plan = ShardFingerprint.read(file);
+            if (plan.getIndex() != shardIndex(shard)) {
+                throw new FrameworkException(file + " belongs to " + plan);
+            }
+            plans.add(plan);
+        }
+        
+        ShardFingerprint first = plans.get(0);
+        for (ShardFingerprint plan : plans) {
+            if (!plan.hasSameInputs(first)) {
+                throw new FrameworkException("Shards planned from different inputs, make sure all shards use the"
+                        + " same test.history.file, shard.count and suite: " + first + " vs " + plan);
+            }
+        }
+        if (plans.size() != first.getCount()) {
+            throw new FrameworkException("Expected output of " + first.getCount() + " shards, found "
+                    + plans.size());
+        }
+        
+        // Remaining runs per method: positive means skipped, negative means run more than once
+        Map<String, Integer> remaining = new TreeMap<>();
+        for (String method : first.getSuiteMethods()) {
+            remaining.merge(method, 1, Integer::sum);
+        }
+        for (ShardFingerprint plan : plans) {
+            for (String method : plan.getAssignedMethods()) {
+                remaining.merge(method, -1, Integer::sum);
+            }
+        }
+        List<String> skipped = new ArrayList<>();
+        List<String> duplicated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : remaining.entrySet()) {
+            if (entry.getValue() > 0) {
+                skipped.add(entry.getKey());
+            } else if (entry.getValue() < 0) {
+                duplicated.add(entry.getKey());
+            }
+        }
+        if (!skipped.isEmpty() || !duplicated.isEmpty()) {
+            throw new FrameworkException("Shards did not run every method exactly once: skipped " + skipped
+                    + ", run more than once " + duplicated);
+        }
+        logger.info("All {} shards planned from history {} and cover {} methods", Unbox.box(plans.size()),
+                first.getHistoryHash(), Unbox.box(first.getSuiteMethods().size()));
+    }
+    
+    private static int shardIndex(Path shardDir) {
+        return Integer.parseInt(shardDir.getFileName().toString().substring("shard-".length()));
+    }
+    
+    private static List<Path> find(Path dir, String prefix, String suffix) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().startsWith(prefix)
+                            && file.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new FrameworkException("Failed to search shard output in " + dir, e);
+        }
+    }
+    
+    private static void logShard(Path shard, Path runFile) {
+        if (!Files.isRegularFile(runFile)) {
+            logger.warn("{} has no test durations", shard.getFileName());
+            return;
+        }
+        Map<String, Long> durations = DurationHistory.load(runFile).getHistory();
+        long total = durations.values().stream().mapToLong(Long::longValue).sum();
+        logger.info("{}: {} methods, {} ms", shard.getFileName(), Unbox.box(durations.size()), Unbox.box(total));
+    }
+    
+    /**
+     * Merges JUnit XML reports of the same tests run on different shards.
+     * Test cases of &lt;testsuite&gt; reports are combined into one suite with summed counters,
+     * and the suites of &lt;testsuites&gt; reports are combined into one list.
+     *
+     * @param reports reports to merge
+     * @param target merged report file
+     * @throws FrameworkException if a report cannot be read or the result cannot be written
+     */
+    static void mergeJUnitReports(List<Path> reports, Path target) {
+        try {
+            DocumentBuilder builder = newDocumentBuilder();
+            Document merged = builder.parse(reports.get(0).toFile());
+            Element root = merged.getDocumentElement();
+            for (Path report : reports.subList(1, reports.size())) {
+                Element other = builder.parse(report.toFile()).getDocumentElement();
+                addCounters(root, other);
+                NodeList children = other.getChildNodes();
+                for (int i = 0; i < children.getLength(); i++) {
+                    Node child = children.item(i);
+                    // Properties describe the JVM and are kept from the first report only
+                    if (child.getNodeType() == Node.ELEMENT_NODE && !"properties".equals(child.getNodeName())) {
+                        root.appendChild(merged.importNode(child, true));
+                    }
+                }
+            }
+            
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.transform(new DOMSource(merged), new StreamResult(target.toFile()));
+        } catch (Exception e) {
+            throw new FrameworkException("Failed to merge JUnit reports into " + target, e);
+        }
+    }
+    
+    private static DocumentBuilder newDocumentBuilder() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        return factory.newDocumentBuilder();
+    }
+    
+    private static void addCounters(Element target, Element source) {
+        for (String counter : COUNTERS) {
+            if (target.hasAttribute(counter) || source.hasAttribute(counter)) {
+                target.setAttribute(counter, String.valueOf(
+                        parseLong(target.getAttribute(counter)) + parseLong(source.getAttribute(counter))));
+            }
+        }
+        if (target.hasAttribute("time") || source.hasAttribute("time")) {
+            double time = parseDouble(target.getAttribute("time")) + parseDouble(source.getAttribute("time"));
+            target.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+        }
+    }
+    
+    private static long parseLong(String value) {
+        try {
+            return value.isEmpty() ? 0 : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    private static double parseDouble(String value) {
+        try {
+            return value.isEmpty() ? 0 : Double.parseDouble(value.replace(",", "").trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.edulearn.shard;
+
+import com.edulearn.core.ConfigManager;
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The part of the suite this JVM runs, set by shard.index (0-based) and shard.count.
+ * Each shard writes its reports, endpoint latencies and durations to its own directory,
+ * shard.reports.dir/shard-&lt;index&gt;, so shards running side by side on one machine do not
+ * overwrite each other and {@link ShardReportMerger} can combine their output.
+ */
+public final class TestShard {
+    
+    private final int index;
+    private final int count;
+    private final Path reportsRoot;
+    
+    /**
+     * Creates a shard
+     *
+     * @param index shard index, from 0 to count - 1
+     * @param count number of shards
+     * @param reportsRoot directory holding the per-shard directories
+     * @throws FrameworkException if the index is out of range
+     */
+    public TestShard(int index, int count, Path reportsRoot) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new FrameworkException("Invalid shard " + index + " of " + count
+                    + ": shard.index must be from 0 to shard.count - 1");
+        }
+        this.index = index;
+        this.count = count;
+        this.reportsRoot = reportsRoot;
+    }
+    
+    /**
+     * Gets the shard of this JVM
+     *
+     * @return current shard, 0 of 1 when the suite is not sharded
+     */
+    public static TestShard current() {
+        return fromConfig(ConfigManager.getInstance().getSnapshot());
+    }
+    
+    /**
+     * Creates the shard configured by shard.index, shard.count and shard.reports.dir
+     *
+     * @param config configuration snapshot
+     * @return configured shard
+     */
+    public static TestShard fromConfig(ConfigSnapshot config) {
+        String reportsRoot = config.get("shard.reports.dir");
+        return new TestShard(config.getInt("shard.index", 0), config.getInt("shard.count", 1),
+                Paths.get(reportsRoot != null ? reportsRoot : "target/shards"));
+    }
+    
+    /**
+     * Checks whether the suite is split into more than one shard
+     *
+     * @return true if this JVM runs only part of the suite
+     */
+    public boolean isSharded() {
+        return count > 1;
+    }
+    
+    /**
+     * Gets the shard index
+     *
+     * @return index from 0 to count - 1
+     */
+    public int getIndex() {
+        return index;
+    }
+    
+    /**
+     * Gets the number of shards
+     *
+     * @return shard count
+     */
+    public int getCount() {
+        return count;
+    }
+    
+    /**
+     * Gets the directory holding all per-shard directories
+     *
+     * @return reports root
+     */
+    public Path getReportsRoot() {
+        return reportsRoot;
+    }
+    
+    /**
+     * Gets the directory this shard writes its output to
+     *
+     * @return shard.reports.dir/shard-&lt;index&gt;
+     */
+    public Path getOutputDir() {
+        return reportsRoot.resolve("shard-" + index);
+    }
+    
+    /**
+     * Resolves an output file: unsharded runs keep the configured path, shards write
+     * the file under their own directory
+     *
+     * @param configuredPath path configured for unsharded runs
+     * @return path to write to
+     */
+    public Path resolveOutput(String configuredPath) {
+        Path path = Paths.get(configuredPath);
+        return isSharded() ? getOutputDir().resolve(path.getFileName()) : path;
+    }
+    
+    @Override
+    public String toString() {
+        return "shard " + index + " of " + count;
+    }
+}
@@ -0,0 +1,834 @@
+package com.edulearn.stub;
+
+import com.edulearn.stub.StubCatalog.Course;
+import com.edulearn.stub.StubCatalog.Lesson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded, in-process stand-in for the EduLearn application and API.
+ * It implements the endpoints used by {@code AuthAPI} and {@code CourseAPI} and
+ * serves HTML pages with the element ids the page objects expect, so API and UI
+ * suites can run offline against one machine. Latency and error injection are
+ * configurable and driven by a seeded random generator, which keeps runs
+ * repeatable. All state is kept in memory and lost when the server stops.
+ */
+public class EduLearnStubServer {
+    
+    private static final Logger logger = LogManager.getLogger(EduLearnStubServer.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String SESSION_COOKIE = "EDULEARN_SESSION";
+    private static final String JSON = "application/json; charset=UTF-8";
+    private static final String HTML = "text/html; charset=UTF-8";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 1000;
+    
+    private final Map<String, String> users;
+    private volatile StubCatalog catalog = StubCatalog.createDefault();
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> enrollments = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> completedLessons = new ConcurrentHashMap<>();
+    private final List<Route> routes = new ArrayList<>();
+    private final Random random = new Random(42);
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger peakActiveRequests = new AtomicInteger();
+    
+    private volatile long latencyMillis;
+    private volatile long latencyJitterMillis;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private double rateLimit;
+    private int rateLimitBurst;
+    private double rateLimitTokens;
+    private long rateLimitRefilledAt;
+    
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * Creates a stub server that accepts the given users
+     *
+     * @param users passwords keyed by username
+     */
+    public EduLearnStubServer(Map<String, String> users) {
+        this.users = Collections.unmodifiableMap(new HashMap<>(users));
+        
+        // API
+        route("POST", "/api/auth/login", this::apiLogin);
+        route("POST", "/api/auth/logout", this::apiLogout);
+        route("GET", "/api/courses", this::apiCourses);
+        route("GET", "/api/courses/search", this::apiSearch);
+        route("GET", "/api/courses/enrolled", this::apiEnrolled);
+        route("GET", "/api/courses/([^/]+)", this::apiCourse);
+        route("POST", "/api/courses/([^/]+)/enroll", this::apiEnroll);
+        route("GET", "/api/courses/([^/]+)/progress", this::apiProgress);
+        route("POST", "/api/courses/([^/]+)/progress", this::apiUpdateProgress);
+        route("POST", "/api/courses/([^/]+)/progress/batch", this::apiUpdateProgressBatch);
+        route("GET", "/api/courses/([^/]+)/lessons", this::apiLessons);
+        route("GET", "/api/courses/([^/]+)/lessons/([^/]+)", this::apiLesson);
+        
+        // Web pages
+        route("GET", "/", (exchange, path) -> redirect(exchange, "/login", null));
+        route("GET", "/login", (exchange, path) -> sendHtml(exchange, 200, StubPages.login(null)));
+        route("POST", "/login", this::pageLogin);
+        route("GET", "/logout", this::pageLogout);
+        route("GET", "/dashboard", this::pageDashboard);
+        route("GET", "/search", this::pageSearch);
+        route("GET", "/courses/([^/]+)", this::pageCourse);
+        route("POST", "/courses/([^/]+)/enroll", this::pageEnroll);
+        route("GET", "/courses/([^/]+)/lessons/([^/]+)", this::pageLesson);
+        route("POST", "/courses/([^/]+)/lessons/([^/]+)/complete", this::pageCompleteLesson);
+    }
+    
+    /**
+     * Pads the catalog with generated courses, e.g. to exercise pagination on large catalogs
+     *
+     * @param size total number of courses; sizes up to the default catalog keep the default catalog
+     * @return this server
+     */
+    public EduLearnStubServer withCatalogSize(int size) {
+        this.catalog = StubCatalog.create(size);
+        return this;
+    }
+    
+    /**
+     * Sets the delay added to every response
+     *
+     * @param fixedMillis fixed delay in milliseconds
+     * @param jitterMillis maximum random extra delay in milliseconds
+     * @return this server
+     */
+    public EduLearnStubServer withLatency(long fixedMillis, long jitterMillis) {
+        this.latencyMillis = Math.max(0, fixedMillis);
+        this.latencyJitterMillis = Math.max(0, jitterMillis);
+        return this;
+    }
+    
+    /**
+     * Sets the share of requests answered with an injected error
+     *
+     * @param rate fraction of requests to fail, from 0 to 1
+     * @param status HTTP status returned for injected errors
+     * @return this server
+     */
+    public EduLearnStubServer withErrorInjection(double rate, int status) {
+        this.errorRate = Math.min(1.0, Math.max(0.0, rate));
+        this.errorStatus = status;
+        return this;
+    }
+    
+    /**
+     * Limits API requests like a throttling gateway: requests beyond the token bucket
+     * are answered with 429 and a Retry-After header in whole seconds
+     *
+     * @param requestsPerSecond sustained rate, 0 to disable the limit
+     * @param burst requests accepted at once when the bucket is full
+     * @return this server
+     */
+    public synchronized EduLearnStubServer withRateLimit(double requestsPerSecond, int burst) {
+        this.rateLimit = Math.max(0, requestsPerSecond);
+        this.rateLimitBurst = Math.max(1, burst);
+        this.rateLimitTokens = rateLimitBurst;
+        this.rateLimitRefilledAt = System.nanoTime();
+        return this;
+    }
+    
+    /**
+     * Seeds the generator used for latency jitter and error injection
+     *
+     * @param seed random seed
+     * @return this server
+     */
+    public EduLearnStubServer withSeed(long seed) {
+        random.setSeed(seed);
+        return this;
+    }
+    
+    /**
+     * Starts the server on the loopback interface
+     *
+     * @param port port to listen on, 0 for any free port
+     * @return this server
+     */
+    public synchronized EduLearnStubServer start(int port) {
+        if (server != null) {
+            return this;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start stub server on port " + port, e);
+        }
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Unbounded so injected latency delays responses without limiting concurrency
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "edulearn-stub-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("EduLearn stub server started at {}", getBaseUrl());
+        return this;
+    }
+    
+    /**
+     * Stops the server
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+            logger.info("EduLearn stub server stopped after {} requests", requestCount.get());
+        }
+    }
+    
+    /**
+     * Gets the URL the server listens on
+     *
+     * @return base URL, e.g. http://127.0.0.1:54321
+     */
+    public synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Stub server is not running");
+        }
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+    
+    /**
+     * Gets the number of requests received since start
+     *
+     * @return request count
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+    
+    /**
+     * Gets the number of requests answered with an injected error
+     *
+     * @return injected error count
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.get();
+    }
+    
+    /**
+     * Gets the number of API requests rejected by the rate limit
+     *
+     * @return rate-limited request count
+     */
+    public long getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+    
+    /**
+     * Gets the largest number of requests handled at the same time
+     *
+     * @return peak concurrent requests
+     */
+    public int getPeakConcurrentRequests() {
+        return peakActiveRequests.get();
+    }
+    
+    private void route(String method, String pathPattern, Handler handler) {
+        routes.add(new Route(method, Pattern.compile(pathPattern), handler));
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        int active = activeRequests.incrementAndGet();
+        peakActiveRequests.accumulateAndGet(active, Math::max);
+        try {
+            requestCount.incrementAndGet();
+            
+            long retryAfterSeconds = exchange.getRequestURI().getPath().startsWith("/api/") ? takeRateLimitToken() : 0;
+            if (retryAfterSeconds > 0) {
+                rateLimitedCount.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+                sendJson(exchange, 429, error("Rate limit exceeded"));
+                return;
+            }
+            injectLatency();
+            
+            if (shouldInjectError()) {
+                injectedErrorCount.incrementAndGet();
+                sendJson(exchange, errorStatus, error("Injected failure"));
+                return;
+            }
+            
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            boolean pathMatched = false;
+            for (Route route : routes) {
+                Matcher matcher = route.pattern.matcher(path);
+                if (matcher.matches()) {
+                    pathMatched = true;
+                    if (route.method.equals(method)) {
+                        route.handler.handle(exchange, matcher);
+                        return;
+                    }
+                }
+            }
+            if (pathMatched) {
+                sendJson(exchange, 405, error("Method not allowed"));
+            } else {
+                sendJson(exchange, 404, error("Not found: " + path));
+            }
+        } catch (Exception e) {
+            logger.error("Stub server failed to handle {} {}", exchange.getRequestMethod(),
+                    exchange.getRequestURI(), e);
+            if (exchange.getResponseCode() < 0) {
+                sendJson(exchange, 500, error("Internal error"));
+            }
+        } finally {
+            activeRequests.decrementAndGet();
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Takes a token from the rate limit bucket
+     *
+     * @return 0 if the request is accepted, otherwise the seconds until a token is available
+     */
+    private synchronized long takeRateLimitToken() {
+        if (rateLimit <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        rateLimitTokens = Math.min(rateLimitBurst, rateLimitTokens + (now - rateLimitRefilledAt) * rateLimit / 1e9);
+        rateLimitRefilledAt = now;
+        if (rateLimitTokens >= 1) {
+            rateLimitTokens--;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - rateLimitTokens) / rateLimit));
+    }
+    
+    private void injectLatency() {
+        long delay = latencyMillis;
+        long jitter = latencyJitterMillis;
+        if (jitter > 0) {
+            delay += (long) (random.nextDouble() * (jitter + 1));
+        }
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private boolean shouldInjectError() {
+        double rate = errorRate;
+        return rate > 0 && random.nextDouble() < rate;
+    }
+    
+    private void apiLogin(HttpExchange exchange, Matcher path) throws IOException {
+        Map<String, Object> body = readJson(exchange);
+        String username = asString(body.get("username"));
+        if (!isValidUser(username, asString(body.get("password")))) {
+            sendJson(exchange, 401, error("Invalid username or password"));
+            return;
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("token", createSession(username));
+        response.put("username", username);
+        sendJson(exchange, 200, response);
+    }
+    
+    private void apiLogout(HttpExchange exchange, Matcher path) throws IOException {
+        String token = bearerToken(exchange);
+        if (token == null || sessions.remove(token) == null) {
+            sendJson(exchange, 401, error("Not authenticated"));
+            return;
+        }
+        sendJson(exchange, 200, message("Logged out"));
+    }
+    
+    private void apiCourses(HttpExchange exchange, Matcher path) throws IOException {
+        sendJson(exchange, 200, courseList(catalog.getCourses(), exchange));
+    }
+    
+    private void apiSearch(HttpExchange exchange, Matcher path) throws IOException {
+        String keyword = parseQuery(exchange.getRequestURI().getRawQuery()).get("q");
+        sendJson(exchange, 200, courseList(catalog.search(keyword), exchange));
+    }
+    
+    private void apiEnrolled(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requireApiUser(exchange);
+        if (user == null) {
+            return;
+        }
+        List<Course> enrolled = new ArrayList<>();
+        Set<String> courseIds = enrollments.getOrDefault(user, Collections.emptySet());
+        for (Course course : catalog.getCourses()) {
+            if (courseIds.contains(course.getId())) {
+                enrolled.add(course);
+            }
+        }
+        sendJson(exchange, 200, courseList(enrolled, exchange));
+    }
+    
+    private void apiCourse(HttpExchange exchange, Matcher path) throws IOException {
+        Course course = requireCourse(exchange, path.group(1));
+        if (course != null) {
+            sendJson(exchange, 200, course.toDetail());
+        }
+    }
+    
+    private void apiEnroll(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requireApiUser(exchange);
+        Course course = user != null ? requireCourse(exchange, path.group(1)) : null;
+        if (course == null) {
+            return;
+        }
+        enroll(user, course);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("courseId", course.getId());
+        response.put("enrolled", true);
+        sendJson(exchange, 200, response);
+    }
+    
+    private void apiProgress(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requireApiUser(exchange);
+        Course course = user != null ? requireCourse(exchange, path.group(1)) : null;
+        if (course != null) {
+            sendJson(exchange, 200, progress(user, course));
+        }
+    }
+    
+    private void apiUpdateProgress(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requireApiUser(exchange);
+        Course course = user != null ? requireCourse(exchange, path.group(1)) : null;
+        if (course == null) {
+            return;
+        }
+        Map<String, Object> body = readJson(exchange);
+        String lessonId = asString(body.get("lessonId"));
+        if (lessonId == null || course.getLesson(lessonId) == null) {
+            sendJson(exchange, 400, error("Unknown lesson: " + lessonId));
+            return;
+        }
+        setLessonCompleted(user, course, lessonId, !Boolean.FALSE.equals(body.get("completed")));
+        sendJson(exchange, 200, progress(user, course));
+    }
+    
+    /**
+     * Applies several lesson updates at once. Valid updates are applied in order; unknown
+     * lessons are listed under "rejected" with a reason instead of failing the batch.
+     */
+    private void apiUpdateProgressBatch(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requireApiUser(exchange);
+        Course course = user != null ? requireCourse(exchange, path.group(1)) : null;
+        if (course == null) {
+            return;
+        }
+        Object updates = readJson(exchange).get("updates");
+        if (!(updates instanceof List)) {
+            sendJson(exchange, 400, error("Expected an updates array"));
+            return;
+        }
+        Map<String, Object> rejected = new LinkedHashMap<>();
+        for (Object item : (List<?>) updates) {
+            Map<?, ?> update = item instanceof Map ? (Map<?, ?>) item : Collections.emptyMap();
+            String lessonId = asString(update.get("lessonId"));
+            if (lessonId == null || course.getLesson(lessonId) == null) {
+                rejected.put(String.valueOf(lessonId), "Unknown lesson: " + lessonId);
+                continue;
+            }
+            setLessonCompleted(user, course, lessonId, !Boolean.FALSE.equals(update.get("completed")));
+        }
+        Map<String, Object> response = progress(user, course);
+        response.put("rejected", rejected);
+        sendJson(exchange, 200, response);
+    }
+    
+    private void apiLessons(HttpExchange exchange, Matcher path) throws IOException {
+        Course course = requireCourse(exchange, path.group(1));
+        if (course == null) {
+            return;
+        }
+        List<Map<String, Object>> lessons = new ArrayList<>();
+        List<Lesson> courseLessons = course.getLessons();
+        for (int i = 0; i < courseLessons.size(); i++) {
+            lessons.add(courseLessons.get(i).toSummary(i + 1));
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("courseId", course.getId());
+        response.put("lessons", lessons);
+        response.put("total", lessons.size());
+        sendJson(exchange, 200, response);
+    }
+    
+    private void apiLesson(HttpExchange exchange, Matcher path) throws IOException {
+        Course course = requireCourse(exchange, path.group(1));
+        if (course == null) {
+            return;
+        }
+        int index = lessonIndex(course, path.group(2));
+        if (index < 0) {
+            sendJson(exchange, 404, error("Lesson not found: " + path.group(2)));
+            return;
+        }
+        sendJson(exchange, 200, course.getLessons().get(index).toDetail(course.getId(), index + 1));
+    }
+    
+    private void pageLogin(HttpExchange exchange, Matcher path) throws IOException {
+        Map<String, String> form = parseQuery(new String(readBody(exchange), StandardCharsets.UTF_8));
+        String username = form.get("username");
+        if (!isValidUser(username, form.get("password"))) {
+            sendHtml(exchange, 200, StubPages.login("Invalid username or password"));
+            return;
+        }
+        String token = createSession(username);
+        redirect(exchange, "/dashboard", SESSION_COOKIE + "=" + token + "; Path=/; HttpOnly");
+    }
+    
+    private void pageLogout(HttpExchange exchange, Matcher path) throws IOException {
+        String token = sessionCookie(exchange);
+        if (token != null) {
+            sessions.remove(token);
+        }
+        redirect(exchange, "/login", SESSION_COOKIE + "=; Path=/; Max-Age=0");
+    }
+    
+    private void pageDashboard(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requirePageUser(exchange);
+        if (user != null) {
+            sendHtml(exchange, 200, StubPages.dashboard(user, catalog.getCourses()));
+        }
+    }
+    
+    private void pageSearch(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requirePageUser(exchange);
+        if (user == null) {
+            return;
+        }
+        String keyword = parseQuery(exchange.getRequestURI().getRawQuery()).getOrDefault("q", "");
+        sendHtml(exchange, 200, StubPages.searchResults(user, keyword, catalog.search(keyword)));
+    }
+    
+    private void pageCourse(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requirePageUser(exchange);
+        Course course = user != null ? requireCourse(exchange, path.group(1)) : null;
+        if (course == null) {
+            return;
+        }
+        boolean enrolled = enrollments.getOrDefault(user, Collections.emptySet()).contains(course.getId());
+        sendHtml(exchange, 200, StubPages.course(user, course, enrolled, completed(user, course)));
+    }
+    
+    private void pageEnroll(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requirePageUser(exchange);
+        Course course = user != null ? requireCourse(exchange, path.group(1)) : null;
+        if (course != null) {
+            enroll(user, course);
+            redirect(exchange, "/courses/" + course.getId(), null);
+        }
+    }
+    
+    private void pageLesson(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requirePageUser(exchange);
+        Course course = user != null ? requireCourse(exchange, path.group(1)) : null;
+        if (course == null) {
+            return;
+        }
+        int index = lessonIndex(course, path.group(2));
+        if (index < 0) {
+            sendJson(exchange, 404, error("Lesson not found: " + path.group(2)));
+            return;
+        }
+        sendHtml(exchange, 200, StubPages.lesson(user, course, index));
+    }
+    
+    private void pageCompleteLesson(HttpExchange exchange, Matcher path) throws IOException {
+        String user = requirePageUser(exchange);
+        Course course = user != null ? requireCourse(exchange, path.group(1)) : null;
+        if (course == null) {
+            return;
+        }
+        String lessonId = path.group(2);
+        if (course.getLesson(lessonId) == null) {
+            sendJson(exchange, 404, error("Lesson not found: " + lessonId));
+            return;
+        }
+        setLessonCompleted(user, course, lessonId, true);
+        redirect(exchange, "/courses/" + course.getId() + "/lessons/" + lessonId, null);
+    }
+    
+    private boolean isValidUser(String username, String password) {
+        return username != null && password != null && password.equals(users.get(username));
+    }
+    
+    private String createSession(String username) {
+        String token = UUID.randomUUID().toString();
+        sessions.put(token, username);
+        return token;
+    }
+    
+    private void enroll(String user, Course course) {
+        enrollments.computeIfAbsent(user, key -> ConcurrentHashMap.newKeySet()).add(course.getId());
+    }
+    
+    private Set<String> completed(String user, Course course) {
+        return completedLessons.getOrDefault(user + "|" + course.getId(), Collections.emptySet());
+    }
+    
+    private void setLessonCompleted(String user, Course course, String lessonId, boolean isCompleted) {
+        enroll(user, course);
+        Set<String> lessons = completedLessons.computeIfAbsent(user + "|" + course.getId(),
+                key -> ConcurrentHashMap.newKeySet());
+        if (isCompleted) {
+            lessons.add(lessonId);
+        } else {
+            lessons.remove(lessonId);
+        }
+    }
+    
+    private Map<String, Object> progress(String user, Course course) {
+        List<String> completedIds = new ArrayList<>();
+        Set<String> completedSet = completed(user, course);
+        for (Lesson lesson : course.getLessons()) {
+            if (completedSet.contains(lesson.getId())) {
+                completedIds.add(lesson.getId());
+            }
+        }
+        int total = course.getLessons().size();
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("courseId", course.getId());
+        progress.put("completedLessons", completedIds);
+        progress.put("completedCount", completedIds.size());
+        progress.put("totalLessons", total);
+        progress.put("percentage", StubPages.percentage(completedIds.size(), total));
+        return progress;
+    }
+    
+    private static int lessonIndex(Course course, String lessonId) {
+        List<Lesson> lessons = course.getLessons();
+        for (int i = 0; i < lessons.size(); i++) {
+            if (lessons.get(i).getId().equals(lessonId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Builds a course list response. With page or size query parameters only that page
+     * is returned, with 1-based page numbers, along with page, size and totalPages.
+     */
+    private static Map<String, Object> courseList(List<Course> courses, HttpExchange exchange) {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        boolean paged = query.containsKey("page") || query.containsKey("size");
+        int size = paged ? Math.max(1, Math.min(MAX_PAGE_SIZE, parseInt(query.get("size"), DEFAULT_PAGE_SIZE))) : 0;
+        int page = paged ? Math.max(1, parseInt(query.get("page"), 1)) : 1;
+        
+        List<Course> selected = courses;
+        if (paged) {
+            int from = (int) Math.min(courses.size(), (long) (page - 1) * size);
+            selected = courses.subList(from, Math.min(courses.size(), from + size));
+        }
+        
+        List<Map<String, Object>> summaries = new ArrayList<>(selected.size());
+        for (Course course : selected) {
+            summaries.add(course.toSummary());
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("courses", summaries);
+        response.put("total", courses.size());
+        if (paged) {
+            response.put("page", page);
+            response.put("size", size);
+            response.put("totalPages", (courses.size() + size - 1) / size);
+        }
+        return response;
+    }
+    
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
+    private String requireApiUser(HttpExchange exchange) throws IOException {
+        String token = bearerToken(exchange);
+        String user = token != null ? sessions.get(token) : null;
+        if (user == null) {
+            sendJson(exchange, 401, error("Not authenticated"));
+        }
+        return user;
+    }
+    
+    private String requirePageUser(HttpExchange exchange) throws IOException {
+        String token = sessionCookie(exchange);
+        String user = token != null ? sessions.get(token) : null;
+        if (user == null) {
+            redirect(exchange, "/login", null);
+        }
+        return user;
+    }
+    
+    private Course requireCourse(HttpExchange exchange, String courseId) throws IOException {
+        Course course = catalog.getCourse(courseId);
+        if (course == null) {
+            sendJson(exchange, 404, error("Course not found: " + courseId));
+        }
+        return course;
+    }
+    
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring("Bearer ".length()).trim();
+        }
+        return null;
+    }
+    
+    private static String sessionCookie(HttpExchange exchange) {
+        List<String> cookieHeaders = exchange.getRequestHeaders().get("Cookie");
+        if (cookieHeaders == null) {
+            return null;
+        }
+        for (String header : cookieHeaders) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && SESSION_COOKIE.equals(pair[0]) && !pair[1].isEmpty()) {
+                    return pair[1];
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return in.readAllBytes();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readJson(HttpExchange exchange) throws IOException {
+        byte[] body = readBody(exchange);
+        if (body.length == 0) {
+            return Collections.emptyMap();
+        }
+        Object parsed = mapper.readValue(body, Object.class);
+        return parsed instanceof Map ? (Map<String, Object>) parsed : Collections.emptyMap();
+    }
+    
+    static Map<String, String> parseQuery(String query) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return values;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator >= 0 ? pair.substring(0, separator) : pair;
+            String value = separator >= 0 ? pair.substring(separator + 1) : "";
+            values.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+    
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+    
+    private static Map<String, Object> error(String message) {
+        return Collections.singletonMap("error", message);
+    }
+    
+    private static Map<String, Object> message(String message) {
+        return Collections.singletonMap("message", message);
+    }
+    
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, JSON, mapper.writeValueAsBytes(body));
+    }
+    
+    private static void sendHtml(HttpExchange exchange, int status, String html) throws IOException {
+        send(exchange, status, HTML, html.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static void redirect(HttpExchange exchange, String location, String cookie) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        if (cookie != null) {
+            exchange.getResponseHeaders().add("Set-Cookie", cookie);
+        }
+        exchange.sendResponseHeaders(303, -1);
+    }
+    
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    /**
+     * Handles a request whose path matched a route pattern
+     */
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange, Matcher path) throws IOException;
+    }
+    
+    /**
+     * Method and path pattern mapped to a handler
+     */
+    private static final class Route {
+        
+        private final String method;
+        private final Pattern pattern;
+        private final Handler handler;
+        
+        Route(String method, Pattern pattern, Handler handler) {
+            this.method = method;
+            this.pattern = pattern;
+            this.handler = handler;
+        }
+    }
+}
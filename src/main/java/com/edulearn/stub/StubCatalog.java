@@ -0,0 +1,300 @@
+package com.edulearn.stub;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read-only course catalog served by the stub server
+ */
+final class StubCatalog {
+    
+    private final Map<String, Course> courses;
+    
+    private StubCatalog(List<Course> courses) {
+        Map<String, Course> byId = new LinkedHashMap<>();
+        for (Course course : courses) {
+            byId.put(course.getId(), course);
+        }
+        this.courses = Collections.unmodifiableMap(byId);
+    }
+    
+    /**
+     * Creates the default catalog
+     *
+     * @return catalog with a handful of programming courses
+     */
+    static StubCatalog createDefault() {
+        List<Course> courses = new ArrayList<>();
+        courses.add(course("101", "Java Programming Fundamentals",
+                "Learn Java syntax, object-oriented design and the standard library.",
+                "Alice Johnson", 4.7, "Getting Started", "Classes and Objects", "Collections"));
+        courses.add(course("102", "Advanced Java Programming",
+                "Concurrency, streams and performance tuning for experienced Java developers.",
+                "Bob Smith", 4.5, "Concurrency", "Streams", "Performance"));
+        courses.add(course("103", "Python Programming for Beginners",
+                "A gentle introduction to Python and programming in general.",
+                "Carol White", 4.8, "Basics", "Functions", "Modules"));
+        courses.add(course("104", "Web Development with JavaScript",
+                "Build interactive web pages with JavaScript, HTML and CSS.",
+                "David Brown", 4.4, "HTML and CSS", "JavaScript Basics", "The DOM"));
+        courses.add(course("105", "Test Automation with Selenium",
+                "Page objects, waits and reporting for reliable UI test suites.",
+                "Eve Davis", 4.6, "WebDriver", "Page Objects", "Reporting"));
+        courses.add(course("106", "Data Science Essentials",
+                "Statistics, data cleaning and visualization with real data sets.",
+                "Frank Miller", 4.3, "Statistics", "Data Cleaning", "Visualization"));
+        return new StubCatalog(courses);
+    }
+    
+    /**
+     * Creates the default catalog, padded with generated courses up to the given size
+     *
+     * @param size total number of courses, at least the default catalog
+     * @return catalog with size courses
+     */
+    static StubCatalog create(int size) {
+        List<Course> courses = createDefault().getCourses();
+        String[] topics = {"Java", "Python", "JavaScript", "Selenium", "Data"};
+        for (int i = courses.size() + 1; i <= size; i++) {
+            String topic = topics[i % topics.length];
+            courses.add(course(String.valueOf(100 + i), topic + " Workshop " + i,
+                    "Hands-on " + topic + " exercises, session " + i + ".",
+                    "Instructor " + (i % 7), 4.0 + (i % 10) / 10.0, "Warm-up", "Exercises", "Review"));
+        }
+        return new StubCatalog(courses);
+    }
+    
+    private static Course course(String id, String title, String description, String instructor,
+                                 double rating, String... moduleTitles) {
+        List<Module> modules = new ArrayList<>();
+        for (int m = 0; m < moduleTitles.length; m++) {
+            List<Lesson> lessons = new ArrayList<>();
+            for (int l = 1; l <= 2; l++) {
+                String lessonId = id + "-" + (m + 1) + "-" + l;
+                String lessonTitle = moduleTitles[m] + " - Part " + l;
+                lessons.add(new Lesson(lessonId, lessonTitle,
+                        "Lesson content for " + lessonTitle + ".", 10 + (m * 2 + l) * 3));
+            }
+            modules.add(new Module(id + "-" + (m + 1), moduleTitles[m], lessons));
+        }
+        return new Course(id, title, description, instructor, rating, modules);
+    }
+    
+    /**
+     * Gets all courses in catalog order
+     *
+     * @return courses
+     */
+    List<Course> getCourses() {
+        return new ArrayList<>(courses.values());
+    }
+    
+    /**
+     * Gets a course by ID
+     *
+     * @param id course ID
+     * @return course or null if not found
+     */
+    Course getCourse(String id) {
+        return courses.get(id);
+    }
+    
+    /**
+     * Finds courses whose title or description contains the keyword, ignoring case
+     *
+     * @param keyword search keyword
+     * @return matching courses in catalog order
+     */
+    List<Course> search(String keyword) {
+        List<Course> matches = new ArrayList<>();
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return matches;
+        }
+        String needle = keyword.trim().toLowerCase(Locale.ROOT);
+        for (Course course : courses.values()) {
+            if (course.getTitle().toLowerCase(Locale.ROOT).contains(needle)
+                    || course.getDescription().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(course);
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * Course with its modules and lessons
+     */
+    static final class Course {
+        
+        private final String id;
+        private final String title;
+        private final String description;
+        private final String instructor;
+        private final double rating;
+        private final List<Module> modules;
+        private final List<Lesson> lessons;
+        
+        Course(String id, String title, String description, String instructor, double rating,
+               List<Module> modules) {
+            this.id = id;
+            this.title = title;
+            this.description = description;
+            this.instructor = instructor;
+            this.rating = rating;
+            this.modules = Collections.unmodifiableList(modules);
+            List<Lesson> allLessons = new ArrayList<>();
+            for (Module module : modules) {
+                allLessons.addAll(module.getLessons());
+            }
+            this.lessons = Collections.unmodifiableList(allLessons);
+        }
+        
+        String getId() {
+            return id;
+        }
+        
+        String getTitle() {
+            return title;
+        }
+        
+        String getDescription() {
+            return description;
+        }
+        
+        String getInstructor() {
+            return instructor;
+        }
+        
+        double getRating() {
+            return rating;
+        }
+        
+        List<Module> getModules() {
+            return modules;
+        }
+        
+        List<Lesson> getLessons() {
+            return lessons;
+        }
+        
+        Lesson getLesson(String lessonId) {
+            for (Lesson lesson : lessons) {
+                if (lesson.getId().equals(lessonId)) {
+                    return lesson;
+                }
+            }
+            return null;
+        }
+        
+        Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("id", id);
+            summary.put("title", title);
+            summary.put("description", description);
+            summary.put("instructor", instructor);
+            summary.put("rating", rating);
+            summary.put("lessonCount", lessons.size());
+            return summary;
+        }
+        
+        Map<String, Object> toDetail() {
+            Map<String, Object> detail = toSummary();
+            List<Map<String, Object>> moduleList = new ArrayList<>();
+            for (Module module : modules) {
+                Map<String, Object> moduleMap = new LinkedHashMap<>();
+                moduleMap.put("id", module.getId());
+                moduleMap.put("title", module.getTitle());
+                List<String> lessonIds = new ArrayList<>();
+                for (Lesson lesson : module.getLessons()) {
+                    lessonIds.add(lesson.getId());
+                }
+                moduleMap.put("lessons", lessonIds);
+                moduleList.add(moduleMap);
+            }
+            detail.put("modules", moduleList);
+            return detail;
+        }
+    }
+    
+    /**
+     * Group of lessons within a course
+     */
+    static final class Module {
+        
+        private final String id;
+        private final String title;
+        private final List<Lesson> lessons;
+        
+        Module(String id, String title, List<Lesson> lessons) {
+            this.id = id;
+            this.title = title;
+            this.lessons = Collections.unmodifiableList(lessons);
+        }
+        
+        String getId() {
+            return id;
+        }
+        
+        String getTitle() {
+            return title;
+        }
+        
+        List<Lesson> getLessons() {
+            return lessons;
+        }
+    }
+    
+    /**
+     * Single lesson
+     */
+    static final class Lesson {
+        
+        private final String id;
+        private final String title;
+        private final String content;
+        private final int durationMinutes;
+        
+        Lesson(String id, String title, String content, int durationMinutes) {
+            this.id = id;
+            this.title = title;
+            this.content = content;
+            this.durationMinutes = durationMinutes;
+        }
+        
+        String getId() {
+            return id;
+        }
+        
+        String getTitle() {
+            return title;
+        }
+        
+        String getContent() {
+            return content;
+        }
+        
+        int getDurationMinutes() {
+            return durationMinutes;
+        }
+        
+        Map<String, Object> toSummary(int order) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("id", id);
+            summary.put("title", title);
+            summary.put("order", order);
+            summary.put("durationMinutes", durationMinutes);
+            return summary;
+        }
+        
+        Map<String, Object> toDetail(String courseId, int order) {
+            Map<String, Object> detail = toSummary(order);
+            detail.put("courseId", courseId);
+            detail.put("content", content);
+            detail.put("videoUrl", "/videos/" + id + ".mp4");
+            return detail;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.edulearn.stub;
+
+import com.edulearn.stub.StubCatalog.Course;
+import com.edulearn.stub.StubCatalog.Lesson;
+import com.edulearn.stub.StubCatalog.Module;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Renders the stub web pages with the element ids and class names the page objects use.
+ * Pages are plain HTML forms and links, so they work without JavaScript.
+ */
+final class StubPages {
+    
+    private StubPages() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Renders the login page
+     *
+     * @param error error message to show, or null
+     * @return HTML page
+     */
+    static String login(String error) {
+        StringBuilder body = new StringBuilder();
+        body.append("<h1>Sign in to EduLearn</h1>\n");
+        if (error != null) {
+            body.append("<div class=\"error-message\">").append(escape(error)).append("</div>\n");
+        }
+        body.append("<form method=\"post\" action=\"/login\">\n")
+                .append("<input type=\"text\" id=\"username\" name=\"username\" placeholder=\"Username\">\n")
+                .append("<input type=\"password\" id=\"password\" name=\"password\" placeholder=\"Password\">\n")
+                .append("<button type=\"submit\" id=\"loginButton\">Log in</button>\n")
+                .append("</form>\n")
+                .append("<a id=\"forgotPasswordLink\" href=\"/login\">Forgot password?</a>\n")
+                .append("<a id=\"registerLink\" href=\"/login\">Register</a>\n");
+        return page("Login", body);
+    }
+    
+    /**
+     * Renders the dashboard
+     *
+     * @param username signed-in user
+     * @param courses courses to show
+     * @return HTML page
+     */
+    static String dashboard(String username, List<Course> courses) {
+        StringBuilder body = new StringBuilder();
+        body.append(header(username))
+                .append("<h1 id=\"welcome-message\">Welcome, ").append(escape(username)).append("</h1>\n")
+                .append("<form method=\"get\" action=\"/search\">\n")
+                .append("<input type=\"text\" id=\"search-course\" name=\"q\" placeholder=\"Search courses\">\n")
+                .append("<button type=\"submit\" id=\"search-button\">Search</button>\n")
+                .append("</form>\n")
+                .append("<div id=\"courses-container\">\n");
+        for (Course course : courses) {
+            body.append("<a class=\"course-card\" href=\"/courses/").append(course.getId()).append("\">")
+                    .append("<span class=\"course-title\">").append(escape(course.getTitle())).append("</span> ")
+                    .append("<span class=\"course-instructor\">").append(escape(course.getInstructor()))
+                    .append("</span></a>\n");
+        }
+        body.append("</div>\n");
+        return page("Dashboard", body);
+    }
+    
+    /**
+     * Renders search results
+     *
+     * @param username signed-in user
+     * @param keyword search keyword
+     * @param results matching courses
+     * @return HTML page
+     */
+    static String searchResults(String username, String keyword, List<Course> results) {
+        StringBuilder body = new StringBuilder();
+        body.append(header(username))
+                .append("<a id=\"back-to-dashboard\" href=\"/dashboard\">Back to dashboard</a>\n")
+                .append("<h1 id=\"search-keyword\">Search results for \"").append(escape(keyword)).append("\"</h1>\n")
+                .append("<p id=\"search-results-count\">").append(results.size()).append(" results found</p>\n")
+                .append("<select id=\"filter-dropdown\"><option>All</option><option>Free</option>")
+                .append("<option>Paid</option></select>\n")
+                .append("<select id=\"sort-dropdown\"><option>Relevance</option><option>Rating</option>")
+                .append("<option>Title</option></select>\n");
+        if (results.isEmpty()) {
+            body.append("<p id=\"no-results-message\">No courses found for \"").append(escape(keyword))
+                    .append("\"</p>\n");
+        }
+        for (Course course : results) {
+            body.append("<a class=\"search-result-item\" href=\"/courses/").append(course.getId()).append("\">")
+                    .append(escape(course.getTitle())).append("</a>\n");
+        }
+        return page("Search Results", body);
+    }
+    
+    /**
+     * Renders a course page
+     *
+     * @param username signed-in user
+     * @param course course to show
+     * @param enrolled whether the user is enrolled
+     * @param completedLessons IDs of completed lessons
+     * @return HTML page
+     */
+    static String course(String username, Course course, boolean enrolled, Set<String> completedLessons) {
+        int percentage = percentage(completedLessons.size(), course.getLessons().size());
+        StringBuilder body = new StringBuilder();
+        body.append(header(username))
+                .append("<a id=\"back-to-dashboard\" href=\"/dashboard\">Back to dashboard</a>\n")
+                .append("<h1 id=\"course-title\">").append(escape(course.getTitle())).append("</h1>\n")
+                .append("<p id=\"course-description\">").append(escape(course.getDescription())).append("</p>\n")
+                .append("<p id=\"instructor-name\">").append(escape(course.getInstructor())).append("</p>\n")
+                .append("<span id=\"rating\">").append(course.getRating()).append("</span>\n");
+        
+        String firstLesson = "/courses/" + course.getId() + "/lessons/" + course.getLessons().get(0).getId();
+        if (!enrolled) {
+            body.append("<form method=\"post\" action=\"/courses/").append(course.getId()).append("/enroll\">")
+                    .append("<button type=\"submit\" id=\"enroll-button\">Enroll</button></form>\n");
+        } else if (completedLessons.isEmpty()) {
+            body.append("<a id=\"start-course-button\" href=\"").append(firstLesson).append("\">Start course</a>\n");
+        } else {
+            body.append("<span id=\"course-progress\">").append(percentage).append("%</span>\n")
+                    .append("<a id=\"resume-course-button\" href=\"").append(firstLesson)
+                    .append("\">Resume course</a>\n");
+        }
+        
+        body.append("<ul id=\"module-list\">\n");
+        for (Module module : course.getModules()) {
+            Lesson lesson = module.getLessons().get(0);
+            body.append("<li class=\"module-item\"><a href=\"/courses/").append(course.getId())
+                    .append("/lessons/").append(lesson.getId()).append("\">")
+                    .append(escape(module.getTitle())).append("</a></li>\n");
+        }
+        body.append("</ul>\n");
+        return page(course.getTitle(), body);
+    }
+    
+    /**
+     * Renders a lesson page
+     *
+     * @param username signed-in user
+     * @param course course the lesson belongs to
+     * @param index index of the lesson within the course
+     * @return HTML page
+     */
+    static String lesson(String username, Course course, int index) {
+        List<Lesson> lessons = course.getLessons();
+        Lesson lesson = lessons.get(index);
+        String coursePath = "/courses/" + course.getId();
+        StringBuilder body = new StringBuilder();
+        body.append(header(username))
+                .append("<a id=\"back-to-course-button\" href=\"").append(coursePath).append("\">Back to course</a>\n")
+                .append("<h1 id=\"lesson-title\">").append(escape(lesson.getTitle())).append("</h1>\n")
+                .append("<div id=\"video-player\"><button type=\"button\" id=\"play-button\">Play</button>")
+                .append("<button type=\"button\" id=\"pause-button\">Pause</button></div>\n")
+                .append("<div id=\"lesson-content\">").append(escape(lesson.getContent())).append("</div>\n")
+                .append("<textarea id=\"lesson-notes\" name=\"notes\"></textarea>\n")
+                .append("<button type=\"button\" id=\"save-notes-button\">Save notes</button>\n")
+                .append("<form method=\"post\" action=\"").append(coursePath).append("/lessons/")
+                .append(lesson.getId()).append("/complete\">")
+                .append("<button type=\"submit\" id=\"complete-lesson-button\">Mark as complete</button></form>\n");
+        if (index > 0) {
+            body.append("<a id=\"previous-lesson-button\" href=\"").append(coursePath).append("/lessons/")
+                    .append(lessons.get(index - 1).getId()).append("\">Previous</a>\n");
+        }
+        if (index < lessons.size() - 1) {
+            body.append("<a id=\"next-lesson-button\" href=\"").append(coursePath).append("/lessons/")
+                    .append(lessons.get(index + 1).getId()).append("\">Next</a>\n");
+        }
+        return page(lesson.getTitle(), body);
+    }
+    
+    /**
+     * Calculates a completion percentage
+     *
+     * @param completed completed lessons
+     * @param total total lessons
+     * @return percentage from 0 to 100
+     */
+    static int percentage(int completed, int total) {
+        return total == 0 ? 0 : completed * 100 / total;
+    }
+    
+    private static String header(String username) {
+        return "<nav><span id=\"notifications-icon\">&#128276;</span>\n"
+                + "<div id=\"profile-dropdown\">" + escape(username)
+                + " <a id=\"logout-button\" href=\"/logout\">Log out</a></div></nav>\n";
+    }
+    
+    private static String page(String title, CharSequence body) {
+        return "<!DOCTYPE html>\n<html lang=\"en\">\n<head><meta charset=\"UTF-8\"><title>"
+                + escape(title) + " - EduLearn</title></head>\n<body>\n" + body + "</body>\n</html>\n";
+    }
+    
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.edulearn.stub;
+
+import com.edulearn.core.ConfigChangeListener;
+import com.edulearn.core.ConfigManager;
+import com.edulearn.core.ConfigSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the embedded stub server when stub.enabled is set and points the
+ * framework at it with runtime overrides of base.url and api.base.url.
+ * {@link com.edulearn.core.TestListener} starts it at suite start and load runs at their start.
+ * Latency and error injection settings follow live configuration reloads.
+ */
+public class StubServerManager {
+    
+    private static final Logger logger = LogManager.getLogger(StubServerManager.class);
+    private static final List<String> URL_KEYS = Arrays.asList("base.url", "api.base.url");
+    private static final String USERNAME_SUFFIX = ".username";
+    private static final String PASSWORD_SUFFIX = ".password";
+    
+    private static EduLearnStubServer server;
+    private static ConfigChangeListener settingsListener;
+    
+    private StubServerManager() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Starts the stub server if stub.enabled is true and it is not running yet
+     *
+     * @return running stub server, or null if the stub is disabled
+     */
+    public static synchronized EduLearnStubServer startIfEnabled() {
+        if (server != null) {
+            return server;
+        }
+        ConfigManager configManager = ConfigManager.getInstance();
+        if (!configManager.getBooleanProperty("stub.enabled")) {
+            return null;
+        }
+        
+        ConfigSnapshot config = configManager.getSnapshot();
+        EduLearnStubServer stub = new EduLearnStubServer(collectUsers(config))
+                .withSeed(config.getInt("stub.seed", 42))
+                .withCatalogSize(config.getInt("stub.catalog.size", 0));
+        applySettings(stub, config);
+        stub.start(config.getInt("stub.port", 0));
+        server = stub;
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop, "edulearn-stub-shutdown"));
+        settingsListener = (previous, current) -> applySettings(stub, current);
+        configManager.addChangeListener(settingsListener);
+        
+        // Overrides have the highest precedence, so every URL lookup now resolves to the stub
+        String baseUrl = stub.getBaseUrl();
+        Map<String, String> urls = new HashMap<>();
+        for (String key : URL_KEYS) {
+            urls.put(key, baseUrl);
+        }
+        configManager.setOverrides(urls);
+        logger.info("Using EduLearn stub server at {}", baseUrl);
+        return stub;
+    }
+    
+    /**
+     * Gets the running stub server
+     *
+     * @return stub server, or null if not started
+     */
+    public static synchronized EduLearnStubServer getServer() {
+        return server;
+    }
+    
+    /**
+     * Stops the stub server and removes the URL overrides
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop();
+        server = null;
+        ConfigManager.getInstance().removeChangeListener(settingsListener);
+        settingsListener = null;
+        ConfigManager.getInstance().clearOverrides(URL_KEYS);
+    }
+    
+    /**
+     * Applies latency and error injection settings from the configuration
+     *
+     * @param stub stub server
+     * @param config configuration snapshot
+     */
+    private static void applySettings(EduLearnStubServer stub, ConfigSnapshot config) {
+        stub.withLatency(config.getInt("stub.latency.ms", 0), config.getInt("stub.latency.jitter.ms", 0));
+        stub.withErrorInjection(parseRate(config.get("stub.error.rate")), config.getInt("stub.error.status", 503));
+    }
+    
+    /**
+     * Collects the credentials configured as "name.username" and "name.password" pairs
+     *
+     * @param config configuration snapshot
+     * @return passwords keyed by username
+     */
+    static Map<String, String> collectUsers(ConfigSnapshot config) {
+        Map<String, String> users = new HashMap<>();
+        for (Map.Entry<String, String> entry : config.asMap().entrySet()) {
+            String key = entry.getKey();
+            if (key.endsWith(USERNAME_SUFFIX)) {
+                String prefix = key.substring(0, key.length() - USERNAME_SUFFIX.length());
+                String password = config.get(prefix + PASSWORD_SUFFIX);
+                if (password != null) {
+                    users.put(entry.getValue(), password);
+                }
+            }
+        }
+        return users;
+    }
+    
+    private static double parseRate(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return 0.0;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            logger.error("Failed to parse stub.error.rate as a number: {}", value);
+            return 0.0;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.edulearn.utils;
 
+import com.edulearn.data.DataCache;
+import com.edulearn.data.DataTable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.*;
@@ -8,8 +10,7 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 
@@ -22,48 +23,107 @@ public class ExcelReader {
     
     private Workbook workbook;
     private String filePath;
+    private String sourceHash;
     
     /**
-     * Constructor
+     * Constructor. When the data cache is enabled the workbook is only opened
+     * if a requested sheet is not already cached for the current file content.
      *
      * @param filePath path to Excel file
      */
     public ExcelReader(String filePath) {
         this.filePath = filePath;
-        try {
-            FileInputStream fileInputStream = new FileInputStream(new File(filePath));
-            workbook = new XSSFWorkbook(fileInputStream);
-            logger.info("Excel file loaded: {}", filePath);
-        } catch (IOException e) {
-            logger.error("Failed to load Excel file: {}", filePath, e);
-            throw new RuntimeException("Failed to load Excel file: " + filePath, e);
+        if (DataCache.isEnabled()) {
+            try {
+                sourceHash = DataCache.hash(Paths.get(filePath));
+                logger.info("Excel file registered: {}", filePath);
+            } catch (IOException e) {
+                logger.error("Failed to load Excel file: {}", filePath, e);
+                throw new RuntimeException("Failed to load Excel file: " + filePath, e);
+            }
+        } else {
+            openWorkbook();
         }
     }
     
+    /**
+     * Opens the workbook if it is not open yet
+     *
+     * @return the workbook
+     */
+    private synchronized Workbook openWorkbook() {
+        if (workbook == null) {
+            try (FileInputStream fileInputStream = new FileInputStream(new File(filePath))) {
+                workbook = new XSSFWorkbook(fileInputStream);
+                logger.info("Excel file loaded: {}", filePath);
+            } catch (IOException e) {
+                logger.error("Failed to load Excel file: {}", filePath, e);
+                throw new RuntimeException("Failed to load Excel file: " + filePath, e);
+            }
+        }
+        return workbook;
+    }
+    
     /**
      * Gets sheet data as list of maps
      *
      * @param sheetName name of the sheet
-     * @return list of maps where each map represents a row with column headers as keys
+     * @return list of read-only maps where each map represents a row with column headers as keys
      */
     public List<Map<String, String>> getSheetData(String sheetName) {
-        List<Map<String, String>> data = new ArrayList<>();
+        return getSheetTable(sheetName).getRows();
+    }
+    
+    /**
+     * Gets sheet data as a compact column-oriented table
+     *
+     * @param sheetName name of the sheet
+     * @return table with the sheet rows, empty if the sheet or its header row is missing
+     */
+    public DataTable getSheetTable(String sheetName) {
+        if (sourceHash != null) {
+            DataTable cached = DataCache.readTable(Paths.get(filePath), sourceHash, sheetName);
+            if (cached != null) {
+                logger.info("Read {} rows from cached sheet: {}", cached.getRowCount(), sheetName);
+                return cached;
+            }
+        }
+        
+        DataTable table = readSheet(sheetName);
+        if (table == null) {
+            return DataTable.builder().build();
+        }
         
+        if (sourceHash != null) {
+            DataCache.writeTable(Paths.get(filePath), sourceHash, sheetName, table);
+        }
+        return table;
+    }
+    
+    /**
+     * Parses a sheet from the workbook. POI workbooks are not thread-safe, so
+     * parsing is serialized per reader while cache hits stay concurrent.
+     *
+     * @param sheetName name of the sheet
+     * @return table with the sheet rows or null if the sheet could not be read
+     */
+    private synchronized DataTable readSheet(String sheetName) {
+        Workbook book = openWorkbook();
         try {
-            Sheet sheet = workbook.getSheet(sheetName);
+            Sheet sheet = book.getSheet(sheetName);
             if (sheet == null) {
                 logger.error("Sheet not found: {}", sheetName);
-                return data;
+                return null;
             }
             
             Row headerRow = sheet.getRow(0);
             if (headerRow == null) {
                 logger.error("Header row not found in sheet: {}", sheetName);
-                return data;
+                return null;
             }
             
             int lastRowNum = sheet.getLastRowNum();
-            int lastCellNum = headerRow.getLastCellNum();
+            int lastCellNum = Math.max(headerRow.getLastCellNum(), 0);
             
             // Get header values
             String[] headers = new String[lastCellNum];
@@ -72,29 +132,29 @@ public class ExcelReader {
                 headers[i] = cell != null ? getCellValueAsString(cell) : "";
             }
             
-            // Get data rows
+            // Get data rows, reusing one buffer since the builder copies values into columns
+            DataTable.Builder builder = DataTable.builder(headers);
+            String[] values = new String[lastCellNum];
             for (int i = 1; i <= lastRowNum; i++) {
                 Row row = sheet.getRow(i);
                 if (row == null) continue;
                 
-                Map<String, String> rowData = new HashMap<>();
-                
                 for (int j = 0; j < lastCellNum; j++) {
                     Cell cell = row.getCell(j);
-                    String value = cell != null ? getCellValueAsString(cell) : "";
-                    rowData.put(headers[j], value);
+                    values[j] = cell != null ? getCellValueAsString(cell) : "";
                 }
                 
-                data.add(rowData);
+                builder.addRow(values);
             }
             
-            logger.info("Read {} rows from sheet: {}", data.size(), sheetName);
+            DataTable table = builder.build();
+            logger.info("Read {} rows from sheet: {}", table.getRowCount(), sheetName);
+            return table;
             
         } catch (Exception e) {
             logger.error("Error reading sheet: {}", sheetName, e);
+            return null;
         }
-        
-        return data;
     }
     
     /**
@@ -104,14 +164,7 @@ public class ExcelReader {
      * @return 2D Object array with sheet data
      */
     public Object[][] getDataAsObjectArray(String sheetName) {
-        List<Map<String, String>> sheetData = getSheetData(sheetName);
-        
-        Object[][] data = new Object[sheetData.size()][1];
-        for (int i = 0; i < sheetData.size(); i++) {
-            data[i][0] = sheetData.get(i);
-        }
-        
-        return data;
+        return getSheetTable(sheetName).toDataProviderArray();
     }
     
     /**
@@ -160,7 +213,7 @@ public class ExcelReader {
     /**
      * Closes the workbook
      */
-    public void close() {
+    public synchronized void close() {
         if (workbook != null) {
             try {
                 workbook.close();
@@ -3,13 +3,19 @@ package com.edulearn.utils;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.edulearn.shard.TestShard;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -23,6 +29,11 @@ public class ReportManager {
     private static final String REPORT_DIR = "target/extent-reports/";
     private static final String REPORT_FILE = "edulearn-test-report.html";
     
+    /**
+     * File name of the JSON archive sharded runs write next to the HTML report, for merging
+     */
+    public static final String JSON_ARCHIVE = "edulearn-test-report.json";
+    
     private ReportManager() {
         // Private constructor to prevent instantiation
     }
@@ -32,30 +43,62 @@ public class ReportManager {
      */
     public static synchronized void initReports() {
         if (extentReports == null) {
-            // Create report directory if it doesn't exist
-            File reportDir = new File(REPORT_DIR);
+            // Each shard writes its report to its own directory
+            TestShard shard = TestShard.current();
+            File reportDir = shard.resolveOutput(REPORT_DIR).toFile();
             if (!reportDir.exists()) {
                 reportDir.mkdirs();
             }
             
-            // Configure the report
-            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(REPORT_DIR + REPORT_FILE);
-            sparkReporter.config().setDocumentTitle("EduLearn Automation Test Report");
-            sparkReporter.config().setReportName("EduLearn Automation Test Results");
-            sparkReporter.config().setTheme(Theme.STANDARD);
-            sparkReporter.config().setEncoding("UTF-8");
-            sparkReporter.config().setTimeStampFormat("yyyy-MM-dd HH:mm:ss");
-            
-            // Create ExtentReports instance
-            extentReports = new ExtentReports();
-            extentReports.attachReporter(sparkReporter);
-            extentReports.setSystemInfo("OS", System.getProperty("os.name"));
-            extentReports.setSystemInfo("Java Version", System.getProperty("java.version"));
+            extentReports = createReports(reportDir);
+            if (shard.isSharded()) {
+                // Archived so ShardReportMerger can rebuild one report from all shards
+                extentReports.attachReporter(new JsonFormatter(new File(reportDir, JSON_ARCHIVE)));
+                extentReports.setSystemInfo("Shard", shard.getIndex() + " of " + shard.getCount());
+            }
             
             logger.info("Extent Reports initialized");
         }
     }
     
+    private static ExtentReports createReports(File reportDir) {
+        // Configure the report
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(new File(reportDir, REPORT_FILE));
+        sparkReporter.config().setDocumentTitle("EduLearn Automation Test Report");
+        sparkReporter.config().setReportName("EduLearn Automation Test Results");
+        sparkReporter.config().setTheme(Theme.STANDARD);
+        sparkReporter.config().setEncoding("UTF-8");
+        sparkReporter.config().setTimeStampFormat("yyyy-MM-dd HH:mm:ss");
+        
+        // Create ExtentReports instance
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(sparkReporter);
+        reports.setSystemInfo("OS", System.getProperty("os.name"));
+        reports.setSystemInfo("Java Version", System.getProperty("java.version"));
+        return reports;
+    }
+    
+    /**
+     * Builds one HTML report from the JSON archives of several shards
+     *
+     * @param archives JSON archives written by sharded runs
+     * @param reportDir directory for the merged report
+     * @return merged report file
+     * @throws IOException if an archive cannot be read
+     */
+    public static File mergeArchives(List<Path> archives, Path reportDir) throws IOException {
+        File dir = reportDir.toFile();
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        ExtentReports merged = createReports(dir);
+        for (Path archive : archives) {
+            merged.createDomainFromJsonArchive(archive.toFile());
+        }
+        merged.flush();
+        return new File(dir, REPORT_FILE);
+    }
+    
     /**
      * Creates a new test in the report
      *
@@ -150,6 +193,21 @@ public class ReportManager {
         getTest().log(Status.INFO, title).addScreenCaptureFromBase64String(base64Image);
     }
     
+    /**
+     * Adds a standalone report entry holding a table, e.g. a suite-level summary
+     *
+     * @param title title of the report entry
+     * @param rows table rows, the first row being the header
+     */
+    public static synchronized void logTable(String title, String[][] rows) {
+        if (extentReports == null) {
+            initReports();
+        }
+        
+        extentReports.createTest(title).info(MarkupHelper.createTable(rows));
+        logger.debug("Added table to report: {}", title);
+    }
+    
     /**
      * Flushes the report to disk
      */
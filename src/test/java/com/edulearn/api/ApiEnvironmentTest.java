@@ -0,0 +1,104 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import com.edulearn.stub.EduLearnStubServer;
+import io.restassured.RestAssured;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Test class for per-client API environments
+ */
+public class ApiEnvironmentTest {
+    
+    private static final Map<String, String> USERS = Collections.singletonMap("student", "Learn@123");
+    
+    private EduLearnStubServer staging;
+    private EduLearnStubServer perf;
+    
+    @BeforeClass
+    public void setup() {
+        staging = new EduLearnStubServer(USERS).withCatalogSize(10).start(0);
+        perf = new EduLearnStubServer(USERS).withCatalogSize(40).start(0);
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        staging.stop();
+        perf.stop();
+    }
+    
+    private static ConfigSnapshot config(String... keyValues) {
+        Properties file = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            file.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return ConfigSnapshot.resolve(Collections.emptyMap(), file, Collections.emptyMap(), new Properties());
+    }
+    
+    @Test(description = "Verify clients for different environments run concurrently in one JVM")
+    public void testEnvironmentsSideBySide() {
+        String defaultBaseUri = RestAssured.baseURI;
+        ApiEnvironment stagingEnvironment = ApiEnvironment.of("staging", staging.getBaseUrl());
+        ApiEnvironment perfEnvironment = ApiEnvironment.of("perf", perf.getBaseUrl());
+        
+        List<CompletableFuture<Integer>> stagingCounts = new ArrayList<>();
+        List<CompletableFuture<Integer>> perfCounts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            stagingCounts.add(CompletableFuture.supplyAsync(() -> countCourses(stagingEnvironment), ApiExecutors.shared()));
+            perfCounts.add(CompletableFuture.supplyAsync(() -> countCourses(perfEnvironment), ApiExecutors.shared()));
+        }
+        
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(stagingCounts.get(i).join().intValue(), 10);
+            Assert.assertEquals(perfCounts.get(i).join().intValue(), 40);
+        }
+        Assert.assertEquals(RestAssured.baseURI, defaultBaseUri, "Global RestAssured state must not change");
+    }
+    
+    private static int countCourses(ApiEnvironment environment) {
+        AuthAPI authAPI = new AuthAPI(environment);
+        String token = authAPI.login("student", "Learn@123");
+        return new CourseAPI(authAPI.getEnvironment(), token).countCourses();
+    }
+    
+    @Test(description = "Verify named environments override the default settings")
+    public void testNamedEnvironmentFromConfig() {
+        ConfigSnapshot config = config(
+                "api.base.url", "https://api.example.com",
+                "api.transport", "http1",
+                "api.env.perf.base.url", "https://perf.example.com",
+                "api.env.perf.transport", "http2");
+        
+        ApiEnvironment defaultEnvironment = ApiEnvironment.fromConfig(config, ApiEnvironment.DEFAULT);
+        Assert.assertEquals(defaultEnvironment.getBaseUrl(), "https://api.example.com");
+        Assert.assertNull(defaultEnvironment.getTransport());
+        
+        ApiEnvironment perfEnvironment = ApiEnvironment.fromConfig(config, "perf");
+        Assert.assertEquals(perfEnvironment.getName(), "perf");
+        Assert.assertEquals(perfEnvironment.getBaseUrl(), "https://perf.example.com");
+        Assert.assertTrue(perfEnvironment.getTransport() instanceof Http2Transport);
+        
+        Assert.expectThrows(FrameworkException.class, () -> ApiEnvironment.fromConfig(config, "stagnig"));
+    }
+    
+    @Test(description = "Verify environments are cached and every request gets its own specification")
+    public void testCachedEnvironment() {
+        ApiEnvironment environment = ApiEnvironment.current();
+        
+        Assert.assertSame(ApiEnvironment.current(), environment);
+        Assert.assertSame(ApiEnvironment.named(ApiEnvironment.DEFAULT), environment);
+        Assert.assertSame(new CourseAPI("token").getEnvironment(), environment);
+        Assert.assertNotSame(environment.newRequest(), environment.newRequest());
+    }
+}
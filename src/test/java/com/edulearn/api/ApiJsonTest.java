@@ -0,0 +1,63 @@
+package com.edulearn.api;
+
+import com.edulearn.api.model.Course;
+import com.edulearn.api.model.CourseProgress;
+import com.edulearn.api.model.Lesson;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Test class for typed API response models
+ */
+public class ApiJsonTest {
+    
+    private static Response jsonResponse(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+    }
+    
+    @Test(description = "Verify course details bind including modules and ignore unknown fields")
+    public void testReadCourse() {
+        Response response = jsonResponse("{\"id\":\"101\",\"title\":\"Java Programming Fundamentals\","
+                + "\"rating\":4.7,\"lessonCount\":6,\"badge\":\"new\","
+                + "\"modules\":[{\"id\":\"101-1\",\"title\":\"Basics\",\"lessons\":[\"101-1-1\",\"101-1-2\"]}]}");
+        
+        Course course = ApiJson.read(response, Course.class);
+        
+        Assert.assertEquals(course.getId(), "101");
+        Assert.assertEquals(course.getRating(), 4.7, 0.001);
+        Assert.assertEquals(course.getLessonCount(), 6);
+        Assert.assertEquals(course.getModules().get(0).getLessons().get(1), "101-1-2");
+        Assert.assertTrue(course.mentions("Java"));
+    }
+    
+    @Test(description = "Verify progress and lesson lists bind to typed models")
+    public void testReadProgressAndLessons() {
+        CourseProgress progress = ApiJson.read(jsonResponse("{\"courseId\":\"101\",\"completedLessons\":[\"101-1-1\"],"
+                + "\"completedCount\":1,\"totalLessons\":6,\"percentage\":16}"), CourseProgress.class);
+        
+        Assert.assertEquals(progress.getCompletedLessons().size(), 1);
+        Assert.assertEquals(progress.getPercentage(), 16);
+        
+        List<Lesson> lessons = ApiJson.readList(jsonResponse("{\"courseId\":\"101\",\"lessons\":["
+                + "{\"id\":\"101-1-1\",\"order\":1,\"durationMinutes\":15},"
+                + "{\"id\":\"101-1-2\",\"order\":2,\"durationMinutes\":20}],\"total\":2}"), "lessons", Lesson.class);
+        
+        Assert.assertEquals(lessons.size(), 2);
+        Assert.assertEquals(lessons.get(1).getOrder(), 2);
+        Assert.assertEquals(lessons.get(1).getDurationMinutes(), 20);
+    }
+    
+    @Test(description = "Verify readers are built once per model class")
+    public void testReaderCache() {
+        Assert.assertSame(ApiJson.readerFor(Course.class), ApiJson.readerFor(Course.class));
+    }
+}
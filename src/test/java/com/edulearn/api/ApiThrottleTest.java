@@ -0,0 +1,171 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.exceptions.FrameworkException;
+import com.edulearn.stub.EduLearnStubServer;
+import io.restassured.builder.ResponseBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the client-side rate limiter and concurrency governor
+ */
+public class ApiThrottleTest {
+    
+    private static final int THREADS = 8;
+    
+    @Test(description = "Verify rules are read from the configuration and matched by endpoint pattern")
+    public void testFromConfig() {
+        Properties file = new Properties();
+        file.setProperty("api.limit.rate", "100");
+        file.setProperty("api.limit.rules", "search, lessons");
+        file.setProperty("api.limit.search.endpoints", "GET /api/courses/search");
+        file.setProperty("api.limit.search.rate", "5");
+        file.setProperty("api.limit.lessons.endpoints", "/api/courses/*/lessons/**");
+        file.setProperty("api.limit.lessons.concurrency", "2");
+        ConfigSnapshot config = ConfigSnapshot.resolve(Collections.emptyMap(), file, Collections.emptyMap(),
+                new Properties());
+        
+        Assert.assertTrue(ApiThrottle.isConfigured(config));
+        ApiThrottle throttle = ApiThrottle.fromConfig(config, "test-host");
+        Assert.assertEquals(throttle.getRules().size(), 3);
+        Assert.assertEquals(throttle.getRules().get(0).getName(), ApiThrottle.HOST_RULE);
+        Assert.assertEquals(throttle.getRules().get(0).getLimiter().getPermitsPerSecond(), 100.0);
+        
+        Assert.assertEquals(throttle.match("GET", "/api/courses/search?query=java").getName(), "search");
+        Assert.assertNull(throttle.match("POST", "/api/courses/search"), "Method must match");
+        Assert.assertEquals(throttle.match("GET", "/api/courses/c1/lessons/l1").getName(), "lessons");
+        Assert.assertEquals(throttle.match("POST", "/api/courses/c1/lessons/l1/complete").getName(), "lessons");
+        Assert.assertNull(throttle.match("GET", "/api/courses/c1"));
+        Assert.assertNull(throttle.getRules().get(2).getLimiter());
+        Assert.assertEquals(throttle.getRules().get(2).getConcurrency(), 2);
+        
+        Assert.assertFalse(ApiThrottle.isConfigured(ConfigSnapshot.resolve(Collections.emptyMap(), new Properties(),
+                Collections.emptyMap(), new Properties())));
+    }
+    
+    @Test(description = "Verify the concurrency limit caps calls in flight at the server")
+    public void testConcurrencyLimit() throws Exception {
+        EduLearnStubServer server = new EduLearnStubServer(Collections.emptyMap()).withLatency(20, 0).start(0);
+        try {
+            ApiThrottle throttle = new ApiThrottle("stub",
+                    ApiThrottle.Rule.create(ApiThrottle.HOST_RULE, Collections.emptyList(), 0, 1, 2),
+                    Collections.emptyList(), 10000);
+            List<Integer> statuses = run(throttledClient(server, throttle), 5);
+            
+            Assert.assertEquals(statuses, Collections.nCopies(THREADS * 5, 200));
+            Assert.assertTrue(server.getPeakConcurrentRequests() <= 2,
+                    "Peak concurrency was " + server.getPeakConcurrentRequests());
+            Assert.assertEquals(throttle.getRules().get(0).getInFlight(), 0, "All slots must be released");
+        } finally {
+            server.stop();
+        }
+    }
+    
+    @Test(description = "Verify throughput saturates below the server's rate limit without 429 responses")
+    public void testSaturatesBelowServerLimit() throws Exception {
+        EduLearnStubServer unthrottledServer = new EduLearnStubServer(Collections.emptyMap())
+                .withRateLimit(50, 5).start(0);
+        try {
+            List<Integer> statuses = run(throttledClient(unthrottledServer, null), 15);
+            Assert.assertTrue(statuses.contains(429), "Unthrottled clients should exceed the server limit");
+            Assert.assertTrue(unthrottledServer.getRateLimitedCount() > 0);
+        } finally {
+            unthrottledServer.stop();
+        }
+        
+        EduLearnStubServer server = new EduLearnStubServer(Collections.emptyMap()).withRateLimit(50, 5).start(0);
+        try {
+            // A burst below the server's leaves room for requests bunching up on the way
+            ApiThrottle throttle = new ApiThrottle("stub",
+                    ApiThrottle.Rule.create(ApiThrottle.HOST_RULE, Collections.emptyList(), 40, 1, 0),
+                    Collections.emptyList(), 10000);
+            long start = System.nanoTime();
+            List<Integer> statuses = run(throttledClient(server, throttle), 5);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            
+            Assert.assertEquals(statuses, Collections.nCopies(THREADS * 5, 200));
+            Assert.assertEquals(server.getRateLimitedCount(), 0);
+            Assert.assertTrue(elapsedMillis >= 900, "40 calls at 40/s took " + elapsedMillis + " ms");
+        } finally {
+            server.stop();
+        }
+    }
+    
+    @Test(description = "Verify a 429 with Retry-After pauses the rule that sent the call")
+    public void testRetryAfterPausesRule() {
+        ApiThrottle throttle = new ApiThrottle("test-host",
+                ApiThrottle.Rule.create(ApiThrottle.HOST_RULE, Collections.emptyList(), 100, 10, 0),
+                Collections.emptyList(), 200);
+        throttle.acquire("GET", "/api/courses").close();
+        
+        throttle.onResponse("GET", "/api/courses", new ResponseBuilder().setStatusCode(429)
+                .setHeader("Retry-After", "1").build());
+        
+        Assert.assertEquals(throttle.getRules().get(0).getThrottledResponses(), 1);
+        Assert.expectThrows(FrameworkException.class, () -> throttle.acquire("GET", "/api/courses"));
+    }
+    
+    @Test(description = "Verify clients wait out a server's Retry-After instead of failing again")
+    public void testHonoursServerRetryAfter() {
+        EduLearnStubServer server = new EduLearnStubServer(Collections.emptyMap()).withRateLimit(2, 1).start(0);
+        try {
+            ApiThrottle throttle = new ApiThrottle("stub",
+                    ApiThrottle.Rule.create(ApiThrottle.HOST_RULE, Collections.emptyList(), 100, 10, 0),
+                    Collections.emptyList(), 5000);
+            CourseAPI courseAPI = throttledClient(server, throttle);
+            
+            Assert.assertEquals(courseAPI.getAllCourses().getStatusCode(), 200);
+            Assert.assertEquals(courseAPI.getAllCourses().getStatusCode(), 429);
+            long start = System.nanoTime();
+            Assert.assertEquals(courseAPI.getAllCourses().getStatusCode(), 200);
+            
+            Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 900);
+            Assert.assertEquals(server.getRateLimitedCount(), 1);
+        } finally {
+            server.stop();
+        }
+    }
+    
+    private static CourseAPI throttledClient(EduLearnStubServer server, ApiThrottle throttle) {
+        return new CourseAPI(ApiEnvironment.of("stub", server.getBaseUrl()), null) {
+            @Override
+            protected ApiThrottle getThrottle() {
+                return throttle;
+            }
+        };
+    }
+    
+    private static List<Integer> run(CourseAPI courseAPI, int callsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    Integer[] statuses = new Integer[callsPerThread];
+                    for (int call = 0; call < callsPerThread; call++) {
+                        statuses[call] = courseAPI.getAllCourses().getStatusCode();
+                    }
+                    return Arrays.asList(statuses);
+                }));
+            }
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) {
+                statuses.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            return statuses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.edulearn.api;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for BaseAPI response logging
+ */
+public class BaseAPITest {
+    
+    private static Response jsonResponse(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+    }
+    
+    @Test(description = "Verify small bodies are logged in full")
+    public void testDescribeSmallBody() {
+        Response response = jsonResponse("{\"id\":\"101\"}");
+        
+        Assert.assertEquals(BaseAPI.describeBody(response, 1024), "{\"id\":\"101\"}");
+    }
+    
+    @Test(description = "Verify large bodies are capped and the body remains readable afterwards")
+    public void testDescribeLargeBody() {
+        StringBuilder body = new StringBuilder("{\"courses\":[");
+        for (int i = 0; i < 500; i++) {
+            body.append(i > 0 ? "," : "").append("{\"id\":\"").append(i).append("\"}");
+        }
+        body.append("]}");
+        Response response = jsonResponse(body.toString());
+        
+        String description = BaseAPI.describeBody(response, 32);
+        
+        Assert.assertTrue(description.startsWith(body.substring(0, 32)), description);
+        Assert.assertTrue(description.endsWith("... (truncated, " + body.length() + " bytes)"), description);
+        Assert.assertEquals(response.jsonPath().getList("courses").size(), 500);
+    }
+}
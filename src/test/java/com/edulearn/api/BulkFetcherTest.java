@@ -0,0 +1,68 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.FrameworkException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for bounded concurrent bulk fetches
+ */
+public class BulkFetcherTest {
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Test(description = "Verify results keep request order and concurrency stays bounded")
+    public void testOrderAndConcurrency() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            keys.add(i);
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        
+        BulkResult<Integer, String> result = new BulkFetcher(4, 0, ApiExecutors.shared()).fetchAll(keys, key -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            // Later keys finish first, so order comes from the fetcher, not completion
+            sleep(40 - key);
+            inFlight.decrementAndGet();
+            return "lesson-" + key;
+        });
+        
+        Assert.assertTrue(result.isComplete());
+        Assert.assertEquals(result.getValues().get(0), "lesson-0");
+        Assert.assertEquals(result.getValues().get(39), "lesson-39");
+        Assert.assertEquals(peak.get(), 4, "Peak in flight");
+    }
+    
+    @Test(description = "Verify failures and timeouts are reported per item")
+    public void testPartialFailures() {
+        BulkResult<String, String> result = new BulkFetcher(3, 200, ApiExecutors.shared())
+                .fetchAll(Arrays.asList("a", "b", "slow", "c"), key -> {
+                    if ("b".equals(key)) {
+                        throw new FrameworkException("Lesson not found: b");
+                    }
+                    if ("slow".equals(key)) {
+                        sleep(2000);
+                    }
+                    return key.toUpperCase();
+                });
+        
+        Assert.assertFalse(result.isComplete());
+        Assert.assertEquals(result.getValues(), Arrays.asList("A", "C"));
+        Assert.assertEquals(new ArrayList<>(result.getFailures().keySet()), Arrays.asList("b", "slow"));
+        Assert.assertTrue(result.getFailures().get("slow").getMessage().contains("Timed out"));
+        Assert.assertTrue(result.getItems().get(2).getElapsedNanos() < 1_500_000_000L, "Timeout should not wait for the call");
+        Assert.assertThrows(FrameworkException.class, result::requireComplete);
+    }
+}
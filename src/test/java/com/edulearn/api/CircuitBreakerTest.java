@@ -0,0 +1,122 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.CircuitOpenException;
+import com.edulearn.stub.EduLearnStubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+/**
+ * Test class for the per-host API circuit breaker
+ */
+public class CircuitBreakerTest {
+    
+    @Test(description = "Verify the circuit opens once the failure rate reaches the threshold")
+    public void testOpensAtThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test-host", 10, 4, 50, 60000);
+        
+        record(breaker, false);
+        record(breaker, true);
+        record(breaker, true);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED, "Too few calls to judge");
+        
+        record(breaker, true);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertNull(breaker.tryAcquire());
+        Assert.assertEquals(breaker.getRejectedCalls(), 1);
+        Assert.assertEquals(breaker.getTimesOpened(), 1);
+    }
+    
+    @Test(description = "Verify old outcomes slide out of the window")
+    public void testSlidingWindow() {
+        CircuitBreaker breaker = new CircuitBreaker("test-host", 4, 4, 50, 60000);
+        
+        record(breaker, true);
+        for (int i = 0; i < 4; i++) {
+            record(breaker, false);
+        }
+        Assert.assertEquals(breaker.getFailureRatePercent(), 0.0);
+        
+        record(breaker, true);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertEquals(breaker.getFailureRatePercent(), 25.0);
+    }
+    
+    @Test(description = "Verify a single probe call decides whether the circuit closes")
+    public void testHalfOpenProbe() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test-host", 2, 2, 50, 50);
+        record(breaker, true);
+        record(breaker, true);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        
+        Thread.sleep(80);
+        CircuitBreaker.Ticket probe = breaker.tryAcquire();
+        Assert.assertNotNull(probe, "The probe call is let through");
+        Assert.assertTrue(probe.isProbe());
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        Assert.assertNull(breaker.tryAcquire(), "Only one probe at a time");
+        breaker.onResult(probe, true);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertEquals(breaker.getTimesOpened(), 2);
+        
+        Thread.sleep(80);
+        probe = breaker.tryAcquire();
+        breaker.onResult(probe, false);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertNotNull(breaker.tryAcquire());
+    }
+    
+    @Test(description = "Verify a slow call from before the circuit opened cannot decide the probe")
+    public void testStaleResultIgnored() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test-host", 2, 2, 50, 50);
+        CircuitBreaker.Ticket slowCall = breaker.tryAcquire();
+        record(breaker, true);
+        record(breaker, true);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        
+        Thread.sleep(80);
+        CircuitBreaker.Ticket probe = breaker.tryAcquire();
+        breaker.onResult(slowCall, false);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN, "The slow call must not close it");
+        Assert.assertNull(breaker.tryAcquire(), "The probe is still in flight");
+        
+        breaker.onResult(probe, true);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        breaker.onResult(probe, false);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN, "A ticket counts only once");
+    }
+    
+    @Test(description = "Verify API calls fail fast without reaching a failing server")
+    public void testFailsFastAgainstFailingServer() {
+        EduLearnStubServer server = new EduLearnStubServer(Collections.emptyMap())
+                .withErrorInjection(1.0, 503).start(0);
+        try {
+            CircuitBreaker breaker = new CircuitBreaker("failing-host", 5, 5, 50, 60000);
+            CourseAPI courseAPI = new CourseAPI(ApiEnvironment.of("failing", server.getBaseUrl()), null) {
+                @Override
+                protected CircuitBreaker getCircuitBreaker() {
+                    return breaker;
+                }
+            };
+            
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(courseAPI.getAllCourses().getStatusCode(), 503);
+            }
+            for (int i = 0; i < 15; i++) {
+                CircuitOpenException rejected = Assert.expectThrows(CircuitOpenException.class, courseAPI::getAllCourses);
+                Assert.assertEquals(rejected.getHost(), "failing-host");
+            }
+            
+            Assert.assertEquals(server.getRequestCount(), 5, "Rejected calls must not reach the server");
+            Assert.assertEquals(breaker.getRejectedCalls(), 15);
+            Assert.assertEquals(breaker.toMap().get("state"), "OPEN");
+        } finally {
+            server.stop();
+        }
+    }
+    
+    private static void record(CircuitBreaker breaker, boolean failure) {
+        breaker.onResult(breaker.tryAcquire(), failure);
+    }
+}
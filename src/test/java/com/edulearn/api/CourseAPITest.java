@@ -1,5 +1,9 @@
 package com.edulearn.api;
 
+import com.edulearn.api.model.Course;
+import com.edulearn.api.model.CourseProgress;
+import com.edulearn.api.model.Enrollment;
+import com.edulearn.api.model.Lesson;
 import com.edulearn.core.ConfigManager;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
@@ -11,6 +15,8 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Test class for Course API
@@ -59,6 +65,18 @@ public class CourseAPITest {
         logger.info("Found {} courses", courses.size());
     }
     
+    @Test(description = "Verify streaming the course list")
+    public void testStreamCourses() {
+        logger.info("Testing streaming course list");
+        
+        // Streams the course list, so the test does not depend on the catalog size
+        int courseCount = courseAPI.forEachCourse(course ->
+                Assert.assertNotNull(course.getId(), "Course ID should not be null"));
+        
+        Assert.assertTrue(courseCount > 0, "Courses list should not be empty");
+        logger.info("Streamed {} courses", courseCount);
+    }
+    
     @Test(description = "Verify search courses API")
     public void testSearchCourses() {
         logger.info("Testing search courses API");
@@ -92,6 +110,36 @@ public class CourseAPITest {
         logger.info("Found {} courses matching keyword '{}'", courses.size(), keyword);
     }
     
+    @Test(description = "Verify streaming search results")
+    public void testStreamSearchResults() {
+        logger.info("Testing streaming search results");
+        
+        // Verify each result contains the keyword, one course at a time
+        String keyword = "Java";
+        int[] courseCount = new int[1];
+        try (Stream<Course> courses = courseAPI.streamSearchResults(keyword)) {
+            courses.forEach(course -> {
+                courseCount[0]++;
+                Assert.assertTrue(course.mentions(keyword),
+                        "Course should contain keyword in title or description");
+            });
+        }
+        
+        logger.info("Streamed {} courses matching keyword '{}'", courseCount[0], keyword);
+    }
+    
+    @Test(description = "Verify paged iteration returns the whole catalog")
+    public void testPagedCourses() {
+        logger.info("Testing paged course iteration");
+        
+        long pagedCount;
+        try (PagedIterator<Course> courses = courseAPI.iterateCourses(Paging.of(2, 2, 2))) {
+            pagedCount = courses.stream().count();
+        }
+        
+        Assert.assertEquals(pagedCount, courseAPI.countCourses(), "Paged iteration should return every course");
+    }
+    
     @Test(description = "Verify get course by ID API")
     public void testGetCourseById() {
         logger.info("Testing get course by ID API");
@@ -127,6 +175,90 @@ public class CourseAPITest {
         }
     }
     
+    @Test(description = "Verify reading a course as a typed model")
+    public void testFetchCourse() {
+        logger.info("Testing typed course model");
+        
+        // First, get the first course to find a valid ID
+        Optional<Course> firstCourse;
+        try (Stream<Course> courses = courseAPI.streamCourses()) {
+            firstCourse = courses.findFirst();
+        }
+        
+        if (firstCourse.isPresent()) {
+            String courseId = firstCourse.get().getId();
+            Assert.assertNotNull(courseId, "Course ID should not be null");
+            
+            Course course = courseAPI.fetchCourse(courseId);
+            
+            Assert.assertEquals(course.getId(), courseId, "Course ID should match");
+            Assert.assertNotNull(course.getTitle(), "Course title should not be null");
+            Assert.assertNotNull(course.getDescription(), "Course description should not be null");
+            
+            logger.info("Successfully read course: {}", course.getTitle());
+        } else {
+            logger.warn("No courses found to test fetchCourse");
+        }
+    }
+    
+    @Test(description = "Verify lesson progress API")
+    public void testLessonProgress() {
+        logger.info("Testing lesson progress API");
+        
+        Optional<Course> firstCourse;
+        try (Stream<Course> courses = courseAPI.streamCourses()) {
+            firstCourse = courses.findFirst();
+        }
+        if (!firstCourse.isPresent()) {
+            logger.warn("No courses found to test lesson progress");
+            return;
+        }
+        String courseId = firstCourse.get().getId();
+        
+        Enrollment enrollment = courseAPI.enroll(courseId);
+        Assert.assertTrue(enrollment.isEnrolled(), "User should be enrolled");
+        
+        List<Lesson> lessons = courseAPI.fetchLessons(courseId);
+        Assert.assertFalse(lessons.isEmpty(), "Lessons list should not be empty");
+        
+        Lesson lesson = courseAPI.fetchLesson(courseId, lessons.get(0).getId());
+        Assert.assertEquals(lesson.getTitle(), lessons.get(0).getTitle(), "Lesson title should match");
+        
+        CourseProgress progress = courseAPI.recordLessonProgress(courseId, lesson.getId(), true);
+        Assert.assertTrue(progress.getCompletedLessons().contains(lesson.getId()),
+                "Lesson should be marked as completed");
+        Assert.assertEquals(courseAPI.fetchProgress(courseId).getCompletedCount(), progress.getCompletedCount(),
+                "Progress should be persisted");
+        
+        logger.info("Course {} progress: {}%", courseId, progress.getPercentage());
+    }
+    
+    @Test(description = "Verify bulk lesson details API")
+    public void testFetchAllLessonDetails() {
+        logger.info("Testing bulk lesson details API");
+        
+        Optional<Course> firstCourse;
+        try (Stream<Course> courses = courseAPI.streamCourses()) {
+            firstCourse = courses.findFirst();
+        }
+        if (!firstCourse.isPresent()) {
+            logger.warn("No courses found to test bulk lesson details");
+            return;
+        }
+        String courseId = firstCourse.get().getId();
+        
+        List<Lesson> lessons = courseAPI.fetchLessons(courseId);
+        BulkResult<String, Lesson> details = courseAPI.fetchAllLessonDetails(courseId);
+        
+        Assert.assertTrue(details.isComplete(), "All lesson details should be fetched: " + details.getFailures());
+        Assert.assertEquals(details.getValues().size(), lessons.size(), "Every lesson should have details");
+        for (int i = 0; i < lessons.size(); i++) {
+            Assert.assertEquals(details.getValues().get(i).getId(), lessons.get(i).getId(), "Details should be in lesson order");
+        }
+        
+        logger.info("Fetched details of {} lessons for course {}", lessons.size(), courseId);
+    }
+    
     @Test(description = "Verify get enrolled courses API")
     public void testGetEnrolledCourses() {
         logger.info("Testing get enrolled courses API");
@@ -0,0 +1,164 @@
+package com.edulearn.api;
+
+import com.edulearn.stub.EduLearnStubServer;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for the HTTP/2 transport against a local h2c server
+ */
+public class Http2TransportTest {
+    
+    private Server server;
+    private String baseUrl;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final Http2Transport transport = new Http2Transport(5000);
+    
+    /**
+     * API client that sends its requests to the h2c server through the transport under test
+     */
+    private class EchoAPI extends BaseAPI {
+        
+        EchoAPI(String authToken) {
+            super(ApiEnvironment.of("h2c", baseUrl), authToken);
+        }
+        
+        @Override
+        protected Filter getTransport() {
+            return transport;
+        }
+    }
+    
+    /**
+     * Echoes the request back as JSON, including the protocol it arrived over
+     */
+    private class EchoHandler extends AbstractHandler {
+        
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+            clientPorts.add(request.getRemotePort());
+            if ("/slow".equals(target)) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            
+            Map<String, String> echo = new LinkedHashMap<>();
+            echo.put("protocol", request.getProtocol());
+            echo.put("method", request.getMethod());
+            echo.put("path", target);
+            echo.put("query", request.getQueryString());
+            echo.put("authorization", request.getHeader("Authorization"));
+            echo.put("contentType", request.getContentType());
+            echo.put("body", new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            
+            response.setStatus(200);
+            response.setContentType("application/json");
+            response.getOutputStream().write(ApiJson.getMapper().writeValueAsBytes(echo));
+            baseRequest.setHandled(true);
+        }
+    }
+    
+    @BeforeClass
+    public void setup() throws Exception {
+        server = new Server();
+        HttpConfiguration config = new HttpConfiguration();
+        ServerConnector connector = new ServerConnector(server, new HttpConnectionFactory(config),
+                new HTTP2CServerConnectionFactory(config));
+        connector.setHost("127.0.0.1");
+        connector.setPort(0);
+        server.addConnector(connector);
+        server.setHandler(new EchoHandler());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + connector.getLocalPort();
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+    
+    @Test(description = "Verify GET requests keep auth and query parameters over HTTP/2")
+    public void testGetOverHttp2() {
+        Response response = new EchoAPI("token-1").get("/echo", Collections.singletonMap("keyword", "java"));
+        
+        Assert.assertEquals(response.getStatusCode(), 200);
+        Assert.assertTrue(response.getStatusLine().startsWith("HTTP/2"), response.getStatusLine());
+        Assert.assertEquals(response.jsonPath().getString("protocol"), "HTTP/2.0");
+        Assert.assertEquals(response.jsonPath().getString("authorization"), "Bearer token-1");
+        Assert.assertEquals(response.jsonPath().getString("query"), "keyword=java");
+        Assert.assertEquals(response.getContentType(), "application/json");
+    }
+    
+    @Test(description = "Verify request bodies are sent with their content type over HTTP/2")
+    public void testPostOverHttp2() {
+        Response response = new EchoAPI("token-1").post("/echo", Collections.singletonMap("lessonId", "101-1-1"));
+        
+        Assert.assertEquals(response.jsonPath().getString("protocol"), "HTTP/2.0");
+        Assert.assertEquals(response.jsonPath().getString("method"), "POST");
+        Assert.assertTrue(response.jsonPath().getString("contentType").startsWith("application/json"));
+        Assert.assertEquals(response.jsonPath().getString("body"), "{\"lessonId\":\"101-1-1\"}");
+    }
+    
+    @Test(description = "Verify concurrent requests are multiplexed over one connection")
+    public void testConcurrentRequestsShareConnection() {
+        EchoAPI api = new EchoAPI(null);
+        api.get("/echo");
+        clientPorts.clear();
+        
+        List<CompletableFuture<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            responses.add(CompletableFuture.supplyAsync(() -> api.get("/slow"), ApiExecutors.shared()));
+        }
+        List<String> protocols = responses.stream()
+                .map(response -> response.join().jsonPath().getString("protocol"))
+                .collect(Collectors.toList());
+        
+        Assert.assertTrue(protocols.stream().allMatch("HTTP/2.0"::equals), protocols.toString());
+        Assert.assertEquals(clientPorts.size(), 1, "Connections used: " + clientPorts);
+    }
+    
+    @Test(description = "Verify servers that only speak HTTP/1.1 still work")
+    public void testHttp1OnlyServer() {
+        EduLearnStubServer stub = new EduLearnStubServer(Collections.emptyMap()).start(0);
+        try {
+            Response response = RestAssured.given().baseUri(stub.getBaseUrl()).filter(transport)
+                    .get("/api/courses");
+            
+            Assert.assertEquals(response.getStatusCode(), 200);
+            Assert.assertTrue(response.getStatusLine().startsWith("HTTP/1.1"), response.getStatusLine());
+            Assert.assertFalse(response.jsonPath().getList("courses").isEmpty());
+        } finally {
+            stub.stop();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.edulearn.api;
+
+import com.edulearn.api.model.Course;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for streaming JSON array reads
+ */
+public class JsonArrayReaderTest {
+    
+    private static final JsonArrayReader<Course> COURSES = new JsonArrayReader<>("courses", Course.class);
+    
+    private static InputStream json(String document) {
+        return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String courseList(int count) {
+        StringBuilder document = new StringBuilder("{\"total\":").append(count)
+                .append(",\"meta\":{\"courses\":[]},\"courses\":[");
+        for (int i = 1; i <= count; i++) {
+            document.append(i > 1 ? "," : "")
+                    .append("{\"id\":\"").append(i).append("\",\"title\":\"Course ").append(i)
+                    .append("\",\"rating\":4.5,\"tags\":[\"a\",\"b\"],\"modules\":[{\"id\":\"m\"}]}");
+        }
+        return document.append("],\"page\":1}").toString();
+    }
+    
+    @Test(description = "Verify array elements are bound while other fields are skipped")
+    public void testStream() {
+        try (Stream<Course> courses = COURSES.stream(json(courseList(3)))) {
+            List<String> titles = courses.map(Course::getTitle).collect(Collectors.toList());
+            Assert.assertEquals(titles.size(), 3);
+            Assert.assertEquals(titles.get(2), "Course 3");
+        }
+    }
+    
+    @Test(description = "Verify visiting stops as soon as the visitor returns false")
+    public void testForEachStopsEarly() {
+        Assert.assertEquals(COURSES.forEach(json(courseList(1000)), course -> !"5".equals(course.getId())), 5);
+        Assert.assertEquals(COURSES.forEach(json(courseList(1000)), course -> true), 1000);
+    }
+    
+    @Test(description = "Verify documents without the array yield no elements")
+    public void testMissingArray() {
+        Assert.assertEquals(COURSES.forEach(json("{\"error\":\"not found\"}"), course -> true), 0);
+        try (Stream<Course> courses = COURSES.stream(json("[]"))) {
+            Assert.assertEquals(courses.count(), 0);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.edulearn.api;
+
+import com.edulearn.api.model.ProgressUpdate;
+import com.edulearn.exceptions.FrameworkException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test class for pre-compiled JSON request body templates
+ */
+public class JsonBodyTemplateTest {
+    
+    private static final JsonBodyTemplate LOGIN =
+            JsonBodyTemplate.compile("{\"username\":${username},\"password\":${password}}");
+    
+    private static String render(JsonBodyTemplate template, Object... values) {
+        return new String(template.render(values), StandardCharsets.UTF_8);
+    }
+    
+    @Test(description = "Verify slots are rendered as JSON values")
+    public void testRenderScalars() {
+        Assert.assertEquals(LOGIN.getSlotNames(), Arrays.asList("username", "password"));
+        Assert.assertEquals(render(LOGIN, "student", "Learn@123"),
+                "{\"username\":\"student\",\"password\":\"Learn@123\"}");
+        
+        JsonBodyTemplate values = JsonBodyTemplate.compile(
+                "{\"int\":${int},\"long\":${long},\"negative\":${negative},\"decimal\":${decimal},"
+                        + "\"big\":${big},\"flag\":${flag},\"missing\":${missing}}");
+        Assert.assertEquals(render(values, 0, Long.MAX_VALUE, -42, 4.5, new BigDecimal("1.10"), false, null),
+                "{\"int\":0,\"long\":9223372036854775807,\"negative\":-42,\"decimal\":4.5,"
+                        + "\"big\":1.10,\"flag\":false,\"missing\":null}");
+        Assert.assertEquals(render(JsonBodyTemplate.compile("[${min}]"), Long.MIN_VALUE), "[-9223372036854775808]");
+    }
+    
+    @Test(description = "Verify strings are escaped and encoded like the Jackson mapper does")
+    public void testStringEscaping() throws Exception {
+        String text = "quote\" backslash\\ tab\t newline\n bell\u0007 café € 🚀";
+        JsonNode parsed = ApiJson.getMapper().readTree(LOGIN.render(text, ""));
+        
+        Assert.assertEquals(parsed.get("username").asText(), text);
+        Assert.assertEquals(new String(LOGIN.render(text, ""), StandardCharsets.UTF_8),
+                "{\"username\":" + ApiJson.getMapper().writeValueAsString(text) + ",\"password\":\"\"}");
+    }
+    
+    @Test(description = "Verify other values are serialized with the shared mapper")
+    public void testRenderObjects() throws Exception {
+        JsonBodyTemplate batch = JsonBodyTemplate.compile("{ \"updates\" : ${updates} }");
+        String body = render(batch, Arrays.asList(new ProgressUpdate("101-1-1", true), new ProgressUpdate("101-1-2", false)));
+        
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("updates", Arrays.asList(new ProgressUpdate("101-1-1", true), new ProgressUpdate("101-1-2", false)));
+        Assert.assertEquals(ApiJson.getMapper().readTree(body), ApiJson.getMapper().valueToTree(expected));
+    }
+    
+    @Test(description = "Verify rendered bodies are independent copies")
+    public void testRenderReturnsCopies() {
+        byte[] first = LOGIN.render("first", "a");
+        byte[] second = LOGIN.render("second-user", "b");
+        
+        Assert.assertEquals(new String(first, StandardCharsets.UTF_8), "{\"username\":\"first\",\"password\":\"a\"}");
+        Assert.assertEquals(new String(second, StandardCharsets.UTF_8),
+                "{\"username\":\"second-user\",\"password\":\"b\"}");
+    }
+    
+    @Test(description = "Verify invalid templates and arguments are rejected")
+    public void testInvalidUse() {
+        Assert.expectThrows(FrameworkException.class, () -> JsonBodyTemplate.compile("{\"name\":\"${name}\"}"));
+        Assert.expectThrows(FrameworkException.class, () -> JsonBodyTemplate.compile("{\"name\":${name}"));
+        Assert.expectThrows(FrameworkException.class, () -> JsonBodyTemplate.compile("{\"name\":${name"));
+        Assert.expectThrows(IllegalArgumentException.class, () -> LOGIN.render("only-one"));
+        Assert.expectThrows(IllegalArgumentException.class,
+                () -> JsonBodyTemplate.compile("[${value}]").render(Double.NaN));
+        
+        // Placeholder syntax inside a string is fine as long as it is escaped text, not a slot
+        Assert.assertEquals(render(JsonBodyTemplate.compile("{\"price\":\"$5\",\"n\":${n}}"), 1),
+                "{\"price\":\"$5\",\"n\":1}");
+    }
+}
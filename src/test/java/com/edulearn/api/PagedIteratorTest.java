@@ -0,0 +1,139 @@
+package com.edulearn.api;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for paged iteration with prefetching
+ */
+public class PagedIteratorTest {
+    
+    /**
+     * Serves numbers 1..total in pages, recording requests and peak concurrency
+     */
+    private static final class FakeListing implements PagedIterator.PageFetcher<Integer> {
+        
+        private final int total;
+        private final boolean reportTotalPages;
+        private final long delayMillis;
+        private final ConcurrentLinkedQueue<Integer> requested = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        
+        FakeListing(int total, boolean reportTotalPages, long delayMillis) {
+            this.total = total;
+            this.reportTotalPages = reportTotalPages;
+            this.delayMillis = delayMillis;
+        }
+        
+        @Override
+        public PagedIterator.Page<Integer> fetch(int page, int size) {
+            requested.add(page);
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            List<Integer> items = new ArrayList<>();
+            for (int i = (page - 1) * size + 1; i <= Math.min(total, page * size); i++) {
+                items.add(i);
+            }
+            int totalPages = reportTotalPages ? (total + size - 1) / size : -1;
+            return new PagedIterator.Page<>(items, totalPages);
+        }
+    }
+    
+    @Test(description = "Verify all items are returned in order without requesting pages past the end")
+    public void testIteratesAllPagesInOrder() {
+        FakeListing listing = new FakeListing(95, true, 5);
+        try (Stream<Integer> items = new PagedIterator<>(listing, Paging.of(10, 3, 2), ApiExecutors.shared()).stream()) {
+            List<Integer> values = items.collect(Collectors.toList());
+            Assert.assertEquals(values.size(), 95);
+            for (int i = 0; i < values.size(); i++) {
+                Assert.assertEquals(values.get(i).intValue(), i + 1);
+            }
+        }
+        Assert.assertEquals(listing.requested.size(), 10, "Pages requested: " + listing.requested);
+        Assert.assertTrue(listing.peakInFlight.get() <= 2, "Peak in flight: " + listing.peakInFlight.get());
+    }
+    
+    @Test(description = "Verify a short page ends iteration when the total is unknown")
+    public void testShortPageEndsIteration() {
+        FakeListing listing = new FakeListing(40, false, 0);
+        PagedIterator<Integer> iterator = new PagedIterator<>(listing, Paging.of(10, 0, 1), ApiExecutors.shared());
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        Assert.assertEquals(count, 40);
+        Assert.assertEquals(listing.requested.size(), 5, "An empty fifth page marks the end");
+        Assert.assertThrows(NoSuchElementException.class, iterator::next);
+    }
+    
+    @Test(description = "Verify a server that ignores paging and returns one full page does not loop forever")
+    public void testRepeatedPageEndsIteration() {
+        AtomicInteger requests = new AtomicInteger();
+        PagedIterator.PageFetcher<String> ignoresPaging = (page, size) -> {
+            requests.incrementAndGet();
+            List<String> items = new ArrayList<>();
+            for (int i = 1; i <= size; i++) {
+                items.add("course-" + i);
+            }
+            return new PagedIterator.Page<>(items, -1);
+        };
+        
+        List<String> values;
+        try (Stream<String> items = new PagedIterator<>(ignoresPaging, item -> item, Paging.of(10, 3, 2),
+                ApiExecutors.shared()).stream()) {
+            values = items.limit(1000).collect(Collectors.toList());
+        }
+        Assert.assertEquals(values.size(), 10, "The repeated page should not be returned again");
+        Assert.assertEquals(values.get(9), "course-10");
+        Assert.assertTrue(requests.get() <= 5, "Pages requested: " + requests.get());
+    }
+    
+    @Test(description = "Verify prefetching overlaps page latency with consumption")
+    public void testPrefetchOverlapsLatency() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            FakeListing listing = new FakeListing(80, true, 50);
+            long start = System.nanoTime();
+            try (PagedIterator<Integer> iterator = new PagedIterator<>(listing, Paging.of(10, 4, 4), executor)) {
+                while (iterator.hasNext()) {
+                    iterator.next();
+                }
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            // 8 pages at 50 ms each take 400 ms fetched one by one
+            Assert.assertTrue(elapsedMillis < 300, "Took " + elapsedMillis + " ms");
+            Assert.assertTrue(listing.peakInFlight.get() > 1, "Pages should be fetched concurrently");
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+    
+    @Test(description = "Verify closing early stops prefetching")
+    public void testCloseStopsPrefetch() {
+        FakeListing listing = new FakeListing(1000, true, 0);
+        try (Stream<Integer> items = new PagedIterator<>(listing, Paging.of(10, 2, 1), ApiExecutors.shared()).stream()) {
+            Assert.assertEquals(items.limit(15).count(), 15);
+        }
+        Assert.assertTrue(listing.requested.size() <= 4, "Pages requested: " + listing.requested);
+    }
+}
@@ -0,0 +1,143 @@
+package com.edulearn.api;
+
+import com.edulearn.api.model.CourseProgress;
+import com.edulearn.api.model.ProgressUpdate;
+import com.edulearn.exceptions.FrameworkException;
+import com.edulearn.stub.EduLearnStubServer;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for batched lesson progress updates against the stub server
+ */
+public class ProgressBatcherTest {
+    
+    private static final String[] LESSONS = {"101-1-1", "101-1-2", "101-2-1", "101-2-2", "101-3-1", "101-3-2"};
+    
+    private EduLearnStubServer server;
+    private ApiEnvironment environment;
+    
+    @BeforeClass
+    public void setup() {
+        server = new EduLearnStubServer(Collections.singletonMap("student", "Learn@123")).start(0);
+        environment = ApiEnvironment.of("progress-stub", server.getBaseUrl());
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        server.stop();
+    }
+    
+    private String login() {
+        return new AuthAPI(environment).login("student", "Learn@123");
+    }
+    
+    @Test(description = "Verify updates are grouped into bulk requests with per-item results")
+    public void testBulkBatches() {
+        CourseAPI courseAPI = new CourseAPI(environment, login());
+        long requestsBefore = server.getRequestCount();
+        
+        List<CompletableFuture<CourseProgress>> results = new ArrayList<>();
+        CompletableFuture<CourseProgress> unknown;
+        try (ProgressBatcher batcher = new ProgressBatcher(courseAPI, 4, 1000, 4, ApiExecutors.shared())) {
+            for (String lessonId : LESSONS) {
+                results.add(batcher.submit("101", lessonId, true));
+            }
+            unknown = batcher.submit("101", "no-such-lesson", true);
+        }
+        
+        Assert.assertEquals(server.getRequestCount() - requestsBefore, 2, "Seven updates should take two requests");
+        for (CompletableFuture<CourseProgress> result : results) {
+            Assert.assertTrue(result.join().getCompletedCount() >= 4);
+        }
+        Assert.assertEquals(results.get(5).join().getPercentage(), 100);
+        CompletionException failure = Assert.expectThrows(CompletionException.class, unknown::join);
+        Assert.assertTrue(failure.getCause() instanceof FrameworkException);
+        Assert.assertEquals(courseAPI.fetchProgress("101").getCompletedCount(), LESSONS.length);
+    }
+    
+    @Test(description = "Verify updates are pipelined when the server has no bulk endpoint")
+    public void testPipelinedFallback() {
+        AtomicInteger bulkAttempts = new AtomicInteger();
+        CourseAPI courseAPI = new CourseAPI(environment, login()) {
+            @Override
+            public Response updateLessonProgressBatch(String courseId, List<ProgressUpdate> updates) {
+                bulkAttempts.incrementAndGet();
+                return new ResponseBuilder().setStatusCode(404).setBody("{\"error\":\"Not found\"}").build();
+            }
+        };
+        
+        List<CompletableFuture<CourseProgress>> results = new ArrayList<>();
+        try (ProgressBatcher batcher = new ProgressBatcher(courseAPI, 3, 20, 3, ApiExecutors.shared())) {
+            for (String lessonId : LESSONS) {
+                results.add(batcher.submit("102", lessonId.replace("101", "102"), true));
+            }
+            // Same lesson twice in one batch collapses into the last update
+            results.add(batcher.submit("102", "102-1-1", false));
+        }
+        
+        Assert.assertEquals(bulkAttempts.get(), 1, "The missing endpoint should only be tried once");
+        for (CompletableFuture<CourseProgress> result : results) {
+            Assert.assertNotNull(result.join());
+        }
+        CourseProgress progress = courseAPI.fetchProgress("102");
+        Assert.assertEquals(progress.getCompletedCount(), LESSONS.length - 1);
+        Assert.assertFalse(progress.getCompletedLessons().contains("102-1-1"));
+    }
+    
+    @Test(description = "Verify a 404 for an unknown course does not disable the bulk endpoint")
+    public void testUnknownCourseKeepsBulkEndpoint() {
+        AtomicInteger bulkAttempts = new AtomicInteger();
+        CourseAPI courseAPI = new CourseAPI(environment, login()) {
+            @Override
+            public Response updateLessonProgressBatch(String courseId, List<ProgressUpdate> updates) {
+                bulkAttempts.incrementAndGet();
+                return super.updateLessonProgressBatch(courseId, updates);
+            }
+        };
+        
+        List<CompletableFuture<CourseProgress>> unknown = new ArrayList<>();
+        List<CompletableFuture<CourseProgress>> known = new ArrayList<>();
+        try (ProgressBatcher batcher = new ProgressBatcher(courseAPI, 2, 1000, 2, ApiExecutors.shared())) {
+            unknown.add(batcher.submit("no-such-course", "1", true));
+            unknown.add(batcher.submit("no-such-course", "2", true));
+            for (CompletableFuture<CourseProgress> result : unknown) {
+                Assert.expectThrows(CompletionException.class, result::join);
+            }
+            known.add(batcher.submit("103", "103-1-1", true));
+            known.add(batcher.submit("103", "103-1-2", true));
+        }
+        
+        Assert.assertEquals(bulkAttempts.get(), 2, "The known course should still use the bulk endpoint");
+        for (CompletableFuture<CourseProgress> result : known) {
+            Assert.assertTrue(result.join().getCompletedLessons().contains("103-1-2"));
+        }
+    }
+    
+    @Test(description = "Verify a batch that fills up cancels its linger timer")
+    public void testFullBatchCancelsLinger() throws InterruptedException {
+        CourseAPI courseAPI = new CourseAPI(environment, login());
+        try (ProgressBatcher batcher = new ProgressBatcher(courseAPI, 2, 1000, 2, ApiExecutors.shared())) {
+            batcher.submit("101", "101-1-1", true);
+            Thread.sleep(600);
+            batcher.submit("101", "101-1-2", true).join();
+            
+            // The first batch's timer would fire 1000 ms after the first update, too early for this one
+            CompletableFuture<CourseProgress> lingering = batcher.submit("101", "101-2-1", true);
+            Thread.sleep(700);
+            Assert.assertFalse(lingering.isDone(), "The update should wait its own linger time");
+            Assert.assertNotNull(lingering.join());
+        }
+    }
+}
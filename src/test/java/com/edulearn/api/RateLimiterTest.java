@@ -0,0 +1,72 @@
+package com.edulearn.api;
+
+import com.edulearn.exceptions.FrameworkException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the token bucket rate limiter
+ */
+public class RateLimiterTest {
+    
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    @Test(description = "Verify a full bucket allows a burst and then spaces calls to the rate")
+    public void testBurstThenSteadyRate() {
+        RateLimiter limiter = new RateLimiter(10, 3);
+        long now = System.nanoTime() + 1000 * MS;
+        
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 0);
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 0);
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 0);
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 100 * MS);
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 200 * MS);
+        Assert.assertEquals(limiter.getDelayedCalls(), 2);
+        Assert.assertEquals(limiter.getTotalDelayMillis(), 300);
+        
+        Assert.assertEquals(limiter.reserve(now, 250 * MS), -1, "Waits beyond the limit are refused");
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 300 * MS, "A refused call reserves nothing");
+    }
+    
+    @Test(description = "Verify the bucket refills while idle but never beyond the burst")
+    public void testRefill() {
+        RateLimiter limiter = new RateLimiter(10, 2);
+        long now = System.nanoTime() + 1000 * MS;
+        limiter.reserve(now, Long.MAX_VALUE);
+        limiter.reserve(now, Long.MAX_VALUE);
+        
+        long later = now + 10000 * MS;
+        Assert.assertEquals(limiter.reserve(later, Long.MAX_VALUE), 0);
+        Assert.assertEquals(limiter.reserve(later, Long.MAX_VALUE), 0);
+        Assert.assertEquals(limiter.reserve(later, Long.MAX_VALUE), 100 * MS);
+    }
+    
+    @Test(description = "Verify a pause holds back all calls and then releases a single permit")
+    public void testPause() {
+        RateLimiter limiter = new RateLimiter(10, 5);
+        long now = System.nanoTime() + 1000 * MS;
+        
+        limiter.pause(now, 1000 * MS);
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 1000 * MS);
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 1100 * MS, "No burst after the pause");
+        
+        limiter.pause(now, 500 * MS);
+        Assert.assertEquals(limiter.reserve(now, Long.MAX_VALUE), 1200 * MS, "A shorter pause does not shorten the wait");
+    }
+    
+    @Test(description = "Verify acquire blocks callers to the configured rate")
+    public void testAcquirePacesCalls() {
+        RateLimiter limiter = new RateLimiter(50, 1);
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            limiter.acquire(1000);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(elapsedMillis >= 90, "Six calls at 50/s need at least 100 ms, took " + elapsedMillis);
+        
+        limiter.pause(5000);
+        Assert.expectThrows(FrameworkException.class, () -> limiter.acquire(100));
+    }
+}
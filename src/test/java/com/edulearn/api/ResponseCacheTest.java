@@ -0,0 +1,120 @@
+package com.edulearn.api;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Test class for the CourseAPI response cache
+ */
+public class ResponseCacheTest {
+    
+    private static Supplier<Response> countingLoader(AtomicInteger calls, int status) {
+        return () -> new ResponseBuilder()
+                .setStatusCode(status)
+                .setContentType(ContentType.JSON)
+                .setBody("{\"call\":" + calls.incrementAndGet() + "}")
+                .build();
+    }
+    
+    private static int call(Response response) {
+        return response.jsonPath().getInt("call");
+    }
+    
+    @Test(description = "Verify responses are cached per principal, endpoint and query until the TTL expires")
+    public void testHitsAndExpiry() throws InterruptedException {
+        ResponseCache cache = new ResponseCache(200, 10);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Response> loader = countingLoader(calls, 200);
+        
+        Assert.assertEquals(call(cache.get("alice", "/api/courses/101", null, loader)), 1);
+        Assert.assertEquals(call(cache.get("alice", "/api/courses/101", null, loader)), 1);
+        Assert.assertEquals(call(cache.get("bob", "/api/courses/101", null, loader)), 2);
+        Assert.assertEquals(call(cache.get("alice", "/api/courses/search", Collections.singletonMap("q", "Java"), loader)), 3);
+        Assert.assertEquals(cache.getHits(), 1);
+        
+        Thread.sleep(250);
+        Assert.assertEquals(call(cache.get("alice", "/api/courses/101", null, loader)), 4);
+    }
+    
+    @Test(description = "Verify the least recently used entry is evicted and errors are not cached")
+    public void testEvictionAndErrors() {
+        ResponseCache cache = new ResponseCache(60000, 2);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Response> loader = countingLoader(calls, 200);
+        
+        cache.get(null, "/a", null, loader);
+        cache.get(null, "/b", null, loader);
+        cache.get(null, "/a", null, loader);
+        cache.get(null, "/c", null, loader);
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(call(cache.get(null, "/a", null, loader)), 1, "/a was used recently and stays cached");
+        Assert.assertEquals(call(cache.get(null, "/b", null, loader)), 4, "/b was evicted");
+        
+        AtomicInteger failedCalls = new AtomicInteger();
+        cache.get(null, "/missing", null, countingLoader(failedCalls, 404));
+        cache.get(null, "/missing", null, countingLoader(failedCalls, 404));
+        Assert.assertEquals(failedCalls.get(), 2);
+    }
+    
+    @Test(description = "Verify writes invalidate the endpoint and everything below it")
+    public void testInvalidation() {
+        ResponseCache cache = new ResponseCache(60000, 10);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Response> loader = countingLoader(calls, 200);
+        
+        cache.get("alice", "/api/courses/101/progress", null, loader);
+        cache.get("alice", "/api/courses/1010", null, loader);
+        cache.invalidate("/api/courses/101");
+        
+        Assert.assertEquals(call(cache.get("alice", "/api/courses/101/progress", null, loader)), 3);
+        Assert.assertEquals(call(cache.get("alice", "/api/courses/1010", null, loader)), 2, "Sibling IDs stay cached");
+    }
+    
+    @Test(description = "Verify concurrent identical requests share one call")
+    public void testCoalescing() throws Exception {
+        ResponseCache cache = new ResponseCache(60000, 10);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Response> slowLoader = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return countingLoader(calls, 200).get();
+        };
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> cache.get("alice", "/api/courses/101/lessons", null, slowLoader)));
+            }
+            while (cache.getMisses() + cache.getCoalesced() < 8) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<Response> response : responses) {
+                Assert.assertEquals(call(response.get(5, TimeUnit.SECONDS)), 1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(calls.get(), 1);
+        Assert.assertEquals(cache.getCoalesced(), 7);
+    }
+}
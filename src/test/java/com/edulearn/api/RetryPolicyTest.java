@@ -0,0 +1,94 @@
+package com.edulearn.api;
+
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.metrics.EndpointMetrics;
+import com.edulearn.stub.EduLearnStubServer;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Test class for API retry policies
+ */
+public class RetryPolicyTest {
+    
+    @Test(description = "Verify retryable statuses are configured per method")
+    public void testFromConfig() {
+        Properties file = new Properties();
+        file.setProperty("api.retry.max.attempts", "4");
+        file.setProperty("api.retry.methods", "get, put");
+        file.setProperty("api.retry.statuses", "502,503");
+        file.setProperty("api.retry.post.statuses", "429");
+        RetryPolicy policy = RetryPolicy.fromConfig(
+                ConfigSnapshot.resolve(Collections.emptyMap(), file, Collections.emptyMap(), new Properties()));
+        
+        Assert.assertEquals(policy.getMaxAttempts(), 4);
+        Assert.assertTrue(policy.isRetryable("GET", 503));
+        Assert.assertTrue(policy.isRetryable("PUT", 502));
+        Assert.assertFalse(policy.isRetryable("GET", 500));
+        Assert.assertTrue(policy.isRetryable("POST", 429));
+        Assert.assertFalse(policy.isRetryable("POST", 503));
+        Assert.assertTrue(policy.isRetryable("GET", RetryPolicy.NO_RESPONSE));
+        Assert.assertFalse(policy.isRetryable("POST", RetryPolicy.NO_RESPONSE), "POST is not idempotent");
+        Assert.assertFalse(RetryPolicy.none().isRetryable("GET", 503));
+    }
+    
+    @Test(description = "Verify delays are jittered below an exponentially growing cap")
+    public void testBackoff() {
+        RetryPolicy policy = policy(10, 100, 1000);
+        long maxSeen = 0;
+        for (int i = 0; i < 200; i++) {
+            Assert.assertTrue(policy.delayMillis(1, null) <= 100);
+            Assert.assertTrue(policy.delayMillis(3, null) <= 400);
+            long delay = policy.delayMillis(30, null);
+            Assert.assertTrue(delay >= 0 && delay <= 1000);
+            maxSeen = Math.max(maxSeen, delay);
+        }
+        Assert.assertTrue(maxSeen > 400, "Later attempts should reach beyond earlier caps");
+        
+        Response throttled = new ResponseBuilder().setStatusCode(429).setHeader("Retry-After", "2").build();
+        Assert.assertEquals(policy.delayMillis(1, throttled), 1000, "Retry-After is capped at the maximum delay");
+        Assert.assertTrue(policy(10, 100, 5000).delayMillis(1, throttled) >= 2000);
+    }
+    
+    @Test(description = "Verify idempotent calls recover from injected server errors")
+    public void testRetriesAgainstFlakyServer() {
+        EduLearnStubServer server = new EduLearnStubServer(Collections.emptyMap())
+                .withErrorInjection(0.5, 503).withSeed(7).start(0);
+        try {
+            RetryPolicy policy = policy(10, 1, 5);
+            CourseAPI courseAPI = new CourseAPI(ApiEnvironment.of("flaky", server.getBaseUrl()), null) {
+                @Override
+                protected RetryPolicy getRetryPolicy() {
+                    return policy;
+                }
+            };
+            long retriesBefore = EndpointMetrics.getRetryCount("GET /api/courses");
+            
+            for (int i = 0; i < 20; i++) {
+                Assert.assertEquals(courseAPI.getAllCourses().getStatusCode(), 200);
+            }
+            
+            Assert.assertTrue(server.getInjectedErrorCount() > 0);
+            Assert.assertEquals(EndpointMetrics.getRetryCount("GET /api/courses") - retriesBefore,
+                    server.getInjectedErrorCount(), "Every injected error should be retried once");
+        } finally {
+            server.stop();
+        }
+    }
+    
+    private static RetryPolicy policy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        Set<Integer> statuses = Collections.singleton(503);
+        Map<String, Set<Integer>> statusesByMethod = new HashMap<>();
+        statusesByMethod.put("GET", statuses);
+        return new RetryPolicy(maxAttempts, Collections.singleton("GET"), statusesByMethod,
+                baseDelayMillis, maxDelayMillis);
+    }
+}
@@ -0,0 +1,98 @@
+package com.edulearn.core;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Test class for configuration snapshot resolution
+ */
+public class ConfigSnapshotTest {
+    
+    @Test(description = "Verify system > environment > file > default precedence")
+    public void testPrecedence() {
+        Map<String, String> defaults = new HashMap<>();
+        defaults.put("browser", "chrome");
+        defaults.put("default.timeout", "10");
+        defaults.put("api.base.url", "https://default.example.com");
+        defaults.put("headless", "false");
+        
+        Properties file = new Properties();
+        file.setProperty("default.timeout", "30");
+        file.setProperty("api.base.url", "https://file.example.com");
+        file.setProperty("headless", "true");
+        
+        Map<String, String> environment = new HashMap<>();
+        environment.put("EDULEARN_API_BASE_URL", "https://env.example.com");
+        environment.put("EDULEARN_HEADLESS", "false");
+        environment.put("BROWSER", "firefox");
+        environment.put("DEFAULT_TIMEOUT", "60");
+        
+        Properties system = new Properties();
+        system.setProperty("headless", "true");
+        system.setProperty("browser", " ");
+        system.setProperty("java.home", "/opt/jdk");
+        system.setProperty("stub.enabled", "true");
+        
+        ConfigSnapshot snapshot = ConfigSnapshot.resolve(defaults, file, environment, system);
+        
+        Assert.assertEquals(snapshot.getBrowser(), "chrome", "Blank system property should not override");
+        Assert.assertEquals(snapshot.getSource("browser"), "default", "Unprefixed variables should be ignored");
+        Assert.assertEquals(snapshot.getDefaultTimeout(), 30, "File should override default");
+        Assert.assertEquals(snapshot.getApiBaseUrl(), "https://env.example.com", "Environment should override file");
+        Assert.assertTrue(snapshot.isHeadless(), "System property should override environment");
+        Assert.assertEquals(snapshot.getSource("headless"), "system");
+        Assert.assertEquals(snapshot.get("stub.enabled"), "true", "Framework namespaces should be picked up");
+        Assert.assertNull(snapshot.get("java.home"), "JVM properties should not be copied");
+    }
+    
+    @Test(description = "Verify runtime overrides take precedence over system properties")
+    public void testOverrides() {
+        Properties system = new Properties();
+        system.setProperty("api.base.url", "https://system.example.com");
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("api.base.url", "http://localhost:8080");
+        
+        ConfigSnapshot snapshot = ConfigSnapshot.resolve(new HashMap<>(), new Properties(), new HashMap<>(),
+                system, overrides);
+        
+        Assert.assertEquals(snapshot.getApiBaseUrl(), "http://localhost:8080");
+        Assert.assertEquals(snapshot.getSource("api.base.url"), "override");
+    }
+    
+    @Test(description = "Verify changes under a key prefix are detected, including added and removed keys")
+    public void testChangedUnder() {
+        Properties file = new Properties();
+        file.setProperty("api.limit.rate", "10");
+        file.setProperty("api.timeout", "30000");
+        ConfigSnapshot previous = ConfigSnapshot.resolve(new HashMap<>(), file, new HashMap<>(), new Properties());
+        
+        Properties changed = new Properties();
+        changed.putAll(file);
+        changed.setProperty("api.timeout", "1000");
+        ConfigSnapshot unrelated = ConfigSnapshot.resolve(new HashMap<>(), changed, new HashMap<>(), new Properties());
+        Assert.assertFalse(unrelated.isChangedUnder(previous, "api.limit."));
+        
+        changed.setProperty("api.limit.burst", "5");
+        ConfigSnapshot added = ConfigSnapshot.resolve(new HashMap<>(), changed, new HashMap<>(), new Properties());
+        Assert.assertTrue(added.isChangedUnder(previous, "api.limit."));
+        Assert.assertTrue(previous.isChangedUnder(added, "api.limit."), "Removed keys count as changes");
+    }
+    
+    @Test(description = "Verify integer values are parsed once and invalid values are reported")
+    public void testTypedValues() {
+        Properties file = new Properties();
+        file.setProperty("api.timeout", " 30000 ");
+        file.setProperty("log.level", "INFO");
+        
+        ConfigSnapshot snapshot = ConfigSnapshot.resolve(new HashMap<>(), file, new HashMap<>(), new Properties());
+        
+        Assert.assertEquals(snapshot.getInt("api.timeout", 0), 30000);
+        Assert.assertFalse(snapshot.isInt("log.level"));
+        Assert.assertEquals(snapshot.getInt("log.level", -1), -1);
+        Assert.assertEquals(snapshot.getDefaultTimeout(), 0, "Missing timeout should default to 0");
+    }
+}
@@ -0,0 +1,46 @@
+package com.edulearn.core;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the configuration file watcher
+ */
+public class ConfigWatcherTest {
+    
+    @Test(description = "Verify a burst of writes to a watched file triggers one reload")
+    public void testReloadOnChange() throws Exception {
+        Path directory = Files.createTempDirectory("config-watch");
+        Path configFile = directory.resolve("config-local.properties");
+        Path otherFile = directory.resolve("unrelated.txt");
+        
+        AtomicInteger reloads = new AtomicInteger();
+        CountDownLatch reloaded = new CountDownLatch(1);
+        ConfigWatcher watcher = new ConfigWatcher(Collections.singletonList(configFile), 200, () -> {
+            reloads.incrementAndGet();
+            reloaded.countDown();
+        });
+        watcher.start();
+        
+        try {
+            Files.write(otherFile, "ignored".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 3; i++) {
+                Files.write(configFile, ("default.timeout=" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            
+            Assert.assertTrue(reloaded.await(10, TimeUnit.SECONDS), "Watcher should trigger a reload");
+            Thread.sleep(500);
+            Assert.assertEquals(reloads.get(), 1, "Burst of writes should collapse into one reload");
+        } finally {
+            watcher.stop();
+        }
+    }
+}
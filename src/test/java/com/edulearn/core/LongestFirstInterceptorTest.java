@@ -0,0 +1,71 @@
+package com.edulearn.core;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for duration history based test scheduling
+ */
+public class LongestFirstInterceptorTest {
+    
+    @Test(description = "Verify starting the longest method first shortens the makespan")
+    public void testMakespan() {
+        long[] staticOrder = {10, 10, 10, 10, 10, 50};
+        long[] longestFirst = {50, 10, 10, 10, 10, 10};
+        
+        Assert.assertEquals(LongestFirstInterceptor.makespan(staticOrder, 2), 70);
+        Assert.assertEquals(LongestFirstInterceptor.makespan(longestFirst, 2), 50);
+        Assert.assertEquals(LongestFirstInterceptor.makespan(longestFirst, 1), 100);
+        Assert.assertEquals(LongestFirstInterceptor.makespan(new long[0], 4), 0);
+    }
+    
+    @Test(description = "Verify methods without history are expected to take the average known duration")
+    public void testExpectedDurations() {
+        List<String> methods = Arrays.asList("slow", "new", "fast");
+        long[] expected = LongestFirstInterceptor.expectedDurations(methods,
+                method -> "slow".equals(method) ? 300 : "fast".equals(method) ? 100 : -1);
+        
+        Assert.assertEquals(expected, new long[] {300, 200, 100});
+        Assert.assertNull(LongestFirstInterceptor.expectedDurations(methods, method -> -1),
+                "Without history the order is left alone");
+    }
+    
+    @Test(description = "Verify durations are summed per run and averaged into the history file")
+    public void testHistoryMerge() throws Exception {
+        Path file = Files.createTempDirectory("durations").resolve("history/durations.json");
+        
+        DurationHistory firstRun = DurationHistory.load(file);
+        firstRun.record("CourseTest.testEnroll", 300);
+        firstRun.record("CourseTest.testEnroll", 100);
+        firstRun.record("LoginTest.testLogin", 50);
+        firstRun.save();
+        
+        DurationHistory secondRun = DurationHistory.load(file);
+        Assert.assertEquals(secondRun.getExpectedMillis("CourseTest.testEnroll"), 400, "Invocations are summed");
+        Assert.assertEquals(secondRun.getExpectedMillis("SearchTest.testSearch"), -1);
+        secondRun.record("CourseTest.testEnroll", 200);
+        secondRun.save();
+        
+        DurationHistory thirdRun = DurationHistory.load(file);
+        Assert.assertEquals(thirdRun.getExpectedMillis("CourseTest.testEnroll"), 300);
+        Assert.assertEquals(thirdRun.getExpectedMillis("LoginTest.testLogin"), 50, "Methods not run are kept");
+    }
+    
+    @Test(description = "Verify an unreadable history file is ignored")
+    public void testUnreadableHistory() throws Exception {
+        Path file = Files.createTempFile("durations", ".json");
+        Files.write(file, "not json".getBytes(StandardCharsets.UTF_8));
+        
+        DurationHistory history = DurationHistory.load(file);
+        Assert.assertTrue(history.getHistory().isEmpty());
+        history.record("LoginTest.testLogin", 40);
+        history.save();
+        Assert.assertEquals(DurationHistory.load(file).getExpectedMillis("LoginTest.testLogin"), 40);
+    }
+}
@@ -0,0 +1,108 @@
+package com.edulearn.data;
+
+import com.edulearn.utils.ExcelReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Test class for the binary test data cache
+ */
+public class DataCacheTest {
+    
+    @Test(description = "Verify a cached sheet round-trips every column encoding")
+    public void testSheetRoundTrip() throws IOException {
+        File file = File.createTempFile("datacache", ".xlsx");
+        file.deleteOnExit();
+        
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Courses");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("id");
+            header.createCell(1).setCellValue("level");
+            header.createCell(2).setCellValue("title");
+            for (int i = 1; i <= 1000; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue(i % 3 == 0 ? "Advanced" : "Beginner");
+                row.createCell(2).setCellValue("Course " + (i % 400) + " é");
+            }
+            workbook.write(out);
+        }
+        
+        ExcelReader firstReader = new ExcelReader(file.getPath());
+        List<Map<String, String>> parsed = firstReader.getSheetData("Courses");
+        firstReader.close();
+        
+        Path source = file.toPath();
+        DataTable cached = DataCache.readTable(source, DataCache.hash(source), "Courses");
+        Assert.assertNotNull(cached, "Parsed sheet should have been written to the cache");
+        Assert.assertEquals(cached.getRows(), parsed, "Cached rows should equal parsed rows");
+        
+        ExcelReader secondReader = new ExcelReader(file.getPath());
+        Assert.assertEquals(secondReader.getSheetData("Courses"), parsed, "Second reader should load identical rows");
+        secondReader.close();
+    }
+    
+    @Test(description = "Verify sheets whose names differ only in punctuation get their own cache entries")
+    public void testSimilarSheetNames() throws IOException {
+        File file = File.createTempFile("datacache", ".xlsx");
+        file.deleteOnExit();
+        
+        String[] sheetNames = {"Login Data", "Login_Data", "Login-Data"};
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(file)) {
+            for (String sheetName : sheetNames) {
+                Sheet sheet = workbook.createSheet(sheetName);
+                sheet.createRow(0).createCell(0).setCellValue("sheet");
+                sheet.createRow(1).createCell(0).setCellValue(sheetName);
+            }
+            workbook.write(out);
+        }
+        
+        ExcelReader firstReader = new ExcelReader(file.getPath());
+        for (String sheetName : sheetNames) {
+            Assert.assertEquals(firstReader.getSheetData(sheetName).get(0).get("sheet"), sheetName);
+        }
+        firstReader.close();
+        
+        Path source = file.toPath();
+        String hash = DataCache.hash(source);
+        for (String sheetName : sheetNames) {
+            DataTable cached = DataCache.readTable(source, hash, sheetName);
+            Assert.assertNotNull(cached, "Sheet " + sheetName + " should have been written to the cache");
+            Assert.assertEquals(cached.getValue(0, "sheet"), sheetName, "Cache entry should hold its own sheet");
+        }
+    }
+    
+    @Test(description = "Verify a changed source file is not served from a stale cache entry")
+    public void testCacheKeyedByContent() throws IOException {
+        Path source = Files.createTempFile("datacache", ".properties");
+        source.toFile().deleteOnExit();
+        Files.write(source, "user.name=first\n".getBytes("UTF-8"));
+        
+        String firstHash = DataCache.hash(source);
+        Properties props = new Properties();
+        props.setProperty("user.name", "first");
+        DataCache.writeProperties(source, firstHash, props);
+        
+        Properties cached = DataCache.readProperties(source, firstHash);
+        Assert.assertNotNull(cached, "Properties should be read back from the cache");
+        Assert.assertEquals(cached.getProperty("user.name"), "first");
+        
+        Files.write(source, "user.name=second\n".getBytes("UTF-8"));
+        String secondHash = DataCache.hash(source);
+        Assert.assertNotEquals(secondHash, firstHash, "Hash should change with file content");
+        Assert.assertNull(DataCache.readProperties(source, secondHash), "Changed file should miss the cache");
+    }
+}
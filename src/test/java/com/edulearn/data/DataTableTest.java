@@ -0,0 +1,100 @@
+package com.edulearn.data;
+
+import com.edulearn.utils.ExcelReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for the columnar test data table
+ */
+public class DataTableTest {
+    
+    @Test(description = "Verify row views honour the Map contract")
+    public void testRowViewMapContract() {
+        DataTable table = DataTable.builder("username", "role", "active")
+                .addRow("alice", "student", "true")
+                .addRow("bob", "student", "false")
+                .build();
+        
+        Map<String, String> expected = new HashMap<>();
+        expected.put("username", "bob");
+        expected.put("role", "student");
+        expected.put("active", "false");
+        
+        Map<String, String> row = table.getRow(1);
+        Assert.assertEquals(row, expected, "Row view should equal an equivalent HashMap");
+        Assert.assertEquals(expected, row, "HashMap should equal an equivalent row view");
+        Assert.assertEquals(row.hashCode(), expected.hashCode(), "Hash codes should match");
+        Assert.assertEquals(row.size(), 3, "Row should expose one entry per header");
+        Assert.assertNull(row.get("missing"), "Unknown header should map to null");
+        Assert.assertFalse(row.containsKey("missing"), "Unknown header should not be contained");
+        Assert.assertTrue(row.containsValue("bob"), "Row should contain its values");
+    }
+    
+    @Test(description = "Verify low-cardinality columns are dictionary encoded")
+    public void testDictionaryEncoding() {
+        DataTable.Builder builder = DataTable.builder("id", "level");
+        for (int i = 0; i < 1000; i++) {
+            builder.addRow("user" + i, i % 2 == 0 ? "Beginner" : "Advanced");
+        }
+        DataTable table = builder.build();
+        
+        Assert.assertTrue(table.getColumn(1) instanceof DataTable.ByteDictionaryColumn,
+                "Two-value column should use byte codes");
+        Assert.assertTrue(table.getColumn(0) instanceof DataTable.PlainColumn,
+                "Unique column should be stored as plain values");
+        Assert.assertSame(table.getValue(0, "level"), table.getValue(2, "level"),
+                "Repeated values should share a single instance");
+        Assert.assertEquals(table.getValue(999, 0), "user999");
+    }
+    
+    @Test(description = "Verify duplicate headers and short rows behave like the previous HashMap rows")
+    public void testDuplicateHeadersAndShortRows() {
+        DataTable table = DataTable.builder("name", "name", "notes")
+                .addRow("first", "second")
+                .build();
+        
+        Map<String, String> row = table.getRow(0);
+        Assert.assertEquals(row.size(), 2, "Duplicate headers should collapse to one key");
+        Assert.assertEquals(row.get("name"), "second", "Later duplicate column should win");
+        Assert.assertEquals(row.get("notes"), "", "Missing cells should be empty strings");
+    }
+    
+    @Test(description = "Verify ExcelReader returns row views with sheet values")
+    public void testExcelReaderSheetData() throws IOException {
+        File file = File.createTempFile("datatable", ".xlsx");
+        file.deleteOnExit();
+        
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Users");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("username");
+            header.createCell(1).setCellValue("age");
+            Row data = sheet.createRow(1);
+            data.createCell(0).setCellValue("student");
+            data.createCell(1).setCellValue(21);
+            workbook.write(out);
+        }
+        
+        ExcelReader reader = new ExcelReader(file.getPath());
+        try {
+            List<Map<String, String>> rows = reader.getSheetData("Users");
+            Assert.assertEquals(rows.size(), 1, "Sheet should have one data row");
+            Assert.assertEquals(rows.get(0).get("username"), "student");
+            Assert.assertEquals(rows.get(0).get("age"), "21", "Whole numbers should not have a decimal part");
+            Assert.assertTrue(reader.getSheetData("Missing").isEmpty(), "Missing sheet should yield no rows");
+        } finally {
+            reader.close();
+        }
+    }
+}
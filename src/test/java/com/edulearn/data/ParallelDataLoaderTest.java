@@ -0,0 +1,73 @@
+package com.edulearn.data;
+
+import com.edulearn.exceptions.FrameworkException;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for parallel multi-workbook loading
+ */
+public class ParallelDataLoaderTest {
+    
+    @Test(description = "Verify sheets from several workbooks load into one data set")
+    public void testLoadAll() throws IOException {
+        String users = createWorkbook("users", "Students", "Instructors");
+        String courses = createWorkbook("courses", "Catalog");
+        
+        List<SheetRef> manifest = Arrays.asList(
+                SheetRef.of(users, "Students"),
+                SheetRef.of(courses, "Catalog"),
+                SheetRef.of(users, "Instructors"));
+        
+        DataSet dataSet = ParallelDataLoader.loadAll(manifest);
+        
+        Assert.assertEquals(dataSet.size(), 3, "Every manifest entry should be loaded");
+        Assert.assertEquals(dataSet.getSheets().iterator().next(), manifest.get(0), "Manifest order should be kept");
+        Assert.assertEquals(dataSet.getTable(users, "Instructors").getValue(0, "name"), "Instructors-1");
+        Assert.assertEquals(dataSet.getTable(courses, "Catalog").getRowCount(), 5);
+    }
+    
+    @Test(description = "Verify a missing workbook fails the combined load",
+            expectedExceptions = FrameworkException.class)
+    public void testMissingWorkbook() {
+        ParallelDataLoader.loadAll(Collections.singletonList(SheetRef.of("does-not-exist.xlsx", "Sheet1")));
+    }
+    
+    @Test(description = "Verify a sheet missing from its workbook fails the combined load")
+    public void testMissingSheet() throws IOException {
+        String users = createWorkbook("users", "Students");
+        List<SheetRef> manifest = Arrays.asList(SheetRef.of(users, "Students"), SheetRef.of(users, "Studnets"));
+        
+        FrameworkException error = Assert.expectThrows(FrameworkException.class,
+                () -> ParallelDataLoader.loadAll(manifest));
+        Assert.assertTrue(error.getCause().getMessage().contains("Studnets"), error.getCause().getMessage());
+    }
+    
+    private String createWorkbook(String prefix, String... sheetNames) throws IOException {
+        File file = File.createTempFile(prefix, ".xlsx");
+        file.deleteOnExit();
+        
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(file)) {
+            for (String sheetName : sheetNames) {
+                Sheet sheet = workbook.createSheet(sheetName);
+                sheet.createRow(0).createCell(0).setCellValue("name");
+                for (int i = 1; i <= 5; i++) {
+                    Row row = sheet.createRow(i);
+                    row.createCell(0).setCellValue(sheetName + "-" + i);
+                }
+            }
+            workbook.write(out);
+        }
+        return file.getPath();
+    }
+}
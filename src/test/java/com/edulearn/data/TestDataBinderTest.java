@@ -0,0 +1,95 @@
+package com.edulearn.data;
+
+import com.edulearn.exceptions.FrameworkException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class for binding test data onto objects
+ */
+public class TestDataBinderTest {
+    
+    public enum Level { BEGINNER, INTERMEDIATE, ADVANCED }
+    
+    public static class UserData {
+        private String username;
+        private String email;
+        private String firstName;
+        private String lastName;
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public void setUsername(String username) {
+            this.username = username;
+        }
+        
+        public String getEmail() {
+            return email;
+        }
+        
+        public String getFirstName() {
+            return firstName;
+        }
+        
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+        
+        public String getLastName() {
+            return lastName;
+        }
+    }
+    
+    public static class CourseData {
+        private int durationWeeks;
+        private boolean published;
+        private LocalDate startDate;
+        private Level level;
+        private Long seats;
+    }
+    
+    @Test(description = "Verify test data files bind onto setters and fields")
+    public void testCreateTestDataObject() {
+        UserData user = TestDataLoader.createTestDataObject("testdata", "user.student.", UserData.class);
+        
+        Assert.assertNotNull(user, "User should be created");
+        Assert.assertEquals(user.getUsername(), "student");
+        Assert.assertEquals(user.getEmail(), "student@example.com", "Fields without setters should be bound");
+        Assert.assertEquals(user.getFirstName(), "Test");
+        Assert.assertEquals(user.getLastName(), "Student");
+    }
+    
+    @Test(description = "Verify ints, booleans, dates and enums are converted")
+    public void testTypeCoercion() {
+        Map<String, String> values = new HashMap<>();
+        values.put("duration_weeks", "8");
+        values.put("published", "yes");
+        values.put("start.date", "2024-09-01");
+        values.put("level", "advanced");
+        values.put("seats", "120");
+        values.put("unknown", "ignored");
+        
+        CourseData course = TestDataBinder.bind(values, CourseData.class);
+        
+        Assert.assertEquals(course.durationWeeks, 8);
+        Assert.assertTrue(course.published);
+        Assert.assertEquals(course.startDate, LocalDate.of(2024, 9, 1));
+        Assert.assertEquals(course.level, Level.ADVANCED);
+        Assert.assertEquals(course.seats, Long.valueOf(120));
+    }
+    
+    @Test(description = "Verify invalid values name the failing property",
+            expectedExceptions = FrameworkException.class,
+            expectedExceptionsMessageRegExp = ".*'durationWeeks'.*")
+    public void testInvalidValue() {
+        Map<String, String> values = new HashMap<>();
+        values.put("durationWeeks", "eight");
+        TestDataBinder.bind(values, CourseData.class);
+    }
+}
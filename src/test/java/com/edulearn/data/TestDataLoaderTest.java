@@ -0,0 +1,66 @@
+package com.edulearn.data;
+
+import com.edulearn.core.ConfigManager;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test class for the test data loader
+ */
+public class TestDataLoaderTest {
+    
+    @Test(description = "Verify concurrent first lookups parse the file once and all see its values")
+    public void testConcurrentLookups() throws Exception {
+        Path dir = Paths.get(ConfigManager.getInstance().getTestDataDir());
+        Path file = Files.createTempFile(dir, "concurrent", ".properties");
+        String fileName = file.getFileName().toString().replace(".properties", "");
+        Files.write(file, ("user.name=" + fileName + "\n").getBytes(StandardCharsets.UTF_8));
+        
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return TestDataLoader.getProperty(fileName, "user.name");
+                }));
+            }
+            start.countDown();
+            
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), fileName, "Every thread should see the loaded value");
+            }
+            Assert.assertEquals(TestDataLoader.getLoadCount(fileName), 1, "The file should be parsed once");
+        } finally {
+            executor.shutdownNow();
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    @Test(description = "Verify prefix lookups strip the prefix")
+    public void testPropertiesWithPrefix() {
+        Map<String, String> course = TestDataLoader.getPropertiesWithPrefix("testdata", "course.java.");
+        
+        Assert.assertEquals(course.size(), 5, "Java course should have five properties");
+        Assert.assertEquals(course.get("title"), "Introduction to Java Programming");
+    }
+    
+    @Test(description = "Verify a missing file yields no values")
+    public void testMissingFile() {
+        Assert.assertNull(TestDataLoader.getProperty("does-not-exist", "any.key"));
+    }
+}
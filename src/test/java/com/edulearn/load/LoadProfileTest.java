@@ -0,0 +1,51 @@
+package com.edulearn.load;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for load profiles and ramp stages
+ */
+public class LoadProfileTest {
+    
+    private static long seconds(double value) {
+        return (long) (value * TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    @Test(description = "Verify ramp stages are parsed and interpolated linearly")
+    public void testRampInterpolation() {
+        List<LoadProfile.Stage> stages = LoadProfile.parseStages("10s:10, 500ms:10, 1m:0");
+        Assert.assertEquals(stages.size(), 3);
+        Assert.assertEquals(stages.get(1).getDurationNanos(), TimeUnit.MILLISECONDS.toNanos(500));
+        Assert.assertEquals(stages.get(2).getDurationNanos(), TimeUnit.MINUTES.toNanos(1));
+        
+        LoadProfile.Builder builder = LoadProfile.builder(LoadProfile.Model.CLOSED);
+        for (LoadProfile.Stage stage : stages) {
+            builder.stage(TimeUnit.NANOSECONDS.toMillis(stage.getDurationNanos()), stage.getTarget());
+        }
+        LoadProfile profile = builder.build();
+        
+        Assert.assertEquals(profile.targetAt(0), 0.0, 0.001);
+        Assert.assertEquals(profile.targetAt(seconds(5)), 5.0, 0.001);
+        Assert.assertEquals(profile.targetAt(seconds(10.2)), 10.0, 0.001);
+        Assert.assertEquals(profile.targetAt(seconds(40.5)), 5.0, 0.001);
+        Assert.assertEquals(profile.getMaxVirtualUsers(), 10);
+        Assert.assertEquals(profile.getDurationNanos(), seconds(70.5));
+    }
+    
+    @Test(description = "Verify a zero-length stage jumps straight to its target")
+    public void testConstantProfile() {
+        LoadProfile profile = LoadProfile.open(25, 1000, 8);
+        Assert.assertEquals(profile.targetAt(0), 25.0, 0.001);
+        Assert.assertEquals(profile.targetAt(seconds(0.9)), 25.0, 0.001);
+        Assert.assertEquals(profile.getMaxVirtualUsers(), 8);
+    }
+    
+    @Test(description = "Verify malformed stages are rejected", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidStage() {
+        LoadProfile.parseStages("30s");
+    }
+}
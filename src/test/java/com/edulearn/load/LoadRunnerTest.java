@@ -0,0 +1,78 @@
+package com.edulearn.load;
+
+import com.edulearn.metrics.LatencySummary;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the load runner, using scenarios that do not call the API
+ */
+public class LoadRunnerTest {
+    
+    private static LoadScenario sleepingScenario(String name, long sleepMillis) {
+        return LoadScenario.builder(name)
+                .step("first", session -> {
+                    session.put("value", name);
+                    return null;
+                })
+                .step("sleep", session -> {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(sleepMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                })
+                .build();
+    }
+    
+    @Test(description = "Verify the closed model runs weighted scenarios and records per-step latency")
+    public void testClosedModel() {
+        LoadScenario failing = LoadScenario.builder("failing")
+                .step("boom", session -> {
+                    throw new IllegalStateException("expected");
+                })
+                .build();
+        LoadRunner runner = new LoadRunner(Arrays.asList(sleepingScenario("sleeper", 5), failing.withWeight(1)),
+                LoadProfile.closed(4, 600), 0);
+        
+        LoadReport report = runner.run();
+        
+        Assert.assertTrue(report.getIterations() > 20, "Expected iterations, got " + report.getIterations());
+        Assert.assertTrue(report.getFailedIterations() > 0, "Failing scenario should be picked");
+        LatencySummary sleep = report.getSteps().get("sleep");
+        Assert.assertNotNull(sleep);
+        Assert.assertTrue(sleep.getP50Millis() >= 5.0, "Sleep step should take at least 5 ms: " + sleep);
+        Assert.assertEquals(report.getSteps().get("boom").getErrors(), report.getSteps().get("boom").getCount());
+        Assert.assertTrue(report.toMap().containsKey("steps"));
+    }
+    
+    @Test(description = "Verify the open model follows the arrival rate and drops arrivals when saturated")
+    public void testOpenModel() {
+        AtomicInteger started = new AtomicInteger();
+        LoadScenario slow = LoadScenario.builder("slow")
+                .step("wait", session -> {
+                    started.incrementAndGet();
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                })
+                .build();
+        
+        // 100 arrivals per second for one second with at most 2 in flight: most arrivals are dropped
+        LoadReport report = new LoadRunner(Collections.singletonList(slow), LoadProfile.open(100, 1000, 2), 0).run();
+        
+        long arrivals = report.getIterations() + report.getDroppedArrivals();
+        Assert.assertTrue(arrivals >= 80 && arrivals <= 101, "Expected about 100 arrivals, got " + arrivals);
+        Assert.assertTrue(report.getDroppedArrivals() > 50, "Saturated runner should drop arrivals");
+        Assert.assertEquals(report.getIterations(), started.get());
+    }
+}
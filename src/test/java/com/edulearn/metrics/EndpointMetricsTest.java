@@ -0,0 +1,53 @@
+package com.edulearn.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for per-endpoint latency metrics
+ */
+public class EndpointMetricsTest {
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        EndpointMetrics.reset();
+    }
+    
+    @Test(description = "Verify request paths are reduced to templates")
+    public void testTemplates() {
+        EndpointMetrics.registerTemplate("/metrics-test/courses/{courseId}");
+        EndpointMetrics.registerTemplate("/metrics-test/courses/search");
+        EndpointMetrics.registerTemplate("/metrics-test/courses/{courseId}/lessons/{lessonId}");
+        
+        Assert.assertEquals(EndpointMetrics.template("/metrics-test/courses/abc"), "/metrics-test/courses/{courseId}");
+        Assert.assertEquals(EndpointMetrics.template("/metrics-test/courses/search?q=Java"),
+                "/metrics-test/courses/search");
+        Assert.assertEquals(EndpointMetrics.template("/metrics-test/courses/7/lessons/7-1-2"),
+                "/metrics-test/courses/{courseId}/lessons/{lessonId}");
+        Assert.assertEquals(EndpointMetrics.template("/unregistered/users/42/orders/a1b2"),
+                "/unregistered/users/{id}/orders/{id}");
+        Assert.assertEquals(EndpointMetrics.template("/unregistered/health"), "/unregistered/health");
+    }
+    
+    @Test(description = "Verify latencies aggregate across ids and support SLO assertions")
+    public void testRecordAndAssert() {
+        for (int i = 1; i <= 100; i++) {
+            EndpointMetrics.record("GET", "/slo-test/items/" + i, TimeUnit.MILLISECONDS.toNanos(i), i == 100 ? 500 : 200);
+        }
+        
+        LatencySummary summary = EndpointMetrics.getSummary("GET /slo-test/items/{id}");
+        Assert.assertNotNull(summary);
+        Assert.assertEquals(summary.getCount(), 100);
+        Assert.assertEquals(summary.getErrors(), 1);
+        Assert.assertEquals(EndpointMetrics.getPercentileMillis("GET /slo-test/items/{id}", 50), 50.0, 0.1);
+        
+        EndpointMetrics.assertLatency("GET /slo-test/items/{id}", 99, 100);
+        Assert.assertThrows(AssertionError.class,
+                () -> EndpointMetrics.assertLatency("GET /slo-test/items/{id}", 99, 10));
+        Assert.assertThrows(AssertionError.class,
+                () -> EndpointMetrics.assertLatency("GET /slo-test/never-called", 99, 10));
+    }
+}
@@ -0,0 +1,209 @@
+package com.edulearn.shard;
+
+import com.edulearn.core.ConfigSnapshot;
+import com.edulearn.core.DurationHistory;
+import com.edulearn.exceptions.FrameworkException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Test class for duration-balanced test sharding and the shard report merge
+ */
+public class ShardPlanTest {
+    
+    @Test(description = "Verify units are spread so shards end at about the same time")
+    public void testBalance() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        durations.put("a", 10L);
+        durations.put("b", 50L);
+        durations.put("c", 20L);
+        durations.put("d", 30L);
+        durations.put("e", 40L);
+        
+        ShardPlan plan = ShardPlan.balance(durations, 2);
+        Assert.assertEquals(plan.getShardCount(), 2);
+        Assert.assertEquals(plan.getLoad(0) + plan.getLoad(1), 150);
+        Assert.assertTrue(Math.abs(plan.getLoad(0) - plan.getLoad(1)) <= 10,
+                "Loads " + plan.getLoad(0) + " and " + plan.getLoad(1) + " should be balanced");
+        Assert.assertEquals(plan.getUnitCount(0) + plan.getUnitCount(1), 5);
+        Assert.assertEquals(plan.getShard("unknown"), -1);
+    }
+    
+    @Test(description = "Verify every shard computes the same plan whatever the input order")
+    public void testDeterministic() {
+        Map<String, Long> forward = new LinkedHashMap<>();
+        Map<String, Long> reverse = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            forward.put("method" + i, (long) (i % 4));
+            reverse.put("method" + (19 - i), (long) ((19 - i) % 4));
+        }
+        
+        ShardPlan first = ShardPlan.balance(forward, 3);
+        ShardPlan second = ShardPlan.balance(reverse, 3);
+        for (String unit : forward.keySet()) {
+            Assert.assertEquals(second.getShard(unit), first.getShard(unit), unit);
+        }
+    }
+    
+    @Test(description = "Verify methods without history spread evenly by count")
+    public void testWithoutHistory() {
+        List<String> methods = Arrays.asList("a", "b", "c", "d", "e", "f");
+        Map<String, Long> units = ShardInterceptor.unitDurations(methods, method -> method, method -> -1);
+        
+        ShardPlan plan = ShardPlan.balance(units, 3);
+        for (int shard = 0; shard < 3; shard++) {
+            Assert.assertEquals(plan.getUnitCount(shard), 2);
+        }
+    }
+    
+    @Test(description = "Verify methods are grouped into units and unknown ones take the average duration")
+    public void testUnitDurations() {
+        List<String> methods = Arrays.asList("Course.enroll", "Course.unenroll", "Login.login", "Search.search");
+        Map<String, Long> units = ShardInterceptor.unitDurations(methods,
+                method -> method.startsWith("Course.") ? "Course" : method,
+                method -> "Course.enroll".equals(method) ? 300 : "Login.login".equals(method) ? 100 : -1);
+        
+        Assert.assertEquals(units.get("Course"), Long.valueOf(500), "Unknown unenroll counts as the 200 ms average");
+        Assert.assertEquals(units.get("Login.login"), Long.valueOf(100));
+        Assert.assertEquals(units.get("Search.search"), Long.valueOf(200));
+    }
+    
+    @Test(description = "Verify shard settings are validated and outputs are resolved per shard")
+    public void testShardOutput() {
+        Path root = Paths.get("target", "shards");
+        TestShard single = new TestShard(0, 1, root);
+        TestShard second = new TestShard(1, 3, root);
+        
+        Assert.assertFalse(single.isSharded());
+        Assert.assertEquals(single.resolveOutput("target/endpoint-latency.json"),
+                Paths.get("target/endpoint-latency.json"));
+        Assert.assertTrue(second.isSharded());
+        Assert.assertEquals(second.resolveOutput("target/endpoint-latency.json"),
+                root.resolve("shard-1").resolve("endpoint-latency.json"));
+        Assert.assertEquals(second.toString(), "shard 1 of 3");
+        
+        Assert.assertThrows(FrameworkException.class, () -> new TestShard(3, 3, root));
+        Assert.assertThrows(FrameworkException.class, () -> new TestShard(-1, 2, root));
+    }
+    
+    @Test(description = "Verify JUnit reports and durations of all shards are merged")
+    public void testMerge() throws Exception {
+        Path root = Files.createTempDirectory("shards");
+        write(root.resolve("shard-0/junitreports/TEST-CourseTest.xml"),
+                "<testsuite name=\"CourseTest\" tests=\"2\" failures=\"1\" errors=\"0\" skipped=\"0\" time=\"1.5\">"
+                + "<properties/><testcase name=\"testEnroll\"/><testcase name=\"testSearch\"><failure/></testcase>"
+                + "</testsuite>");
+        write(root.resolve("shard-1/junitreports/TEST-CourseTest.xml"),
+                "<testsuite name=\"CourseTest\" tests=\"1\" failures=\"0\" errors=\"0\" skipped=\"1\" time=\"0.5\">"
+                + "<properties/><testcase name=\"testLessons\"><skipped/></testcase></testsuite>");
+        write(root.resolve("shard-1/junitreports/TEST-LoginTest.xml"),
+                "<testsuite name=\"LoginTest\" tests=\"1\" failures=\"0\" errors=\"0\" skipped=\"0\" time=\"0.2\">"
+                + "<testcase name=\"testLogin\"/></testsuite>");
+        write(root.resolve("shard-0/" + DurationHistory.RUN_FILE), "{\"CourseTest.testEnroll\": 300}");
+        write(root.resolve("shard-1/" + DurationHistory.RUN_FILE), "{\"LoginTest.testLogin\": 100}");
+        writePlan(root, 0, 2, "h1", "CourseTest.testEnroll", "CourseTest.testSearch");
+        writePlan(root, 1, 2, "h1", "CourseTest.testLessons", "LoginTest.testLogin");
+        Path historyFile = root.resolve("history/durations.json");
+        
+        Path merged = ShardReportMerger.merge(root, historyFile);
+        
+        String course = new String(Files.readAllBytes(merged.resolve("junitreports/TEST-CourseTest.xml")),
+                StandardCharsets.UTF_8);
+        Assert.assertTrue(course.contains("tests=\"3\""), course);
+        Assert.assertTrue(course.contains("failures=\"1\""), course);
+        Assert.assertTrue(course.contains("skipped=\"1\""), course);
+        Assert.assertTrue(course.contains("time=\"2.000\""), course);
+        Assert.assertTrue(course.contains("testLessons") && course.contains("testEnroll"), course);
+        Assert.assertEquals(course.split("<properties").length - 1, 1, "Properties are kept once");
+        Assert.assertTrue(Files.isRegularFile(merged.resolve("junitreports/TEST-LoginTest.xml")));
+        
+        DurationHistory history = DurationHistory.load(historyFile);
+        Assert.assertEquals(history.getExpectedMillis("CourseTest.testEnroll"), 300);
+        Assert.assertEquals(history.getExpectedMillis("LoginTest.testLogin"), 100);
+    }
+    
+    @Test(description = "Verify shards that planned from different histories are rejected")
+    public void testMergeRejectsDifferentPlans() throws Exception {
+        Path root = Files.createTempDirectory("shards");
+        writePlan(root, 0, 2, "h1", "CourseTest.testEnroll", "CourseTest.testSearch");
+        writePlan(root, 1, 2, "h2", "CourseTest.testLessons", "LoginTest.testLogin");
+        
+        FrameworkException error = Assert.expectThrows(FrameworkException.class,
+                () -> ShardReportMerger.merge(root, root.resolve("history.json")));
+        Assert.assertTrue(error.getMessage().contains("different inputs"), error.getMessage());
+        Assert.assertFalse(Files.exists(root.resolve("history.json")), "Nothing is merged");
+    }
+    
+    @Test(description = "Verify skipped, duplicated and missing shards are detected")
+    public void testVerifyCoverage() throws Exception {
+        Path root = Files.createTempDirectory("shards");
+        writePlan(root, 0, 2, "h1", "CourseTest.testEnroll", "CourseTest.testLessons");
+        writePlan(root, 1, 2, "h1", "CourseTest.testLessons", "LoginTest.testLogin");
+        
+        FrameworkException error = Assert.expectThrows(FrameworkException.class,
+                () -> ShardReportMerger.verifyPlans(ShardReportMerger.shardDirs(root)));
+        Assert.assertTrue(error.getMessage().contains("skipped [CourseTest.testSearch]"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("more than once [CourseTest.testLessons]"), error.getMessage());
+        
+        Path single = Files.createTempDirectory("shards");
+        writePlan(single, 0, 2, "h1", "CourseTest.testEnroll", "CourseTest.testSearch");
+        Assert.assertThrows(FrameworkException.class,
+                () -> ShardReportMerger.verifyPlans(ShardReportMerger.shardDirs(single)));
+    }
+    
+    @Test(description = "Verify shard JVMs get framework settings and shard.args but no JVM properties")
+    public void testLauncherCommand() {
+        Properties system = new Properties();
+        system.putAll(System.getProperties());
+        system.setProperty("stub.enabled", "true");
+        system.setProperty("shard.args", "-Xmx512m -Dlog4j2.level=debug");
+        ConfigSnapshot config = ConfigSnapshot.resolve(Collections.singletonMap("shard.suite.file", "testng.xml"),
+                new Properties(), new HashMap<>(), system);
+        
+        List<String> command = ShardLauncher.command(new TestShard(1, 2, Paths.get("target", "shards")), config,
+                "classes");
+        
+        Assert.assertTrue(command.contains("-Dstub.enabled=true"), command.toString());
+        Assert.assertTrue(command.contains("-Xmx512m") && command.contains("-Dlog4j2.level=debug"),
+                command.toString());
+        Assert.assertTrue(command.contains("-Dshard.index=1"), command.toString());
+        Assert.assertEquals(command.get(command.size() - 1), "testng.xml");
+        for (String argument : command) {
+            for (String jvmPrefix : new String[] {"-Djava.", "-Dsun.", "-Duser.", "-Dos.", "-Dline.separator"}) {
+                Assert.assertFalse(argument.startsWith(jvmPrefix), "JVM property forwarded: " + argument);
+            }
+        }
+    }
+    
+    @Test(description = "Verify merging without shard output fails")
+    public void testMergeWithoutShards() throws Exception {
+        Path root = Files.createTempDirectory("shards");
+        Assert.assertThrows(FrameworkException.class, () -> ShardReportMerger.merge(root, root.resolve("h.json")));
+        Assert.assertEquals(ShardReportMerger.shardDirs(root.resolve("missing")), Collections.emptyList());
+    }
+    
+    private static void writePlan(Path root, int index, int count, String historyHash, String... assigned)
+            throws Exception {
+        List<String> suite = Arrays.asList("CourseTest.testEnroll", "CourseTest.testLessons", "CourseTest.testSearch",
+                "LoginTest.testLogin");
+        new ShardFingerprint(index, count, historyHash, suite, Arrays.asList(assigned))
+                .write(root.resolve("shard-" + index).resolve(ShardFingerprint.FILE));
+    }
+    
+    private static void write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,157 @@
+package com.edulearn.stub;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for the embedded EduLearn stub server
+ */
+public class EduLearnStubServerTest {
+    
+    private static final Map<String, String> USERS = Collections.singletonMap("student", "Learn@123");
+    
+    private EduLearnStubServer server;
+    
+    @BeforeClass
+    public void setup() {
+        server = new EduLearnStubServer(USERS).start(0);
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        server.stop();
+    }
+    
+    private RequestSpecification request(EduLearnStubServer target) {
+        return RestAssured.given().baseUri(target.getBaseUrl()).contentType(ContentType.JSON);
+    }
+    
+    private String login(EduLearnStubServer target) {
+        Map<String, String> credentials = new HashMap<>();
+        credentials.put("username", "student");
+        credentials.put("password", "Learn@123");
+        Response response = request(target).body(credentials).post("/api/auth/login");
+        Assert.assertEquals(response.getStatusCode(), 200, "Login should succeed");
+        return response.jsonPath().getString("token");
+    }
+    
+    @Test(description = "Verify the course API flow used by CourseAPI")
+    public void testCourseApiFlow() {
+        String token = login(server);
+        
+        Response courses = request(server).get("/api/courses");
+        Assert.assertEquals(courses.getStatusCode(), 200);
+        List<String> ids = courses.jsonPath().getList("courses.id", String.class);
+        Assert.assertFalse(ids.isEmpty(), "Catalog should not be empty");
+        
+        Response search = request(server).queryParam("q", "Java").get("/api/courses/search");
+        for (String title : search.jsonPath().getList("courses.title", String.class)) {
+            Assert.assertTrue(title.contains("Java"), "Search result should match keyword: " + title);
+        }
+        
+        String courseId = ids.get(0);
+        Assert.assertNotNull(request(server).get("/api/courses/" + courseId).jsonPath().getString("title"));
+        
+        Response enroll = request(server).header("Authorization", "Bearer " + token)
+                .post("/api/courses/" + courseId + "/enroll");
+        Assert.assertEquals(enroll.getStatusCode(), 200);
+        
+        List<String> lessonIds = request(server).get("/api/courses/" + courseId + "/lessons")
+                .jsonPath().getList("lessons.id", String.class);
+        Map<String, Object> progressUpdate = new HashMap<>();
+        progressUpdate.put("lessonId", lessonIds.get(0));
+        progressUpdate.put("completed", true);
+        Response progress = request(server).header("Authorization", "Bearer " + token)
+                .body(progressUpdate).post("/api/courses/" + courseId + "/progress");
+        Assert.assertEquals(progress.jsonPath().getInt("completedCount"), 1);
+        
+        Response enrolled = request(server).header("Authorization", "Bearer " + token).get("/api/courses/enrolled");
+        Assert.assertEquals(enrolled.jsonPath().getList("courses.id", String.class),
+                Collections.singletonList(courseId));
+        
+        Response logout = request(server).header("Authorization", "Bearer " + token).post("/api/auth/logout");
+        Assert.assertEquals(logout.getStatusCode(), 200);
+        Assert.assertEquals(request(server).header("Authorization", "Bearer " + token)
+                .get("/api/courses/enrolled").getStatusCode(), 401, "Token should be invalid after logout");
+    }
+    
+    @Test(description = "Verify invalid credentials are rejected")
+    public void testInvalidLogin() {
+        Map<String, String> credentials = new HashMap<>();
+        credentials.put("username", "invalid_user");
+        credentials.put("password", "invalid_password");
+        Assert.assertEquals(request(server).body(credentials).post("/api/auth/login").getStatusCode(), 401);
+    }
+    
+    @Test(description = "Verify pages carry the element ids the page objects use")
+    public void testPages() {
+        String loginPage = RestAssured.given().baseUri(server.getBaseUrl()).get("/login").asString();
+        Assert.assertTrue(loginPage.contains("id=\"loginButton\""), "Login page should have a login button");
+        
+        Response login = RestAssured.given().baseUri(server.getBaseUrl()).redirects().follow(false)
+                .formParam("username", "student").formParam("password", "Learn@123").post("/login");
+        Assert.assertEquals(login.getStatusCode(), 303);
+        String session = login.getCookie("EDULEARN_SESSION");
+        Assert.assertNotNull(session, "Login should set a session cookie");
+        
+        String dashboard = RestAssured.given().baseUri(server.getBaseUrl()).cookie("EDULEARN_SESSION", session)
+                .get("/dashboard").asString();
+        Assert.assertTrue(dashboard.contains("id=\"welcome-message\">Welcome, student"));
+        Assert.assertTrue(dashboard.contains("class=\"course-card\""));
+        
+        String search = RestAssured.given().baseUri(server.getBaseUrl()).cookie("EDULEARN_SESSION", session)
+                .queryParam("q", "xyzabcdef123456").get("/search").asString();
+        Assert.assertTrue(search.contains("id=\"no-results-message\""));
+        
+        String failedLogin = RestAssured.given().baseUri(server.getBaseUrl())
+                .formParam("username", "student").formParam("password", "wrong").post("/login").asString();
+        Assert.assertTrue(failedLogin.contains("class=\"error-message\">Invalid"));
+    }
+    
+    @Test(description = "Verify injected errors and latency")
+    public void testFaultInjection() {
+        EduLearnStubServer faulty = new EduLearnStubServer(USERS)
+                .withErrorInjection(1.0, 503)
+                .withLatency(50, 0)
+                .start(0);
+        try {
+            long start = System.nanoTime();
+            Response response = request(faulty).get("/api/courses");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            
+            Assert.assertEquals(response.getStatusCode(), 503, "Every request should fail");
+            Assert.assertTrue(elapsedMillis >= 50, "Latency should be injected, took " + elapsedMillis + " ms");
+            Assert.assertEquals(faulty.getInjectedErrorCount(), 1);
+        } finally {
+            faulty.stop();
+        }
+    }
+    
+    @Test(description = "Verify course lists are paged on request")
+    public void testPagination() {
+        EduLearnStubServer large = new EduLearnStubServer(USERS).withCatalogSize(45).start(0);
+        try {
+            Response unpaged = request(large).get("/api/courses");
+            Assert.assertEquals(unpaged.jsonPath().getList("courses").size(), 45);
+            
+            Response lastPage = request(large).queryParam("page", 3).queryParam("size", 20).get("/api/courses");
+            Assert.assertEquals(lastPage.jsonPath().getList("courses.id", String.class).size(), 5);
+            Assert.assertEquals(lastPage.jsonPath().getString("courses[0].id"), "141");
+            Assert.assertEquals(lastPage.jsonPath().getInt("totalPages"), 3);
+            Assert.assertEquals(lastPage.jsonPath().getInt("total"), 45);
+        } finally {
+            large.stop();
+        }
+    }
+}